@@ -71,6 +71,25 @@ public interface ManagedExecutorServiceBase
      */
     void setLongRunningTasks(String value) throws PropertyVetoException;
 
+    /**
+     * Gets the value of the useVirtualThreads property.
+     * If true, the tasks run on virtual threads and the pool sizes limit the count of tasks
+     * running at the same time.
+     *
+     * @return possible object is
+     *         {@link String}
+     */
+    @Attribute(defaultValue = "false", dataType = Boolean.class)
+    String getUseVirtualThreads();
+
+    /**
+     * Sets the value of the useVirtualThreads property.
+     *
+     * @param value allowed object is
+     *            {@link String}
+     */
+    void setUseVirtualThreads(String value) throws PropertyVetoException;
+
     /**
      * Gets the value of the hungAfterSeconds property.
      *
@@ -88,6 +88,22 @@ public interface ManagedThreadFactory
      */
     void setContext(String value) throws PropertyVetoException;
 
+    /**
+     * Gets the value of the useVirtualThreads property.
+     * If true, the factory creates virtual threads.
+     *
+     * @return possible object is {@link String}
+     */
+    @Attribute(defaultValue = "false", dataType = Boolean.class)
+    String getUseVirtualThreads();
+
+    /**
+     * Sets the value of the useVirtualThreads property.
+     *
+     * @param value allowed object is {@link String}
+     */
+    void setUseVirtualThreads(String value) throws PropertyVetoException;
+
     @Override
     @DuckTyped
     String getIdentity();
@@ -38,6 +38,7 @@ import static com.sun.enterprise.deployment.xml.ConcurrencyTagNames.KEEP_ALIVE_S
 import static com.sun.enterprise.deployment.xml.ConcurrencyTagNames.LONG_RUNNING_TASKS;
 import static com.sun.enterprise.deployment.xml.ConcurrencyTagNames.THREAD_LIFETIME_SECONDS;
 import static com.sun.enterprise.deployment.xml.ConcurrencyTagNames.THREAD_PRIORITY;
+import static com.sun.enterprise.deployment.xml.ConcurrencyTagNames.USE_VIRTUAL_THREADS;
 import static org.glassfish.resources.admin.cli.ResourceConstants.ENABLED;
 import static org.glassfish.resources.admin.cli.ResourceConstants.JNDI_NAME;
 
@@ -69,6 +70,9 @@ public class CreateManagedExecutorServiceBase {
     @Param(name="longrunningtasks", alias="longRunningTasks", defaultValue="false", optional=true)
     protected Boolean longrunningtasks;
 
+    @Param(name="usevirtualthreads", alias="useVirtualThreads", defaultValue="false", optional=true)
+    protected Boolean usevirtualthreads;
+
     @Param(name="hungafterseconds", alias="hungAfterSeconds", defaultValue="0", optional=true)
     protected Integer hungafterseconds;
 
@@ -105,6 +109,7 @@ public class CreateManagedExecutorServiceBase {
         attrList.put(CONTEXT_INFO, contextinfo);
         attrList.put(THREAD_PRIORITY, threadpriority.toString());
         attrList.put(LONG_RUNNING_TASKS, longrunningtasks.toString());
+        attrList.put(USE_VIRTUAL_THREADS, usevirtualthreads.toString());
         attrList.put(HUNG_AFTER_SECONDS, hungafterseconds.toString());
         attrList.put(HUNG_LOGGER_PRINT_ONCE, hungloggerprintonce.toString());
         attrList.put(HUNG_LOGGER_INITIAL_DELAY_SECONDS, hungloggerinitialdelayseconds.toString());
@@ -70,6 +70,9 @@ public class CreateManagedThreadFactory implements AdminCommand {
     @Param(name="threadpriority", alias="threadPriority", defaultValue=""+Thread.NORM_PRIORITY, optional=true)
     private Integer threadpriority;
 
+    @Param(name="usevirtualthreads", alias="useVirtualThreads", defaultValue="false", optional=true)
+    private Boolean usevirtualthreads;
+
     @Param(optional=true)
     private String description;
 
@@ -100,6 +103,7 @@ public class CreateManagedThreadFactory implements AdminCommand {
         attrList.put(ConcurrencyTagNames.CONTEXT_INFO_ENABLED, contextinfoenabled.toString());
         attrList.put(ConcurrencyTagNames.CONTEXT_INFO, contextinfo);
         attrList.put(ConcurrencyTagNames.THREAD_PRIORITY, threadpriority.toString());
+        attrList.put(ConcurrencyTagNames.USE_VIRTUAL_THREADS, usevirtualthreads.toString());
         attrList.put(ServerTags.DESCRIPTION, description);
         attrList.put(ResourceConstants.ENABLED, enabled.toString());
         ResourceStatus rs;
@@ -61,6 +61,7 @@ import static com.sun.enterprise.deployment.xml.ConcurrencyTagNames.KEEP_ALIVE_S
 import static com.sun.enterprise.deployment.xml.ConcurrencyTagNames.LONG_RUNNING_TASKS;
 import static com.sun.enterprise.deployment.xml.ConcurrencyTagNames.THREAD_LIFETIME_SECONDS;
 import static com.sun.enterprise.deployment.xml.ConcurrencyTagNames.THREAD_PRIORITY;
+import static com.sun.enterprise.deployment.xml.ConcurrencyTagNames.USE_VIRTUAL_THREADS;
 import static org.glassfish.resources.admin.cli.ResourceConstants.ENABLED;
 import static org.glassfish.resources.admin.cli.ResourceConstants.JNDI_NAME;
 import static org.glassfish.resources.admin.cli.ResourceConstants.SYSTEM_ALL_REQ;
@@ -80,6 +81,7 @@ public abstract class ManagedExecutorServiceBaseManager implements ResourceManag
     protected String contextInfoEnabled = Boolean.TRUE.toString();
     protected String contextInfo = CONTEXT_INFO_DEFAULT_VALUE;
     protected String longRunningTasks = Boolean.FALSE.toString();
+    protected String useVirtualThreads = Boolean.FALSE.toString();
     protected String hungAfterSeconds = "0";
     protected String hungLoggerPrintOnce = Boolean.FALSE.toString();
     protected String hungLoggerInitialDelaySeconds = "60";
@@ -165,6 +167,7 @@ public abstract class ManagedExecutorServiceBaseManager implements ResourceManag
         contextInfoEnabled = attributes.get(CONTEXT_INFO_ENABLED);
         threadPriority = attributes.get(THREAD_PRIORITY);
         longRunningTasks = attributes.get(LONG_RUNNING_TASKS);
+        useVirtualThreads = attributes.get(USE_VIRTUAL_THREADS);
         hungAfterSeconds = attributes.get(HUNG_AFTER_SECONDS);
         hungLoggerPrintOnce = attributes.get(HUNG_LOGGER_PRINT_ONCE);
         hungLoggerInitialDelaySeconds = attributes.get(HUNG_LOGGER_INITIAL_DELAY_SECONDS);
@@ -210,6 +213,7 @@ public abstract class ManagedExecutorServiceBaseManager implements ResourceManag
         managedExecutorService.setThreadLifetimeSeconds(threadLifetimeSeconds);
         managedExecutorService.setEnabled(enabled);
         managedExecutorService.setLongRunningTasks(longRunningTasks);
+        managedExecutorService.setUseVirtualThreads(useVirtualThreads);
         if (properties != null) {
             for (Entry<Object, Object> e : properties.entrySet()) {
                 Property prop = managedExecutorService.createChild(Property.class);
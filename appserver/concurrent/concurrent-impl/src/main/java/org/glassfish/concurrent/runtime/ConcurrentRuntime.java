@@ -21,6 +21,7 @@ import com.sun.enterprise.config.serverbeans.Applications;
 import com.sun.enterprise.deployment.annotation.handlers.ContextualResourceDefinition;
 import com.sun.enterprise.deployment.types.ConcurrencyContextType;
 import com.sun.enterprise.transaction.api.JavaEETransactionManager;
+import com.sun.enterprise.util.VirtualThreads;
 
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
@@ -82,6 +83,9 @@ public class ConcurrentRuntime {
     private final Map<SimpleJndiName, ManagedScheduledExecutorServiceImpl> managedScheduledExecutorServiceMap = new HashMap<>();
     private final Map<SimpleJndiName, ContextServiceImpl> contextServiceMap = new HashMap<>();
     private final Map<SimpleJndiName, ManagedThreadFactoryImpl> managedThreadFactoryMap = new HashMap<>();
+    private final Map<SimpleJndiName, VirtualThreadManagedExecutorService> virtualExecutorServiceMap = new HashMap<>();
+    private final Map<SimpleJndiName, VirtualThreadManagedScheduledExecutorService> virtualScheduledExecutorServiceMap = new HashMap<>();
+    private final Map<SimpleJndiName, VirtualThreadManagedThreadFactory> virtualThreadFactoryMap = new HashMap<>();
 
     private ScheduledExecutorService internalScheduler;
 
@@ -234,6 +238,108 @@ public class ConcurrentRuntime {
     }
 
 
+    /**
+     * @param useVirtualThreads true if the configuration of the object asks for virtual threads
+     * @return true if the object has to use virtual threads, false if it has to use platform threads,
+     *         because it is configured so or the JVM does not support virtual threads
+     */
+    public boolean isVirtualThreads(boolean useVirtualThreads) {
+        return useVirtualThreads && VirtualThreads.isSupported();
+    }
+
+
+    /**
+     * Warns if the object asks for virtual threads, but the JVM does not support them.
+     * Called once when the object is deployed, not on lookups.
+     *
+     * @param useVirtualThreads true if the configuration of the object asks for virtual threads
+     * @param jndiName JNDI name of the object
+     */
+    public void checkVirtualThreadsSupported(boolean useVirtualThreads, SimpleJndiName jndiName) {
+        if (useVirtualThreads && !VirtualThreads.isSupported()) {
+            LOG.log(Level.WARNING, "Virtual threads are not supported by this JVM, {0} uses platform threads.", jndiName);
+        }
+    }
+
+
+    public synchronized VirtualThreadManagedExecutorService getVirtualThreadManagedExecutorService(
+        ManagedExecutorServiceCfg config) {
+        LOG.log(Level.FINEST, "getVirtualThreadManagedExecutorService(config={0})", config);
+        SimpleJndiName jndiName = config.getServiceConfig().getJndiName();
+        VirtualThreadManagedExecutorService mes = virtualExecutorServiceMap.get(jndiName);
+        if (mes != null) {
+            return mes;
+        }
+        ContextServiceImpl contextService = getContextService(config.getServiceConfig(), true);
+        mes = createVirtualThreadManagedExecutorService(config, contextService);
+        virtualExecutorServiceMap.put(jndiName, mes);
+        return mes;
+    }
+
+
+    /**
+     * The maximum pool size limits the count of tasks running at the same time, the task queue
+     * capacity limits the count of tasks waiting for them.
+     */
+    public VirtualThreadManagedExecutorService createVirtualThreadManagedExecutorService(
+        ManagedExecutorServiceCfg config, ContextServiceImpl contextService) {
+        LOG.log(Level.FINE, "createVirtualThreadManagedExecutorService(config={0}, contextService={1})",
+            new Object[] {config, contextService});
+        SimpleJndiName jndiName = config.getServiceConfig().getJndiName();
+        return new VirtualThreadManagedExecutorService(jndiName.toString(), config.getMaximumPoolSize(),
+            config.getTaskQueueCapacity(), contextService);
+    }
+
+
+    public synchronized VirtualThreadManagedScheduledExecutorService getVirtualThreadManagedScheduledExecutorService(
+        ManagedScheduledExecutorServiceCfg config) {
+        LOG.log(Level.FINE, "getVirtualThreadManagedScheduledExecutorService(config={0})", config);
+        SimpleJndiName jndiName = config.getServiceConfig().getJndiName();
+        VirtualThreadManagedScheduledExecutorService mses = virtualScheduledExecutorServiceMap.get(jndiName);
+        if (mses != null) {
+            return mses;
+        }
+        ContextServiceImpl contextService = getContextService(config.getServiceConfig(), true);
+        mses = createVirtualThreadManagedScheduledExecutorService(config, contextService);
+        virtualScheduledExecutorServiceMap.put(jndiName, mses);
+        return mses;
+    }
+
+
+    /**
+     * The core pool size limits the count of tasks running at the same time, 0 means no limit.
+     */
+    public VirtualThreadManagedScheduledExecutorService createVirtualThreadManagedScheduledExecutorService(
+        ManagedScheduledExecutorServiceCfg config, ContextServiceImpl contextService) {
+        SimpleJndiName jndiName = config.getServiceConfig().getJndiName();
+        return new VirtualThreadManagedScheduledExecutorService(jndiName.toString(), config.getCorePoolSize(),
+            contextService);
+    }
+
+
+    public synchronized VirtualThreadManagedThreadFactory getVirtualThreadManagedThreadFactory(
+        ManagedThreadFactoryCfg config) {
+        LOG.log(Level.FINE, "getVirtualThreadManagedThreadFactory(config={0})", config);
+        SimpleJndiName jndiName = config.getServiceConfig().getJndiName();
+        VirtualThreadManagedThreadFactory mtf = virtualThreadFactoryMap.get(jndiName);
+        if (mtf != null) {
+            return mtf;
+        }
+        ContextServiceImpl contextService = getContextService(config.getServiceConfig(), true);
+        mtf = createVirtualThreadManagedThreadFactory(config, contextService);
+        virtualThreadFactoryMap.put(jndiName, mtf);
+        return mtf;
+    }
+
+
+    public VirtualThreadManagedThreadFactory createVirtualThreadManagedThreadFactory(ManagedThreadFactoryCfg config,
+        ContextServiceImpl contextService) {
+        SimpleJndiName jndiName = config.getServiceConfig().getJndiName();
+        return new VirtualThreadManagedThreadFactory(jndiName.toString(), contextService,
+            createManagedThreadFactory(config, contextService));
+    }
+
+
     public ContextServiceImpl findOrCreateContextService(ContextualResourceDefinition definition, String applicationName, String moduleName) {
         SimpleJndiName jndiName = toContextServiceName(definition.getContext(), definition.getJndiName());
         LOG.log(Level.FINEST, "findOrCreateContextService(jndiName={0}, applicationName={1}, moduleName={2})",
@@ -288,6 +394,10 @@ public class ConcurrentRuntime {
         if (mes != null) {
             mes.shutdownNow();
         }
+        VirtualThreadManagedExecutorService vmes = removeVirtualThreadManagedExecutorService(jndiName);
+        if (vmes != null) {
+            vmes.shutdownNow();
+        }
     }
 
 
@@ -301,6 +411,10 @@ public class ConcurrentRuntime {
         if (mses != null) {
             mses.shutdownNow();
         }
+        VirtualThreadManagedScheduledExecutorService vmses = removeVirtualThreadManagedScheduledExecutorService(jndiName);
+        if (vmses != null) {
+            vmses.shutdownNow();
+        }
     }
 
 
@@ -314,6 +428,10 @@ public class ConcurrentRuntime {
         if (mtf != null) {
             mtf.stop();
         }
+        VirtualThreadManagedThreadFactory vmtf = removeVirtualThreadManagedThreadFactory(jndiName);
+        if (vmtf != null) {
+            vmtf.stop();
+        }
     }
 
 
@@ -413,6 +531,24 @@ public class ConcurrentRuntime {
     }
 
 
+    private synchronized VirtualThreadManagedExecutorService removeVirtualThreadManagedExecutorService(
+        SimpleJndiName jndiName) {
+        return virtualExecutorServiceMap.remove(jndiName);
+    }
+
+
+    private synchronized VirtualThreadManagedScheduledExecutorService removeVirtualThreadManagedScheduledExecutorService(
+        SimpleJndiName jndiName) {
+        return virtualScheduledExecutorServiceMap.remove(jndiName);
+    }
+
+
+    private synchronized VirtualThreadManagedThreadFactory removeVirtualThreadManagedThreadFactory(
+        SimpleJndiName jndiName) {
+        return virtualThreadFactoryMap.remove(jndiName);
+    }
+
+
     private static SimpleJndiName toContextServiceName(String configuredContextJndiName, SimpleJndiName parentObjectJndiName) {
         return configuredContextJndiName == null ? toContextServiceName(parentObjectJndiName)
             : new SimpleJndiName(configuredContextJndiName);
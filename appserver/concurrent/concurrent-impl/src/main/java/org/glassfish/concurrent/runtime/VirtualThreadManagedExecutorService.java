@@ -0,0 +1,723 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.concurrent.runtime;
+
+import com.sun.enterprise.util.VirtualThreads;
+
+import jakarta.enterprise.concurrent.ContextService;
+import jakarta.enterprise.concurrent.ManagedExecutorService;
+import jakarta.enterprise.concurrent.ManagedTask;
+import jakarta.enterprise.concurrent.ManagedTaskListener;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.enterprise.concurrent.ContextServiceImpl;
+import org.glassfish.enterprise.concurrent.spi.ContextHandle;
+import org.glassfish.enterprise.concurrent.spi.ContextSetupProvider;
+
+/**
+ * {@link ManagedExecutorService} running each task on a new virtual thread.
+ * <p>
+ * The context of the submitting thread is saved by the {@link ContextSetupProvider} of the
+ * context service and set up on the virtual thread around the task, as the thread pools of the
+ * concurrency runtime do. The count of tasks running at the same time is limited by a fair
+ * {@link Semaphore} instead of the count of threads. The tasks over the limit wait for a permit
+ * on their own virtual threads, at most {@link #getMaxWaitingTasks()} of them, further tasks are
+ * rejected.
+ * <p>
+ * The detection of hung tasks is not supported, the virtual threads are not managed threads.
+ */
+public class VirtualThreadManagedExecutorService extends AbstractExecutorService implements ManagedExecutorService {
+
+    private static final Logger LOG = LogFacade.getLogger();
+
+    private final String name;
+    private final ContextServiceImpl contextService;
+    private final ThreadFactory threadFactory;
+    private final int maxConcurrency;
+    private final int maxWaitingTasks;
+    private final Semaphore permits;
+
+    private final AtomicInteger threadCount = new AtomicInteger();
+    private final AtomicInteger waitingCount = new AtomicInteger();
+    private final AtomicInteger runningCount = new AtomicInteger();
+    private final LongAdder completedTaskCount = new LongAdder();
+    private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    private final CountDownLatch terminated = new CountDownLatch(1);
+    private final Adapter adapter = createAdapter();
+
+    private volatile boolean shutdown;
+
+    /**
+     * @param name name of the executor, the prefix of the thread names
+     * @param maxConcurrency maximal count of tasks running at the same time,
+     *            0 or {@link Integer#MAX_VALUE} for no limit
+     * @param maxWaitingTasks maximal count of tasks waiting for a permit to run
+     * @param contextService context service saving and setting up the context of the tasks
+     * @throws UnsupportedOperationException if the JVM does not support virtual threads
+     */
+    public VirtualThreadManagedExecutorService(String name, int maxConcurrency, int maxWaitingTasks,
+        ContextServiceImpl contextService) {
+        this(name, maxConcurrency, maxWaitingTasks, contextService, VirtualThreads.newThreadFactory(name + "-"));
+    }
+
+
+    /**
+     * @param name name of the executor
+     * @param maxConcurrency maximal count of tasks running at the same time,
+     *            0 or {@link Integer#MAX_VALUE} for no limit
+     * @param maxWaitingTasks maximal count of tasks waiting for a permit to run
+     * @param contextService context service saving and setting up the context of the tasks
+     * @param threadFactory factory of the unstarted threads
+     */
+    public VirtualThreadManagedExecutorService(String name, int maxConcurrency, int maxWaitingTasks,
+        ContextServiceImpl contextService, ThreadFactory threadFactory) {
+        this.name = name;
+        this.maxConcurrency = maxConcurrency <= 0 ? Integer.MAX_VALUE : maxConcurrency;
+        this.maxWaitingTasks = Math.max(0, maxWaitingTasks);
+        this.contextService = contextService;
+        this.threadFactory = Objects.requireNonNull(threadFactory, "threadFactory");
+        this.permits = this.maxConcurrency == Integer.MAX_VALUE ? null : new Semaphore(this.maxConcurrency, true);
+    }
+
+
+    /**
+     * @return the view of this executor for the applications, without the lifecycle methods
+     */
+    public ManagedExecutorService getAdapter() {
+        return adapter;
+    }
+
+
+    Adapter createAdapter() {
+        return new Adapter();
+    }
+
+
+    public String getName() {
+        return name;
+    }
+
+
+    /**
+     * @return maximal count of tasks running at the same time, {@link Integer#MAX_VALUE} if unlimited
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+
+    public int getMaxWaitingTasks() {
+        return maxWaitingTasks;
+    }
+
+
+    /**
+     * @return count of tasks running now
+     */
+    public int getRunningTaskCount() {
+        return runningCount.get();
+    }
+
+
+    /**
+     * @return count of tasks waiting for a permit to run
+     */
+    public int getWaitingTaskCount() {
+        return waitingCount.get();
+    }
+
+
+    public long getCompletedTaskCount() {
+        return completedTaskCount.sum();
+    }
+
+
+    @Override
+    public void execute(Runnable command) {
+        Objects.requireNonNull(command, "command");
+        final ManagedFuture<?> future;
+        if (command instanceof ManagedFuture) {
+            future = (ManagedFuture<?>) command;
+        } else {
+            future = new ManagedFuture<>(command, Executors.callable(command, null));
+        }
+        future.submitted();
+        dispatch(future);
+    }
+
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value) {
+        return new ManagedFuture<>(runnable, Executors.callable(runnable, value));
+    }
+
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+        return new ManagedFuture<>(callable, callable);
+    }
+
+
+    /**
+     * Starts a virtual thread running the task as soon as a permit is available.
+     *
+     * @throws RejectedExecutionException if the executor is shut down or too many tasks wait
+     */
+    void dispatch(ManagedFuture<?> future) {
+        threadCount.incrementAndGet();
+        boolean permitted = false;
+        boolean waiting = false;
+        try {
+            if (shutdown) {
+                throw new RejectedExecutionException("The executor " + name + " is shut down.");
+            }
+            permitted = tryAcquire();
+            if (!permitted) {
+                if (waitingCount.incrementAndGet() > maxWaitingTasks) {
+                    waitingCount.decrementAndGet();
+                    throw new RejectedExecutionException(
+                        "Too many tasks wait for the executor " + name + ", the limit is " + maxWaitingTasks);
+                }
+                waiting = true;
+            }
+            Thread thread = threadFactory.newThread(new Worker(future, permitted));
+            thread.start();
+        } catch (RuntimeException | Error e) {
+            if (permitted) {
+                release();
+            }
+            if (waiting) {
+                waitingCount.decrementAndGet();
+            }
+            threadCount.decrementAndGet();
+            tryTerminate();
+            future.aborted(e);
+            if (e instanceof RejectedExecutionException) {
+                throw e;
+            }
+            throw new RejectedExecutionException("Could not start a thread of the executor " + name, e);
+        }
+    }
+
+
+    private boolean tryAcquire() {
+        if (permits == null) {
+            return true;
+        }
+        try {
+            // Unlike tryAcquire(), it respects the fairness to the waiting tasks
+            return permits.tryAcquire(0L, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+
+    private void release() {
+        if (permits != null) {
+            permits.release();
+        }
+    }
+
+
+    private void tryTerminate() {
+        if (shutdown && threadCount.get() == 0) {
+            terminated.countDown();
+        }
+    }
+
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        tryTerminate();
+    }
+
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+        // The waiting tasks are interrupted on their own threads, none is queued
+        return List.of();
+    }
+
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+
+    @Override
+    public boolean isTerminated() {
+        return terminated.getCount() == 0;
+    }
+
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+
+
+    @Override
+    public <U> CompletableFuture<U> completedFuture(U value) {
+        CompletableFuture<U> future = newIncompleteFuture();
+        future.complete(value);
+        return future;
+    }
+
+
+    @Override
+    public <U> CompletionStage<U> completedStage(U value) {
+        return completedFuture(value);
+    }
+
+
+    @Override
+    public <T> CompletableFuture<T> copy(CompletableFuture<T> stage) {
+        return copy((CompletionStage<T>) stage).toCompletableFuture();
+    }
+
+
+    @Override
+    public <T> CompletionStage<T> copy(CompletionStage<T> stage) {
+        CompletableFuture<T> copy = newIncompleteFuture();
+        stage.whenComplete((result, failure) -> {
+            if (failure == null) {
+                copy.complete(result);
+            } else {
+                copy.completeExceptionally(failure);
+            }
+        });
+        return copy;
+    }
+
+
+    @Override
+    public <U> CompletableFuture<U> failedFuture(Throwable ex) {
+        CompletableFuture<U> future = newIncompleteFuture();
+        future.completeExceptionally(ex);
+        return future;
+    }
+
+
+    @Override
+    public <U> CompletionStage<U> failedStage(Throwable ex) {
+        return failedFuture(ex);
+    }
+
+
+    @Override
+    public ContextService getContextService() {
+        return contextService;
+    }
+
+
+    @Override
+    public <U> CompletableFuture<U> newIncompleteFuture() {
+        return new ManagedCompletableFuture<>(adapter);
+    }
+
+
+    @Override
+    public CompletableFuture<Void> runAsync(Runnable runnable) {
+        return supplyAsync(() -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+
+    @Override
+    public <U> CompletableFuture<U> supplyAsync(Supplier<U> supplier) {
+        CompletableFuture<U> future = newIncompleteFuture();
+        execute(() -> {
+            try {
+                future.complete(supplier.get());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        return future;
+    }
+
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[name=" + name + ", maxConcurrency=" + maxConcurrency
+            + ", maxWaitingTasks=" + maxWaitingTasks + ", running=" + getRunningTaskCount() + ", waiting="
+            + getWaitingTaskCount() + ", shutdown=" + shutdown + "]";
+    }
+
+
+    /**
+     * Runs one task, after it got a permit if it did not get it on submission.
+     */
+    private final class Worker implements Runnable {
+
+        private final ManagedFuture<?> future;
+        private final boolean permitted;
+
+        Worker(ManagedFuture<?> future, boolean permitted) {
+            this.future = future;
+            this.permitted = permitted;
+        }
+
+
+        @Override
+        public void run() {
+            final Thread thread = Thread.currentThread();
+            threads.add(thread);
+            try {
+                if (!permitted) {
+                    try {
+                        permits.acquire();
+                    } catch (InterruptedException e) {
+                        future.aborted(e);
+                        return;
+                    } finally {
+                        waitingCount.decrementAndGet();
+                    }
+                }
+                runningCount.incrementAndGet();
+                try {
+                    future.runWithContext();
+                } finally {
+                    runningCount.decrementAndGet();
+                    completedTaskCount.increment();
+                    release();
+                }
+            } finally {
+                threads.remove(thread);
+                threadCount.decrementAndGet();
+                tryTerminate();
+            }
+        }
+    }
+
+
+    /**
+     * Future of a task with the context saved on submission and the optional
+     * {@link ManagedTaskListener} of the task.
+     */
+    class ManagedFuture<V> extends FutureTask<V> {
+
+        private final Object task;
+        private final ManagedTaskListener listener;
+        private final ContextHandle contextHandle;
+
+        ManagedFuture(Object task, Callable<V> callable) {
+            super(callable);
+            this.task = task;
+            this.listener = task instanceof ManagedTask ? ((ManagedTask) task).getManagedTaskListener() : null;
+            this.contextHandle = saveContext(task);
+        }
+
+
+        Object getTask() {
+            return task;
+        }
+
+
+        void submitted() {
+            if (listener != null) {
+                listener.taskSubmitted(this, adapter, task);
+            }
+        }
+
+
+        void aborted(Throwable cause) {
+            cancel(false);
+            if (listener != null) {
+                listener.taskAborted(this, adapter, task, cause);
+                listener.taskDone(this, adapter, task, cause);
+            }
+        }
+
+
+        void runWithContext() {
+            if (isDone()) {
+                return;
+            }
+            ContextHandle resetHandle = null;
+            try {
+                if (contextHandle != null) {
+                    resetHandle = contextService.getContextSetupProvider().setup(contextHandle);
+                }
+                if (listener != null) {
+                    listener.taskStarting(this, adapter, task);
+                }
+                run();
+                if (listener != null) {
+                    listener.taskDone(this, adapter, task, getFailure());
+                }
+            } catch (RuntimeException e) {
+                // The context could not be set up, the task did not run
+                LOG.log(Level.WARNING, "Could not run the task " + task + " of the executor " + name, e);
+                setException(e);
+            } finally {
+                if (resetHandle != null) {
+                    contextService.getContextSetupProvider().reset(resetHandle);
+                }
+            }
+        }
+
+
+        private Throwable getFailure() {
+            if (!isDone()) {
+                return null;
+            }
+            try {
+                get(0L, TimeUnit.NANOSECONDS);
+                return null;
+            } catch (ExecutionException e) {
+                return e.getCause();
+            } catch (CancellationException e) {
+                return e;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (TimeoutException e) {
+                return null;
+            }
+        }
+    }
+
+
+    private ContextHandle saveContext(Object task) {
+        if (contextService == null) {
+            return null;
+        }
+        ContextSetupProvider provider = contextService.getContextSetupProvider();
+        if (task instanceof ManagedTask) {
+            Map<String, String> properties = ((ManagedTask) task).getExecutionProperties();
+            return provider.saveContext(contextService, properties);
+        }
+        return provider.saveContext(contextService);
+    }
+
+
+    /**
+     * Runs the asynchronous dependent stages on the executor.
+     */
+    private static final class ManagedCompletableFuture<T> extends CompletableFuture<T> {
+
+        private final ManagedExecutorService executor;
+
+        ManagedCompletableFuture(ManagedExecutorService executor) {
+            this.executor = executor;
+        }
+
+
+        @Override
+        public Executor defaultExecutor() {
+            return executor;
+        }
+
+
+        @Override
+        public <U> CompletableFuture<U> newIncompleteFuture() {
+            return new ManagedCompletableFuture<>(executor);
+        }
+    }
+
+
+    /**
+     * The view of the executor for the applications, which must not manage its lifecycle.
+     */
+    class Adapter implements ManagedExecutorService {
+
+        @Override
+        public void shutdown() {
+            throw new IllegalStateException("The lifecycle of the managed executor " + name + " is managed by the server.");
+        }
+
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            throw new IllegalStateException("The lifecycle of the managed executor " + name + " is managed by the server.");
+        }
+
+
+        @Override
+        public boolean isShutdown() {
+            throw new IllegalStateException("The lifecycle of the managed executor " + name + " is managed by the server.");
+        }
+
+
+        @Override
+        public boolean isTerminated() {
+            throw new IllegalStateException("The lifecycle of the managed executor " + name + " is managed by the server.");
+        }
+
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            throw new IllegalStateException("The lifecycle of the managed executor " + name + " is managed by the server.");
+        }
+
+
+        @Override
+        public void execute(Runnable command) {
+            VirtualThreadManagedExecutorService.this.execute(command);
+        }
+
+
+        @Override
+        public <T> Future<T> submit(Callable<T> task) {
+            return VirtualThreadManagedExecutorService.this.submit(task);
+        }
+
+
+        @Override
+        public <T> Future<T> submit(Runnable task, T result) {
+            return VirtualThreadManagedExecutorService.this.submit(task, result);
+        }
+
+
+        @Override
+        public Future<?> submit(Runnable task) {
+            return VirtualThreadManagedExecutorService.this.submit(task);
+        }
+
+
+        @Override
+        public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws InterruptedException {
+            return VirtualThreadManagedExecutorService.this.invokeAll(tasks);
+        }
+
+
+        @Override
+        public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+            throws InterruptedException {
+            return VirtualThreadManagedExecutorService.this.invokeAll(tasks, timeout, unit);
+        }
+
+
+        @Override
+        public <T> T invokeAny(Collection<? extends Callable<T>> tasks)
+            throws InterruptedException, ExecutionException {
+            return VirtualThreadManagedExecutorService.this.invokeAny(tasks);
+        }
+
+
+        @Override
+        public <T> T invokeAny(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+            throws InterruptedException, ExecutionException, TimeoutException {
+            return VirtualThreadManagedExecutorService.this.invokeAny(tasks, timeout, unit);
+        }
+
+
+        @Override
+        public <U> CompletableFuture<U> completedFuture(U value) {
+            return VirtualThreadManagedExecutorService.this.completedFuture(value);
+        }
+
+
+        @Override
+        public <U> CompletionStage<U> completedStage(U value) {
+            return VirtualThreadManagedExecutorService.this.completedStage(value);
+        }
+
+
+        @Override
+        public <T> CompletableFuture<T> copy(CompletableFuture<T> stage) {
+            return VirtualThreadManagedExecutorService.this.copy(stage);
+        }
+
+
+        @Override
+        public <T> CompletionStage<T> copy(CompletionStage<T> stage) {
+            return VirtualThreadManagedExecutorService.this.copy(stage);
+        }
+
+
+        @Override
+        public <U> CompletableFuture<U> failedFuture(Throwable ex) {
+            return VirtualThreadManagedExecutorService.this.failedFuture(ex);
+        }
+
+
+        @Override
+        public <U> CompletionStage<U> failedStage(Throwable ex) {
+            return VirtualThreadManagedExecutorService.this.failedStage(ex);
+        }
+
+
+        @Override
+        public ContextService getContextService() {
+            return VirtualThreadManagedExecutorService.this.getContextService();
+        }
+
+
+        @Override
+        public <U> CompletableFuture<U> newIncompleteFuture() {
+            return VirtualThreadManagedExecutorService.this.newIncompleteFuture();
+        }
+
+
+        @Override
+        public CompletableFuture<Void> runAsync(Runnable runnable) {
+            return VirtualThreadManagedExecutorService.this.runAsync(runnable);
+        }
+
+
+        @Override
+        public <U> CompletableFuture<U> supplyAsync(Supplier<U> supplier) {
+            return VirtualThreadManagedExecutorService.this.supplyAsync(supplier);
+        }
+
+
+        @Override
+        public String toString() {
+            return VirtualThreadManagedExecutorService.this.toString();
+        }
+    }
+}
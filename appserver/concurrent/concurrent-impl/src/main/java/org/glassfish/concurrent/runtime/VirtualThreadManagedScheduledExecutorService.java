@@ -0,0 +1,504 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.concurrent.runtime;
+
+import com.sun.enterprise.util.VirtualThreads;
+
+import jakarta.enterprise.concurrent.LastExecution;
+import jakarta.enterprise.concurrent.ManagedScheduledExecutorService;
+import jakarta.enterprise.concurrent.ManagedTask;
+import jakarta.enterprise.concurrent.Trigger;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.enterprise.concurrent.ContextServiceImpl;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * {@link ManagedScheduledExecutorService} running each execution of a task on a new virtual
+ * thread.
+ * <p>
+ * A single platform thread keeps the schedule and starts the virtual threads when the tasks are
+ * due. A periodic task is scheduled again after its execution ended, so its executions never
+ * overlap. The count of executions running at the same time is limited by a semaphore as in
+ * {@link VirtualThreadManagedExecutorService}.
+ */
+public class VirtualThreadManagedScheduledExecutorService extends VirtualThreadManagedExecutorService
+    implements ManagedScheduledExecutorService {
+
+    private final ScheduledThreadPoolExecutor timer;
+    private final Set<ScheduledManagedFuture<?>> scheduledFutures = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param name name of the executor, the prefix of the thread names
+     * @param maxConcurrency maximal count of executions running at the same time,
+     *            0 or {@link Integer#MAX_VALUE} for no limit
+     * @param contextService context service saving and setting up the context of the tasks
+     * @throws UnsupportedOperationException if the JVM does not support virtual threads
+     */
+    public VirtualThreadManagedScheduledExecutorService(String name, int maxConcurrency,
+        ContextServiceImpl contextService) {
+        this(name, maxConcurrency, contextService, VirtualThreads.newThreadFactory(name + "-"));
+    }
+
+
+    /**
+     * @param name name of the executor
+     * @param maxConcurrency maximal count of executions running at the same time,
+     *            0 or {@link Integer#MAX_VALUE} for no limit
+     * @param contextService context service saving and setting up the context of the tasks
+     * @param threadFactory factory of the unstarted threads
+     */
+    public VirtualThreadManagedScheduledExecutorService(String name, int maxConcurrency,
+        ContextServiceImpl contextService, ThreadFactory threadFactory) {
+        super(name, maxConcurrency, Integer.MAX_VALUE, contextService, threadFactory);
+        this.timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, name + "-timer");
+            thread.setDaemon(true);
+            // The thread could be created by an application
+            thread.setContextClassLoader(null);
+            return thread;
+        });
+        this.timer.setRemoveOnCancelPolicy(true);
+        this.timer.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+
+    @Override
+    public ManagedScheduledExecutorService getAdapter() {
+        return (ManagedScheduledExecutorService) super.getAdapter();
+    }
+
+
+    @Override
+    Adapter createAdapter() {
+        return new ScheduledAdapter();
+    }
+
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        Objects.requireNonNull(command, "command");
+        return scheduleDelayed(new ScheduledManagedFuture<>(command, Executors.callable(command), 0L, null), delay, unit);
+    }
+
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        Objects.requireNonNull(callable, "callable");
+        return scheduleDelayed(new ScheduledManagedFuture<>(callable, callable, 0L, null), delay, unit);
+    }
+
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        Objects.requireNonNull(command, "command");
+        if (period <= 0L) {
+            throw new IllegalArgumentException("The period must be positive: " + period);
+        }
+        return scheduleDelayed(new ScheduledManagedFuture<>(command, Executors.callable(command), unit.toNanos(period), null),
+            initialDelay, unit);
+    }
+
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay,
+        TimeUnit unit) {
+        Objects.requireNonNull(command, "command");
+        if (delay <= 0L) {
+            throw new IllegalArgumentException("The delay must be positive: " + delay);
+        }
+        return scheduleDelayed(new ScheduledManagedFuture<>(command, Executors.callable(command), -unit.toNanos(delay), null),
+            initialDelay, unit);
+    }
+
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, Trigger trigger) {
+        Objects.requireNonNull(command, "command");
+        return scheduleTriggered(new ScheduledManagedFuture<>(command, Executors.callable(command), 0L, trigger));
+    }
+
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, Trigger trigger) {
+        Objects.requireNonNull(callable, "callable");
+        return scheduleTriggered(new ScheduledManagedFuture<>(callable, callable, 0L, trigger));
+    }
+
+
+    private <V> ScheduledFuture<V> scheduleDelayed(ScheduledManagedFuture<V> future, long delay, TimeUnit unit) {
+        register(future);
+        future.armAt(System.nanoTime() + unit.toNanos(Math.max(0L, delay)));
+        return future;
+    }
+
+
+    private <V> ScheduledFuture<V> scheduleTriggered(ScheduledManagedFuture<V> future) {
+        Objects.requireNonNull(future.trigger, "trigger");
+        register(future);
+        future.scheduleNextTriggered(null, System.currentTimeMillis());
+        return future;
+    }
+
+
+    private void register(ScheduledManagedFuture<?> future) {
+        if (isShutdown()) {
+            throw new RejectedExecutionException("The executor " + getName() + " is shut down.");
+        }
+        scheduledFutures.add(future);
+        future.submitted();
+    }
+
+
+    @Override
+    public void shutdown() {
+        super.shutdown();
+        timer.shutdown();
+        cancelScheduled();
+    }
+
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> tasks = new ArrayList<>(super.shutdownNow());
+        timer.shutdownNow();
+        tasks.addAll(cancelScheduled());
+        return tasks;
+    }
+
+
+    private List<Runnable> cancelScheduled() {
+        List<Runnable> cancelled = new ArrayList<>();
+        for (ScheduledManagedFuture<?> future : scheduledFutures) {
+            if (future.cancel(false)) {
+                cancelled.add(future);
+            }
+        }
+        return cancelled;
+    }
+
+
+    @Override
+    public boolean isTerminated() {
+        return super.isTerminated() && timer.isTerminated();
+    }
+
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        return timer.awaitTermination(timeout, unit)
+            && super.awaitTermination(deadline - System.nanoTime(), NANOSECONDS);
+    }
+
+
+    /**
+     * Future of a delayed, periodic or triggered task. The context saved on submission is set up
+     * for every execution.
+     */
+    private final class ScheduledManagedFuture<V> extends ManagedFuture<V> implements ScheduledFuture<V> {
+
+        private final Callable<V> callable;
+        /** Positive for a fixed rate, negative for a fixed delay, zero for a single execution */
+        private final long periodNanos;
+        private final Trigger trigger;
+        private final String identityName;
+
+        private volatile long nextRunNanos;
+        private volatile long scheduledStartMillis;
+        private volatile Future<?> timeout;
+        private volatile Thread runner;
+        private volatile LastExecution lastExecution;
+
+        ScheduledManagedFuture(Object task, Callable<V> callable, long periodNanos, Trigger trigger) {
+            super(task, callable);
+            this.callable = callable;
+            this.periodNanos = periodNanos;
+            this.trigger = trigger;
+            this.identityName = toIdentityName(task);
+        }
+
+
+        private boolean isRepeated() {
+            return periodNanos != 0L || trigger != null;
+        }
+
+
+        void armAt(long runNanos) {
+            armAt(runNanos, System.currentTimeMillis() + NANOSECONDS.toMillis(runNanos - System.nanoTime()));
+        }
+
+
+        private void armAt(long runNanos, long runMillis) {
+            nextRunNanos = runNanos;
+            scheduledStartMillis = runMillis;
+            try {
+                timeout = timer.schedule(this::fire, runNanos - System.nanoTime(), NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                // The executor was shut down
+                cancel(false);
+                return;
+            }
+            if (isDone()) {
+                timeout.cancel(false);
+            }
+        }
+
+
+        private void fire() {
+            if (isDone()) {
+                return;
+            }
+            try {
+                dispatch(this);
+            } catch (RejectedExecutionException e) {
+                // The future was aborted by the dispatch
+            }
+        }
+
+
+        @Override
+        public void run() {
+            if (!isRepeated()) {
+                super.run();
+                return;
+            }
+            if (isDone()) {
+                return;
+            }
+            final long scheduledStart = scheduledStartMillis;
+            if (trigger != null && trigger.skipRun(lastExecution, new Date(scheduledStart))) {
+                scheduleNextTriggered(lastExecution, scheduledStart);
+                return;
+            }
+            runner = Thread.currentThread();
+            final long runStart = System.currentTimeMillis();
+            final V result;
+            try {
+                result = callable.call();
+            } catch (Throwable t) {
+                setException(t);
+                return;
+            } finally {
+                runner = null;
+            }
+            LastExecution execution = new Execution(identityName, result, scheduledStart, runStart,
+                System.currentTimeMillis());
+            lastExecution = execution;
+            if (trigger != null) {
+                scheduleNextTriggered(execution, scheduledStart);
+            } else if (periodNanos > 0L) {
+                // A late execution does not shift the following ones
+                armAt(nextRunNanos + periodNanos);
+            } else {
+                armAt(System.nanoTime() - periodNanos);
+            }
+        }
+
+
+        void scheduleNextTriggered(LastExecution execution, long taskScheduledMillis) {
+            Date next = trigger.getNextRunTime(execution, new Date(taskScheduledMillis));
+            if (next == null) {
+                @SuppressWarnings("unchecked")
+                V result = execution == null ? null : (V) execution.getResult();
+                set(result);
+                return;
+            }
+            long delayMillis = Math.max(0L, next.getTime() - System.currentTimeMillis());
+            armAt(System.nanoTime() + MILLISECONDS.toNanos(delayMillis), next.getTime());
+        }
+
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            Thread thread = runner;
+            if (cancelled && mayInterruptIfRunning && thread != null) {
+                thread.interrupt();
+            }
+            return cancelled;
+        }
+
+
+        @Override
+        protected void done() {
+            Future<?> localTimeout = timeout;
+            if (localTimeout != null) {
+                localTimeout.cancel(false);
+            }
+            scheduledFutures.remove(this);
+        }
+
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(nextRunNanos - System.nanoTime(), NANOSECONDS);
+        }
+
+
+        @Override
+        public int compareTo(Delayed other) {
+            if (other == this) {
+                return 0;
+            }
+            return Long.compare(getDelay(NANOSECONDS), other.getDelay(NANOSECONDS));
+        }
+    }
+
+
+    private static String toIdentityName(Object task) {
+        if (task instanceof ManagedTask) {
+            Map<String, String> properties = ((ManagedTask) task).getExecutionProperties();
+            if (properties != null && properties.get(ManagedTask.IDENTITY_NAME) != null) {
+                return properties.get(ManagedTask.IDENTITY_NAME);
+            }
+        }
+        return task.toString();
+    }
+
+
+    /**
+     * Last execution of a task passed to its {@link Trigger}.
+     */
+    private static final class Execution implements LastExecution {
+
+        private final String identityName;
+        private final Object result;
+        private final long scheduledStart;
+        private final long runStart;
+        private final long runEnd;
+
+        Execution(String identityName, Object result, long scheduledStart, long runStart, long runEnd) {
+            this.identityName = identityName;
+            this.result = result;
+            this.scheduledStart = scheduledStart;
+            this.runStart = runStart;
+            this.runEnd = runEnd;
+        }
+
+
+        @Override
+        public String getIdentityName() {
+            return identityName;
+        }
+
+
+        @Override
+        public Object getResult() {
+            return result;
+        }
+
+
+        @Override
+        public Date getScheduledStart() {
+            return new Date(scheduledStart);
+        }
+
+
+        public ZonedDateTime getScheduledStart(ZoneId zone) {
+            return getScheduledStart().toInstant().atZone(zone);
+        }
+
+
+        @Override
+        public Date getRunStart() {
+            return new Date(runStart);
+        }
+
+
+        public ZonedDateTime getRunStart(ZoneId zone) {
+            return getRunStart().toInstant().atZone(zone);
+        }
+
+
+        @Override
+        public Date getRunEnd() {
+            return new Date(runEnd);
+        }
+
+
+        public ZonedDateTime getRunEnd(ZoneId zone) {
+            return getRunEnd().toInstant().atZone(zone);
+        }
+    }
+
+
+    /**
+     * The view of the executor for the applications, which must not manage its lifecycle.
+     */
+    private class ScheduledAdapter extends Adapter implements ManagedScheduledExecutorService {
+
+        @Override
+        public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+            return VirtualThreadManagedScheduledExecutorService.this.schedule(command, delay, unit);
+        }
+
+
+        @Override
+        public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+            return VirtualThreadManagedScheduledExecutorService.this.schedule(callable, delay, unit);
+        }
+
+
+        @Override
+        public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period,
+            TimeUnit unit) {
+            return VirtualThreadManagedScheduledExecutorService.this.scheduleAtFixedRate(command, initialDelay,
+                period, unit);
+        }
+
+
+        @Override
+        public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay,
+            TimeUnit unit) {
+            return VirtualThreadManagedScheduledExecutorService.this.scheduleWithFixedDelay(command, initialDelay,
+                delay, unit);
+        }
+
+
+        @Override
+        public ScheduledFuture<?> schedule(Runnable command, Trigger trigger) {
+            return VirtualThreadManagedScheduledExecutorService.this.schedule(command, trigger);
+        }
+
+
+        @Override
+        public <V> ScheduledFuture<V> schedule(Callable<V> callable, Trigger trigger) {
+            return VirtualThreadManagedScheduledExecutorService.this.schedule(callable, trigger);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.concurrent.runtime;
+
+import com.sun.enterprise.util.VirtualThreads;
+
+import jakarta.enterprise.concurrent.ManagedThreadFactory;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ThreadFactory;
+
+import org.glassfish.enterprise.concurrent.ContextServiceImpl;
+import org.glassfish.enterprise.concurrent.ManagedThreadFactoryImpl;
+import org.glassfish.enterprise.concurrent.spi.ContextHandle;
+import org.glassfish.enterprise.concurrent.spi.ContextSetupProvider;
+
+/**
+ * {@link ManagedThreadFactory} creating virtual threads.
+ * <p>
+ * The context of the thread calling {@link #newThread(Runnable)} is saved and set up on the new
+ * thread around the runnable. The workers of a {@link ForkJoinPool} must be platform threads,
+ * they are created by the given platform thread factory.
+ */
+public class VirtualThreadManagedThreadFactory implements ManagedThreadFactory {
+
+    private final String name;
+    private final ContextServiceImpl contextService;
+    private final ThreadFactory threadFactory;
+    private final ManagedThreadFactoryImpl forkJoinThreadFactory;
+
+    private volatile boolean stopped;
+
+    /**
+     * @param name name of the factory, the prefix of the thread names
+     * @param contextService context service saving and setting up the context of the threads
+     * @param forkJoinThreadFactory factory of the workers of {@link ForkJoinPool}s
+     * @throws UnsupportedOperationException if the JVM does not support virtual threads
+     */
+    public VirtualThreadManagedThreadFactory(String name, ContextServiceImpl contextService,
+        ManagedThreadFactoryImpl forkJoinThreadFactory) {
+        this(name, contextService, forkJoinThreadFactory, VirtualThreads.newThreadFactory(name + "-"));
+    }
+
+
+    /**
+     * @param name name of the factory
+     * @param contextService context service saving and setting up the context of the threads
+     * @param forkJoinThreadFactory factory of the workers of {@link ForkJoinPool}s
+     * @param threadFactory factory of the unstarted threads
+     */
+    public VirtualThreadManagedThreadFactory(String name, ContextServiceImpl contextService,
+        ManagedThreadFactoryImpl forkJoinThreadFactory, ThreadFactory threadFactory) {
+        this.name = name;
+        this.contextService = contextService;
+        this.forkJoinThreadFactory = Objects.requireNonNull(forkJoinThreadFactory, "forkJoinThreadFactory");
+        this.threadFactory = Objects.requireNonNull(threadFactory, "threadFactory");
+    }
+
+
+    public String getName() {
+        return name;
+    }
+
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+        if (stopped) {
+            throw new IllegalStateException("The thread factory " + name + " is stopped.");
+        }
+        if (contextService == null) {
+            return threadFactory.newThread(runnable);
+        }
+        final ContextSetupProvider provider = contextService.getContextSetupProvider();
+        final ContextHandle contextHandle = provider.saveContext(contextService);
+        return threadFactory.newThread(() -> {
+            ContextHandle resetHandle = provider.setup(contextHandle);
+            try {
+                runnable.run();
+            } finally {
+                provider.reset(resetHandle);
+            }
+        });
+    }
+
+
+    @Override
+    public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+        return forkJoinThreadFactory.newThread(pool);
+    }
+
+
+    /**
+     * Stops creating threads, the threads created before are not affected.
+     */
+    public void stop() {
+        stopped = true;
+        forkJoinThreadFactory.stop();
+    }
+
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[name=" + name + ", stopped=" + stopped + "]";
+    }
+}
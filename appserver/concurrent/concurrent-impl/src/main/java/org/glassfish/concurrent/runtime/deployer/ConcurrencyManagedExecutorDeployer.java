@@ -25,7 +25,6 @@ import org.glassfish.api.naming.SimpleJndiName;
 import org.glassfish.concurrent.runtime.ConcurrentRuntime;
 import org.glassfish.concurrent.runtime.deployer.cfg.ManagedExecutorServiceCfg;
 import org.glassfish.enterprise.concurrent.ContextServiceImpl;
-import org.glassfish.enterprise.concurrent.ManagedExecutorServiceImpl;
 import org.glassfish.resourcebase.resources.api.ResourceDeployerInfo;
 import org.glassfish.resourcebase.resources.api.ResourceInfo;
 import org.glassfish.resourcebase.resources.naming.ResourceNamingService;
@@ -63,7 +62,7 @@ public class ConcurrencyManagedExecutorDeployer extends ConcurrencyDeployer<Mana
     @Override
     public void deployResource(ManagedExecutorDefinitionDescriptor resource, String applicationName, String moduleName) throws Exception {
         ManagedExecutorDefinitionDescriptor descriptor = resource;
-        ManagedExecutorServiceImpl service = createExecutorService(applicationName, moduleName, descriptor);
+        Object service = createExecutorService(applicationName, moduleName, descriptor);
         ResourceInfo resourceInfo = new ResourceInfo(toResourceName(descriptor), applicationName, moduleName);
         namingService.publishObject(resourceInfo, service, true);
     }
@@ -98,11 +97,15 @@ public class ConcurrencyManagedExecutorDeployer extends ConcurrencyDeployer<Mana
     }
 
 
-    private ManagedExecutorServiceImpl createExecutorService(String applicationName, String moduleName,
+    private Object createExecutorService(String applicationName, String moduleName,
         ManagedExecutorDefinitionDescriptor descriptor) {
         ConcurrencyManagedExecutorServiceConfig config = new ConcurrencyManagedExecutorServiceConfig(descriptor);
         ManagedExecutorServiceCfg mesConfig = new ManagedExecutorServiceCfg(config);
         ContextServiceImpl contextService = runtime.findOrCreateContextService(descriptor, applicationName, moduleName);
+        runtime.checkVirtualThreadsSupported(mesConfig.isUseVirtualThreads(), mesConfig.getServiceConfig().getJndiName());
+        if (runtime.isVirtualThreads(mesConfig.isUseVirtualThreads())) {
+            return runtime.createVirtualThreadManagedExecutorService(mesConfig, contextService);
+        }
         return runtime.createManagedExecutorService(mesConfig, contextService);
     }
 }
@@ -26,6 +26,7 @@ import org.jvnet.hk2.config.ConfigBeanProxy;
 import org.jvnet.hk2.config.TransactionFailure;
 import org.jvnet.hk2.config.types.Property;
 
+import static com.sun.enterprise.deployment.xml.ConcurrencyTagNames.USE_VIRTUAL_THREADS;
 import static com.sun.enterprise.universal.JavaLangUtils.nonNull;
 
 
@@ -213,6 +214,18 @@ public class ConcurrencyManagedExecutorServiceConfig implements ManagedExecutorS
     }
 
 
+    @Override
+    public String getUseVirtualThreads() {
+        return descriptor.getProperties().getProperty(USE_VIRTUAL_THREADS, Boolean.FALSE.toString());
+    }
+
+
+    @Override
+    public void setUseVirtualThreads(String value) throws PropertyVetoException {
+        descriptor.getProperties().setProperty(USE_VIRTUAL_THREADS, value);
+    }
+
+
     @Override
     public String getHungAfterSeconds() {
         return nonNull(descriptor.getHungAfterSeconds(), String::valueOf, null);
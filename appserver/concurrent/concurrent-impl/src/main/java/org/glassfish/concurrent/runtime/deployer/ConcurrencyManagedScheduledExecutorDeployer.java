@@ -26,7 +26,6 @@ import org.glassfish.api.naming.SimpleJndiName;
 import org.glassfish.concurrent.runtime.ConcurrentRuntime;
 import org.glassfish.concurrent.runtime.deployer.cfg.ManagedScheduledExecutorServiceCfg;
 import org.glassfish.enterprise.concurrent.ContextServiceImpl;
-import org.glassfish.enterprise.concurrent.ManagedScheduledExecutorServiceImpl;
 import org.glassfish.resourcebase.resources.api.ResourceDeployerInfo;
 import org.glassfish.resourcebase.resources.api.ResourceInfo;
 import org.glassfish.resourcebase.resources.naming.ResourceNamingService;
@@ -67,7 +66,7 @@ public class ConcurrencyManagedScheduledExecutorDeployer
     @Override
     public void deployResource(ManagedScheduledExecutorDefinitionDescriptor resource, String applicationName, String moduleName) throws Exception {
         ManagedScheduledExecutorDefinitionDescriptor descriptor = resource;
-        ManagedScheduledExecutorServiceImpl service = createExecutorService(applicationName, moduleName, descriptor);
+        Object service = createExecutorService(applicationName, moduleName, descriptor);
         ResourceInfo resourceInfo = new ResourceInfo(toResourceName(descriptor), applicationName, moduleName);
         resourceNamingService.publishObject(resourceInfo, service, true);
     }
@@ -83,11 +82,15 @@ public class ConcurrencyManagedScheduledExecutorDeployer
     }
 
 
-    private ManagedScheduledExecutorServiceImpl createExecutorService(String applicationName, String moduleName,
+    private Object createExecutorService(String applicationName, String moduleName,
         ManagedScheduledExecutorDefinitionDescriptor descriptor) {
         ConcurrencyManagedScheduledExecutorServiceConfig config = new ConcurrencyManagedScheduledExecutorServiceConfig(descriptor);
         ManagedScheduledExecutorServiceCfg mesConfig = new ManagedScheduledExecutorServiceCfg(config);
         ContextServiceImpl contextService = runtime.findOrCreateContextService(descriptor, applicationName, moduleName);
+        runtime.checkVirtualThreadsSupported(mesConfig.isUseVirtualThreads(), mesConfig.getServiceConfig().getJndiName());
+        if (runtime.isVirtualThreads(mesConfig.isUseVirtualThreads())) {
+            return runtime.createVirtualThreadManagedScheduledExecutorService(mesConfig, contextService);
+        }
         return runtime.createManagedScheduledExecutorService(mesConfig, contextService);
     }
 }
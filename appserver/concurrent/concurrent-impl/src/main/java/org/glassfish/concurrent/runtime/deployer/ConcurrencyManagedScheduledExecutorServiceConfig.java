@@ -26,6 +26,7 @@ import org.jvnet.hk2.config.ConfigBeanProxy;
 import org.jvnet.hk2.config.TransactionFailure;
 import org.jvnet.hk2.config.types.Property;
 
+import static com.sun.enterprise.deployment.xml.ConcurrencyTagNames.USE_VIRTUAL_THREADS;
 import static com.sun.enterprise.universal.JavaLangUtils.nonNull;
 
 
@@ -215,6 +216,18 @@ public class ConcurrencyManagedScheduledExecutorServiceConfig implements Managed
     }
 
 
+    @Override
+    public String getUseVirtualThreads() {
+        return descriptor.getProperties().getProperty(USE_VIRTUAL_THREADS, Boolean.FALSE.toString());
+    }
+
+
+    @Override
+    public void setUseVirtualThreads(String value) throws PropertyVetoException {
+        descriptor.getProperties().setProperty(USE_VIRTUAL_THREADS, value);
+    }
+
+
     @Override
     public String getHungAfterSeconds() {
         long seconds = descriptor.getHungTaskThreshold();
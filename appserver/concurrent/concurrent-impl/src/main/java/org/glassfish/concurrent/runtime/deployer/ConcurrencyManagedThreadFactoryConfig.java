@@ -26,6 +26,8 @@ import org.jvnet.hk2.config.ConfigBeanProxy;
 import org.jvnet.hk2.config.TransactionFailure;
 import org.jvnet.hk2.config.types.Property;
 
+import static com.sun.enterprise.deployment.xml.ConcurrencyTagNames.USE_VIRTUAL_THREADS;
+
 
 /**
  * @author David Matejcek
@@ -218,6 +220,18 @@ public class ConcurrencyManagedThreadFactoryConfig implements ManagedThreadFacto
     }
 
 
+    @Override
+    public String getUseVirtualThreads() {
+        return descriptor.getProperties().getProperty(USE_VIRTUAL_THREADS, Boolean.FALSE.toString());
+    }
+
+
+    @Override
+    public void setUseVirtualThreads(String value) throws PropertyVetoException {
+        descriptor.getProperties().setProperty(USE_VIRTUAL_THREADS, value);
+    }
+
+
     @Override
     public String getIdentity() {
         return null;
@@ -18,6 +18,7 @@ package org.glassfish.concurrent.runtime.deployer;
 
 import com.sun.enterprise.deployment.ManagedThreadFactoryDefinitionDescriptor;
 
+import jakarta.enterprise.concurrent.ManagedThreadFactory;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
@@ -26,7 +27,6 @@ import org.glassfish.api.naming.SimpleJndiName;
 import org.glassfish.concurrent.runtime.ConcurrentRuntime;
 import org.glassfish.concurrent.runtime.deployer.cfg.ManagedThreadFactoryCfg;
 import org.glassfish.enterprise.concurrent.ContextServiceImpl;
-import org.glassfish.enterprise.concurrent.ManagedThreadFactoryImpl;
 import org.glassfish.resourcebase.resources.api.ResourceDeployerInfo;
 import org.glassfish.resourcebase.resources.api.ResourceInfo;
 import org.glassfish.resourcebase.resources.naming.ResourceNamingService;
@@ -66,7 +66,7 @@ public class ConcurrencyManagedThreadFactoryDeployer
     @Override
     public void deployResource(ManagedThreadFactoryDefinitionDescriptor resource, String applicationName, String moduleName) throws Exception {
         ManagedThreadFactoryDefinitionDescriptor descriptor = resource;
-        ManagedThreadFactoryImpl factory = createThreadFactory(applicationName, moduleName, descriptor);
+        ManagedThreadFactory factory = createThreadFactory(applicationName, moduleName, descriptor);
         SimpleJndiName resourceName = toResourceName(descriptor);
         ResourceInfo resourceInfo = new ResourceInfo(resourceName, applicationName, moduleName);
         resourceNamingService.publishObject(resourceInfo, factory, true);
@@ -83,11 +83,15 @@ public class ConcurrencyManagedThreadFactoryDeployer
     }
 
 
-    private ManagedThreadFactoryImpl createThreadFactory(String applicationName, String moduleName,
+    private ManagedThreadFactory createThreadFactory(String applicationName, String moduleName,
         ManagedThreadFactoryDefinitionDescriptor descriptor) {
         ConcurrencyManagedThreadFactoryConfig config = new ConcurrencyManagedThreadFactoryConfig(descriptor);
         ManagedThreadFactoryCfg mtfConfig = new ManagedThreadFactoryCfg(config);
         ContextServiceImpl contextService = runtime.findOrCreateContextService(descriptor, applicationName, moduleName);
+        runtime.checkVirtualThreadsSupported(mtfConfig.isUseVirtualThreads(), mtfConfig.getServiceConfig().getJndiName());
+        if (runtime.isVirtualThreads(mtfConfig.isUseVirtualThreads())) {
+            return runtime.createVirtualThreadManagedThreadFactory(mtfConfig, contextService);
+        }
         return runtime.createManagedThreadFactory(mtfConfig, contextService);
     }
 }
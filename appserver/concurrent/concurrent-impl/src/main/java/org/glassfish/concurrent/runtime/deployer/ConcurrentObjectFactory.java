@@ -19,6 +19,10 @@ package org.glassfish.concurrent.runtime.deployer;
 
 import com.sun.logging.LogDomains;
 
+import jakarta.enterprise.concurrent.ManagedExecutorService;
+import jakarta.enterprise.concurrent.ManagedScheduledExecutorService;
+import jakarta.enterprise.concurrent.ManagedThreadFactory;
+
 import java.util.Hashtable;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -28,14 +32,12 @@ import javax.naming.Name;
 import javax.naming.Reference;
 import javax.naming.spi.ObjectFactory;
 
+import org.glassfish.concurrent.runtime.ConcurrentRuntime;
 import org.glassfish.concurrent.runtime.deployer.cfg.ContextServiceCfg;
 import org.glassfish.concurrent.runtime.deployer.cfg.ManagedExecutorServiceCfg;
 import org.glassfish.concurrent.runtime.deployer.cfg.ManagedScheduledExecutorServiceCfg;
 import org.glassfish.concurrent.runtime.deployer.cfg.ManagedThreadFactoryCfg;
 import org.glassfish.enterprise.concurrent.ContextServiceImpl;
-import org.glassfish.enterprise.concurrent.ManagedExecutorServiceAdapter;
-import org.glassfish.enterprise.concurrent.ManagedScheduledExecutorServiceAdapter;
-import org.glassfish.enterprise.concurrent.ManagedThreadFactoryImpl;
 
 import static org.glassfish.concurrent.runtime.ConcurrentRuntime.getRuntime;
 
@@ -65,15 +67,27 @@ public class ConcurrentObjectFactory implements ObjectFactory {
         return getRuntime().getContextService(config);
     }
 
-    private ManagedThreadFactoryImpl getManagedThreadFactory(ManagedThreadFactoryCfg config) {
-        return getRuntime().getManagedThreadFactory(config);
+    private ManagedThreadFactory getManagedThreadFactory(ManagedThreadFactoryCfg config) {
+        ConcurrentRuntime runtime = getRuntime();
+        if (runtime.isVirtualThreads(config.isUseVirtualThreads())) {
+            return runtime.getVirtualThreadManagedThreadFactory(config);
+        }
+        return runtime.getManagedThreadFactory(config);
     }
 
-    private ManagedExecutorServiceAdapter getManagedExecutorService(ManagedExecutorServiceCfg config) {
-        return getRuntime().getManagedExecutorService(config).getAdapter();
+    private ManagedExecutorService getManagedExecutorService(ManagedExecutorServiceCfg config) {
+        ConcurrentRuntime runtime = getRuntime();
+        if (runtime.isVirtualThreads(config.isUseVirtualThreads())) {
+            return runtime.getVirtualThreadManagedExecutorService(config).getAdapter();
+        }
+        return runtime.getManagedExecutorService(config).getAdapter();
     }
 
-    private ManagedScheduledExecutorServiceAdapter getManagedScheduledExecutorService(ManagedScheduledExecutorServiceCfg config) {
-        return getRuntime().getManagedScheduledExecutorService(config).getAdapter();
+    private ManagedScheduledExecutorService getManagedScheduledExecutorService(ManagedScheduledExecutorServiceCfg config) {
+        ConcurrentRuntime runtime = getRuntime();
+        if (runtime.isVirtualThreads(config.isUseVirtualThreads())) {
+            return runtime.getVirtualThreadManagedScheduledExecutorService(config).getAdapter();
+        }
+        return runtime.getManagedScheduledExecutorService(config).getAdapter();
     }
 }
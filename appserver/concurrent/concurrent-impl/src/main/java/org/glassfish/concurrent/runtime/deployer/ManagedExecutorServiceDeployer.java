@@ -89,6 +89,7 @@ public class ManagedExecutorServiceDeployer implements ResourceDeployer<ManagedE
         SimpleJndiName jndiName = new SimpleJndiName(resource.getJndiName());
         ResourceInfo resourceInfo = new ResourceInfo(jndiName, applicationName, moduleName);
         ManagedExecutorServiceCfg config = new ManagedExecutorServiceCfg(resource);
+        concurrentRuntime.checkVirtualThreadsSupported(config.isUseVirtualThreads(), jndiName);
 
         Reference ref= new Reference(
                 jakarta.enterprise.concurrent.ManagedExecutorService.class.getName(),
@@ -105,7 +106,11 @@ public class ManagedExecutorServiceDeployer implements ResourceDeployer<ManagedE
             LogHelper.log(LOG, Level.SEVERE, LogFacade.UNABLE_TO_BIND_OBJECT, ex, "ManagedExecutorService", jndiName);
         }
 
-        concurrentRuntime.getManagedExecutorService(config);
+        if (concurrentRuntime.isVirtualThreads(config.isUseVirtualThreads())) {
+            concurrentRuntime.getVirtualThreadManagedExecutorService(config);
+        } else {
+            concurrentRuntime.getManagedExecutorService(config);
+        }
     }
 
 
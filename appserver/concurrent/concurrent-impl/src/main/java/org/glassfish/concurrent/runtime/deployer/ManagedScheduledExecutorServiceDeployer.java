@@ -89,6 +89,7 @@ public class ManagedScheduledExecutorServiceDeployer implements ResourceDeployer
         SimpleJndiName jndiName = new SimpleJndiName(resource.getJndiName());
         ResourceInfo resourceInfo = new ResourceInfo(jndiName, applicationName, moduleName);
         ManagedScheduledExecutorServiceCfg config = new ManagedScheduledExecutorServiceCfg(resource);
+        concurrentRuntime.checkVirtualThreadsSupported(config.isUseVirtualThreads(), jndiName);
 
         Reference ref= new Reference(
                 jakarta.enterprise.concurrent.ManagedScheduledExecutorService.class.getName(),
@@ -106,7 +107,11 @@ public class ManagedScheduledExecutorServiceDeployer implements ResourceDeployer
             LogHelper.log(LOG, Level.SEVERE, LogFacade.UNABLE_TO_BIND_OBJECT, ex, "ManagedScheduledExecutorService", jndiName);
         }
 
-        concurrentRuntime.getManagedScheduledExecutorService(config);
+        if (concurrentRuntime.isVirtualThreads(config.isUseVirtualThreads())) {
+            concurrentRuntime.getVirtualThreadManagedScheduledExecutorService(config);
+        } else {
+            concurrentRuntime.getManagedScheduledExecutorService(config);
+        }
     }
 
 
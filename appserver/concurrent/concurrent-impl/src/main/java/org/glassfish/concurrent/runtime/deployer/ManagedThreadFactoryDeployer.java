@@ -87,6 +87,7 @@ public class ManagedThreadFactoryDeployer implements ResourceDeployer<ManagedThr
         SimpleJndiName jndiName = new SimpleJndiName(resource.getJndiName());
         ResourceInfo resourceInfo = new ResourceInfo(jndiName, applicationName, moduleName);
         ManagedThreadFactoryCfg config = new ManagedThreadFactoryCfg(resource);
+        concurrentRuntime.checkVirtualThreadsSupported(config.isUseVirtualThreads(), jndiName);
         Reference ref = new Reference(
                 jakarta.enterprise.concurrent.ManagedThreadFactory.class.getName(),
                 "org.glassfish.concurrent.runtime.deployer.ConcurrentObjectFactory",
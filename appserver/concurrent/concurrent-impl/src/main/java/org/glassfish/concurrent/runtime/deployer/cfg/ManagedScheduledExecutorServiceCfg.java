@@ -45,6 +45,7 @@ public class ManagedScheduledExecutorServiceCfg implements Serializable {
     private final int corePoolSize;
     private final long keepAliveSeconds;
     private final long threadLifeTimeSeconds;
+    private final boolean useVirtualThreads;
 
     public ManagedScheduledExecutorServiceCfg(ManagedScheduledExecutorService config) {
         Set<ConcurrencyContextType> propagated = parseContextInfo(config.getContextInfo(), config.getContextInfoEnabled());
@@ -58,6 +59,7 @@ public class ManagedScheduledExecutorServiceCfg implements Serializable {
         corePoolSize = parseInt(config.getCorePoolSize(), 0);
         keepAliveSeconds = parseLong(config.getKeepAliveSeconds(), 60L);
         threadLifeTimeSeconds = parseLong(config.getThreadLifetimeSeconds(), 0L);
+        useVirtualThreads = Boolean.valueOf(config.getUseVirtualThreads());
     }
 
     public ConcurrentServiceCfg getServiceConfig() {
@@ -108,4 +110,9 @@ public class ManagedScheduledExecutorServiceCfg implements Serializable {
     public long getThreadLifeTimeSeconds() {
         return threadLifeTimeSeconds;
     }
+
+
+    public boolean isUseVirtualThreads() {
+        return useVirtualThreads;
+    }
 }
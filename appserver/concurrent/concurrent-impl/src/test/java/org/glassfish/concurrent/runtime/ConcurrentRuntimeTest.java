@@ -88,6 +88,7 @@ public class ConcurrentRuntimeTest {
         expect(managedThreadFactoryCfg.getContextInfoEnabled()).andReturn("true").anyTimes();
         expect(managedThreadFactoryCfg.getJndiName()).andReturn("concurrent/ctxSrv").anyTimes();
         expect(managedThreadFactoryCfg.getThreadPriority()).andReturn("8").anyTimes();
+        expect(managedThreadFactoryCfg.getUseVirtualThreads()).andReturn("false").anyTimes();
         replay(managedThreadFactoryCfg);
 
         ManagedThreadFactoryCfg cfg = new ManagedThreadFactoryCfg(managedThreadFactoryCfg);
@@ -128,6 +129,7 @@ public class ConcurrentRuntimeTest {
         expect(config.getKeepAliveSeconds()).andReturn("88").anyTimes();
         expect(config.getThreadPriority()).andReturn("3").anyTimes();
         expect(config.getThreadLifetimeSeconds()).andReturn("99").anyTimes();
+        expect(config.getUseVirtualThreads()).andReturn("false").anyTimes();
         replay(config);
 
         ManagedExecutorServiceCfg managedExecutorServiceCfg = new ManagedExecutorServiceCfg(config);
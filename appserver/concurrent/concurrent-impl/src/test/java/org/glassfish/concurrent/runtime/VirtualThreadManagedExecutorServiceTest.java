@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.concurrent.runtime;
+
+import com.sun.enterprise.util.VirtualThreads;
+
+import jakarta.enterprise.concurrent.LastExecution;
+import jakarta.enterprise.concurrent.Trigger;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class VirtualThreadManagedExecutorServiceTest {
+
+    private VirtualThreadManagedExecutorService executor;
+
+    @AfterEach
+    public void shutdown() throws Exception {
+        if (executor != null) {
+            executor.shutdownNow();
+            assertTrue(executor.awaitTermination(5L, SECONDS));
+        }
+    }
+
+
+    @Test
+    public void concurrencyLimitedBySemaphore() throws Exception {
+        executor = new VirtualThreadManagedExecutorService("test-mes", 3, 100, null, Executors.defaultThreadFactory());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            futures.add(executor.submit(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(5L);
+                running.decrementAndGet();
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(10L, SECONDS);
+        }
+        assertAll(
+            () -> assertEquals(3, maxRunning.get()),
+            () -> assertEquals(50L, executor.getCompletedTaskCount()),
+            () -> assertEquals(0, executor.getWaitingTaskCount())
+        );
+    }
+
+
+    @Test
+    public void tasksOverWaitingLimitRejected() throws Exception {
+        executor = new VirtualThreadManagedExecutorService("test-mes", 1, 1, null, Executors.defaultThreadFactory());
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        Future<?> running = executor.submit(() -> {
+            started.countDown();
+            release.await();
+            return null;
+        });
+        assertTrue(started.await(5L, SECONDS));
+        Future<String> waiting = executor.submit(() -> "done");
+        assertThrows(RejectedExecutionException.class, () -> executor.submit(() -> "rejected"));
+        release.countDown();
+        assertAll(
+            () -> assertEquals(null, running.get(5L, SECONDS)),
+            () -> assertEquals("done", waiting.get(5L, SECONDS))
+        );
+    }
+
+
+    @Test
+    public void adapterLifecycleForbidden() {
+        executor = new VirtualThreadManagedExecutorService("test-mes", 1, 1, null, Executors.defaultThreadFactory());
+        assertAll(
+            () -> assertThrows(IllegalStateException.class, () -> executor.getAdapter().shutdown()),
+            () -> assertThrows(IllegalStateException.class, () -> executor.getAdapter().isTerminated()),
+            () -> assertEquals("value", executor.getAdapter().supplyAsync(() -> "value").get(5L, SECONDS))
+        );
+    }
+
+
+    @Test
+    public void fixedRateExecutionsDoNotOverlap() throws Exception {
+        VirtualThreadManagedScheduledExecutorService mses = new VirtualThreadManagedScheduledExecutorService(
+            "test-mses", 0, null, Executors.defaultThreadFactory());
+        executor = mses;
+        AtomicBoolean running = new AtomicBoolean();
+        AtomicBoolean overlapped = new AtomicBoolean();
+        CountDownLatch executions = new CountDownLatch(5);
+        ScheduledFuture<?> future = mses.scheduleAtFixedRate(() -> {
+            if (!running.compareAndSet(false, true)) {
+                overlapped.set(true);
+            }
+            try {
+                Thread.sleep(20L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.set(false);
+            executions.countDown();
+        }, 0L, 5L, MILLISECONDS);
+        assertTrue(executions.await(5L, SECONDS));
+        assertTrue(future.cancel(false));
+        assertFalse(overlapped.get());
+    }
+
+
+    @Test
+    public void triggerEndsSchedule() throws Exception {
+        VirtualThreadManagedScheduledExecutorService mses = new VirtualThreadManagedScheduledExecutorService(
+            "test-mses", 0, null, Executors.defaultThreadFactory());
+        executor = mses;
+        AtomicInteger counter = new AtomicInteger();
+        Trigger threeTimes = new Trigger() {
+
+            @Override
+            public Date getNextRunTime(LastExecution lastExecution, Date taskScheduledTime) {
+                if (lastExecution != null && (Integer) lastExecution.getResult() >= 3) {
+                    return null;
+                }
+                return new Date(System.currentTimeMillis() + 10L);
+            }
+
+
+            @Override
+            public boolean skipRun(LastExecution lastExecution, Date scheduledRunTime) {
+                return false;
+            }
+        };
+        ScheduledFuture<Integer> future = mses.schedule(counter::incrementAndGet, threeTimes);
+        assertEquals(3, future.get(5L, SECONDS));
+    }
+
+
+    @Test
+    public void virtualThreads() throws Exception {
+        assumeTrue(VirtualThreads.isSupported(), "Virtual threads are not supported by this JVM.");
+        executor = new VirtualThreadManagedExecutorService("test-mes", 2, 10_000, null);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            futures.add(executor.submit(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(1L);
+                running.decrementAndGet();
+                return Thread.currentThread().getName().startsWith("test-mes-");
+            }));
+        }
+        for (Future<Boolean> future : futures) {
+            assertTrue(future.get(30L, SECONDS));
+        }
+        assertEquals(2, maxRunning.get());
+    }
+}
@@ -45,6 +45,7 @@ import com.sun.enterprise.resource.listener.PoolLifeCycleListener;
 import com.sun.enterprise.resource.pool.datastructure.DataStructure;
 import com.sun.enterprise.resource.pool.datastructure.DataStructureFactory;
 import com.sun.enterprise.resource.pool.resizer.Resizer;
+import com.sun.enterprise.resource.pool.waitqueue.HandoffPoolWaitQueue;
 import com.sun.enterprise.resource.pool.waitqueue.PoolWaitQueue;
 import com.sun.enterprise.resource.pool.waitqueue.PoolWaitQueueFactory;
 import com.sun.enterprise.transaction.api.JavaEETransaction;
@@ -329,7 +330,8 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
         long remainingWaitTime = 0;
 
         while (true) {
-            if (gateway.allowed()) {
+            // result can be already set by the handoff wait queue
+            if (result == null && gateway.allowed()) {
                 // See comment #1 above
                 JavaEETransaction javaEETransaction = ((JavaEETransaction) transaction);
                 Set resourcesSet = null;
@@ -380,7 +382,14 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
                     }
                 }
 
-                if (!blocked) {
+                if (!blocked && waitQueue instanceof HandoffPoolWaitQueue) {
+                    try {
+                        result = waitForHandedOffResource((HandoffPoolWaitQueue) waitQueue, remainingWaitTime, alloc);
+                    } catch (InterruptedException ex) {
+                        // Could be system shutdown.
+                        break;
+                    }
+                } else if (!blocked) {
                     // add to wait-queue
                     Object waitMonitor = new Object();
                     if (poolLifeCycleListener != null) {
@@ -449,6 +458,57 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
         return result;
     }
 
+    /**
+     * Waits in the handoff wait queue for a resource freed by another thread.
+     * The resource is never returned to the datastructure in between, so it must be matched
+     * and validated here the same way as in {@link #getResourceFromPool(ResourceAllocator, ResourceSpec)}.
+     *
+     * @param handoffQueue the wait queue
+     * @param waitTime maximal time to wait, 0 means forever
+     * @param alloc ResourceAllocator of the request
+     * @return the resource or null if none was received or it was not usable for this request
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private ResourceHandle waitForHandedOffResource(HandoffPoolWaitQueue handoffQueue, long waitTime,
+        ResourceAllocator alloc) throws InterruptedException {
+        if (poolLifeCycleListener != null) {
+            poolLifeCycleListener.connectionRequestQueued();
+        }
+        logFine("Resource Pool: getting on handoff wait queue");
+        final ResourceHandle resourceHandle;
+        try {
+            resourceHandle = handoffQueue.await(waitTime, () -> dataStructure.getFreeListSize() > 0);
+        } finally {
+            if (poolLifeCycleListener != null) {
+                poolLifeCycleListener.connectionRequestDequeued();
+            }
+        }
+        if (resourceHandle == null) {
+            return null;
+        }
+
+        if (resourceHandle.hasConnectionErrorOccurred() || !isConnectionValid(resourceHandle, alloc)) {
+            dataStructure.removeResource(resourceHandle);
+            notifyWaitingThreads();
+            return null;
+        }
+        if (!matchConnection(resourceHandle, alloc) || resourceHandle.isShareable() != alloc.shareableWithinComponent()) {
+            dataStructure.returnResource(resourceHandle);
+            notifyWaitingThreads();
+            return null;
+        }
+
+        setResourceStateToBusy(resourceHandle);
+        if (maxConnectionUsage_ > 0) {
+            resourceHandle.incrementUsageCount();
+        }
+        if (poolLifeCycleListener != null) {
+            poolLifeCycleListener.connectionUsed(resourceHandle.getId());
+            poolLifeCycleListener.decrementNumConnFree();
+        }
+        return resourceHandle;
+    }
+
     /**
      * Overridden in AssocWithThreadResourcePool to fetch the resource cached in the ThreadLocal In ConnectionPool this
      * simply returns null.
@@ -1019,21 +1079,28 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
 
     protected void freeResource(ResourceHandle resourceHandle) {
         if (cleanupResource(resourceHandle)) {
+            boolean handedOff = false;
             // Only when resource handle usage count is more than maxConnUsage
             if (maxConnectionUsage_ > 0 && resourceHandle.getUsageCount() >= maxConnectionUsage_) {
                 performMaxConnectionUsageOperation(resourceHandle);
             } else {
-                // Put it back to the free collection.
-                dataStructure.returnResource(resourceHandle);
                 // update the monitoring data
                 if (poolLifeCycleListener != null && !resourceHandle.getDestroyByLeakTimeOut()) {
                     poolLifeCycleListener.decrementConnectionUsed(resourceHandle.getId());
                     poolLifeCycleListener.incrementNumConnFree(false, steadyPoolSize);
                 }
+                // Give it directly to the oldest waiting request or put it back to the free collection.
+                handedOff = waitQueue instanceof HandoffPoolWaitQueue
+                    && ((HandoffPoolWaitQueue) waitQueue).offer(resourceHandle);
+                if (!handedOff) {
+                    dataStructure.returnResource(resourceHandle);
+                }
             }
             // for both the cases of free.add and maxConUsageOperation, a free resource is added.
             // Hence notify waiting threads
-            notifyWaitingThreads();
+            if (!handedOff) {
+                notifyWaitingThreads();
+            }
         }
     }
 
@@ -1183,6 +1250,13 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
     }
 
     protected void notifyWaitingThreads() {
+        if (waitQueue instanceof HandoffPoolWaitQueue) {
+            // waiters are dequeued by themselves
+            if (!((HandoffPoolWaitQueue) waitQueue).signal()) {
+                logFine(" No waiting request to signal");
+            }
+            return;
+        }
         // notify the first thread in the waitqueue
         Object waitMonitor = null;
         synchronized (waitQueue) {
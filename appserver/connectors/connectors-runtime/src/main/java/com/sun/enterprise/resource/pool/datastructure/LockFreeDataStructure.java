@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.datastructure;
+
+import com.sun.appserv.connectors.internal.api.PoolingException;
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.enterprise.resource.allocator.ResourceAllocator;
+import com.sun.enterprise.resource.pool.ResourceHandler;
+import com.sun.logging.LogDomains;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Datastructure for the pool which never takes a pool-wide lock.
+ * <p>
+ * Every resource is wrapped in a {@link Slot} carrying its own atomic state, so borrowing a
+ * resource is a single compare-and-set. A thread first tries the resource it returned last
+ * (thread-affine fast path, which also keeps the connection warm in that thread), then pops
+ * candidates from a concurrent LIFO free-list. Free-list entries may be stale (the resource was
+ * meanwhile taken through the fast path or removed); such entries are simply skipped.
+ * <p>
+ * Borrow, return and {@link #getFreeListSize()} are O(1).
+ */
+public class LockFreeDataStructure implements DataStructure {
+    private static final Logger LOG = LogDomains.getLogger(LockFreeDataStructure.class, LogDomains.RSR_LOGGER);
+
+    private static final int FREE = 0;
+    private static final int BUSY = 1;
+    private static final int REMOVED = 2;
+
+    private final ResourceHandler handler;
+    private final Map<ResourceHandle, Slot> resources;
+    private final ConcurrentLinkedDeque<Slot> free = new ConcurrentLinkedDeque<>();
+    private final ThreadLocal<WeakReference<Slot>> lastReturned = new ThreadLocal<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final LongAdder freeCount = new LongAdder();
+    private volatile int maxSize;
+
+
+    public LockFreeDataStructure(String parameters, int maxSize, ResourceHandler handler, String strategyClass) {
+        this.resources = new ConcurrentHashMap<>(Math.min(maxSize, 1000));
+        this.handler = handler;
+        this.maxSize = maxSize;
+        LOG.log(Level.FINEST, "Initialized lock-free datastructure, maxSize={0}", maxSize);
+    }
+
+
+    @Override
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+
+    @Override
+    public int addResource(ResourceAllocator allocator, int count) throws PoolingException {
+        int numResAdded = 0;
+        for (int i = 0; i < count && reserve(); i++) {
+            final ResourceHandle handle;
+            try {
+                handle = handler.createResource(allocator);
+            } catch (Exception e) {
+                size.decrementAndGet();
+                PoolingException pe = new PoolingException(e.getMessage());
+                pe.initCause(e);
+                throw pe;
+            }
+            Slot slot = new Slot(handle);
+            resources.put(handle, slot);
+            freeCount.increment();
+            slot.queued.set(true);
+            free.push(slot);
+            numResAdded++;
+        }
+        return numResAdded;
+    }
+
+
+    @Override
+    public ResourceHandle getResource() {
+        WeakReference<Slot> lastRef = lastReturned.get();
+        if (lastRef != null) {
+            Slot last = lastRef.get();
+            if (last != null && last.acquire()) {
+                freeCount.decrement();
+                return last.handle;
+            }
+        }
+        Slot slot;
+        while ((slot = free.poll()) != null) {
+            // must be cleared before the acquire attempt, see returnResource
+            slot.queued.set(false);
+            if (slot.acquire()) {
+                freeCount.decrement();
+                return slot.handle;
+            }
+        }
+        return null;
+    }
+
+
+    @Override
+    public void removeResource(ResourceHandle resource) {
+        Slot slot = resources.remove(resource);
+        if (slot == null) {
+            return;
+        }
+        if (slot.state.getAndSet(REMOVED) == FREE) {
+            freeCount.decrement();
+        }
+        size.decrementAndGet();
+        handler.deleteResource(resource);
+    }
+
+
+    @Override
+    public void returnResource(ResourceHandle resource) {
+        Slot slot = resources.get(resource);
+        if (slot == null || !slot.state.compareAndSet(BUSY, FREE)) {
+            return;
+        }
+        freeCount.increment();
+        WeakReference<Slot> lastRef = lastReturned.get();
+        if (lastRef == null || lastRef.get() != slot) {
+            lastReturned.set(new WeakReference<>(slot));
+        }
+        // If the slot is still queued, a poller has not reached it yet and will acquire it later.
+        if (slot.queued.compareAndSet(false, true)) {
+            free.push(slot);
+        }
+    }
+
+
+    @Override
+    public int getFreeListSize() {
+        return freeCount.intValue();
+    }
+
+
+    @Override
+    public void removeAll() {
+        Iterator<ResourceHandle> iterator = resources.keySet().iterator();
+        while (iterator.hasNext()) {
+            removeResource(iterator.next());
+        }
+        free.clear();
+    }
+
+
+    @Override
+    public int getResourcesSize() {
+        return size.get();
+    }
+
+
+    @Override
+    public ArrayList<ResourceHandle> getAllResources() {
+        return new ArrayList<>(resources.keySet());
+    }
+
+
+    /**
+     * Reserves a place for a new resource if the datastructure did not reach the max size yet.
+     */
+    private boolean reserve() {
+        while (true) {
+            int current = size.get();
+            if (current >= maxSize) {
+                return false;
+            }
+            if (size.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+
+    private static final class Slot {
+        final ResourceHandle handle;
+        final AtomicInteger state = new AtomicInteger(FREE);
+        /** True if the slot is (or is about to be) present in the free-list */
+        final AtomicBoolean queued = new AtomicBoolean();
+
+        Slot(ResourceHandle handle) {
+            this.handle = handle;
+        }
+
+        boolean acquire() {
+            return state.compareAndSet(FREE, BUSY);
+        }
+    }
+}
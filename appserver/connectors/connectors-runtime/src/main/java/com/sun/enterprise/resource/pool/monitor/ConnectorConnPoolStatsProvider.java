@@ -20,6 +20,7 @@ package com.sun.enterprise.resource.pool.monitor;
 import com.sun.enterprise.connectors.ConnectorRuntime;
 import com.sun.enterprise.resource.pool.PoolLifeCycleListenerRegistry;
 import com.sun.enterprise.resource.pool.PoolStatus;
+import com.sun.enterprise.util.LatencyHistogram;
 
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -116,6 +117,13 @@ public class ConnectorConnPoolStatsProvider {
     private final CountStatisticImpl averageConnWaitTime = new CountStatisticImpl(
             "AverageConnWaitTime", StatisticImpl.UNIT_MILLISECOND,
             "Average wait-time-duration per successful connection request");
+    private final CountStatisticImpl connRequestWaitTimeP50 = new CountStatisticImpl(
+            "ConnRequestWaitTimeP50", StatisticImpl.UNIT_MILLISECOND,
+            "Median wait time of successful connection requests");
+    private final CountStatisticImpl connRequestWaitTimeP99 = new CountStatisticImpl(
+            "ConnRequestWaitTimeP99", StatisticImpl.UNIT_MILLISECOND,
+            "99th percentile of wait times of successful connection requests");
+    private final LatencyHistogram waitTimeHistogram = new LatencyHistogram();
     private final CountStatisticImpl waitQueueLength = new CountStatisticImpl(
             "WaitQueueLength", StatisticImpl.UNIT_COUNT,
             "Number of connection requests in the queue waiting to be serviced.");
@@ -350,6 +358,7 @@ public class ConnectorConnPoolStatsProvider {
             }
             connRequestWaitTime.setCurrent(timeTakenInMillis);
             totalConnRequestWaitTime.increment(timeTakenInMillis);
+            waitTimeHistogram.record(timeTakenInMillis);
         }
     }
 
@@ -459,6 +468,9 @@ public class ConnectorConnPoolStatsProvider {
         numPotentialConnLeak.reset();
         averageConnWaitTime.reset();
         totalConnRequestWaitTime.reset();
+        connRequestWaitTimeP50.reset();
+        connRequestWaitTimeP99.reset();
+        waitTimeHistogram.reset();
         waitQueueLength.reset();
     }
 
@@ -622,6 +634,18 @@ public class ConnectorConnPoolStatsProvider {
        return averageConnWaitTime;
     }
 
+    @ManagedAttribute(id="connrequestwaittimep50")
+    public CountStatistic getConnRequestWaitTimeP50() {
+        connRequestWaitTimeP50.setCount(waitTimeHistogram.getPercentile(50));
+        return connRequestWaitTimeP50;
+    }
+
+    @ManagedAttribute(id="connrequestwaittimep99")
+    public CountStatistic getConnRequestWaitTimeP99() {
+        connRequestWaitTimeP99.setCount(waitTimeHistogram.getPercentile(99));
+        return connRequestWaitTimeP99;
+    }
+
     @ManagedAttribute(id="waitqueuelength")
     public CountStatistic getWaitQueueLength() {
         return waitQueueLength;
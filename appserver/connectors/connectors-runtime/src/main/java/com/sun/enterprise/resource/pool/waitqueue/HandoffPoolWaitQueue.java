@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.waitqueue;
+
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.logging.LogDomains;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Fair wait queue which transfers a freed resource directly to the oldest waiting request.
+ * <p>
+ * Requests waiting in {@link #await(long, BooleanSupplier)} are parked until they receive a resource, are
+ * signalled by {@link #signal()} or their deadline expires. A resource passed to
+ * {@link #offer(ResourceHandle)} never goes through the free list of the pool, so newly arriving
+ * requests cannot steal it from a request which is already waiting.
+ * <p>
+ * The queue also accepts plain wait monitors through the {@link PoolWaitQueue} methods, so it can
+ * be used as a reconfiguration wait queue too.
+ */
+public class HandoffPoolWaitQueue implements PoolWaitQueue {
+
+    private static final Logger LOG = LogDomains.getLogger(HandoffPoolWaitQueue.class, LogDomains.RSR_LOGGER);
+
+    private final ConcurrentLinkedQueue<Object> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger length = new AtomicInteger();
+
+    public HandoffPoolWaitQueue() {
+        LOG.log(Level.FINE, "Initializing handoff Pool Wait Queue");
+    }
+
+
+    /**
+     * Waits for a resource handed off by {@link #offer(ResourceHandle)}.
+     *
+     * @param maxWaitMillis maximal time to wait, 0 means forever
+     * @param retryCondition evaluated after the request was enqueued. If it returns true, the
+     *            request does not wait and the caller should retry; it closes the window where a
+     *            resource was returned to the pool after the caller checked it, but before the
+     *            request got into the queue.
+     * @return the resource or null if the request timed out or was signalled without a resource
+     * @throws InterruptedException if the thread was interrupted while waiting and no resource was
+     *             handed off to it.
+     */
+    public ResourceHandle await(long maxWaitMillis, BooleanSupplier retryCondition) throws InterruptedException {
+        final Waiter waiter = new Waiter(Thread.currentThread());
+        final long deadline = maxWaitMillis > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMillis) : 0L;
+        addToQueue(waiter);
+        try {
+            if (retryCondition.getAsBoolean() && waiter.cancel()) {
+                return null;
+            }
+            while (waiter.result.get() == null) {
+                if (Thread.interrupted()) {
+                    if (waiter.cancel()) {
+                        throw new InterruptedException();
+                    }
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                if (deadline == 0L) {
+                    LockSupport.park(this);
+                } else {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0L) {
+                        if (waiter.cancel()) {
+                            return null;
+                        }
+                        break;
+                    }
+                    LockSupport.parkNanos(this, remaining);
+                }
+            }
+        } finally {
+            removeFromQueue(waiter);
+        }
+        Object result = waiter.result.get();
+        return result instanceof ResourceHandle ? (ResourceHandle) result : null;
+    }
+
+
+    /**
+     * Hands the resource to the oldest request waiting in {@link #await(long, BooleanSupplier)}.
+     *
+     * @param resource
+     * @return true if some waiting request received the resource, false if there is nobody to take it.
+     */
+    public boolean offer(ResourceHandle resource) {
+        return transfer(resource);
+    }
+
+
+    /**
+     * Wakes up the oldest waiting request without giving it a resource, so it retries on its own.
+     * Useful when a capacity of the pool was released, ie. when a resource was destroyed.
+     *
+     * @return true if some request was woken up
+     */
+    public boolean signal() {
+        return transfer(Waiter.SIGNALLED);
+    }
+
+
+    private boolean transfer(Object value) {
+        for (Object o : queue) {
+            if (o instanceof Waiter && ((Waiter) o).complete(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    /**
+     * @return number of requests waiting in {@link #await(long, BooleanSupplier)} or registered as wait monitors.
+     */
+    @Override
+    public int getQueueLength() {
+        return length.get();
+    }
+
+
+    @Override
+    public void addToQueue(Object waitMonitor) {
+        queue.add(waitMonitor);
+        length.incrementAndGet();
+    }
+
+
+    @Override
+    public boolean removeFromQueue(Object o) {
+        if (queue.remove(o)) {
+            length.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+
+    @Override
+    public Object remove() {
+        Object first = queue.poll();
+        if (first != null) {
+            length.decrementAndGet();
+        }
+        return first;
+    }
+
+
+    @Override
+    public Object peek() {
+        return queue.peek();
+    }
+
+
+    @Override
+    public Collection getQueueContents() {
+        return new ArrayList<>(queue);
+    }
+
+
+    private static final class Waiter {
+
+        static final Object SIGNALLED = new Object();
+        static final Object CANCELLED = new Object();
+
+        final Thread thread;
+        final AtomicReference<Object> result = new AtomicReference<>();
+
+        Waiter(Thread thread) {
+            this.thread = thread;
+        }
+
+        boolean complete(Object value) {
+            if (result.compareAndSet(null, value)) {
+                LockSupport.unpark(thread);
+                return true;
+            }
+            return false;
+        }
+
+        boolean cancel() {
+            return result.compareAndSet(null, CANCELLED);
+        }
+
+        @Override
+        public String toString() {
+            return "Waiter[" + thread.getName() + "]";
+        }
+    }
+}
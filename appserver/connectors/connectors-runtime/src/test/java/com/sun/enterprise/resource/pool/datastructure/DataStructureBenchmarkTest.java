@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.datastructure;
+
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.enterprise.resource.allocator.ResourceAllocator;
+import com.sun.enterprise.resource.pool.ResourceHandler;
+
+import jakarta.resource.spi.ManagedConnection;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares borrow/return throughput of pool datastructures.
+ * The pool is smaller than the highest thread counts, so those runs include pool exhaustion.
+ */
+public class DataStructureBenchmarkTest {
+
+    private static final int POOL_SIZE = 64;
+
+    @ParameterizedTest(name = "threads: {0}")
+    @ValueSource(ints = {1, 8, 64, 512})
+    public void borrowAndReturn(int threads) throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".*")
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(100L))
+            .measurementIterations(1).measurementTime(TimeValue.milliseconds(300L))
+            .forks(1).threads(threads).timeout(TimeValue.seconds(10L))
+            .timeUnit(TimeUnit.MILLISECONDS)
+            .mode(Mode.Throughput).shouldFailOnError(true)
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        assertEquals(3, results.size(), "One result per datastructure");
+    }
+
+
+    @Benchmark
+    public void borrowAndReturn(PoolState pool, Blackhole blackhole) {
+        ResourceHandle handle = pool.dataStructure.getResource();
+        if (handle == null) {
+            // exhausted pool, the real pool would wait now.
+            return;
+        }
+        blackhole.consume(handle.getResource());
+        pool.dataStructure.returnResource(handle);
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class PoolState {
+
+        @Param({"ListDataStructure", "RWLockDataStructure", "LockFreeDataStructure"})
+        public String implementation;
+
+        DataStructure dataStructure;
+
+        @Setup(Level.Trial)
+        public void init() throws Exception {
+            String className = DataStructure.class.getPackageName() + '.' + implementation;
+            dataStructure = DataStructureFactory.getDataStructure(className, null, POOL_SIZE, new Handler(), null);
+            assertEquals(POOL_SIZE, dataStructure.addResource(null, POOL_SIZE));
+        }
+
+        @TearDown(Level.Trial)
+        public void destroy() {
+            dataStructure.removeAll();
+        }
+    }
+
+
+    private static class Handler implements ResourceHandler {
+
+        @Override
+        public ResourceHandle createResource(ResourceAllocator allocator) {
+            return new ResourceHandle(new Object(), null, allocator, null);
+        }
+
+        @Override
+        public void deleteResource(ResourceHandle resourceHandle) {
+        }
+
+        @Override
+        public void createResourceAndAddToPool() {
+        }
+
+        @Override
+        public Set<ManagedConnection> getInvalidConnections(Set<ManagedConnection> connections) {
+            return Set.of();
+        }
+
+        @Override
+        public void invalidConnectionDetected(ResourceHandle h) {
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.waitqueue;
+
+import com.sun.enterprise.resource.ResourceHandle;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HandoffPoolWaitQueueTest {
+
+    private final HandoffPoolWaitQueue queue = new HandoffPoolWaitQueue();
+
+    @Test
+    public void timeout() throws Exception {
+        long start = System.nanoTime();
+        assertNull(queue.await(50L, () -> false));
+        assertAll(
+            () -> assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50L)),
+            () -> assertEquals(0, queue.getQueueLength()),
+            () -> assertFalse(queue.offer(newHandle()), "Nobody waits")
+        );
+    }
+
+
+    @Test
+    public void retryConditionSkipsWaiting() throws Exception {
+        assertNull(queue.await(0L, () -> true));
+        assertEquals(0, queue.getQueueLength());
+    }
+
+
+    @Test
+    public void handoffToOldestWaiter() throws Exception {
+        CompletableFuture<ResourceHandle> first = CompletableFuture.supplyAsync(this::awaitForever);
+        waitForQueueLength(1);
+        CompletableFuture<ResourceHandle> second = CompletableFuture.supplyAsync(this::awaitForever);
+        waitForQueueLength(2);
+
+        ResourceHandle handle = newHandle();
+        assertTrue(queue.offer(handle));
+        assertSame(handle, first.get(5, TimeUnit.SECONDS));
+        assertFalse(second.isDone());
+
+        assertTrue(queue.signal());
+        assertNull(second.get(5, TimeUnit.SECONDS));
+        assertEquals(0, queue.getQueueLength());
+    }
+
+
+    private ResourceHandle awaitForever() {
+        try {
+            return queue.await(0L, () -> false);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+
+    private void waitForQueueLength(int length) throws InterruptedException {
+        while (queue.getQueueLength() < length) {
+            Thread.sleep(1L);
+        }
+    }
+
+
+    private static ResourceHandle newHandle() {
+        return new ResourceHandle(new Object(), null, null, null);
+    }
+}
@@ -51,5 +51,6 @@ public interface ConcurrencyTagNames extends TagNames {
     String KEEP_ALIVE_SECONDS = "keep-alive-seconds";
     String THREAD_LIFETIME_SECONDS = "thread-lifetime-seconds";
     String TASK_QUEUE_CAPACITY = "task-queue-capacity";
+    String USE_VIRTUAL_THREADS = "use-virtual-threads";
 
 }
@@ -28,6 +28,9 @@ import com.sun.ejb.codegen.EjbOptionalIntfGenerator;
 import com.sun.ejb.containers.interceptors.InterceptorManager;
 import com.sun.ejb.containers.interceptors.SystemInterceptorProxy;
 import com.sun.ejb.containers.util.MethodMap;
+import com.sun.ejb.containers.util.pool.NonBlockingPool;
+import com.sun.ejb.containers.util.pool.ObjectFactory;
+import com.sun.ejb.containers.util.pool.StripedPool;
 import com.sun.ejb.monitoring.probes.EjbCacheProbeProvider;
 import com.sun.ejb.monitoring.probes.EjbMonitoringProbeProvider;
 import com.sun.ejb.monitoring.probes.EjbTimedObjectProbeProvider;
@@ -233,6 +236,13 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
 
     protected static final String SINGLETON_BEAN_POOL_PROP = "singleton-bean-pool";
 
+    /**
+     * Property of the ejb or mdb container or of the enterprise beans in glassfish-ejb-jar.xml, selects the
+     * implementation of the bean pool. The property with the ejb-name appended after a dot applies to a single bean.
+     */
+    protected static final String BEAN_POOL_TYPE_PROP = "bean-pool-type";
+    protected static final String STRIPED_BEAN_POOL = "striped";
+
     protected final ClassLoader loader;
     protected Class<?> ejbClass;
     protected Class<?> sfsbSerializedClass;
@@ -894,6 +904,33 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
         return ejbDescriptor.getUniqueId();
     }
 
+    /**
+     * Creates the pool of bean instances of the type set by the {@value #BEAN_POOL_TYPE_PROP} property.
+     * The pool type of the bean set in glassfish-ejb-jar.xml has the precedence over the pool type of the module,
+     * and that one over the pool type of the container.
+     *
+     * @param containerPoolType pool type set in the server configuration, can be null
+     */
+    protected NonBlockingPool createNonBlockingPool(String poolName, ObjectFactory factory, int steadyPoolSize,
+        int resizeQuantity, int maxPoolSize, int idleTimeoutInSeconds, String containerPoolType) {
+        EjbBundleDescriptorImpl bundle = ejbDescriptor.getEjbBundleDescriptor();
+        boolean singletonBeanPool = Boolean.parseBoolean(bundle.getEnterpriseBeansProperty(SINGLETON_BEAN_POOL_PROP));
+        String poolType = bundle.getEnterpriseBeansProperty(BEAN_POOL_TYPE_PROP + '.' + ejbDescriptor.getName());
+        if (poolType == null) {
+            poolType = bundle.getEnterpriseBeansProperty(BEAN_POOL_TYPE_PROP);
+        }
+        if (poolType == null) {
+            poolType = containerPoolType;
+        }
+        if (STRIPED_BEAN_POOL.equalsIgnoreCase(poolType) && !singletonBeanPool) {
+            _logger.log(Level.FINE, () -> "Using striped bean pool for " + ejbDescriptor.getName());
+            return new StripedPool(getContainerId(), poolName, factory, steadyPoolSize, resizeQuantity,
+                maxPoolSize, idleTimeoutInSeconds, loader);
+        }
+        return new NonBlockingPool(getContainerId(), poolName, factory, steadyPoolSize, resizeQuantity,
+            maxPoolSize, idleTimeoutInSeconds, loader, singletonBeanPool);
+    }
+
     public final long getApplicationId() {
         return ejbDescriptor.getApplication().getUniqueId();
     }
@@ -3642,6 +3679,16 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
         // callFlowAgent.ejbMethodEnd(callFlowInfo);
     }
 
+    final void onAsyncInvocationSubmitted() {
+        ejbProbeNotifier.asyncInvocationSubmittedEvent(getContainerId(), containerInfo.appName, containerInfo.modName,
+                containerInfo.ejbName);
+    }
+
+    final void onAsyncInvocationCompleted() {
+        ejbProbeNotifier.asyncInvocationCompletedEvent(getContainerId(), containerInfo.appName, containerInfo.modName,
+                containerInfo.ejbName);
+    }
+
     protected Object invokeTargetBeanMethod(Method beanClassMethod, EjbInvocation inv, Object target, Object[] params,
             com.sun.enterprise.security.SecurityManager mgr) throws Throwable {
         try {
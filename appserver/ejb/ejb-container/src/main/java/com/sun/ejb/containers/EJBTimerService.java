@@ -45,6 +45,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -131,6 +132,14 @@ public class EJBTimerService {
     private static final String RESCHEDULE_FAILED_TIMER = "reschedule-failed-timer";
     private boolean rescheduleFailedTimer = false;
 
+    // Schedule the expirations in a timer wheel instead of the JDK timer
+    private static final String USE_TIMER_WHEEL = "use-timer-wheel";
+    private static final String TIMER_WHEEL_TICK = "timer-wheel-tick-in-millis";
+    private static final String TIMER_WHEEL_DISPATCH_THREADS = "timer-wheel-dispatch-threads";
+    private static final long DEFAULT_TIMER_WHEEL_TICK = 10;
+    private TimerWheel timerWheel;
+    private EjbThreadPoolExecutor timerWheelDispatcher;
+
     // Flag that allows to load EJBTimerService on the 1st access and
     // distinguish between not available and not loaded
     private static volatile boolean _timerServiceVerified = false;
@@ -253,6 +262,17 @@ public class EJBTimerService {
 
                 rescheduleFailedTimer = Boolean.valueOf(ejbt.getPropertyValue(RESCHEDULE_FAILED_TIMER));
 
+                if (Boolean.parseBoolean(ejbt.getPropertyValue(USE_TIMER_WHEEL))) {
+                    valString = ejbt.getPropertyValue(TIMER_WHEEL_TICK);
+                    long tick = (valString != null) ? Long.parseLong(valString) : DEFAULT_TIMER_WHEEL_TICK;
+                    valString = ejbt.getPropertyValue(TIMER_WHEEL_DISPATCH_THREADS);
+                    int threads = (valString != null) ? Integer.parseInt(valString)
+                        : Math.max(2, Runtime.getRuntime().availableProcessors());
+                    timerWheelDispatcher = new EjbThreadPoolExecutor(threads, threads, 60, new LinkedBlockingQueue<>(),
+                        "ejb-timer-dispatch-");
+                    timerWheel = new TimerWheel("ejb-timer-wheel", tick, timerWheelDispatcher);
+                }
+
                 // Load confing listener
                 ejbContainerUtil.getServices().getService(EJBTimerServiceConfigListener.class);
             }
@@ -265,7 +285,8 @@ public class EJBTimerService {
         logger.log(Level.FINE, "EJB Timer Service properties : " +
                    "min delivery interval = " + getMinimumDeliveryInterval() +
                    "\nmax redeliveries = " + maxRedeliveries_ +
-                   "\nredelivery interval = " + getRedeliveryInterval());
+                   "\nredelivery interval = " + getRedeliveryInterval() +
+                   "\ntimer wheel = " + (timerWheel != null));
     }
 
     synchronized void timedObjectCount() {
@@ -335,6 +356,10 @@ public class EJBTimerService {
     private void shutdown() {
         // Set flag to prevent any new timer expirations.
         shutdown_ = true;
+        if (timerWheel != null) {
+            timerWheel.stop();
+            timerWheelDispatcher.shutdown();
+        }
     }
 
     /**
@@ -373,6 +398,10 @@ public class EJBTimerService {
      * of the associated timer from the database is done as the last step of undeployment.
      */
     protected void stopTimers(long containerId) {
+        if (timerWheel != null) {
+            // Cancel all expirations of the container at once before the timers are removed one by one
+            timerWheel.cancelAll(containerId);
+        }
         stopTimers(timerCache_.getNonPersistentTimerIdsForContainer(containerId));
     }
 
@@ -446,8 +475,14 @@ public class EJBTimerService {
                     timerState.scheduled(timerTask);
                 }
 
-                java.util.Timer jdkTimer = ejbContainerUtil.getTimer();
-                jdkTimer.schedule(timerTask, timerExpiration);
+                if (timerWheel != null) {
+                    timerTask.setWheelTimeout(timerWheel.schedule(timerTask,
+                        timerExpiration.getTime() - System.currentTimeMillis(),
+                        timerState.getContainerId()));
+                } else {
+                    java.util.Timer jdkTimer = ejbContainerUtil.getTimer();
+                    jdkTimer.schedule(timerTask, timerExpiration);
+                }
             }
         } else {
 
@@ -22,7 +22,8 @@ import java.util.TimerTask;
 
 
 /*
- * JDK timer task for timer expirations.
+ * JDK timer task for timer expirations. The task is scheduled either in
+ * the JDK timer or in the timer wheel of the EJB Timer Service.
  *
  * @author Kenneth Saks
  */
@@ -32,6 +33,9 @@ public class EJBTimerTask extends TimerTask {
     private TimerPrimaryKey timerId_;
     private EJBTimerService timerService_;
 
+    // Set if the task is scheduled in the timer wheel instead of the JDK timer
+    private volatile TimerWheel.Timeout wheelTimeout_;
+
     EJBTimerTask(Date timeout, TimerPrimaryKey timerId,
                  EJBTimerService timerService)
     {
@@ -49,5 +53,16 @@ public class EJBTimerTask extends TimerTask {
         return timeout_;
     }
 
+    void setWheelTimeout(TimerWheel.Timeout wheelTimeout) {
+        wheelTimeout_ = wheelTimeout;
+    }
+
+    @Override
+    public boolean cancel() {
+        boolean cancelled = super.cancel();
+        TimerWheel.Timeout wheelTimeout = wheelTimeout_;
+        return wheelTimeout == null ? cancelled : wheelTimeout.cancel();
+    }
+
 }
 
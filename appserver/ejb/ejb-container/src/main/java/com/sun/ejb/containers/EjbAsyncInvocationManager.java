@@ -19,6 +19,7 @@ package com.sun.ejb.containers;
 import com.sun.ejb.EjbInvocation;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import org.jvnet.hk2.annotations.Service;
 import java.util.logging.Level;
@@ -37,6 +38,9 @@ public class EjbAsyncInvocationManager {
 
     private AtomicLong invCounter = new AtomicLong();
 
+    // Number of submitted async invocations which did not complete yet
+    private final AtomicInteger inFlightCounter = new AtomicInteger();
+
     // Map of Remote Future<> tasks.
     private ConcurrentHashMap<Long, EjbFutureTask> remoteTaskMap =
             new ConcurrentHashMap<Long, EjbFutureTask>();
@@ -119,7 +123,30 @@ public class EjbAsyncInvocationManager {
         futureTask.getEjbAsyncTask().initialize(asyncInv);
 
         EjbContainerUtil ejbContainerUtil = EjbContainerUtilImpl.getInstance();
-        return ejbContainerUtil.getThreadPoolExecutor(null).submit(futureTask.getEjbAsyncTask());
+        asyncInvocationSubmitted(asyncInv);
+        try {
+            return ejbContainerUtil.getAsyncExecutor().submit(futureTask.getEjbAsyncTask());
+        } catch (RuntimeException e) {
+            asyncInvocationCompleted(asyncInv);
+            throw e;
+        }
+    }
+
+    /**
+     * @return number of async invocations submitted and not completed yet
+     */
+    public int getInFlightInvocationCount() {
+        return inFlightCounter.get();
+    }
+
+    private void asyncInvocationSubmitted(EjbInvocation inv) {
+        inFlightCounter.incrementAndGet();
+        ((BaseContainer) inv.container).onAsyncInvocationSubmitted();
+    }
+
+    void asyncInvocationCompleted(EjbInvocation inv) {
+        inFlightCounter.decrementAndGet();
+        ((BaseContainer) inv.container).onAsyncInvocationCompleted();
     }
 
     public void cleanupContainerTasks(Container container) {
@@ -63,6 +63,15 @@ public class EjbAsyncTask<V>
 
     public V call()
             throws Exception {
+        try {
+            return invoke();
+        } finally {
+            ejbFutureTask.getAsyncInvocationManager().asyncInvocationCompleted(inv);
+        }
+    }
+
+    private V invoke()
+            throws Exception {
         V returnValue = null;
         BaseContainer container = (BaseContainer) inv.container;
         ClassLoader prevCL = Thread.currentThread().getContextClassLoader();
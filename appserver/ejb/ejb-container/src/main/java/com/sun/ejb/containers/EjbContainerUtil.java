@@ -31,6 +31,7 @@ import jakarta.transaction.Transaction;
 
 import java.util.Timer;
 import java.util.Vector;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
 
 import org.glassfish.api.invocation.ComponentInvocation;
@@ -58,6 +59,9 @@ public interface EjbContainerUtil {
 
     String DEFAULT_THREAD_POOL_NAME = "__ejb-thread-pool";
 
+    // ejb-container property switching the async invocations to virtual threads
+    String ASYNC_VIRTUAL_THREADS = "async-virtual-threads";
+
     // Used by the TimerService upgrade
     long MINIMUM_TIMER_DELIVERY_INTERVAL = 1000;
 
@@ -134,6 +138,12 @@ public interface EjbContainerUtil {
 
     ThreadPoolExecutor getThreadPoolExecutor(String poolName);
 
+    /**
+     * @return executor of the async EJB invocations, the default thread pool
+     *         or a virtual thread executor if {@value #ASYNC_VIRTUAL_THREADS} is set
+     */
+    ExecutorService getAsyncExecutor();
+
     JavaEEIOUtils getJavaEEIOUtils();
 
     Deployment getDeployment();
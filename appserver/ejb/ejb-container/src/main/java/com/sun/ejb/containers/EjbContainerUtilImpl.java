@@ -30,6 +30,7 @@ import com.sun.enterprise.deployment.xml.RuntimeTagNames;
 import com.sun.enterprise.transaction.api.JavaEETransaction;
 import com.sun.enterprise.transaction.api.JavaEETransactionManager;
 import com.sun.enterprise.util.Utility;
+import com.sun.enterprise.util.VirtualThreads;
 import com.sun.logging.LogDomains;
 
 import jakarta.inject.Inject;
@@ -48,6 +49,7 @@ import java.util.Timer;
 import java.util.Vector;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -86,6 +88,8 @@ public class EjbContainerUtilImpl implements PostConstruct, PreDestroy, EjbConta
 
     private ThreadPoolExecutor defaultThreadPoolExecutor;
 
+    private EjbVirtualThreadExecutor asyncVirtualThreadExecutor;
+
     @Inject
     private ServiceLocator services;
 
@@ -168,6 +172,7 @@ public class EjbContainerUtilImpl implements PostConstruct, PreDestroy, EjbConta
         }
 
         defaultThreadPoolExecutor = createThreadPoolExecutor(DEFAULT_THREAD_POOL_NAME);
+        asyncVirtualThreadExecutor = createAsyncVirtualThreadExecutor();
 
         //avoid starting JDK timer in application class loader.  The life of _timer
         //field is longer than deployed apps, and any reference to app class loader
@@ -194,6 +199,10 @@ public class EjbContainerUtilImpl implements PostConstruct, PreDestroy, EjbConta
             defaultThreadPoolExecutor.shutdown();
             defaultThreadPoolExecutor = null;
         }
+        if (asyncVirtualThreadExecutor != null) {
+            asyncVirtualThreadExecutor.shutdown();
+            asyncVirtualThreadExecutor = null;
+        }
         EJBTimerService.onShutdown();
         EJBTimerService.unsetEJBTimerService();
     }
@@ -513,6 +522,24 @@ public class EjbContainerUtilImpl implements PostConstruct, PreDestroy, EjbConta
         return result;
     }
 
+    private EjbVirtualThreadExecutor createAsyncVirtualThreadExecutor() {
+        String val = ejbContainer.getPropertyValue(ASYNC_VIRTUAL_THREADS);
+        if (val == null || !Boolean.parseBoolean(val.trim())) {
+            return null;
+        }
+        if (!VirtualThreads.isSupported()) {
+            _logger.warning(ASYNC_VIRTUAL_THREADS
+                    + " is set, but virtual threads are not supported by this JVM, using "
+                    + DEFAULT_THREAD_POOL_NAME);
+            return null;
+        }
+        EjbVirtualThreadExecutor result = new EjbVirtualThreadExecutor(DEFAULT_THREAD_POOL_NAME + "-virtual-");
+        if (_logger.isLoggable(Level.FINE)) {
+            _logger.fine("Created " + result.toString());
+        }
+        return result;
+    }
+
     static int initCorePoolSize(String propertyValue) {
         int corePoolSize = EjbContainer.DEFAULT_THREAD_CORE_POOL_SIZE;
         if (propertyValue == null) {
@@ -595,6 +622,14 @@ public class EjbContainerUtilImpl implements PostConstruct, PreDestroy, EjbConta
 //        TODO retrieve the named ThreadPoolExecutor
     }
 
+    @Override
+    public ExecutorService getAsyncExecutor() {
+        if (asyncVirtualThreadExecutor != null) {
+            return asyncVirtualThreadExecutor;
+        }
+        return defaultThreadPoolExecutor;
+    }
+
     @Override
     public JavaEEIOUtils getJavaEEIOUtils() {
         return javaEEIOUtils;
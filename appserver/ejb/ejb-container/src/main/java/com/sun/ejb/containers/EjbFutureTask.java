@@ -32,6 +32,8 @@ public class EjbFutureTask<V>
 
     private EjbAsyncTask ejbAsyncTask;
 
+    private final EjbAsyncInvocationManager asyncManager;
+
     // Used to remember if cancel() was called already
     private boolean cancelCalled = false;
 
@@ -45,6 +47,7 @@ public class EjbFutureTask<V>
     public EjbFutureTask(EjbAsyncTask<V> callable, EjbAsyncInvocationManager mgr) {
         super(callable);
         this.ejbAsyncTask = callable;
+        this.asyncManager = mgr;
     }
 
     @Override
@@ -164,6 +167,10 @@ public class EjbFutureTask<V>
         return ejbAsyncTask;
     }
 
+    EjbAsyncInvocationManager getAsyncInvocationManager() {
+        return asyncManager;
+    }
+
     long getInvId() {
         return ejbAsyncTask.getInvId();
     }
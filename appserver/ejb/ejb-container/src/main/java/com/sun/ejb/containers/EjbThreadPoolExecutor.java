@@ -62,6 +62,13 @@ public class EjbThreadPoolExecutor extends ThreadPoolExecutor {
     @Override
     protected void afterExecute(Runnable r, Throwable t) {
         super.afterExecute(r, t);
+        clearThreadTransaction();
+    }
+
+    /**
+     * Clears or rolls back the transaction left on the current thread by an async task.
+     */
+    static void clearThreadTransaction() {
         try {
             JavaEETransactionManager tm = EjbContainerUtilImpl.getInstance().getTransactionManager();
             if (tm.getTransaction() != null) {
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers;
+
+import com.sun.enterprise.util.VirtualThreads;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executor of the EJB async invocations starting a new virtual thread for each task.
+ * <p>
+ * The tasks are not queued, so an async invocation never waits for a free pool thread.
+ * The context of the caller is propagated by {@link EjbAsyncTask} exactly as with
+ * {@link EjbThreadPoolExecutor}, and the transaction left on the thread is cleared the same way.
+ */
+public class EjbVirtualThreadExecutor extends AbstractExecutorService {
+
+    private final String name;
+    private final ThreadFactory threadFactory;
+    private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    private final Object terminationLock = new Object();
+
+    private volatile boolean shutdown;
+
+    /**
+     * @param name prefix of the thread names
+     * @throws UnsupportedOperationException if the JVM does not support virtual threads
+     */
+    public EjbVirtualThreadExecutor(String name) {
+        this(name, VirtualThreads.newThreadFactory(name));
+    }
+
+    /**
+     * @param name prefix of the thread names
+     * @param threadFactory factory of the unstarted threads
+     */
+    EjbVirtualThreadExecutor(String name, ThreadFactory threadFactory) {
+        this.name = name;
+        this.threadFactory = Objects.requireNonNull(threadFactory, "threadFactory");
+    }
+
+    /**
+     * Ensure that we give out our EjbFutureTask as opposed to JDK's FutureTask
+     */
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+        if (callable instanceof EjbAsyncTask) {
+            return ((EjbAsyncTask) callable).getFutureTask();
+        }
+        return super.newTaskFor(callable);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        Objects.requireNonNull(command, "command");
+        if (shutdown) {
+            throw new RejectedExecutionException(this + " is shut down.");
+        }
+        Thread thread = threadFactory.newThread(() -> run(command));
+        if (thread == null) {
+            throw new RejectedExecutionException(this + " failed to create a thread.");
+        }
+        thread.setContextClassLoader(null); //Prevent any app classloader being set as CCL
+        threads.add(thread);
+        // the thread would be ignored by awaitTermination if shutdown was called meanwhile
+        if (shutdown) {
+            threads.remove(thread);
+            throw new RejectedExecutionException(this + " is shut down.");
+        }
+        thread.start();
+    }
+
+    private void run(Runnable command) {
+        Throwable thrown = null;
+        try {
+            command.run();
+        } catch (RuntimeException | Error e) {
+            thrown = e;
+            throw e;
+        } finally {
+            try {
+                afterExecute(command, thrown);
+            } finally {
+                threads.remove(Thread.currentThread());
+                signalTermination();
+            }
+        }
+    }
+
+    /**
+     * Called on the thread which executed the task, same as
+     * {@link java.util.concurrent.ThreadPoolExecutor#afterExecute(Runnable, Throwable)}.
+     *
+     * @param r the completed task
+     * @param t the exception thrown by the task or null
+     */
+    protected void afterExecute(Runnable r, Throwable t) {
+        EjbThreadPoolExecutor.clearThreadTransaction();
+    }
+
+    private void signalTermination() {
+        if (shutdown && threads.isEmpty()) {
+            synchronized (terminationLock) {
+                terminationLock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * @return number of tasks being executed
+     */
+    public int getActiveCount() {
+        return threads.size();
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        synchronized (terminationLock) {
+            terminationLock.notifyAll();
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+        // there is no queue, every accepted task has its thread
+        return new ArrayList<>();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown && threads.isEmpty();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (terminationLock) {
+            while (!isTerminated()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0L) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(terminationLock, remaining);
+            }
+            return true;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "EjbVirtualThreadExecutor " + name + " with " + getActiveCount() + " active tasks";
+    }
+}
@@ -0,0 +1,312 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers;
+
+import com.sun.ejb.ComponentContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.glassfish.ha.store.api.BackingStore;
+import org.glassfish.ha.store.api.BackingStoreException;
+import org.glassfish.ha.store.util.SimpleMetadata;
+
+/**
+ * Stages of the passivation of stateful session beans trimmed from the session cache.
+ * <ol>
+ * <li>The trimmed beans wait in the candidate queue.
+ * <li>At most {@link #getMaxWorkers()} tasks take the candidates from the queue and passivate
+ * them in parallel, which serializes and optionally compresses their state.
+ * <li>Every task writes the serialized states to the {@link BackingStore} itself, so the
+ * saves run in parallel too. The BackingStore API has no batch save.
+ * </ol>
+ * The queue depths and latencies of the stages are exposed to the EJB monitoring.
+ */
+public final class PassivationPipeline {
+
+    // Compressed states start with the GZIP magic, serialized ones with the serialization magic
+    private static final int GZIP_MAGIC_0 = 0x1f;
+    private static final int GZIP_MAGIC_1 = 0x8b;
+
+    private final int maxWorkers;
+    private final boolean compress;
+
+    private final ConcurrentLinkedQueue<Candidate> candidates = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger candidateCount = new AtomicInteger();
+    private final AtomicInteger workerCount = new AtomicInteger();
+    private final AtomicLong cumulativeWorkerCount = new AtomicLong();
+
+    private final AtomicInteger storeQueueDepth = new AtomicInteger();
+
+    private final Latency waitLatency = new Latency();
+    private final Latency serializationLatency = new Latency();
+    private final Latency storeLatency = new Latency();
+
+    /**
+     * @param maxWorkers maximal count of the tasks passivating beans in parallel
+     * @param compress true to compress the serialized states
+     */
+    public PassivationPipeline(int maxWorkers, boolean compress) {
+        this.maxWorkers = Math.max(1, maxWorkers);
+        this.compress = compress;
+    }
+
+
+    public int getMaxWorkers() {
+        return maxWorkers;
+    }
+
+
+    public boolean isCompress() {
+        return compress;
+    }
+
+
+    /**
+     * Adds the context trimmed from the cache to the candidate queue.
+     */
+    void addCandidate(ComponentContext context) {
+        candidates.add(new Candidate(context));
+        candidateCount.incrementAndGet();
+    }
+
+
+    /**
+     * @return the oldest candidate, or null if there is none
+     */
+    ComponentContext pollCandidate() {
+        Candidate candidate = candidates.poll();
+        if (candidate == null) {
+            return null;
+        }
+        candidateCount.decrementAndGet();
+        waitLatency.record(System.nanoTime() - candidate.addedAt);
+        return candidate.context;
+    }
+
+
+    /**
+     * Reserves a new worker if the candidates of more than one batch are waiting for each
+     * worker and the maximal count of workers is not reached.
+     *
+     * @param batchCount count of candidates per worker
+     * @return true if the caller has to start the worker
+     */
+    boolean reserveWorker(int batchCount) {
+        int required = Math.min(maxWorkers, candidateCount.get() / Math.max(1, batchCount));
+        while (true) {
+            int workers = workerCount.get();
+            if (workers >= required) {
+                return false;
+            }
+            if (workerCount.compareAndSet(workers, workers + 1)) {
+                cumulativeWorkerCount.incrementAndGet();
+                return true;
+            }
+        }
+    }
+
+
+    /**
+     * Releases the worker which found the candidate queue empty.
+     *
+     * @return true if the worker has to continue, because candidates were added meanwhile
+     */
+    boolean releaseWorker() {
+        workerCount.decrementAndGet();
+        return !candidates.isEmpty() && reserveWorker(1);
+    }
+
+
+    /**
+     * Compresses the serialized state if the compression is enabled.
+     *
+     * @param data serialized state
+     * @param startNanos start of the serialization
+     */
+    byte[] encode(byte[] data, long startNanos) throws IOException {
+        byte[] encoded = data;
+        if (compress) {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream(Math.max(64, data.length / 2));
+            try (GZIPOutputStream gzip = new FastGZIPOutputStream(bos)) {
+                gzip.write(data);
+            }
+            encoded = bos.toByteArray();
+        }
+        serializationLatency.record(System.nanoTime() - startNanos);
+        return encoded;
+    }
+
+
+    /**
+     * @return the serialized state, decompressed if it was compressed
+     */
+    static byte[] decode(byte[] data) throws IOException {
+        if (data.length < 2 || (data[0] & 0xff) != GZIP_MAGIC_0 || (data[1] & 0xff) != GZIP_MAGIC_1) {
+            return data;
+        }
+        try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return gzip.readAllBytes();
+        }
+    }
+
+
+    /**
+     * Saves the state to the store in the calling thread.
+     */
+    public void save(BackingStore<Serializable, SimpleMetadata> store, Serializable key, SimpleMetadata state,
+        boolean isNew) throws BackingStoreException {
+        long start = System.nanoTime();
+        storeQueueDepth.incrementAndGet();
+        try {
+            store.save(key, state, isNew);
+        } finally {
+            storeQueueDepth.decrementAndGet();
+            storeLatency.record(System.nanoTime() - start);
+        }
+    }
+
+
+    public int getCandidateQueueDepth() {
+        return candidateCount.get();
+    }
+
+
+    /**
+     * @return count of the states being saved to the store right now
+     */
+    public int getStoreQueueDepth() {
+        return storeQueueDepth.get();
+    }
+
+
+    public int getWorkerCount() {
+        return workerCount.get();
+    }
+
+
+    public long getCumulativeWorkerCount() {
+        return cumulativeWorkerCount.get();
+    }
+
+
+    /**
+     * @return time the candidates waited for a worker
+     */
+    public Latency getWaitLatency() {
+        return waitLatency;
+    }
+
+
+    /**
+     * @return time of the serialization and compression of the states
+     */
+    public Latency getSerializationLatency() {
+        return serializationLatency;
+    }
+
+
+    /**
+     * @return time of saving a state to the store
+     */
+    public Latency getStoreLatency() {
+        return storeLatency;
+    }
+
+
+    @Override
+    public String toString() {
+        return "PassivationPipeline[maxWorkers=" + maxWorkers + ", compress=" + compress + ", candidates="
+            + getCandidateQueueDepth() + ", workers=" + getWorkerCount() + ", storeQueue=" + getStoreQueueDepth() + "]";
+    }
+
+
+    /**
+     * Count, total, minimal and maximal latency of a stage in milliseconds.
+     */
+    public static final class Latency {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong minNanos = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicLong maxNanos = new AtomicLong();
+        private volatile long lastSampleTime;
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            minNanos.accumulateAndGet(nanos, Math::min);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            lastSampleTime = System.currentTimeMillis();
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getTotalMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(totalNanos.sum());
+        }
+
+        public long getMinMillis() {
+            long min = minNanos.get();
+            return min == Long.MAX_VALUE ? 0L : TimeUnit.NANOSECONDS.toMillis(min);
+        }
+
+        public long getMaxMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(maxNanos.get());
+        }
+
+        public long getLastSampleTime() {
+            return lastSampleTime;
+        }
+    }
+
+
+    private static final class Candidate {
+
+        final ComponentContext context;
+        final long addedAt = System.nanoTime();
+
+        Candidate(ComponentContext context) {
+            this.context = context;
+        }
+    }
+
+
+    /**
+     * Favors the speed over the ratio, the states are read back at most once.
+     */
+    private static final class FastGZIPOutputStream extends GZIPOutputStream {
+
+        FastGZIPOutputStream(ByteArrayOutputStream out) throws IOException {
+            super(out, 8192);
+            def.setLevel(Deflater.BEST_SPEED);
+        }
+    }
+}
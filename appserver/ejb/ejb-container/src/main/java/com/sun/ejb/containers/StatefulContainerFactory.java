@@ -150,6 +150,9 @@ public class StatefulContainerFactory extends BaseContainerFactory
 
     private static final Level TRACE_LEVEL = Level.FINE;
 
+    private static final String PASSIVATION_THREADS = "sfsb-passivation-threads";
+    private static final String PASSIVATION_COMPRESSION = "sfsb-passivation-compression";
+
     private EjbDescriptor            ejbDescriptor;
 
     private StatefulSessionContainer sfsbContainer;
@@ -348,6 +351,24 @@ public class StatefulContainerFactory extends BaseContainerFactory
         _logger.log(Level.INFO, SFSB_BUILDER_INSTANTIATED_BACKING_STORE, new Object[]{backingStore, HAEnabled, conf});
     }
 
+    private PassivationPipeline buildPassivationPipeline() {
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        boolean compress = false;
+        if (ejbContainerConfig != null) {
+            try {
+                String val = ejbContainerConfig.getPropertyValue(PASSIVATION_THREADS);
+                if (val != null) {
+                    threads = Integer.parseInt(val.trim());
+                }
+                compress = Boolean.parseBoolean(ejbContainerConfig.getPropertyValue(PASSIVATION_COMPRESSION));
+            } catch (NumberFormatException e) {
+                _logger.log(Level.WARNING, "Invalid passivation property of the EJB container, using "
+                    + threads + " threads", e);
+            }
+        }
+        return new PassivationPipeline(threads, compress);
+    }
+
     private void buildCache() {
         String cacheName = ejbDescriptor.getEjbClassName();
         String victimPolicy = cacheProps.getVictimSelectionPolicy();
@@ -395,6 +416,10 @@ public class StatefulContainerFactory extends BaseContainerFactory
                     cacheProps.getNumberOfVictimsToSelect());
         }
 
+        PassivationPipeline passivationPipeline = buildPassivationPipeline();
+        sfsbContainer.setPassivationPipeline(passivationPipeline);
+        sessionCache.setPassivationPipeline(passivationPipeline);
+
         if (_logger.isLoggable(TRACE_LEVEL)) {
             _logger.log(TRACE_LEVEL,
                     "Created cache for {0}; cache properties: {1}; loadFactor: {2}; backingStore: {3}",
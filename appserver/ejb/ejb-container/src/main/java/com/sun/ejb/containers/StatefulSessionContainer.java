@@ -95,6 +95,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -272,17 +273,13 @@ public final class StatefulSessionContainer
     private final static long CONCURRENCY_NOT_ALLOWED = 0;
     private final static long BLOCK_INDEFINITELY = -1;
 
-    private final ArrayList passivationCandidates = new ArrayList();
-    private final Object asyncTaskSemaphore = new Object();
-
-
-    private int asyncTaskCount = 0;
-    private int asyncCummTaskCount = 0;
+    private PassivationPipeline passivationPipeline = new PassivationPipeline(
+        Math.max(2, Runtime.getRuntime().availableProcessors()), false);
 
     private int passivationBatchCount
             = MIN_PASSIVATION_BATCH_COUNT;
 
-    private int containerTrimCount = 0;
+    private final AtomicInteger containerTrimCount = new AtomicInteger();
 
     private LruSessionCache sessionBeanCache;
     private BackingStore<Serializable, SimpleMetadata> backingStore;
@@ -514,11 +511,12 @@ public final class StatefulSessionContainer
 
     public String getMonitorAttributeValues() {
         StringBuilder sbuf = new StringBuilder();
-        sbuf.append(" { asyncTaskCount=").append(asyncTaskCount)
-            .append("; asyncCummTaskCount=").append(asyncCummTaskCount)
+        sbuf.append(" { asyncTaskCount=").append(passivationPipeline.getWorkerCount())
+            .append("; asyncCummTaskCount=").append(passivationPipeline.getCumulativeWorkerCount())
             .append("; passivationBatchCount=").append(passivationBatchCount)
-            .append("; passivationQSz=").append(passivationCandidates.size())
-            .append("; trimEventCount=").append(containerTrimCount)
+            .append("; passivationQSz=").append(passivationPipeline.getCandidateQueueDepth())
+            .append("; passivationStoreQSz=").append(passivationPipeline.getStoreQueueDepth())
+            .append("; trimEventCount=").append(containerTrimCount.get())
             .append(" }");
         return sbuf.toString();
     }
@@ -2202,6 +2200,16 @@ public final class StatefulSessionContainer
     }
 
 
+    public PassivationPipeline getPassivationPipeline() {
+        return passivationPipeline;
+    }
+
+
+    public void setPassivationPipeline(PassivationPipeline passivationPipeline) {
+        this.passivationPipeline = passivationPipeline;
+    }
+
+
     // called asynchronously from the Recycler
     @Override
     public boolean passivateEJB(StatefulEJBContext sfsbCtx) {
@@ -2377,12 +2385,15 @@ public final class StatefulSessionContainer
 
     @Override
     public byte[] serializeContext(StatefulEJBContext ctx) throws IOException {
-        return serializeContext((SessionContextImpl)ctx.getSessionContext());
+        // Called only to passivate the bean
+        long start = System.nanoTime();
+        return passivationPipeline.encode(serializeContext((SessionContextImpl)ctx.getSessionContext()), start);
     }
 
     @Override
     public Object deserializeData(byte[] data) throws Exception {
-        Object object = ejbContainerUtilImpl.getJavaEEIOUtils().deserializeObject(data, true, getClassLoader());
+        Object object = ejbContainerUtilImpl.getJavaEEIOUtils().deserializeObject(PassivationPipeline.decode(data),
+            true, getClassLoader());
         if (object instanceof SessionContextImpl) {
             SessionContextImpl ctx = (SessionContextImpl) object;
             Object ejb = ctx.getEJB();
@@ -2611,16 +2622,8 @@ public final class StatefulSessionContainer
                 _logger.log(Level.INFO, SFSB_NOT_RESTORED_AFTER_RESTART);
             }
             sessionBeanCache.shutdown();
-            while (true) {
-                ComponentContext ctx = null;
-                synchronized (asyncTaskSemaphore) {
-                    int sz = passivationCandidates.size();
-                    if (sz > 0) {
-                        ctx = (ComponentContext) passivationCandidates.remove(sz - 1);
-                    } else {
-                        break;
-                    }
-                }
+            ComponentContext ctx;
+            while ((ctx = passivationPipeline.pollCandidate()) != null) {
                 passivateEJB(ctx);
             }
 
@@ -2656,17 +2659,9 @@ public final class StatefulSessionContainer
                 invokePreDestroyAndUndeploy(ctx);
             }
 
-            while (true) {
-                SessionContextImpl ctx = null;
-                synchronized (asyncTaskSemaphore) {
-                    int sz = passivationCandidates.size();
-                    if (sz > 0) {
-                        ctx = (SessionContextImpl) passivationCandidates.remove(sz - 1);
-                        invokePreDestroyAndUndeploy(ctx);
-                    } else {
-                        break;
-                    }
-                }
+            SessionContextImpl candidate;
+            while ((candidate = (SessionContextImpl) passivationPipeline.pollCandidate()) != null) {
+                invokePreDestroyAndUndeploy(candidate);
             }
 
             sessionBeanCache.destroy();
@@ -2808,34 +2803,26 @@ public final class StatefulSessionContainer
     // CacheListener interface
     @Override
     public void trimEvent(Object primaryKey, Object context) {
-        boolean addTask = false;
-        synchronized (asyncTaskSemaphore) {
-            containerTrimCount++;
-            passivationCandidates.add(context);
-            int requiredTaskCount = (passivationCandidates.size() / passivationBatchCount);
-            addTask = (asyncTaskCount < requiredTaskCount);
+        containerTrimCount.incrementAndGet();
+        passivationPipeline.addCandidate((ComponentContext) context);
+        boolean addTask = passivationPipeline.reserveWorker(passivationBatchCount);
 
-            if (_logger.isLoggable(Level.FINE)) {
-                _logger.log(Level.FINE,
-                    "qSize: " + passivationCandidates.size() + "; batchCount: " + passivationBatchCount
-                        + "; asyncTaskCount: " + asyncTaskCount + "; requiredTaskCount: " + requiredTaskCount
-                        + "; ADDED TASK ==> " + addTask);
-            }
+        if (_logger.isLoggable(Level.FINE)) {
+            _logger.log(Level.FINE,
+                "qSize: " + passivationPipeline.getCandidateQueueDepth() + "; batchCount: " + passivationBatchCount
+                    + "; asyncTaskCount: " + passivationPipeline.getWorkerCount() + "; maxTaskCount: "
+                    + passivationPipeline.getMaxWorkers() + "; ADDED TASK ==> " + addTask);
+        }
 
-            if (addTask == false) {
-                return;
-            }
-            asyncTaskCount++;
-            asyncCummTaskCount++;
+        if (addTask == false) {
+            return;
         }
 
         try {
             ASyncPassivator work = new ASyncPassivator();
             ejbContainerUtilImpl.addWork(work);
         } catch (Exception ex) {
-            synchronized (asyncTaskSemaphore) {
-                asyncTaskCount--;
-            }
+            passivationPipeline.releaseWorker();
             _logger.log(Level.WARNING, ADD_CLEANUP_TASK_ERROR, ex);
         }
 
@@ -3201,7 +3188,6 @@ public final class StatefulSessionContainer
             final ClassLoader previousClassLoader = currentThread.getContextClassLoader();
             final ClassLoader myClassLoader = loader;
 
-            boolean decrementedTaskCount = false;
             try {
                 // We need to set the context class loader for
                 // this (deamon) thread!!
@@ -3214,28 +3200,18 @@ public final class StatefulSessionContainer
                     };
                     AccessController.doPrivileged(action);
                 }
-                ComponentContext ctx = null;
-
                 do {
-                    synchronized (asyncTaskSemaphore) {
-                        int sz = passivationCandidates.size();
-                        if (sz > 0) {
-                            ctx = (ComponentContext) passivationCandidates.remove(sz - 1);
-                        } else {
-                            return;
+                    ComponentContext ctx;
+                    while ((ctx = passivationPipeline.pollCandidate()) != null) {
+                        try {
+                            passivateEJB(ctx);
+                        } catch (Throwable th) {
+                            _logger.log(Level.WARNING, PASSIVATION_ERROR_1PARAM, new Object[] {ejbName, th});
                         }
                     }
-                    passivateEJB(ctx);
-                } while (true);
+                } while (passivationPipeline.releaseWorker());
 
-            } catch (Throwable th) {
-                th.printStackTrace();
             } finally {
-                if (!decrementedTaskCount) {
-                    synchronized (asyncTaskSemaphore) {
-                        asyncTaskCount--;
-                    }
-                }
 
                 if (System.getSecurityManager() == null) {
                     currentThread.setContextClassLoader(previousClassLoader);
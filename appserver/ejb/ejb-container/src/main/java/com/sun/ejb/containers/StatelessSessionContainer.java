@@ -37,7 +37,6 @@ import org.glassfish.ejb.deployment.descriptor.runtime.IASEjbExtraDescriptors;
 import com.sun.ejb.ComponentContext;
 import com.sun.ejb.EjbInvocation;
 import com.sun.ejb.containers.util.pool.AbstractPool;
-import com.sun.ejb.containers.util.pool.NonBlockingPool;
 import com.sun.ejb.containers.util.pool.ObjectFactory;
 import com.sun.ejb.monitoring.stats.EjbMonitoringStatsProvider;
 import com.sun.ejb.monitoring.stats.EjbPoolStatsProvider;
@@ -206,10 +205,9 @@ public class StatelessSessionContainer extends BaseContainer {
         }
 
         poolProp = new PoolProperties(ejbContainer, beanPoolDes);
-        String val = ejbDescriptor.getEjbBundleDescriptor().getEnterpriseBeansProperty(SINGLETON_BEAN_POOL_PROP);
-        pool = new NonBlockingPool(getContainerId(), ejbDescriptor.getName(), sessionCtxFactory,
+        pool = createNonBlockingPool(ejbDescriptor.getName(), sessionCtxFactory,
             poolProp.steadyPoolSize, poolProp.poolResizeQuantity, poolProp.maxPoolSize,
-            poolProp.poolIdleTimeoutInSeconds, loader, Boolean.parseBoolean(val));
+            poolProp.poolIdleTimeoutInSeconds, ejbContainer.getPropertyValue(BEAN_POOL_TYPE_PROP));
     }
 
 
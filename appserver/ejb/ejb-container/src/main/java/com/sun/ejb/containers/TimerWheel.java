@@ -0,0 +1,374 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers;
+
+import com.sun.logging.LogDomains;
+
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Hashed hierarchical timing wheel for the expirations of EJB timers.
+ * <p>
+ * The time is divided into ticks. The wheel has four levels of 512 slots each, a slot of the
+ * lowest level holds the timeouts of one tick, a slot of a higher level the timeouts of all
+ * slots of the level below. When the lowest level completes a revolution, the next slot of the
+ * higher level is cascaded into the lower levels. Scheduling and cancellation are constant time
+ * and do not lock: they are queued and applied by the single ticker thread, which never runs
+ * the tasks itself but hands the expired ones to the dispatch executor. A task stalled in the
+ * executor does not delay the other expirations.
+ * <p>
+ * The ticker applies at most {@value #MAX_TRANSFERS_PER_TICK} new timeouts per tick, so loading
+ * a large number of timers at once does not delay the ticks of those already scheduled.
+ * <p>
+ * A timeout can belong to a group, all timeouts of a group are cancelled at once by
+ * {@link #cancelAll(Object)}. A group is forgotten when its last timeout expires or is cancelled.
+ */
+final class TimerWheel {
+
+    private static final Logger logger = LogDomains.getLogger(TimerWheel.class, LogDomains.EJB_LOGGER);
+
+    static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private static final int SLOT_BITS = 9;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    // Timeouts further in the future are cascaded from the highest level until they are due
+    private static final long MAX_DELTA = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    private final long tickNanos;
+    private final long startNanos;
+    private final Executor dispatcher;
+    private final Bucket[][] buckets = new Bucket[LEVELS][SLOTS];
+    private final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final ConcurrentHashMap<Object, Set<Timeout>> groups = new ConcurrentHashMap<>();
+    private final Thread ticker;
+    private volatile boolean stopped;
+
+    // Next tick to process, used only by the ticker thread.
+    private long clock;
+
+    /**
+     * @param name name of the ticker thread
+     * @param tickMillis length of a tick, the precision of the expirations
+     * @param dispatcher executor running the expired tasks
+     */
+    TimerWheel(String name, long tickMillis, Executor dispatcher) {
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, tickMillis));
+        this.dispatcher = dispatcher;
+        for (Bucket[] level : buckets) {
+            for (int i = 0; i < SLOTS; i++) {
+                level[i] = new Bucket();
+            }
+        }
+        this.startNanos = System.nanoTime();
+        this.ticker = new Thread(this::run, name);
+        this.ticker.setDaemon(true);
+        this.ticker.start();
+    }
+
+
+    /**
+     * Schedules the task. The task never runs before the delay elapses, it runs at most one tick
+     * later if the dispatch executor has a free thread.
+     *
+     * @param task
+     * @param delayMillis
+     * @param group the group of the timeout, null for none
+     * @return the timeout to cancel the task
+     */
+    Timeout schedule(Runnable task, long delayMillis, Object group) {
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0L, delayMillis));
+        // Round up, the task must not run early
+        long deadline = Math.max(0L, (deadlineNanos - startNanos + tickNanos - 1) / tickNanos);
+        Timeout timeout = new Timeout(this, task, deadline, group);
+        if (group != null) {
+            // Added under the lock of the map entry, so that a concurrent removal of the last
+            // timeout of the group cannot drop the set with this timeout
+            groups.compute(group, (g, timeouts) -> {
+                Set<Timeout> result = timeouts == null ? ConcurrentHashMap.newKeySet() : timeouts;
+                result.add(timeout);
+                return result;
+            });
+        }
+        scheduled.add(timeout);
+        if (stopped) {
+            timeout.cancel();
+        }
+        return timeout;
+    }
+
+
+    /**
+     * Cancels all timeouts of the group scheduled before this call.
+     *
+     * @return count of cancelled timeouts
+     */
+    int cancelAll(Object group) {
+        Set<Timeout> timeouts = groups.remove(group);
+        if (timeouts == null) {
+            return 0;
+        }
+        int count = 0;
+        for (Timeout timeout : timeouts) {
+            if (timeout.cancel()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+
+    /**
+     * @return true if a timeout of the group is scheduled
+     */
+    boolean hasGroup(Object group) {
+        return groups.containsKey(group);
+    }
+
+
+    /**
+     * Stops the ticker, the timeouts not expired yet never run.
+     */
+    void stop() {
+        stopped = true;
+        LockSupport.unpark(ticker);
+    }
+
+
+    private void run() {
+        while (!stopped) {
+            long due = (System.nanoTime() - startNanos) / tickNanos;
+            if (clock > due) {
+                LockSupport.parkNanos(this, startNanos + clock * tickNanos - System.nanoTime());
+                continue;
+            }
+            try {
+                removeCancelled();
+                transferScheduled();
+                tick();
+            } catch (RuntimeException | Error e) {
+                logger.log(Level.WARNING, "EJB timer wheel tick failed", e);
+            }
+        }
+    }
+
+
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+
+    private void transferScheduled() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Timeout timeout = scheduled.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state == Timeout.SCHEDULED) {
+                place(timeout);
+            }
+        }
+    }
+
+
+    private void place(Timeout timeout) {
+        long expiration = Math.min(Math.max(timeout.deadline, clock), clock + MAX_DELTA);
+        long delta = expiration - clock;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        int slot = (int) (expiration >>> (SLOT_BITS * level)) & SLOT_MASK;
+        buckets[level][slot].add(timeout);
+    }
+
+
+    private void tick() {
+        int slot = (int) clock & SLOT_MASK;
+        if (slot == 0) {
+            // The lowest level starts a new revolution, bring the timeouts of its next span down
+            for (int level = 1; level < LEVELS; level++) {
+                int levelSlot = (int) (clock >>> (SLOT_BITS * level)) & SLOT_MASK;
+                cascade(buckets[level][levelSlot]);
+                if (levelSlot != 0) {
+                    break;
+                }
+            }
+        }
+
+        Timeout timeout = buckets[0][slot].clear();
+        clock++;
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            timeout.next = null;
+            timeout.expire();
+            timeout = next;
+        }
+    }
+
+
+    private void cascade(Bucket bucket) {
+        Timeout timeout = bucket.clear();
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            timeout.next = null;
+            if (timeout.state == Timeout.SCHEDULED) {
+                place(timeout);
+            }
+            timeout = next;
+        }
+    }
+
+
+    private void dispatch(Timeout timeout) {
+        removeFromGroup(timeout);
+        try {
+            dispatcher.execute(timeout.task);
+        } catch (RejectedExecutionException e) {
+            logger.log(Level.WARNING, "EJB timer expiration rejected by the dispatch executor", e);
+        }
+    }
+
+
+    private void removeFromGroup(Timeout timeout) {
+        if (timeout.group != null) {
+            groups.computeIfPresent(timeout.group, (group, timeouts) -> {
+                timeouts.remove(timeout);
+                return timeouts.isEmpty() ? null : timeouts;
+            });
+        }
+    }
+
+
+    /**
+     * Scheduled task, cancellable until it expires.
+     */
+    static final class Timeout {
+
+        private static final int SCHEDULED = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE =
+            AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final TimerWheel wheel;
+        private final Runnable task;
+        private final long deadline;
+        private final Object group;
+        private volatile int state;
+
+        // Used only by the ticker thread.
+        private Bucket bucket;
+        private Timeout previous;
+        private Timeout next;
+
+        private Timeout(TimerWheel wheel, Runnable task, long deadline, Object group) {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadline = deadline;
+            this.group = group;
+        }
+
+        /**
+         * @return false if the task expired or was cancelled already
+         */
+        boolean cancel() {
+            if (!STATE.compareAndSet(this, SCHEDULED, CANCELLED)) {
+                return false;
+            }
+            wheel.removeFromGroup(this);
+            wheel.cancelled.add(this);
+            return true;
+        }
+
+        boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        private void expire() {
+            bucket = null;
+            previous = null;
+            if (STATE.compareAndSet(this, SCHEDULED, EXPIRED)) {
+                wheel.dispatch(this);
+            }
+        }
+    }
+
+
+    /**
+     * Doubly linked list of the timeouts of a slot.
+     */
+    private static final class Bucket {
+
+        private Timeout head;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            timeout.previous = null;
+            timeout.next = head;
+            if (head != null) {
+                head.previous = timeout;
+            }
+            head = timeout;
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.previous == null) {
+                head = timeout.next;
+            } else {
+                timeout.previous.next = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.previous = timeout.previous;
+            }
+            timeout.bucket = null;
+            timeout.previous = null;
+            timeout.next = null;
+        }
+
+        /**
+         * @return the former head of the list, the timeouts stay linked by their next field
+         */
+        Timeout clear() {
+            Timeout first = head;
+            head = null;
+            for (Timeout timeout = first; timeout != null; timeout = timeout.next) {
+                timeout.bucket = null;
+                timeout.previous = null;
+            }
+            return first;
+        }
+    }
+}
@@ -17,6 +17,7 @@
 
 package com.sun.ejb.containers.interceptors;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -82,6 +83,12 @@ public class AroundInvokeInvocationContext extends CallbackInvocationContext imp
      */
     @Override
     public Object invokeBeanMethod() throws Throwable {
+        if (chain instanceof AroundInvokeChainImpl) {
+            MethodHandle handle = ((AroundInvokeChainImpl) chain).getBeanMethodHandle(method);
+            if (handle != null) {
+                return (Object) handle.invokeExact(getTarget(), parameters);
+            }
+        }
         try {
             return method.invoke(getTarget(), parameters);
         } catch (InvocationTargetException ite) {
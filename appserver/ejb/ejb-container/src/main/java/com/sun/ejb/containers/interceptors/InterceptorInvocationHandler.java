@@ -110,7 +110,7 @@ public final class InterceptorInvocationHandler implements InvocationHandler, In
         try {
             Method beanClassMethod = targetInstance.getClass().getMethod(method.getName(), method.getParameterTypes());
 
-            InterceptorManager.InterceptorChain chain = interceptorManager.getAroundInvokeChain(null, beanClassMethod);
+            InterceptorManager.InterceptorChain chain = interceptorManager.getManagedBeanAroundInvokeChain(beanClassMethod);
 
             Object[] theArgs = (args == null) ? emptyArray : args;
 
@@ -24,6 +24,7 @@ import static java.util.logging.Level.CONFIG;
 import static java.util.logging.Level.FINE;
 
 import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -32,6 +33,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -90,6 +92,9 @@ public class InterceptorManager {
     // Optionally specified delegate to be set on SystemInterceptorProxy
     private Object runtimeInterceptor;
 
+    // Around invoke chains of a non-ejb by the bean method
+    private final Map<Method, InterceptorChain> managedBeanChains = new ConcurrentHashMap<>();
+
     List<InterceptorDescriptor> frameworkInterceptors = new LinkedList<>();
 
     public InterceptorManager(Logger _logger, BaseContainer container, Class<?>[] lcAnnotationClasses, String[] pre30LCMethodNames) throws Exception {
@@ -219,7 +224,19 @@ public class InterceptorManager {
                 interceptorDescriptor.getInterceptorClass() != null ? interceptorDescriptor.getInterceptorClass().getClassLoader() : loader);
         }
 
-        return new AroundInvokeChainImpl(interceptors.toArray(new AroundInvokeInterceptor[interceptors.size()]));
+        // Ejb bean methods are invoked by the container
+        return new AroundInvokeChainImpl(interceptors.toArray(new AroundInvokeInterceptor[interceptors.size()]),
+            ejbDesc == null ? beanMethod : null);
+    }
+
+    /**
+     * The chain of a non-ejb method is built once and reused for all invocations.
+     *
+     * @param beanMethod method of the bean class
+     * @return around invoke chain of the method
+     */
+    InterceptorManager.InterceptorChain getManagedBeanAroundInvokeChain(Method beanMethod) {
+        return managedBeanChains.computeIfAbsent(beanMethod, method -> getAroundInvokeChain(null, method));
     }
 
     public InterceptorManager.InterceptorChain getAroundTimeoutChain(MethodDescriptor methodDescriptor, Method beanMethod) {
@@ -268,7 +285,7 @@ public class InterceptorManager {
             addAroundInvokeInterceptors(interceptors, aroundTimeoutInterceptor, orderedATInterceptors, className, loader);
         }
 
-        return new AroundInvokeChainImpl(interceptors.toArray(new AroundInvokeInterceptor[interceptors.size()]));
+        return new AroundInvokeChainImpl(interceptors.toArray(new AroundInvokeInterceptor[interceptors.size()]), null);
     }
 
     private void addAroundInvokeInterceptors(List<AroundInvokeInterceptor> interceptors, InterceptorDescriptor interceptor,
@@ -693,11 +710,27 @@ class AroundInvokeChainImpl implements InterceptorManager.InterceptorChain {
 
     protected AroundInvokeInterceptor[] interceptors;
     protected int size;
+    private final Method beanMethod;
+    private final MethodHandle beanMethodHandle;
 
-    protected AroundInvokeChainImpl(AroundInvokeInterceptor[] interceptors) {
+    /**
+     * @param interceptors
+     * @param beanMethod bean method invoked by the {@link AroundInvokeInvocationContext} or null
+     */
+    protected AroundInvokeChainImpl(AroundInvokeInterceptor[] interceptors, Method beanMethod) {
 
         this.interceptors = interceptors;
         this.size = (interceptors == null) ? 0 : interceptors.length;
+        this.beanMethod = beanMethod;
+        this.beanMethodHandle = beanMethod == null ? null : InterceptorUtil.toSpreadMethodHandle(beanMethod);
+    }
+
+    /**
+     * @param method invoked bean method
+     * @return handle with the type (Object target, Object[] parameters)Object if available for the method or null
+     */
+    MethodHandle getBeanMethodHandle(Method method) {
+        return beanMethodHandle != null && beanMethod.equals(method) ? beanMethodHandle : null;
     }
 
     @Override
@@ -719,6 +752,7 @@ class AroundInvokeChainImpl implements InterceptorManager.InterceptorChain {
 class AroundInvokeInterceptor {
     protected int index;
     protected Method method;
+    protected MethodHandle handle;
 
     AroundInvokeInterceptor(int index, Method method) {
         this.index = index;
@@ -744,10 +778,13 @@ class AroundInvokeInterceptor {
         } catch (Exception e) {
             throw new EJBException(e);
         }
-
+        handle = InterceptorUtil.toMethodHandle(method);
     }
 
     Object intercept(final InterceptorManager.AroundInvokeContext invCtx) throws Throwable {
+        if (handle != null) {
+            return (Object) handle.invokeExact(invCtx.getInterceptorInstances()[index], (Object) invCtx);
+        }
         try {
             final Object[] interceptors = invCtx.getInterceptorInstances();
 
@@ -792,6 +829,9 @@ class BeanAroundInvokeInterceptor extends AroundInvokeInterceptor {
 
     @Override
     Object intercept(final InterceptorManager.AroundInvokeContext invCtx) throws Throwable {
+        if (handle != null) {
+            return (Object) handle.invokeExact(invCtx.getTarget(), (Object) invCtx);
+        }
         try {
 
             if (System.getSecurityManager() != null) {
@@ -821,6 +861,7 @@ class BeanAroundInvokeInterceptor extends AroundInvokeInterceptor {
 class CallbackInterceptor {
     protected int index;
     protected Method method;
+    protected MethodHandle handle;
 
     CallbackInterceptor(int index, Method method) {
         this.index = index;
@@ -846,10 +887,13 @@ class CallbackInterceptor {
         } catch (Exception e) {
             throw new EJBException(e);
         }
-
+        handle = InterceptorUtil.toMethodHandle(method);
     }
 
     Object intercept(final CallbackInvocationContext invContext) throws Throwable {
+        if (handle != null) {
+            return (Object) handle.invokeExact(invContext.getInterceptorInstances()[index], (Object) invContext);
+        }
         try {
 
             final Object[] interceptors = invContext.getInterceptorInstances();
@@ -897,6 +941,10 @@ class BeanCallbackInterceptor extends CallbackInterceptor {
 
     @Override
     Object intercept(final CallbackInvocationContext invContext) throws Throwable {
+        if (handle != null) {
+            Object ignored = (Object) handle.invokeExact(invContext.getTarget());
+            return invContext.proceed();
+        }
         try {
 
             if (System.getSecurityManager() != null) {
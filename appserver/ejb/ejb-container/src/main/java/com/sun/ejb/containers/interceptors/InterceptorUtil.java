@@ -19,6 +19,8 @@
  */
 package com.sun.ejb.containers.interceptors;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -29,6 +31,14 @@ import java.util.Set;
  */
 public class InterceptorUtil {
 
+    /**
+     * System property, set to false to invoke interceptor and callback methods by reflection
+     * instead of precompiled method handles.
+     */
+    public static final String METHOD_HANDLES_PROPERTY = "org.glassfish.interceptors.methodHandles";
+
+    private static final boolean USE_METHOD_HANDLES = Boolean.parseBoolean(System.getProperty(METHOD_HANDLES_PROPERTY, "true"));
+
     private static Map<Class, Set<Class>> compatiblePrimitiveWrapper = new HashMap<Class, Set<Class>>();
 
     static {
@@ -81,6 +91,36 @@ public class InterceptorUtil {
         compatiblePrimitiveWrapper.put(short.class, smallerPrimitiveWrappers);
     }
 
+    /**
+     * Creates the method handle once when the interceptor chain is built, so that every invocation
+     * avoids the reflective call and its argument array.
+     *
+     * @param method accessible method
+     * @return handle of the method with all parameter types and the return type changed to Object,
+     *         null if method handles are disabled or the method is not accessible
+     */
+    static MethodHandle toMethodHandle(Method method) {
+        if (!USE_METHOD_HANDLES || System.getSecurityManager() != null) {
+            return null;
+        }
+        try {
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            return handle.asType(handle.type().generic());
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @param method accessible bean method
+     * @return handle of the method with the type (Object target, Object[] parameters)Object,
+     *         null if method handles are disabled or the method is not accessible
+     */
+    static MethodHandle toSpreadMethodHandle(Method method) {
+        MethodHandle handle = toMethodHandle(method);
+        return handle == null ? null : handle.asSpreader(Object[].class, method.getParameterCount());
+    }
+
     public static boolean hasCompatiblePrimitiveWrapper(Class type, Class typeTo) {
         Set<Class> compatibles = compatiblePrimitiveWrapper.get(type);
         return compatibles.contains(typeTo);
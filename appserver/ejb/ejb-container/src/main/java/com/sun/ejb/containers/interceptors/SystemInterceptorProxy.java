@@ -22,6 +22,7 @@ import static com.sun.enterprise.deployment.LifecycleCallbackDescriptor.Callback
 import static com.sun.enterprise.deployment.LifecycleCallbackDescriptor.CallbackType.PRE_DESTROY;
 import static java.security.AccessController.doPrivileged;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.security.PrivilegedExceptionAction;
@@ -51,24 +52,36 @@ public class SystemInterceptorProxy {
     private Method aroundInvoke;
     private Method aroundTimeout;
 
+    // Handles of the methods above, null if the methods are invoked by reflection
+    private MethodHandle aroundConstructHandle;
+    private MethodHandle postConstructHandle;
+    private MethodHandle preDestroyHandle;
+    private MethodHandle aroundInvokeHandle;
+    private MethodHandle aroundTimeoutHandle;
+
     public void setDelegate(Object delegate) {
         try {
             for (Method delegateMethod : delegate.getClass().getDeclaredMethods()) {
                 if (delegateMethod.getAnnotation(PostConstruct.class) != null) {
                     postConstruct = delegateMethod;
                     prepareMethod(delegateMethod);
+                    postConstructHandle = InterceptorUtil.toMethodHandle(delegateMethod);
                 } else if (delegateMethod.getAnnotation(PreDestroy.class) != null) {
                     preDestroy = delegateMethod;
                     prepareMethod(delegateMethod);
+                    preDestroyHandle = InterceptorUtil.toMethodHandle(delegateMethod);
                 } else if (delegateMethod.getAnnotation(AroundInvoke.class) != null) {
                     aroundInvoke = delegateMethod;
                     prepareMethod(delegateMethod);
+                    aroundInvokeHandle = InterceptorUtil.toMethodHandle(delegateMethod);
                 } else if (delegateMethod.getAnnotation(AroundTimeout.class) != null) {
                     aroundTimeout = delegateMethod;
                     prepareMethod(delegateMethod);
+                    aroundTimeoutHandle = InterceptorUtil.toMethodHandle(delegateMethod);
                 } else if (delegateMethod.getAnnotation(AroundConstruct.class) != null) {
                     aroundConstruct = delegateMethod;
                     prepareMethod(delegateMethod);
+                    aroundConstructHandle = InterceptorUtil.toMethodHandle(delegateMethod);
                 }
             }
         } catch (Exception e) {
@@ -80,33 +93,41 @@ public class SystemInterceptorProxy {
 
     @PostConstruct
     public Object init(InvocationContext ctx) throws Exception {
-        return doCall(ctx, postConstruct);
+        return doCall(ctx, postConstruct, postConstructHandle);
     }
 
     @PreDestroy
     public Object destroy(InvocationContext ctx) throws Exception {
-        return doCall(ctx, preDestroy);
+        return doCall(ctx, preDestroy, preDestroyHandle);
     }
 
     @AroundConstruct
     public Object create(InvocationContext ctx) throws Exception {
-        return doCall(ctx, aroundConstruct);
+        return doCall(ctx, aroundConstruct, aroundConstructHandle);
     }
 
     @AroundInvoke
     public Object aroundInvoke(InvocationContext ctx) throws Exception {
-        return doCall(ctx, aroundInvoke);
+        return doCall(ctx, aroundInvoke, aroundInvokeHandle);
     }
 
     @AroundTimeout
     public Object aroundTimeout(InvocationContext ctx) throws Exception {
-        return doCall(ctx, aroundTimeout);
+        return doCall(ctx, aroundTimeout, aroundTimeoutHandle);
     }
 
-    private Object doCall(InvocationContext ctx, Method method) throws Exception {
+    private Object doCall(InvocationContext ctx, Method method, MethodHandle handle) throws Exception {
         Object returnValue = null;
 
-        if (delegate != null && method != null) {
+        if (delegate != null && handle != null) {
+            try {
+                returnValue = (Object) handle.invokeExact(delegate, (Object) ctx);
+            } catch (Exception e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new Exception(t);
+            }
+        } else if (delegate != null && method != null) {
             try {
                 returnValue = method.invoke(delegate, ctx);
             } catch (InvocationTargetException ite) {
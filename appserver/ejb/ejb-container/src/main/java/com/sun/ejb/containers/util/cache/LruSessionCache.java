@@ -17,6 +17,7 @@
 package com.sun.ejb.containers.util.cache;
 
 import com.sun.appserv.util.cache.CacheListener;
+import com.sun.ejb.containers.PassivationPipeline;
 import com.sun.ejb.base.stats.StatefulSessionStoreMonitor;
 import com.sun.ejb.monitoring.stats.EjbCacheStatsProviderDelegate;
 import com.sun.ejb.spi.container.SFSBContainerCallback;
@@ -112,6 +113,7 @@ public class LruSessionCache
 
     protected SFSBContainerCallback     container;
     protected BackingStore<Serializable, SimpleMetadata> backingStore;
+    protected PassivationPipeline passivationPipeline;
 
     private static final byte CACHE_ITEM_VALID = 0;
     private static final byte CACHE_ITEM_LOADING = 1;
@@ -170,6 +172,14 @@ public class LruSessionCache
         this.backingStore = store;
     }
 
+    /**
+     * Sets the pipeline passivating the trimmed beans on reserved worker threads, which serialize,
+     * optionally compress and save them to the backing store.
+     */
+    public void setPassivationPipeline(PassivationPipeline pipeline) {
+        this.passivationPipeline = pipeline;
+    }
+
 
     public void setStatefulSessionStoreMonitor(StatefulSessionStoreMonitor storeMonitor) {
         // this.sfsbStoreMonitor = storeMonitor;
@@ -540,7 +550,11 @@ public class LruSessionCache
             beanState.setVersion(ctx.getVersion());
             try {
                 if(backingStore != null) {
-                    backingStore.save(sessionKey, beanState, !ctx.existsInStore());
+                    if (passivationPipeline == null) {
+                        backingStore.save(sessionKey, beanState, !ctx.existsInStore());
+                    } else {
+                        passivationPipeline.save(backingStore, sessionKey, beanState, !ctx.existsInStore());
+                    }
                     // sfsbStoreMonitor.setPassivationSize(data.length);
                     status = true;
                 }
@@ -61,7 +61,6 @@ public class NonBlockingPool extends AbstractPool {
     volatile protected boolean addedIdleBeanWork;
     protected boolean inResizing;
 
-    private String poolName;
     private TimerTask poolTimerTask;
     private boolean maintainSteadySize;
 
@@ -200,7 +199,7 @@ public class NonBlockingPool extends AbstractPool {
         }
     }
 
-    private void addResizeTaskForImmediateExecution() {
+    protected void addResizeTaskForImmediateExecution() {
         try {
             ReSizeWork work = new ReSizeWork();
             EjbContainerUtilImpl.getInstance().addWork(work);
@@ -0,0 +1,342 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util.pool;
+
+import static com.sun.enterprise.util.Utility.setContextClassLoader;
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.sun.ejb.containers.EJBContextImpl;
+
+/**
+ * <p>
+ * StripedPool is a {@link NonBlockingPool} without a pool wide lock.
+ *
+ * <p>
+ * The pooled objects are kept in lock-free stripes, there are about as many stripes as processors. A thread returns
+ * objects to the stripe selected by its id and takes the most recently returned object of that stripe. If the stripe
+ * is empty, the thread steals the least recently returned object of another stripe.
+ *
+ * <p>
+ * The steady, maximal and resize quantity settings and the idle timeout behave as in the {@link NonBlockingPool}. The
+ * singleton bean pool is not supported, the {@link NonBlockingPool} must be used for it.
+ */
+public class StripedPool extends NonBlockingPool {
+
+    private ConcurrentLinkedDeque<Object>[] stripes;
+
+    // Upper bound of the count of pooled objects, exact when no thread is
+    // just adding or removing an object.
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger destroyed = new AtomicInteger();
+    private final LongAdder successes = new LongAdder();
+    private final AtomicBoolean resizing = new AtomicBoolean();
+
+    private boolean maintainSteadySize;
+    private volatile boolean closed;
+
+    public StripedPool(long beanId, String poolName, ObjectFactory factory, int steadyPoolSize, int resizeQuantity, int maxPoolSize,
+            int idleTimeoutInSeconds, ClassLoader loader) {
+        this.poolName = poolName;
+        this.beanId = beanId;
+        initializePool(factory, steadyPoolSize, resizeQuantity, maxPoolSize, idleTimeoutInSeconds, loader);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void initializePool(ObjectFactory factory, int steadyPoolSize, int resizeQuantity, int maxPoolSize, int idleTimeoutInSeconds, ClassLoader loader) {
+        int count = 1;
+        while (count < Runtime.getRuntime().availableProcessors() && count < 64) {
+            count <<= 1;
+        }
+        stripes = new ConcurrentLinkedDeque[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new ConcurrentLinkedDeque<>();
+        }
+
+        super.initializePool(factory, steadyPoolSize, resizeQuantity, maxPoolSize, idleTimeoutInSeconds, loader);
+        this.maintainSteadySize = this.steadyPoolSize > 0;
+    }
+
+    @Override
+    public Object getObject(Object param) {
+        Object pooledObject = poll();
+        if (pooledObject != null) {
+            successes.increment();
+            if (size.get() < steadyPoolSize) {
+                addResizeTask();
+            }
+            return pooledObject;
+        }
+
+        addResizeTask();
+        poolProbeNotifier.ejbObjectAddedEvent(beanId, appName, modName, ejbName);
+        created.incrementAndGet();
+        try {
+            return pooledObjectFactory.create(param);
+        } catch (RuntimeException th) {
+            poolProbeNotifier.ejbObjectAddFailedEvent(beanId, appName, modName, ejbName);
+            created.decrementAndGet();
+            throw th;
+        }
+    }
+
+    @Override
+    public void returnObject(Object object) {
+        if (size.incrementAndGet() <= maxPoolSize) {
+            stripes[homeStripe()].offerFirst(object);
+            return;
+        }
+
+        size.decrementAndGet();
+        poolProbeNotifier.ejbObjectDestroyedEvent(beanId, appName, modName, ejbName);
+        destroyed.incrementAndGet();
+        try {
+            pooledObjectFactory.destroy(object);
+        } catch (Exception ex) {
+            _logger.log(FINE, "exception in returnObj", ex);
+        }
+    }
+
+    @Override
+    public void destroyObject(Object object) {
+        poolProbeNotifier.ejbObjectDestroyedEvent(beanId, appName, modName, ejbName);
+        destroyed.incrementAndGet();
+        try {
+            pooledObjectFactory.destroy(object);
+        } catch (Exception ex) {
+            _logger.log(FINE, "exception in destroyObject", ex);
+        }
+    }
+
+    @Override
+    protected void preload(int count) {
+        List<Object> newInstances = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                newInstances.add(pooledObjectFactory.create(null));
+            }
+        } catch (Exception ex) {
+            // Need not throw this exception up since we are pre-populating
+        }
+
+        created.addAndGet(newInstances.size());
+        for (int i = 0; i < newInstances.size(); i++) {
+            Object instance = newInstances.get(i);
+            if (size.incrementAndGet() <= maxPoolSize) {
+                stripes[i & (stripes.length - 1)].offerLast(instance);
+            } else {
+                size.decrementAndGet();
+                destroyObject(instance);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        ClassLoader origLoader = setContextClassLoader(containerClassLoader);
+        try {
+            for (ConcurrentLinkedDeque<Object> stripe : stripes) {
+                Object pooledObject;
+                while ((pooledObject = stripe.pollFirst()) != null) {
+                    size.decrementAndGet();
+                    destroyObject(pooledObject);
+                }
+            }
+        } finally {
+            setContextClassLoader(origLoader);
+        }
+        // Cancels the timer task and unregisters the probe provider
+        super.close();
+    }
+
+    @Override
+    protected void remove(int count) {
+        for (int i = 0; i < count; i++) {
+            Object pooledObject = poll();
+            if (pooledObject == null) {
+                return;
+            }
+            destroyObject(pooledObject);
+        }
+    }
+
+    @Override
+    protected void doResize() {
+        if (closed || !resizing.compareAndSet(false, true)) {
+            return;
+        }
+
+        // We need to set the context class loader for this (deamon) thread!!
+        ClassLoader previousClassLoader = setContextClassLoader(containerClassLoader);
+        long startTime = System.currentTimeMillis();
+        try {
+            int curSize = size.get();
+            if (curSize > steadyPoolSize) {
+                // possible to reduce pool size....
+                if ((idleTimeoutInSeconds <= 0) || (resizeQuantity <= 0)) {
+                    return;
+                }
+                int victimCount = Math.min(resizeQuantity, curSize - steadyPoolSize);
+                _logger.log(FINE, () -> "[Pool-" + poolName + "]: Resize:: reducing " + " pool size by: " + victimCount);
+                removeIdleObjects(victimCount, System.currentTimeMillis() - idleTimeoutInSeconds * 1000L);
+            } else if (curSize < steadyPoolSize && maintainSteadySize) {
+                long populateCount = 0;
+                if (resizeQuantity <= 0) {
+                    populateCount = steadyPoolSize - curSize;
+                } else {
+                    while ((curSize + populateCount) < steadyPoolSize) {
+                        populateCount += resizeQuantity;
+                    }
+                    if ((curSize + populateCount) > maxPoolSize) {
+                        populateCount -= (curSize + populateCount) - maxPoolSize;
+                    }
+                }
+                if (populateCount > 0) {
+                    preload((int) populateCount);
+                }
+            }
+        } catch (Throwable th) {
+            _logger.log(WARNING, "[Pool-" + poolName + "]: Exception during reSize", th);
+        } finally {
+            resizing.set(false);
+            setContextClassLoader(previousClassLoader);
+        }
+
+        if (_logger.isLoggable(FINE)) {
+            _logger.log(FINE, "[Pool-" + poolName + "]: Resize took: " + ((System.currentTimeMillis() - startTime) / 1000.0)
+                + " seconds; after reSize: " + getAllAttrValues());
+        }
+    }
+
+    /**
+     * Destroys up to victimCount objects not used since allowedIdleTime. The least recently returned objects of every
+     * stripe are checked.
+     */
+    private void removeIdleObjects(int victimCount, long allowedIdleTime) {
+        int removed = 0;
+        for (ConcurrentLinkedDeque<Object> stripe : stripes) {
+            while (removed < victimCount) {
+                Object pooledObject = stripe.pollLast();
+                if (pooledObject == null) {
+                    break;
+                }
+                if (((EJBContextImpl) pooledObject).getLastTimeUsed() > allowedIdleTime) {
+                    stripe.offerLast(pooledObject);
+                    break;
+                }
+                size.decrementAndGet();
+                destroyObject(pooledObject);
+                removed++;
+            }
+        }
+    }
+
+    private Object poll() {
+        int mask = stripes.length - 1;
+        int home = homeStripe();
+        Object pooledObject = stripes[home].pollFirst();
+        for (int pass = 0; pooledObject == null && pass < 2 && size.get() > 0; pass++) {
+            if (pass > 0) {
+                // Another thread is just returning an object, creating a new one would be wasted
+                Thread.yield();
+            }
+            for (int i = 0; pooledObject == null && i < stripes.length; i++) {
+                pooledObject = stripes[(home + i) & mask].pollLast();
+            }
+        }
+        if (pooledObject != null) {
+            size.decrementAndGet();
+        }
+        return pooledObject;
+    }
+
+    private int homeStripe() {
+        return (int) Thread.currentThread().getId() & (stripes.length - 1);
+    }
+
+    private void addResizeTask() {
+        // Unsynchronized check first, the flag is set rarely
+        if (!maintainSteadySize || addedResizeTask || closed) {
+            return;
+        }
+        synchronized (pooledObjects) {
+            if (addedResizeTask) {
+                return;
+            }
+            addedResizeTask = true;
+        }
+        addResizeTaskForImmediateExecution();
+    }
+
+    @Override
+    public int getCreatedCount() {
+        return created.get();
+    }
+
+    @Override
+    public int getDestroyedCount() {
+        return destroyed.get();
+    }
+
+    @Override
+    public int getPoolSuccess() {
+        return (int) successes.sum();
+    }
+
+    @Override
+    public int getSize() {
+        return size.get();
+    }
+
+    @Override
+    public int getNumBeansInPool() {
+        return size.get();
+    }
+
+    @Override
+    public void appendStats(StringBuffer sbuf) {
+        sbuf.append("[Pool: ")
+            .append("SZ=").append(size.get()).append("; ")
+            .append("CC=").append(created.get()).append("; ")
+            .append("DC=").append(destroyed.get()).append("; ")
+            .append("WC=").append(waitCount).append("; ")
+            .append("MSG=0");
+
+        if (configData != null) {
+            sbuf.append(configData);
+        }
+
+        sbuf.append("]");
+    }
+
+    @Override
+    public String getAllAttrValues() {
+        return "[Pool-" + poolName + "] CC=" + created.get() + "; DC=" + destroyed.get() + "; CS=" + size.get()
+            + "; SS=" + steadyPoolSize + "; MS=" + maxPoolSize + ";";
+    }
+}
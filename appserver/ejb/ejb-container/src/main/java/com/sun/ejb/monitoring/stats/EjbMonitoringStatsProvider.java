@@ -53,6 +53,10 @@ public abstract class EjbMonitoringStatsProvider {
     private CountStatisticImpl removeStat = new CountStatisticImpl("RemoveCount",
             "count", "Number of times EJB remove method is called");
 
+    private final RangeStatisticImpl asyncInFlightStat = new RangeStatisticImpl(0, 0, 0,
+            "AsyncInvocationsInFlight", "count", "Number of asynchronous invocations submitted and not completed yet",
+            System.currentTimeMillis(), System.currentTimeMillis());
+
     static final Logger _logger = EjbContainerUtilImpl.getLogger();
 
     public EjbMonitoringStatsProvider(long beanId, String appName, String moduleName,
@@ -186,6 +190,34 @@ public abstract class EjbMonitoringStatsProvider {
         }
     }
 
+    @ProbeListener("glassfish:ejb:bean:asyncInvocationSubmittedEvent")
+    public void asyncInvocationSubmittedEvent(
+            @ProbeParam("beanId") long beanId,
+            @ProbeParam("appName") String appName,
+            @ProbeParam("modName") String modName,
+            @ProbeParam("ejbName") String ejbName) {
+        if (this.beanId == beanId) {
+            _log("asyncInvocationSubmittedEvent");
+            synchronized (asyncInFlightStat) {
+                asyncInFlightStat.setCurrent(asyncInFlightStat.getCurrent() + 1);
+            }
+        }
+    }
+
+    @ProbeListener("glassfish:ejb:bean:asyncInvocationCompletedEvent")
+    public void asyncInvocationCompletedEvent(
+            @ProbeParam("beanId") long beanId,
+            @ProbeParam("appName") String appName,
+            @ProbeParam("modName") String modName,
+            @ProbeParam("ejbName") String ejbName) {
+        if (this.beanId == beanId) {
+            _log("asyncInvocationCompletedEvent");
+            synchronized (asyncInFlightStat) {
+                asyncInFlightStat.setCurrent(asyncInFlightStat.getCurrent() - 1);
+            }
+        }
+    }
+
     @ManagedAttribute(id="createcount")
     @Description( "Number of times EJB create method is called")
     public CountStatistic getCreateCount() {
@@ -198,6 +230,12 @@ public abstract class EjbMonitoringStatsProvider {
         return removeStat;
     }
 
+    @ManagedAttribute(id="asyncinvocationsinflight")
+    @Description( "Number of asynchronous invocations submitted and not completed yet")
+    public RangeStatistic getAsyncInvocationsInFlight() {
+        return asyncInFlightStat;
+    }
+
     protected void log(String mname, String provider) {
         if (_logger.isLoggable(Level.FINE)) {
             _logger.fine("===> In " + provider + " for: ["
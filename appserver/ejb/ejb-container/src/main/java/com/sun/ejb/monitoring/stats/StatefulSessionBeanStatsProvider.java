@@ -16,6 +16,7 @@
 
 package com.sun.ejb.monitoring.stats;
 
+import com.sun.ejb.containers.PassivationPipeline;
 import com.sun.ejb.containers.StatefulSessionContainer;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -35,6 +36,11 @@ public class StatefulSessionBeanStatsProvider extends EjbMonitoringStatsProvider
 
     private BoundedRangeStatisticImpl methodReadyStat = null;
     private BoundedRangeStatisticImpl passiveCount = null;
+    private BoundedRangeStatisticImpl passivationQueueDepth = null;
+    private BoundedRangeStatisticImpl passivationStoreQueueDepth = null;
+
+    private final StatefulSessionContainer delegate;
+    private final long startTime;
 
     private AtomicLong methodReadyCount = new AtomicLong();
     private AtomicLong passivations = new AtomicLong();
@@ -44,7 +50,9 @@ public class StatefulSessionBeanStatsProvider extends EjbMonitoringStatsProvider
 
         super(beanId, appName, moduleName, beanName);
 
+        this.delegate = delegate;
         long now = System.currentTimeMillis();
+        this.startTime = now;
 
         methodReadyStat = new BoundedRangeStatisticImpl(
             0, 0, 0, delegate.getMaxCacheSize(), 0,
@@ -55,6 +63,17 @@ public class StatefulSessionBeanStatsProvider extends EjbMonitoringStatsProvider
             0, 0, 0, Long.MAX_VALUE, 0,
             "PassiveCount", "count", "Number of stateful session beans in Passive state",
             now, now);
+
+        passivationQueueDepth = new BoundedRangeStatisticImpl(
+            0, 0, 0, Long.MAX_VALUE, 0,
+            "PassivationQueueDepth", "count", "Number of stateful session beans waiting for the passivation",
+            now, now);
+
+        passivationStoreQueueDepth = new BoundedRangeStatisticImpl(
+            0, 0, 0, Long.MAX_VALUE, 0,
+            "PassivationStoreQueueDepth", "count",
+            "Number of passivated stateful session beans being saved to the backing store",
+            now, now);
     }
 
     @ManagedAttribute(id="methodreadycount")
@@ -71,6 +90,48 @@ public class StatefulSessionBeanStatsProvider extends EjbMonitoringStatsProvider
         return passiveCount;
     }
 
+    @ManagedAttribute(id="passivationqueuedepth")
+    @Description( "Number of stateful session beans waiting for the passivation")
+    public RangeStatistic getPassivationQueueDepth() {
+        passivationQueueDepth.setCurrent(delegate.getPassivationPipeline().getCandidateQueueDepth());
+        return passivationQueueDepth;
+    }
+
+    @ManagedAttribute(id="passivationstorequeuedepth")
+    @Description( "Number of passivated stateful session beans waiting for the save to the backing store")
+    public RangeStatistic getPassivationStoreQueueDepth() {
+        passivationStoreQueueDepth.setCurrent(delegate.getPassivationPipeline().getStoreQueueDepth());
+        return passivationStoreQueueDepth;
+    }
+
+    @ManagedAttribute(id="passivationwaittime")
+    @Description( "Time the stateful session beans waited for the passivation")
+    public TimeStatistic getPassivationWaitTime() {
+        return toTimeStatistic(delegate.getPassivationPipeline().getWaitLatency(),
+            "PassivationWaitTime", "Time the stateful session beans waited for the passivation");
+    }
+
+    @ManagedAttribute(id="passivationserializationtime")
+    @Description( "Time of the serialization of the passivated stateful session beans")
+    public TimeStatistic getPassivationSerializationTime() {
+        return toTimeStatistic(delegate.getPassivationPipeline().getSerializationLatency(),
+            "PassivationSerializationTime", "Time of the serialization of the passivated stateful session beans");
+    }
+
+    @ManagedAttribute(id="passivationstoretime")
+    @Description( "Time of the save of the passivated stateful session beans to the backing store")
+    public TimeStatistic getPassivationStoreTime() {
+        return toTimeStatistic(delegate.getPassivationPipeline().getStoreLatency(),
+            "PassivationStoreTime", "Time of the save of the passivated stateful session beans to the backing store");
+    }
+
+    private TimeStatistic toTimeStatistic(PassivationPipeline.Latency latency, String name, String desc) {
+        long lastSampleTime = latency.getLastSampleTime();
+        return new TimeStatisticImpl(latency.getCount(), latency.getMaxMillis(), latency.getMinMillis(),
+            latency.getTotalMillis(), name, "milliseconds", desc, startTime,
+            lastSampleTime == 0L ? startTime : lastSampleTime);
+    }
+
     @ProbeListener("glassfish:ejb:bean:methodReadyAddEvent")
     public void methodReadyAddEvent(
             @ProbeParam("beanId") long beanId,
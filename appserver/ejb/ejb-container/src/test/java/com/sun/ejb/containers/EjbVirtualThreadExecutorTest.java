@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers;
+
+import com.sun.enterprise.util.VirtualThreads;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class EjbVirtualThreadExecutorTest {
+
+    private final AtomicInteger afterExecuteCount = new AtomicInteger();
+    private EjbVirtualThreadExecutor executor;
+
+    @AfterEach
+    public void shutdown() throws Exception {
+        if (executor != null) {
+            executor.shutdownNow();
+            assertTrue(executor.awaitTermination(5L, SECONDS));
+        }
+    }
+
+    @Test
+    public void everyTaskHasItsThread() throws Exception {
+        executor = createExecutor(Executors.defaultThreadFactory());
+        CountDownLatch started = new CountDownLatch(100);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<ClassLoader>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            futures.add(executor.submit(() -> {
+                started.countDown();
+                release.await();
+                return Thread.currentThread().getContextClassLoader();
+            }));
+        }
+        assertTrue(started.await(5L, SECONDS));
+        assertEquals(100, executor.getActiveCount());
+        release.countDown();
+        for (Future<ClassLoader> future : futures) {
+            assertNull(future.get(5L, SECONDS));
+        }
+        executor.shutdown();
+        assertAll(
+            () -> assertTrue(executor.awaitTermination(5L, SECONDS)),
+            () -> assertEquals(100, afterExecuteCount.get()),
+            () -> assertEquals(0, executor.getActiveCount())
+        );
+    }
+
+    @Test
+    public void shutdownRejectsTasks() throws Exception {
+        executor = createExecutor(Executors.defaultThreadFactory());
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> running = executor.submit(() -> {
+            release.await();
+            return null;
+        });
+        executor.shutdown();
+        assertAll(
+            () -> assertTrue(executor.isShutdown()),
+            () -> assertFalse(executor.isTerminated()),
+            () -> assertThrows(RejectedExecutionException.class, () -> executor.submit(() -> null))
+        );
+        release.countDown();
+        running.get(5L, SECONDS);
+        assertTrue(executor.awaitTermination(5L, SECONDS));
+    }
+
+    @Test
+    public void virtualThreads() throws Exception {
+        assumeTrue(VirtualThreads.isSupported(), "Virtual threads are not supported by this JVM.");
+        executor = createExecutor(VirtualThreads.newThreadFactory("test-async-"));
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            futures.add(executor.submit(() -> {
+                Thread.sleep(10L);
+                return Thread.currentThread().getName().startsWith("test-async-");
+            }));
+        }
+        for (Future<Boolean> future : futures) {
+            assertTrue(future.get(30L, SECONDS));
+        }
+    }
+
+    private EjbVirtualThreadExecutor createExecutor(ThreadFactory threadFactory) {
+        return new EjbVirtualThreadExecutor("test-async", threadFactory) {
+
+            @Override
+            protected void afterExecute(Runnable r, Throwable t) {
+                // there is no transaction manager
+                afterExecuteCount.incrementAndGet();
+            }
+        };
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers;
+
+import com.sun.ejb.ComponentContext;
+
+import java.io.Serializable;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.glassfish.ha.store.api.BackingStore;
+import org.glassfish.ha.store.api.BackingStoreException;
+import org.glassfish.ha.store.api.BackingStoreFactory;
+import org.glassfish.ha.store.util.SimpleMetadata;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PassivationPipelineTest {
+
+    private static final int WRITERS = 4;
+
+    @Test
+    public void pollsOldestCandidateFirst() {
+        PassivationPipeline pipeline = new PassivationPipeline(2, false);
+        List<ComponentContext> contexts = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ComponentContext context = createContext();
+            contexts.add(context);
+            pipeline.addCandidate(context);
+        }
+        assertEquals(3, pipeline.getCandidateQueueDepth());
+
+        for (ComponentContext context : contexts) {
+            assertSame(context, pipeline.pollCandidate());
+        }
+        assertNull(pipeline.pollCandidate());
+        assertEquals(0, pipeline.getCandidateQueueDepth());
+        assertEquals(3, pipeline.getWaitLatency().getCount());
+    }
+
+
+    @Test
+    public void reservesWorkersForWaitingCandidates() {
+        PassivationPipeline pipeline = new PassivationPipeline(2, false);
+        assertFalse(pipeline.reserveWorker(2), "No candidates, no worker");
+        for (int i = 0; i < 5; i++) {
+            pipeline.addCandidate(createContext());
+        }
+
+        assertTrue(pipeline.reserveWorker(2));
+        assertTrue(pipeline.reserveWorker(2));
+        assertFalse(pipeline.reserveWorker(2), "The maximal count of workers is reached");
+        assertEquals(2, pipeline.getWorkerCount());
+        assertEquals(2, pipeline.getCumulativeWorkerCount());
+
+        while (pipeline.pollCandidate() != null) {
+            // drained
+        }
+        assertFalse(pipeline.releaseWorker());
+        assertEquals(1, pipeline.getWorkerCount());
+
+        pipeline.addCandidate(createContext());
+        assertTrue(pipeline.releaseWorker(), "The worker continues with the added candidate");
+        assertEquals(1, pipeline.getWorkerCount());
+        assertEquals(3, pipeline.getCumulativeWorkerCount());
+    }
+
+
+    @Test
+    public void savesInParallelInCallingThreads() throws Exception {
+        PassivationPipeline pipeline = new PassivationPipeline(WRITERS, false);
+        AtomicInteger depthWhileSaving = new AtomicInteger();
+        // Every save waits for the others, the saves done one after another would time out
+        CyclicBarrier barrier = new CyclicBarrier(WRITERS, () -> depthWhileSaving.set(pipeline.getStoreQueueDepth()));
+        RecordingBackingStore store = new RecordingBackingStore(barrier);
+
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        try {
+            List<Future<Thread>> results = new ArrayList<>();
+            for (int i = 0; i < WRITERS; i++) {
+                String key = "bean-" + i;
+                results.add(executor.submit(() -> {
+                    pipeline.save(store, key, createState(), true);
+                    return Thread.currentThread();
+                }));
+            }
+            for (int i = 0; i < WRITERS; i++) {
+                assertSame(results.get(i).get(10L, TimeUnit.SECONDS), store.savedBy.get("bean-" + i));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(WRITERS, depthWhileSaving.get());
+        assertEquals(0, pipeline.getStoreQueueDepth());
+        assertEquals(WRITERS, pipeline.getStoreLatency().getCount());
+    }
+
+
+    @Test
+    public void reportsFailedSave() {
+        PassivationPipeline pipeline = new PassivationPipeline(1, false);
+        RecordingBackingStore store = new RecordingBackingStore(null);
+        BackingStoreException e = assertThrows(BackingStoreException.class,
+            () -> pipeline.save(store, "failing", createState(), false));
+        assertEquals("failing", e.getMessage());
+        assertEquals(0, pipeline.getStoreQueueDepth());
+        assertEquals(1, pipeline.getStoreLatency().getCount());
+    }
+
+
+    @Test
+    public void compressesAndDecompressesState() throws Exception {
+        byte[] data = "passivated state ".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+        PassivationPipeline compressing = new PassivationPipeline(1, true);
+        byte[] compressed = compressing.encode(data, System.nanoTime());
+        assertTrue(compressed.length < data.length);
+        assertNotEquals(data[0], compressed[0]);
+        assertArrayEquals(data, PassivationPipeline.decode(compressed));
+        assertEquals(1, compressing.getSerializationLatency().getCount());
+
+        PassivationPipeline plain = new PassivationPipeline(1, false);
+        assertSame(data, plain.encode(data, System.nanoTime()));
+        assertSame(data, PassivationPipeline.decode(data));
+        assertEquals(1, plain.getSerializationLatency().getCount());
+    }
+
+
+    private static ComponentContext createContext() {
+        return (ComponentContext) Proxy.newProxyInstance(PassivationPipelineTest.class.getClassLoader(),
+            new Class<?>[] {ComponentContext.class}, (proxy, method, args) -> null);
+    }
+
+    private static SimpleMetadata createState() {
+        return new SimpleMetadata(1L, System.currentTimeMillis(), 60_000L, new byte[16]);
+    }
+
+
+    private static class RecordingBackingStore extends BackingStore<Serializable, SimpleMetadata> {
+
+        final Map<Serializable, Thread> savedBy = new ConcurrentHashMap<>();
+        private final CyclicBarrier barrier;
+
+        RecordingBackingStore(CyclicBarrier barrier) {
+            this.barrier = barrier;
+        }
+
+        @Override
+        public BackingStoreFactory getBackingStoreFactory() {
+            return null;
+        }
+
+        @Override
+        public SimpleMetadata load(Serializable key, String version) throws BackingStoreException {
+            return null;
+        }
+
+        @Override
+        public String save(Serializable key, SimpleMetadata value, boolean isNew) throws BackingStoreException {
+            if (barrier == null) {
+                throw new BackingStoreException(key.toString());
+            }
+            savedBy.put(key, Thread.currentThread());
+            try {
+                barrier.await(10L, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new BackingStoreException("The saves did not run in parallel", e);
+            }
+            return null;
+        }
+
+        @Override
+        public void remove(Serializable key) throws BackingStoreException {
+        }
+
+        @Override
+        public int removeExpired(long idleForMillis) throws BackingStoreException {
+            return 0;
+        }
+
+        @Override
+        public int size() throws BackingStoreException {
+            return 0;
+        }
+    }
+}
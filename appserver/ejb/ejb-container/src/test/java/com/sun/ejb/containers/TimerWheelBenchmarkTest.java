@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers;
+
+import java.util.Collection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures the time from the scheduling of an expiration to its dispatch while the
+ * {@link TimerWheel} holds and dispatches a million other timers. The sample mode reports the
+ * percentiles, the expected time is one or two ticks.
+ */
+public class TimerWheelBenchmarkTest {
+
+    private static final long TICK_MILLIS = 10L;
+    private static final long LOAD_SPREAD_MILLIS = 5_000L;
+
+    @Test
+    public void scheduleToDispatch() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".*")
+            .warmupIterations(1).warmupTime(TimeValue.seconds(1L))
+            .measurementIterations(1).measurementTime(TimeValue.seconds(2L))
+            .forks(1).threads(4).timeout(TimeValue.seconds(60L))
+            .timeUnit(TimeUnit.MILLISECONDS)
+            .mode(Mode.SampleTime).shouldFailOnError(true)
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        assertEquals(1, results.size());
+    }
+
+
+    @Benchmark
+    public void scheduleToDispatch(WheelState state) throws InterruptedException {
+        CountDownLatch dispatched = new CountDownLatch(1);
+        state.wheel.schedule(dispatched::countDown, TICK_MILLIS, null);
+        dispatched.await();
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class WheelState {
+
+        @Param({"1000000"})
+        public int loadedTimers;
+
+        ExecutorService dispatcher;
+        TimerWheel wheel;
+
+        @Setup
+        public void loadWheel() {
+            dispatcher = Executors.newFixedThreadPool(4);
+            wheel = new TimerWheel("benchmark-wheel", TICK_MILLIS, dispatcher);
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < loadedTimers; i++) {
+                // Most of them expire during the iterations, the ticker dispatches them meanwhile
+                wheel.schedule(() -> { }, random.nextLong(LOAD_SPREAD_MILLIS), null);
+            }
+        }
+
+
+        @TearDown
+        public void stopWheel() {
+            wheel.stop();
+            dispatcher.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TimerWheelTest {
+
+    private static final int TIMERS = 100_000;
+    private static final int SCHEDULING_THREADS = 4;
+    private static final long SPREAD_MILLIS = 2_000L;
+
+    private final ExecutorService dispatcher = Executors.newFixedThreadPool(4);
+    private TimerWheel wheel;
+
+    @AfterEach
+    public void stop() {
+        if (wheel != null) {
+            wheel.stop();
+        }
+        dispatcher.shutdownNow();
+    }
+
+    /**
+     * Schedules many timers from several threads, each of them is dispatched once and not early.
+     * The dispatch latency is measured by the {@link TimerWheelBenchmarkTest}.
+     */
+    @Test
+    public void timersScheduledConcurrentlyAreDispatched() throws Exception {
+        wheel = new TimerWheel("test-wheel", 10L, dispatcher);
+        long[] deadlines = new long[TIMERS];
+        long[] lateness = new long[TIMERS];
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch dispatched = new CountDownLatch(TIMERS);
+
+        ExecutorService schedulers = Executors.newFixedThreadPool(SCHEDULING_THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < SCHEDULING_THREADS; thread++) {
+                int first = thread;
+                futures.add(schedulers.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = first; i < TIMERS; i += SCHEDULING_THREADS) {
+                        long delay = random.nextLong(SPREAD_MILLIS);
+                        deadlines[i] = System.nanoTime() + MILLISECONDS.toNanos(delay);
+                        int index = i;
+                        wheel.schedule(() -> {
+                            lateness[index] = System.nanoTime() - deadlines[index];
+                            runs.incrementAndGet();
+                            dispatched.countDown();
+                        }, delay, null);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            schedulers.shutdownNow();
+        }
+
+        assertTrue(dispatched.await(SPREAD_MILLIS + 60_000L, MILLISECONDS), "All timers dispatched");
+        Thread.sleep(100L);
+        assertEquals(TIMERS, runs.get(), "Each timer dispatched once");
+        assertTrue(Arrays.stream(lateness).min().getAsLong() >= 0L, "No timer dispatched early");
+    }
+
+
+    @Test
+    public void expirationsCascadeFromHigherLevels() throws Exception {
+        wheel = new TimerWheel("test-wheel", 1L, dispatcher);
+        long[] delays = {0L, 5L, 100L, 600L, 1_500L};
+        long[] lateness = new long[delays.length];
+        CountDownLatch dispatched = new CountDownLatch(delays.length);
+        for (int i = 0; i < delays.length; i++) {
+            long deadline = System.nanoTime() + MILLISECONDS.toNanos(delays[i]);
+            int index = i;
+            wheel.schedule(() -> {
+                lateness[index] = System.nanoTime() - deadline;
+                dispatched.countDown();
+            }, delays[i], null);
+        }
+
+        assertTrue(dispatched.await(10L, TimeUnit.SECONDS));
+        for (int i = 0; i < delays.length; i++) {
+            assertTrue(lateness[i] >= 0L, "Timer with delay " + delays[i] + " ms dispatched early");
+            assertTrue(lateness[i] < MILLISECONDS.toNanos(500L), "Timer with delay " + delays[i] + " ms dispatched late");
+        }
+    }
+
+
+    @Test
+    public void stalledTaskDoesNotDelayOthers() throws Exception {
+        wheel = new TimerWheel("test-wheel", 10L, dispatcher);
+        CountDownLatch stalled = new CountDownLatch(1);
+        CountDownLatch others = new CountDownLatch(100);
+        try {
+            wheel.schedule(() -> {
+                try {
+                    stalled.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, 0L, null);
+            for (int i = 0; i < 100; i++) {
+                wheel.schedule(others::countDown, 50L, null);
+            }
+            assertTrue(others.await(5L, TimeUnit.SECONDS));
+        } finally {
+            stalled.countDown();
+        }
+    }
+
+
+    @Test
+    public void cancel() throws Exception {
+        wheel = new TimerWheel("test-wheel", 10L, dispatcher);
+        AtomicInteger runs = new AtomicInteger();
+        TimerWheel.Timeout cancelled = wheel.schedule(runs::incrementAndGet, 100L, null);
+        CountDownLatch expired = new CountDownLatch(1);
+        TimerWheel.Timeout expiring = wheel.schedule(expired::countDown, 300L, null);
+
+        assertTrue(cancelled.cancel());
+        assertFalse(cancelled.cancel(), "Cancelled twice");
+        assertTrue(expired.await(5L, TimeUnit.SECONDS));
+        assertAll(
+            () -> assertTrue(cancelled.isCancelled()),
+            () -> assertFalse(expiring.cancel(), "Cancelled after the expiration"),
+            () -> assertEquals(0, runs.get())
+        );
+    }
+
+
+    @Test
+    public void cancelAllOfGroup() throws Exception {
+        wheel = new TimerWheel("test-wheel", 10L, dispatcher);
+        AtomicInteger cancelledRuns = new AtomicInteger();
+        CountDownLatch others = new CountDownLatch(10);
+        for (int i = 0; i < 1000; i++) {
+            wheel.schedule(cancelledRuns::incrementAndGet, 200L, 1L);
+        }
+        for (int i = 0; i < 10; i++) {
+            wheel.schedule(others::countDown, 300L, 2L);
+        }
+
+        assertEquals(1000, wheel.cancelAll(1L));
+        assertEquals(0, wheel.cancelAll(1L));
+        assertTrue(others.await(5L, TimeUnit.SECONDS));
+        assertEquals(0, cancelledRuns.get());
+    }
+
+
+    @Test
+    public void groupIsRemovedWithItsLastTimeout() throws Exception {
+        wheel = new TimerWheel("test-wheel", 10L, dispatcher);
+        TimerWheel.Timeout cancelled = wheel.schedule(() -> { }, 60_000L, 1L);
+        CountDownLatch expired = new CountDownLatch(2);
+        wheel.schedule(expired::countDown, 50L, 2L);
+        wheel.schedule(expired::countDown, 100L, 2L);
+        assertAll(
+            () -> assertTrue(wheel.hasGroup(1L)),
+            () -> assertTrue(wheel.hasGroup(2L))
+        );
+
+        assertTrue(cancelled.cancel());
+        assertTrue(expired.await(5L, TimeUnit.SECONDS));
+        assertAll(
+            () -> assertFalse(wheel.hasGroup(1L), "Group of the cancelled timeout"),
+            () -> assertFalse(wheel.hasGroup(2L), "Group of the expired timeouts")
+        );
+    }
+}
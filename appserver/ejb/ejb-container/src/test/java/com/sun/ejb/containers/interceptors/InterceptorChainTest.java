@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.interceptors;
+
+import jakarta.interceptor.InvocationContext;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class InterceptorChainTest {
+
+    private final List<String> calls = new ArrayList<>();
+
+    @Test
+    public void aroundInvokeChain() throws Throwable {
+        Method beanMethod = Bean.class.getDeclaredMethod("add", long.class, long.class);
+        AroundInvokeChainImpl chain = new AroundInvokeChainImpl(new AroundInvokeInterceptor[] {
+            new AroundInvokeInterceptor(0, FirstInterceptor.class.getDeclaredMethod("intercept", InvocationContext.class)),
+            new AroundInvokeInterceptor(1, SecondInterceptor.class.getDeclaredMethod("intercept", InvocationContext.class)),
+            new BeanAroundInvokeInterceptor(Bean.class.getDeclaredMethod("intercept", InvocationContext.class))},
+            beanMethod);
+
+        Object[] interceptors = {new FirstInterceptor(), new SecondInterceptor()};
+        AroundInvokeInvocationContext context = new AroundInvokeInvocationContext(new Bean(), interceptors, chain,
+            beanMethod, new Object[] {1L, 2L});
+        assertAll(
+            () -> assertEquals(23L, chain.invokeNext(0, context)),
+            () -> assertEquals(List.of("first", "second", "bean", "add"), calls)
+        );
+    }
+
+
+    @Test
+    public void exceptionsAreNotWrapped() throws Throwable {
+        Method beanMethod = Bean.class.getDeclaredMethod("fail");
+        AroundInvokeChainImpl chain = new AroundInvokeChainImpl(new AroundInvokeInterceptor[] {
+            new AroundInvokeInterceptor(0, FirstInterceptor.class.getDeclaredMethod("intercept", InvocationContext.class))},
+            beanMethod);
+        AroundInvokeInvocationContext context = new AroundInvokeInvocationContext(new Bean(),
+            new Object[] {new FirstInterceptor()}, chain, beanMethod, new Object[0]);
+        assertThrows(IOException.class, () -> chain.invokeNext(0, context));
+    }
+
+
+    @Test
+    public void callbackChain() throws Throwable {
+        CallbackChainImpl chain = new CallbackChainImpl(new CallbackInterceptor[] {
+            new CallbackInterceptor(0, FirstInterceptor.class.getDeclaredMethod("postConstruct", InvocationContext.class)),
+            new BeanCallbackInterceptor(Bean.class.getDeclaredMethod("postConstruct"))});
+        CallbackInvocationContext context = new CallbackInvocationContext(new Bean(),
+            new Object[] {new FirstInterceptor()}, chain);
+        chain.invokeNext(0, context);
+        assertEquals(List.of("first-postConstruct", "bean-postConstruct"), calls);
+    }
+
+
+    private class FirstInterceptor {
+
+        private Object intercept(InvocationContext context) throws Exception {
+            calls.add("first");
+            return context.proceed();
+        }
+
+
+        private void postConstruct(InvocationContext context) throws Exception {
+            calls.add("first-postConstruct");
+            context.proceed();
+        }
+    }
+
+
+    private class SecondInterceptor {
+
+        private Object intercept(InvocationContext context) throws Exception {
+            calls.add("second");
+            // int parameters are widened to the long parameters of the bean method
+            context.setParameters(new Object[] {20, 3});
+            return context.proceed();
+        }
+    }
+
+
+    // Business methods are public
+    public class Bean {
+
+        private Object intercept(InvocationContext context) throws Exception {
+            calls.add("bean");
+            return context.proceed();
+        }
+
+
+        public long add(long first, long second) {
+            calls.add("add");
+            return first + second;
+        }
+
+
+        public void fail() throws IOException {
+            throw new IOException("Expected");
+        }
+
+
+        private void postConstruct() {
+            calls.add("bean-postConstruct");
+        }
+    }
+}
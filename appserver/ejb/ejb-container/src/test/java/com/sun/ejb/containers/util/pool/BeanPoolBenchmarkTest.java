@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util.pool;
+
+import com.sun.ejb.monitoring.probes.EjbPoolProbeProvider;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Compares the borrow and return of bean instances in the {@link NonBlockingPool} and in the
+ * {@link StripedPool} as done by the StatelessSessionContainer for every invocation.
+ */
+public class BeanPoolBenchmarkTest {
+
+    private static final int MAX_POOL_SIZE = 32;
+
+    @Test
+    public void borrowAndReturn() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".*")
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(200L))
+            .measurementIterations(1).measurementTime(TimeValue.milliseconds(500L))
+            .forks(1).threads(64).timeout(TimeValue.seconds(10L))
+            .timeUnit(TimeUnit.NANOSECONDS)
+            .mode(Mode.AverageTime).shouldFailOnError(true)
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        assertEquals(2, results.size(), "One result per pool type");
+    }
+
+
+    @Test
+    public void stripedPoolLimits() {
+        StripedPool pool = createStripedPool(2);
+        List<Object> borrowed = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            borrowed.add(pool.getObject(null));
+        }
+        for (Object instance : borrowed) {
+            pool.returnObject(instance);
+        }
+        assertAll(
+            () -> assertEquals(2, pool.getNumBeansInPool()),
+            () -> assertEquals(4, pool.getCreatedCount()),
+            () -> assertEquals(2, pool.getDestroyedCount())
+        );
+
+        Object instance = pool.getObject(null);
+        pool.returnObject(instance);
+        assertSame(instance, pool.getObject(null), "Most recently returned instance first");
+        assertEquals(2, pool.getPoolSuccess());
+    }
+
+
+    @Benchmark
+    public void borrowAndReturn(PoolState state) {
+        Object instance = state.pool.getObject(null);
+        state.pool.returnObject(instance);
+    }
+
+
+    static StripedPool createStripedPool(int maxPoolSize) {
+        StripedPool pool = new StripedPool(1L, "striped", new InstanceFactory(), 0, 8, maxPoolSize, 0, null);
+        pool.poolProbeNotifier = new EjbPoolProbeProvider();
+        return pool;
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class PoolState {
+
+        @Param({"non-blocking", "striped"})
+        public String poolType;
+
+        AbstractPool pool;
+
+        @Setup
+        public void createPool() {
+            if ("striped".equals(poolType)) {
+                pool = createStripedPool(MAX_POOL_SIZE);
+            } else {
+                pool = new NonBlockingPool(1L, poolType, new InstanceFactory(), 0, 8, MAX_POOL_SIZE, 0, null);
+                pool.poolProbeNotifier = new EjbPoolProbeProvider();
+            }
+        }
+
+
+        @TearDown
+        public void closePool() {
+            pool.close();
+        }
+    }
+
+
+    private static class InstanceFactory implements ObjectFactory {
+
+        @Override
+        public Object create(Object param) {
+            return new Object();
+        }
+
+
+        @Override
+        public void destroy(Object obj) {
+        }
+    }
+}
@@ -360,16 +360,14 @@ public final class MessageBeanContainer extends BaseContainer implements Message
         // on message bean resources independent of the pool.
 
         messageBeanPool =
-            new NonBlockingPool(
-                getContainerId(),
+            createNonBlockingPool(
                 appEJBName_,
                 new MessageBeanContextFactory(),
                 beanPoolDescriptor.getSteadyPoolSize(),
                 beanPoolDescriptor.getPoolResizeQuantity(),
                 beanPoolDescriptor.getMaxPoolSize(),
                 beanPoolDescriptor.getPoolIdleTimeoutInSeconds(),
-                loader,
-                Boolean.parseBoolean(descriptor.getEjbBundleDescriptor().getEnterpriseBeansProperty(SINGLETON_BEAN_POOL_PROP)));
+                mdbContainer.getPropertyValue(BEAN_POOL_TYPE_PROP));
     }
 
     protected static int stringToInt(String val, String appName, Logger logger) {
@@ -112,6 +112,11 @@ public class PersistentEJBTimerService extends EJBTimerService {
     // Possible values "redeliver" and "stop"
     private String operationOnConnectionFailure = null;
 
+    // Number of timers restored or migrated in one transaction
+    private static final String RESTORE_PAGE_SIZE = "timer-restore-page-size";
+    private static final int DEFAULT_RESTORE_PAGE_SIZE = 1000;
+    private int restorePageSize = DEFAULT_RESTORE_PAGE_SIZE;
+
     private PersistentEJBTimerService(String ejbName, boolean removeOldTimers) throws Exception {
         super();
 
@@ -148,6 +153,11 @@ public class PersistentEJBTimerService extends EJBTimerService {
                     getDBReadBeforeTimeoutProperty();
 
                 operationOnConnectionFailure = ejbt.getPropertyValue(ON_CONECTION_FAILURE);
+
+                String pageSize = ejbt.getPropertyValue(RESTORE_PAGE_SIZE);
+                if (pageSize != null) {
+                    restorePageSize = Math.max(1, Integer.parseInt(pageSize));
+                }
             }
 
         } catch(Exception e) {
@@ -205,48 +215,64 @@ public class PersistentEJBTimerService extends EJBTimerService {
 
         TransactionManager tm = ejbContainerUtil.getTransactionManager();
 
-        Set toRestore = null;
+        // Migrate and reactivate the timers page by page, so that neither the
+        // whole set of timers is held in memory nor updated in one transaction.
+        // Each page is migrated in its own transaction, the timers of a page
+        // are reactivated only after their change of ownership is committed.
         int totalTimersMigrated = 0;
+        TimerPrimaryKey lastTimerId = null;
+        while (true) {
+            Set<TimerState> toRestore = null;
+            List<TimerPrimaryKey> timerIds = null;
+            try {
 
-        try {
+                tm.begin();
 
-            tm.begin();
+                timerIds = timerLocal_.findTimerIdsOwnedBy(fromOwnerId, lastTimerId, restorePageSize);
+                if (!timerIds.isEmpty()) {
+                    toRestore = timerLocal_.migrateTimers(fromOwnerId, ownerIdOfThisServer, timerIds);
+                }
 
-            toRestore = timerLocal_.findTimersOwnedBy(fromOwnerId);
-            totalTimersMigrated = timerLocal_.migrateTimers(fromOwnerId, ownerIdOfThisServer);
+                tm.commit();
 
-            tm.commit();
+            } catch(Exception e) {
+                // Don't attempt to restore any timers of this page since an
+                // error has occurred.  This could be the expected result in the
+                // case that multiple server instances attempted the migration
+                // at the same time.
+                logger.log(Level.FINE, "timer migration error", e);
 
-        } catch(Exception e) {
-            // Don't attempt to restore any timers since an error has
-            // occurred.  This could be the expected result in the case that
-            // multiple server instances attempted the migration at the same
-            // time.
-            logger.log(Level.FINE, "timer migration error", e);
+                try {
+                    tm.rollback();
+                } catch(Exception re) {
+                    logger.log(Level.FINE, "timer migration rollback error", re);
+                }
 
-            try {
-                tm.rollback();
-            } catch(Exception re) {
-                logger.log(Level.FINE, "timer migration rollback error", re);
+                //Propagate the exception caught
+                EJBException ejbEx = createEJBException( e );
+                throw ejbEx;
             }
 
-            //Propagate the exception caught
-            EJBException ejbEx = createEJBException( e );
-            throw ejbEx;
-        }
+            if (timerIds.isEmpty()) {
+                break;
+            }
+            lastTimerId = timerIds.get(timerIds.size() - 1);
 
-// XXX if( totalTimersMigrated  == toRestore.size() ) { XXX ???
-        if( totalTimersMigrated > 0 ) {
+            if (toRestore.isEmpty()) {
+                // Another server instance migrated this page
+                continue;
+            }
+            totalTimersMigrated += toRestore.size();
+
+            if (logger.isLoggable(Level.FINE)) {
+                logger.log(Level.FINE, "Timer migration changed ownership of " +
+                           toRestore.size() + " timers.  Now reactivating timers...");
+            }
+            _notifyContainers(toRestore);
 
             boolean success = false;
             try {
 
-                logger.log(Level.INFO, "Timer migration phase 1 complete. " +
-                           "Changed ownership of " + toRestore.size() +
-                           " timers.  Now reactivating timers...");
-
-                _notifyContainers(toRestore);
-
                 tm.begin();
                 _restoreTimers(toRestore);
                 success = true;
@@ -275,6 +301,11 @@ public class PersistentEJBTimerService extends EJBTimerService {
                     }
                 }
             }
+        }
+
+        if( totalTimersMigrated > 0 ) {
+            logger.log(Level.INFO, "Timer migration complete. Changed ownership of " +
+                       totalTimersMigrated + " timers from " + fromOwnerId);
         } else {
             logger.log(Level.INFO, fromOwnerId + " has 0 timers in need of migration");
         }
@@ -351,7 +382,7 @@ public class PersistentEJBTimerService extends EJBTimerService {
                 restoreTimers();
                 rc = true;
             } else {
-                int s = timerLocal_.findActiveTimersOwnedByThisServer().size();
+                int s = timerLocal_.countActiveTimersOwnedByThisServer();
                 if (s > 0) {
                     logger.log(Level.INFO, "[" + s + "] EJB Timers owned by this server will be restored when timeout beans are loaded");
                 } else {
@@ -378,27 +409,39 @@ public class PersistentEJBTimerService extends EJBTimerService {
         }
 
         TransactionManager tm = ejbContainerUtil.getTransactionManager();
-        try {
-            // create a tx in which to do database access for all timers
-            // needing restoration.  This gives us better performance that
-            // doing individual transactions per timer.
-            tm.begin();
+        String ownerIdOfThisServer = getOwnerIdOfThisServer();
+        TimerPrimaryKey lastTimerId = null;
+        int page;
+        do {
+            List<TimerState> timers;
+            try {
+                // create a tx in which to do database access for a page of
+                // timers needing restoration.  This gives us better performance
+                // than doing individual transactions per timer, without
+                // loading all timers owned by this server at once.
+                tm.begin();
 
-            // This operation can take a while, since in some configurations
-            // this will be the first time the connection to the database
-            // is initialized.  In addition, there's an initialization
-            // cost to generating the SQL for the underlying
-            // jpql queries the first time any TimerBean query is called.
-            _restoreTimers(timerLocal_.findActiveTimersOwnedByThisServer());
+                // This operation can take a while, since in some configurations
+                // this will be the first time the connection to the database
+                // is initialized.  In addition, there's an initialization
+                // cost to generating the SQL for the underlying
+                // jpql queries the first time any TimerBean query is called.
+                timers = timerLocal_.findActiveTimersOwnedBy(ownerIdOfThisServer, lastTimerId, restorePageSize);
+                _restoreTimers(timers);
 
-        } finally {
-            // try to commit regardless of success or failure.
-            try {
-                tm.commit();
-            } catch(Exception e) {
-                logger.log(Level.WARNING, "ejb.timer_service_init_error", e);
+            } finally {
+                // try to commit regardless of success or failure.
+                try {
+                    tm.commit();
+                } catch(Exception e) {
+                    logger.log(Level.WARNING, "ejb.timer_service_init_error", e);
+                }
             }
-        }
+            page = timers.size();
+            if (page > 0) {
+                lastTimerId = getPrimaryKey(timers.get(page - 1));
+            }
+        } while (page == restorePageSize);
     }
 
     /**
@@ -419,7 +462,7 @@ public class PersistentEJBTimerService extends EJBTimerService {
      * JDK timer tasks and checking for missed expirations.
      * @return the Set of restored timers
      */
-    private Set<TimerState> _restoreTimers(Set<TimerState> timersEligibleForRestoration) {
+    private Set<TimerState> _restoreTimers(Collection<TimerState> timersEligibleForRestoration) {
 
         // Do timer restoration in two passes.  The first pass updates
         // the timer cache with each timer.  The second pass schedules
@@ -20,9 +20,11 @@ import java.io.Serializable;
 import java.io.IOException;
 import java.io.ObjectStreamException;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 import java.util.HashSet;
 import java.util.logging.Logger;
@@ -71,6 +73,9 @@ public class TimerBean implements TimerLocal {
 
     private static final Logger logger = LogDomains.getLogger(TimerBean.class, LogDomains.EJB_LOGGER);
 
+    // Maximum number of timer ids in one IN clause, some databases limit it to 1000
+    private static final int MAX_TIMER_IDS_PER_STATEMENT = 500;
+
     @Resource private SessionContext context_;
 
     @PersistenceContext(unitName="__EJB__Timer__App")
@@ -326,12 +331,28 @@ public class TimerBean implements TimerLocal {
     }
 
     public void remove(Set<TimerPrimaryKey> timerIds) {
+        // Load the timers by chunks instead of one find per timer. The
+        // removals stay in the persistence context and are written in
+        // JDBC batches at the commit.
+        List<String> ids = new ArrayList<>(timerIds.size());
         for(TimerPrimaryKey timerId: timerIds) {
-            try {
-                remove(timerId);
-            } catch(Exception e) {
-                logger.log(Level.FINE, "Cannot remove timer " + timerId +
-                               " for unknown container ", e);
+            ids.add(timerId.getTimerId());
+        }
+        for (int from = 0; from < ids.size(); from += MAX_TIMER_IDS_PER_STATEMENT) {
+            List<String> chunk = ids.subList(from, Math.min(ids.size(), from + MAX_TIMER_IDS_PER_STATEMENT));
+            Query q = em.createNamedQuery("findTimersByTimerIds");
+            q.setParameter(1, chunk);
+            List<TimerState> timers = q.getResultList();
+            if (timers.size() < chunk.size() && logger.isLoggable(Level.FINE)) {
+                logger.log(Level.FINE, "Found " + timers.size() + " of " + chunk.size() + " timers to remove, the others do not exist");
+            }
+            for (TimerState timer : timers) {
+                try {
+                    em.remove(timer);
+                } catch(Exception e) {
+                    logger.log(Level.FINE, "Cannot remove timer " + timer.getTimerId() +
+                                   " for unknown container ", e);
+                }
             }
         }
     }
@@ -521,6 +542,29 @@ public class TimerBean implements TimerLocal {
                                 EJBTimerService.STATE_CANCELLED);
     }
 
+    public List<TimerPrimaryKey> findTimerIdsOwnedBy(String ownerId,
+            TimerPrimaryKey afterTimerId, int maxResults) {
+        Query q = em.createNamedQuery("findTimerIdsByOwnerAfterTimerId");
+        q.setParameter(1, ownerId);
+        q.setParameter(2, afterTimerId == null ? "" : afterTimerId.getTimerId());
+        q.setMaxResults(maxResults);
+        List<TimerPrimaryKey> pkeys = new ArrayList<>();
+        for (Object id : q.getResultList()) {
+            pkeys.add(new TimerPrimaryKey((String) id));
+        }
+        return pkeys;
+    }
+
+    public List<TimerState> findActiveTimersOwnedBy(String ownerId,
+            TimerPrimaryKey afterTimerId, int maxResults) {
+        Query q = em.createNamedQuery("findTimersByOwnerAndStateAfterTimerId");
+        q.setParameter(1, ownerId);
+        q.setParameter(2, EJBTimerService.STATE_ACTIVE);
+        q.setParameter(3, afterTimerId == null ? "" : afterTimerId.getTimerId());
+        q.setMaxResults(maxResults);
+        return q.getResultList();
+    }
+
 
     //
     // Helper query methods for timer counts
@@ -657,6 +701,31 @@ public class TimerBean implements TimerLocal {
         return q.executeUpdate();
     }
 
+    public Set<TimerState> migrateTimers(String fromOwnerId, String toOwnerId,
+            Collection<TimerPrimaryKey> timerIds) {
+        Set<TimerState> migrated = new HashSet<>();
+        List<String> ids = new ArrayList<>(timerIds.size());
+        for (TimerPrimaryKey timerId : timerIds) {
+            ids.add(timerId.getTimerId());
+        }
+        for (int from = 0; from < ids.size(); from += MAX_TIMER_IDS_PER_STATEMENT) {
+            List<String> chunk = ids.subList(from, Math.min(ids.size(), from + MAX_TIMER_IDS_PER_STATEMENT));
+            Query update = em.createNamedQuery("updateTimersFromOwnerToNewOwnerByTimerIds");
+            update.setParameter("fromOwner", fromOwnerId);
+            update.setParameter("toOwner", toOwnerId);
+            update.setParameter("timerIds", chunk);
+            if (update.executeUpdate() > 0) {
+                // Only the timers still owned by fromOwnerId were updated, another
+                // server instance migrating at the same time might have taken the others.
+                Query q = em.createNamedQuery("findTimersByOwnerAndTimerIds");
+                q.setParameter(1, toOwnerId);
+                q.setParameter(2, chunk);
+                migrated.addAll(q.getResultList());
+            }
+        }
+        return migrated;
+    }
+
     public int deleteTimersByContainer(long containerId) {
         Query q = em.createNamedQuery("deleteTimersByContainer");
         q.setParameter("containerId", containerId);
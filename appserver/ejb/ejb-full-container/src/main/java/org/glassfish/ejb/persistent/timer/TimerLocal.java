@@ -18,6 +18,7 @@ package org.glassfish.ejb.persistent.timer;
 
 import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import java.util.Set;
 
 import jakarta.ejb.CreateException;
@@ -77,6 +78,13 @@ public interface TimerLocal {
     Set findActiveTimerIdsOwnedBy(String owner);
     Set findCancelledTimerIdsOwnedBy(String owner);
 
+    /**
+     * Page of the ids of the timers owned by the server, ordered by the timer id.
+     *
+     * @param afterTimerId the last id of the previous page, null for the first page
+     */
+    List<TimerPrimaryKey> findTimerIdsOwnedBy(String owner, TimerPrimaryKey afterTimerId, int maxResults);
+
 
     //
     // Queries returning Timer local objects
@@ -98,6 +106,13 @@ public interface TimerLocal {
     Set findActiveTimersOwnedBy(String owner);
     Set findCancelledTimersOwnedBy(String owner);
 
+    /**
+     * Page of the active timers owned by the server, ordered by the timer id.
+     *
+     * @param afterTimerId the id of the last timer of the previous page, null for the first page
+     */
+    List<TimerState> findActiveTimersOwnedBy(String owner, TimerPrimaryKey afterTimerId, int maxResults);
+
 
     //
     // Queries returning counts
@@ -129,6 +144,9 @@ public interface TimerLocal {
     // Migrate timers from one server instance to another via bulk update
     int migrateTimers(String fromOwnerId, String toOwnerId);
 
+    // Migrate the given timers still owned by fromOwnerId, returns the migrated ones
+    Set<TimerState> migrateTimers(String fromOwnerId, String toOwnerId, Collection<TimerPrimaryKey> timerIds);
+
     // Delete all timers owned by this EJB (aka containerId)
     int deleteTimersByContainer(long containerId);
 
@@ -101,6 +101,22 @@ import com.sun.logging.LogDomains;
         name="findTimersByOwnerAndState",
         query="SELECT t FROM Timer t WHERE t.ownerId = ?1 AND t.state=?2"
     ),
+    @NamedQuery(
+        name="findTimerIdsByOwnerAfterTimerId",
+        query="SELECT t.timerId FROM Timer t WHERE t.ownerId = ?1 AND t.timerId > ?2 ORDER BY t.timerId"
+    ),
+    @NamedQuery(
+        name="findTimersByOwnerAndStateAfterTimerId",
+        query="SELECT t FROM Timer t WHERE t.ownerId = ?1 AND t.state=?2 AND t.timerId > ?3 ORDER BY t.timerId"
+    ),
+    @NamedQuery(
+        name="findTimersByTimerIds",
+        query="SELECT t FROM Timer t WHERE t.timerId IN ?1"
+    ),
+    @NamedQuery(
+        name="findTimersByOwnerAndTimerIds",
+        query="SELECT t FROM Timer t WHERE t.ownerId = ?1 AND t.timerId IN ?2"
+    ),
     @NamedQuery(
         name="countTimersByApplication",
         query="SELECT COUNT(t) FROM Timer t WHERE t.applicationId = ?1"
@@ -135,6 +151,11 @@ import com.sun.logging.LogDomains;
         query="UPDATE Timer t SET t.ownerId = :toOwner WHERE t.ownerId = :fromOwner"
     )
     ,
+    @NamedQuery(
+        name="updateTimersFromOwnerToNewOwnerByTimerIds",
+        query="UPDATE Timer t SET t.ownerId = :toOwner WHERE t.ownerId = :fromOwner AND t.timerId IN :timerIds"
+    )
+    ,
     @NamedQuery(
         name="deleteTimersByContainer",
         query="DELETE FROM Timer t WHERE t.containerId = :containerId"
@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.ejb.persistent.timer;
+
+import com.sun.ejb.containers.EJBTimerService;
+import com.sun.ejb.containers.TimerPrimaryKey;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.Query;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Paged restoration and migration, and removal of sets of timers. The entity manager is an in
+ * memory stub evaluating the named queries used by the {@link TimerBean}.
+ */
+public class TimerBeanTest {
+
+    private static final String SERVER_A = "serverA";
+    private static final String SERVER_B = "serverB";
+    private static final String SERVER_C = "serverC";
+
+    private final Map<String, TimerState> table = new TreeMap<>();
+    private final Set<String> failingRemovals = new HashSet<>();
+    private final List<Integer> queriedIdCounts = new ArrayList<>();
+    private TimerBean timerBean;
+
+    @BeforeEach
+    public void createBean() throws Exception {
+        timerBean = new TimerBean();
+        Field em = TimerBean.class.getDeclaredField("em");
+        em.setAccessible(true);
+        em.set(timerBean, createEntityManager());
+    }
+
+
+    @Test
+    public void activeTimersArePagedByTimerId() {
+        for (int i = 0; i < 95; i++) {
+            addTimer(String.format("timer%03d", i), i % 10 == 0 ? SERVER_B : SERVER_A,
+                i % 7 == 0 ? EJBTimerService.STATE_CANCELLED : EJBTimerService.STATE_ACTIVE);
+        }
+        List<String> expected = table.values().stream()
+            .filter(t -> SERVER_A.equals(t.getOwnerId()) && t.getState() == EJBTimerService.STATE_ACTIVE)
+            .map(TimerState::getTimerId).collect(Collectors.toList());
+
+        // The loop of PersistentEJBTimerService.restoreTimers
+        List<String> restored = new ArrayList<>();
+        TimerPrimaryKey lastTimerId = null;
+        int page;
+        do {
+            List<TimerState> timers = timerBean.findActiveTimersOwnedBy(SERVER_A, lastTimerId, 10);
+            assertTrue(timers.size() <= 10);
+            page = timers.size();
+            for (TimerState timer : timers) {
+                restored.add(timer.getTimerId());
+            }
+            if (page > 0) {
+                lastTimerId = new TimerPrimaryKey(timers.get(page - 1).getTimerId());
+            }
+        } while (page == 10);
+
+        assertEquals(expected, restored);
+    }
+
+
+    @Test
+    public void migrationPagesSkipTimersTakenByAnotherServer() {
+        for (int i = 0; i < 25; i++) {
+            addTimer(String.format("timer%03d", i), SERVER_A, EJBTimerService.STATE_ACTIVE);
+        }
+        addTimer("other", SERVER_C, EJBTimerService.STATE_ACTIVE);
+
+        // The loop of PersistentEJBTimerService.migrateTimers
+        Set<String> migrated = new HashSet<>();
+        TimerPrimaryKey lastTimerId = null;
+        while (true) {
+            List<TimerPrimaryKey> timerIds = timerBean.findTimerIdsOwnedBy(SERVER_A, lastTimerId, 10);
+            if (timerIds.isEmpty()) {
+                break;
+            }
+            // Another server instance migrates the first timer of each page meanwhile
+            table.get(timerIds.get(0).getTimerId()).setOwnerId(SERVER_C);
+            for (TimerState timer : timerBean.migrateTimers(SERVER_A, SERVER_B, timerIds)) {
+                assertEquals(SERVER_B, timer.getOwnerId());
+                assertTrue(migrated.add(timer.getTimerId()), timer.getTimerId());
+            }
+            lastTimerId = timerIds.get(timerIds.size() - 1);
+        }
+
+        assertAll(
+            () -> assertEquals(22, migrated.size()),
+            () -> assertEquals(22, countOwnedBy(SERVER_B)),
+            () -> assertEquals(4, countOwnedBy(SERVER_C)),
+            () -> assertEquals(0, countOwnedBy(SERVER_A))
+        );
+    }
+
+
+    @Test
+    public void removeSetRemovesExistingTimers() {
+        Set<TimerPrimaryKey> toRemove = new HashSet<>();
+        for (int i = 0; i < 1_200; i++) {
+            String timerId = "timer" + i;
+            addTimer(timerId, SERVER_A, EJBTimerService.STATE_ACTIVE);
+            if (i < 1_100) {
+                toRemove.add(new TimerPrimaryKey(timerId));
+            }
+        }
+        for (int i = 0; i < 100; i++) {
+            toRemove.add(new TimerPrimaryKey("missing" + i));
+        }
+
+        timerBean.remove(toRemove);
+
+        assertAll(
+            () -> assertEquals(100, table.size()),
+            () -> assertTrue(table.keySet().stream().allMatch(id -> Integer.parseInt(id.substring(5)) >= 1_100)),
+            () -> assertEquals(List.of(500, 500, 200), queriedIdCounts)
+        );
+    }
+
+
+    @Test
+    public void removeSetContinuesAfterFailedRemoval() {
+        Set<TimerPrimaryKey> toRemove = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            addTimer("timer" + i, SERVER_A, EJBTimerService.STATE_ACTIVE);
+            toRemove.add(new TimerPrimaryKey("timer" + i));
+        }
+        failingRemovals.add("timer3");
+
+        timerBean.remove(toRemove);
+
+        assertEquals(Set.of("timer3"), table.keySet());
+    }
+
+
+    private void addTimer(String timerId, String ownerId, int state) {
+        TimerState timer = new TimerState();
+        timer.setTimerId(timerId);
+        timer.setOwnerId(ownerId);
+        timer.setState(state);
+        table.put(timerId, timer);
+    }
+
+
+    private long countOwnedBy(String ownerId) {
+        return table.values().stream().filter(t -> ownerId.equals(t.getOwnerId())).count();
+    }
+
+
+    private EntityManager createEntityManager() {
+        return (EntityManager) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[] {EntityManager.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "createNamedQuery":
+                        return createQuery((String) args[0]);
+                    case "find":
+                        return table.get(((TimerPrimaryKey) args[1]).getTimerId());
+                    case "remove":
+                        String timerId = ((TimerState) args[0]).getTimerId();
+                        if (failingRemovals.contains(timerId)) {
+                            throw new PersistenceException("Cannot remove " + timerId);
+                        }
+                        table.remove(timerId);
+                        return null;
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+    }
+
+
+    private Query createQuery(String name) {
+        Map<Object, Object> parameters = new HashMap<>();
+        int[] maxResults = {Integer.MAX_VALUE};
+        return (Query) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Query.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "setParameter":
+                        parameters.put(args[0], args[1]);
+                        return proxy;
+                    case "setMaxResults":
+                        maxResults[0] = (Integer) args[0];
+                        return proxy;
+                    case "getResultList":
+                        return select(name, parameters).stream().limit(maxResults[0]).collect(Collectors.toList());
+                    case "executeUpdate":
+                        return update(name, parameters);
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+    }
+
+
+    private List<Object> select(String name, Map<Object, Object> parameters) {
+        List<Object> result = new ArrayList<>();
+        // The table is sorted by the timer id
+        for (TimerState timer : table.values()) {
+            switch (name) {
+                case "findTimerIdsByOwnerAfterTimerId":
+                    if (timer.getOwnerId().equals(parameters.get(1))
+                        && timer.getTimerId().compareTo((String) parameters.get(2)) > 0) {
+                        result.add(timer.getTimerId());
+                    }
+                    break;
+                case "findTimersByOwnerAndStateAfterTimerId":
+                    if (timer.getOwnerId().equals(parameters.get(1))
+                        && parameters.get(2).equals(timer.getState())
+                        && timer.getTimerId().compareTo((String) parameters.get(3)) > 0) {
+                        result.add(timer);
+                    }
+                    break;
+                case "findTimersByTimerIds":
+                    if (((Collection<?>) parameters.get(1)).contains(timer.getTimerId())) {
+                        result.add(timer);
+                    }
+                    break;
+                case "findTimersByOwnerAndTimerIds":
+                    if (timer.getOwnerId().equals(parameters.get(1))
+                        && ((Collection<?>) parameters.get(2)).contains(timer.getTimerId())) {
+                        result.add(timer);
+                    }
+                    break;
+                default:
+                    throw new UnsupportedOperationException(name);
+            }
+        }
+        if ("findTimersByTimerIds".equals(name)) {
+            queriedIdCounts.add(((Collection<?>) parameters.get(1)).size());
+        }
+        return result;
+    }
+
+
+    private int update(String name, Map<Object, Object> parameters) {
+        if (!"updateTimersFromOwnerToNewOwnerByTimerIds".equals(name)) {
+            throw new UnsupportedOperationException(name);
+        }
+        Collection<?> timerIds = (Collection<?>) parameters.get("timerIds");
+        int updated = 0;
+        for (TimerState timer : table.values()) {
+            if (timer.getOwnerId().equals(parameters.get("fromOwner")) && timerIds.contains(timer.getTimerId())) {
+                timer.setOwnerId((String) parameters.get("toOwner"));
+                updated++;
+            }
+        }
+        return updated;
+    }
+}
@@ -302,7 +302,7 @@ public class FileBackingStore<K extends Serializable, V extends Serializable>
         return success;
     }
 
-    private byte[] getSerializedState(K key, V value)
+    /*package*/ byte[] getSerializedState(K key, V value)
             throws BackingStoreException {
 
         byte[] data = null;
@@ -47,13 +47,20 @@ public class FileBackingStoreFactory
     public <K extends Serializable, V extends Serializable> BackingStore<K, V> createBackingStore(
             BackingStoreConfiguration<K, V> conf)
                 throws BackingStoreException {
-        FileBackingStore<K, V> fs = new FileBackingStore<K, V>();
+        FileBackingStore<K, V> fs = createFileBackingStore();
         fs.initialize(conf);
         fs.setFileBackingStoreFactory(this);
         _stores.put(conf.getStoreName(), fs);
         return fs;
     }
 
+    /**
+     * @return a new, not initialized store
+     */
+    protected <K extends Serializable, V extends Serializable> FileBackingStore<K, V> createFileBackingStore() {
+        return new FileBackingStore<K, V>();
+    }
+
     @Override
     public BackingStoreTransaction createBackingStoreTransaction() {
         FileStoreTransaction tx = new FileStoreTransaction();
@@ -0,0 +1,651 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.ha.store.adapter.file;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.zip.CRC32;
+
+import org.glassfish.ha.store.api.BackingStoreConfiguration;
+import org.glassfish.ha.store.api.BackingStoreException;
+
+/**
+ * A {@link FileBackingStore} that appends the entries to memory-mapped segment files instead
+ * of writing one file per entry.
+ * <p>
+ * Every save, remove and timestamp update appends a record to the active segment. An in-memory
+ * index maps each key to its latest record, and a second index groups the keys by their last
+ * access time in buckets, so that {@link #removeExpired(long)} visits only the keys idle long
+ * enough instead of the whole directory. The index is rebuilt from the segments when the store
+ * is initialized.
+ * <p>
+ * A background thread forces the written segments to the disk in batches and compacts the
+ * segments whose records are mostly obsolete by copying their live records to the active segment
+ * and deleting them.
+ * <p>
+ * The layout of a record is: length of the rest of the record (int), CRC32 of the rest (int),
+ * type (byte), timestamp (long), key length (int), key in UTF-8, serialized value. A zero length
+ * marks the end of a segment.
+ */
+public class SegmentFileBackingStore<K extends Serializable, V extends Serializable>
+        extends FileBackingStore<K, V> {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    private static final byte TOUCH = 3;
+
+    private static final int HEADER_SIZE = 8;
+    private static final int FIXED_SIZE = HEADER_SIZE + 1 + 8 + 4;
+
+    private static final long BUCKET_MILLIS = 1000L;
+
+    private static final long DEFAULT_SEGMENT_SIZE = 64L * 1024L * 1024L;
+    private static final long DEFAULT_FSYNC_INTERVAL_MILLIS = 1000L;
+    private static final int DEFAULT_COMPACTION_THRESHOLD_PERCENT = 50;
+
+    private final Map<String, Entry> index = new ConcurrentHashMap<>();
+
+    private final ConcurrentSkipListMap<Long, Set<String>> buckets = new ConcurrentSkipListMap<>();
+
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+
+    // Guards the appends and the changes of the indexes
+    private final Object writeLock = new Object();
+
+    private Segment active;
+
+    private long nextSegmentId;
+
+    private int segmentSize;
+
+    private int compactionThresholdPercent;
+
+    private ScheduledExecutorService maintenance;
+
+    private volatile boolean shutdown;
+
+    private String debugStr;
+
+    @Override
+    protected void initialize(BackingStoreConfiguration<K, V> conf) throws BackingStoreException {
+        super.initialize(conf);
+        debugStr = "[SegmentFileBackingStore - " + conf.getStoreName() + "] ";
+
+        Map<String, Object> vendorMap = conf.getVendorSpecificSettings();
+        segmentSize = (int) Math.min(Integer.MAX_VALUE, getSetting(vendorMap, "segment.size.in.bytes", DEFAULT_SEGMENT_SIZE));
+        long fsyncInterval = Math.max(1L, getSetting(vendorMap, "fsync.interval.in.millis", DEFAULT_FSYNC_INTERVAL_MILLIS));
+        compactionThresholdPercent = (int) getSetting(vendorMap, "compaction.threshold.percent",
+            DEFAULT_COMPACTION_THRESHOLD_PERCENT);
+
+        try {
+            recover();
+        } catch (IOException ex) {
+            throw new BackingStoreException(debugStr + "Failed to read the segments in " + baseDir, ex);
+        }
+
+        String threadName = "ha-file-segment-store-" + conf.getStoreName();
+        maintenance = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        maintenance.scheduleWithFixedDelay(this::maintain, fsyncInterval, fsyncInterval, TimeUnit.MILLISECONDS);
+
+        logger.log(Level.INFO, debugStr + "Recovered " + index.size() + " entries from " + segments.size() + " segments");
+    }
+
+    private long getSetting(Map<String, Object> vendorMap, String name, long defaultValue) {
+        Object value = vendorMap.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.toString());
+        } catch (NumberFormatException ex) {
+            logger.log(Level.WARNING, debugStr + "Invalid value of " + name + ": " + value + ", using " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    @Override
+    public V load(K key, String version) throws BackingStoreException {
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, debugStr + "Entered load(" + key + ", " + version + ")");
+        }
+        Entry entry = index.get(key.toString());
+        if (entry == null) {
+            return null;
+        }
+        try {
+            ObjectInputStream ois = super.createObjectInputStream(new ByteArrayInputStream(entry.readValue()));
+            return (V) ois.readObject();
+        } catch (Exception ex) {
+            logger.log(Level.WARNING, debugStr + "Failed to load(" + key + ", " + version + ")", ex);
+            return null;
+        }
+    }
+
+    @Override
+    public String save(K sessionKey, V value, boolean isNew) throws BackingStoreException {
+        String key = sessionKey.toString();
+        byte[] data = getSerializedState(sessionKey, value);
+        synchronized (writeLock) {
+            try {
+                Entry entry = append(PUT, key, System.currentTimeMillis(), data);
+                replace(key, index.get(key), entry);
+            } catch (IOException ex) {
+                throw new BackingStoreException("Could not save session: " + sessionKey, ex);
+            }
+        }
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, debugStr + "Done save(" + sessionKey + ")");
+        }
+        return getBackingStoreConfiguration().getInstanceName();
+    }
+
+    @Override
+    public void remove(K sessionKey) {
+        String key = sessionKey.toString();
+        synchronized (writeLock) {
+            Entry entry = index.get(key);
+            if (entry != null) {
+                remove(key, entry);
+            }
+        }
+    }
+
+    @Override
+    public void updateTimestamp(K sessionKey, long time) throws BackingStoreException {
+        String key = sessionKey.toString();
+        synchronized (writeLock) {
+            Entry entry = index.get(key);
+            if (entry == null) {
+                logger.log(Level.WARNING, debugStr + ": Cannot update timsestamp for: " + sessionKey
+                    + "; Entry does not exist");
+                return;
+            }
+            try {
+                append(TOUCH, key, time, new byte[0]);
+            } catch (IOException ex) {
+                throw new BackingStoreException("Cannot update timsestamp for: " + sessionKey, ex);
+            }
+            moveToBucket(key, entry, time);
+        }
+    }
+
+    @Override
+    public int removeExpired(long idleForMillis) {
+        long threshold = System.currentTimeMillis() - idleForMillis;
+        int expired = 0;
+        for (Set<String> keys : buckets.headMap(threshold / BUCKET_MILLIS, true).values()) {
+            for (String key : keys) {
+                if (shutdown) {
+                    return expired;
+                }
+                synchronized (writeLock) {
+                    Entry entry = index.get(key);
+                    // The bucket of the threshold also holds keys accessed after it
+                    if (entry != null && entry.lastAccessed < threshold) {
+                        remove(key, entry);
+                        expired++;
+                    }
+                }
+            }
+        }
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, debugStr + "Done removeExpired(), removed " + expired + " entries");
+        }
+        return expired;
+    }
+
+    @Override
+    public int size() throws BackingStoreException {
+        return index.size();
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        maintenance.shutdown();
+        try {
+            maintenance.awaitTermination(10L, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        synchronized (writeLock) {
+            // The mappings stay valid for the readers
+            for (Segment segment : segments.values()) {
+                segment.close();
+            }
+        }
+        //Nothing else to do here. DO NOT DELETE THE WORKING DIRECTORY
+    }
+
+    @Override
+    public void destroy() {
+        shutdown = true;
+        maintenance.shutdownNow();
+        synchronized (writeLock) {
+            for (Segment segment : segments.values()) {
+                segment.close();
+            }
+            segments.clear();
+            index.clear();
+            buckets.clear();
+            active = null;
+        }
+        // Deletes the segment files and the directory
+        super.destroy();
+    }
+
+
+    /**
+     * Appends a record to the active segment, a new segment is started when it is full.
+     * Called with the write lock held.
+     *
+     * @return the entry of the record
+     */
+    private Entry append(byte type, String key, long timestamp, byte[] value) throws IOException {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int length = FIXED_SIZE + keyBytes.length + value.length;
+        if (active == null || active.position + length > active.buffer.capacity()) {
+            startSegment(length);
+        }
+        Segment segment = active;
+        int offset = segment.position;
+        ByteBuffer record = segment.buffer.duplicate();
+        record.position(offset + HEADER_SIZE);
+        record.put(type).putLong(timestamp).putInt(keyBytes.length).put(keyBytes).put(value);
+
+        record.position(offset + HEADER_SIZE).limit(offset + length);
+        CRC32 crc = new CRC32();
+        crc.update(record);
+        segment.buffer.putInt(offset + 4, (int) crc.getValue());
+        segment.buffer.putInt(offset, length - HEADER_SIZE);
+
+        segment.position += length;
+        segment.dirty = true;
+        return new Entry(segment, offset, length, timestamp);
+    }
+
+    private void startSegment(int minSize) throws IOException {
+        if (active != null) {
+            // The rest of the full segment stays zero, which marks its end
+            active.full = true;
+        }
+        long id = nextSegmentId++;
+        File file = new File(baseDir, SEGMENT_PREFIX + id + SEGMENT_SUFFIX);
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer;
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(segmentSize, minSize));
+        } catch (IOException ex) {
+            channel.close();
+            throw ex;
+        }
+        active = new Segment(id, file, channel, buffer);
+        segments.put(id, active);
+    }
+
+    /**
+     * Makes the entry the latest one of the key. Called with the write lock held.
+     */
+    private void replace(String key, Entry oldEntry, Entry entry) {
+        index.put(key, entry);
+        entry.segment.liveBytes += entry.length;
+        if (oldEntry != null) {
+            oldEntry.segment.liveBytes -= oldEntry.length;
+        }
+        moveToBucket(key, oldEntry, entry.lastAccessed);
+        if (oldEntry != null) {
+            entry.bucket = oldEntry.bucket;
+        } else {
+            entry.bucket = bucketOf(entry.lastAccessed);
+        }
+    }
+
+    /**
+     * Removes the key and appends its tombstone. Called with the write lock held.
+     */
+    private void remove(String key, Entry entry) {
+        index.remove(key);
+        entry.segment.liveBytes -= entry.length;
+        removeFromBucket(key, entry.bucket);
+        try {
+            append(REMOVE, key, System.currentTimeMillis(), new byte[0]);
+        } catch (IOException ex) {
+            logger.log(Level.WARNING, debugStr + "Failed to remove(" + key + "), it can be restored after a restart", ex);
+        }
+    }
+
+    private void moveToBucket(String key, Entry entry, long lastAccessed) {
+        long bucket = bucketOf(lastAccessed);
+        if (entry != null) {
+            entry.lastAccessed = lastAccessed;
+            if (entry.bucket == bucket) {
+                return;
+            }
+            removeFromBucket(key, entry.bucket);
+            entry.bucket = bucket;
+        }
+        buckets.computeIfAbsent(bucket, b -> ConcurrentHashMap.newKeySet()).add(key);
+    }
+
+    private void removeFromBucket(String key, long bucket) {
+        Set<String> keys = buckets.get(bucket);
+        if (keys != null && keys.remove(key) && keys.isEmpty()) {
+            buckets.remove(bucket);
+        }
+    }
+
+    private static long bucketOf(long time) {
+        return time / BUCKET_MILLIS;
+    }
+
+
+    /**
+     * Rebuilds the indexes from the segments in the order they were written. The appends
+     * continue in a new segment.
+     */
+    private void recover() throws IOException {
+        File[] files = baseDir.listFiles((dir, name) -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX));
+        if (files == null) {
+            return;
+        }
+        long[] ids = new long[files.length];
+        int count = 0;
+        for (File file : files) {
+            String name = file.getName();
+            try {
+                ids[count] = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+                count++;
+            } catch (NumberFormatException ex) {
+                logger.log(Level.WARNING, debugStr + "Ignoring the unknown file " + file);
+            }
+        }
+        ids = Arrays.copyOf(ids, count);
+        Arrays.sort(ids);
+
+        synchronized (writeLock) {
+            for (long id : ids) {
+                File file = new File(baseDir, SEGMENT_PREFIX + id + SEGMENT_SUFFIX);
+                FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+                Segment segment = new Segment(id, file, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+                segment.full = true;
+                segments.put(id, segment);
+                nextSegmentId = id + 1;
+
+                Record record;
+                while ((record = Record.read(segment, segment.position)) != null) {
+                    switch (record.type) {
+                        case PUT:
+                            Entry entry = new Entry(segment, record.offset, record.length, record.timestamp);
+                            replace(record.key, index.get(record.key), entry);
+                            break;
+                        case REMOVE:
+                            Entry removed = index.remove(record.key);
+                            if (removed != null) {
+                                removed.segment.liveBytes -= removed.length;
+                                removeFromBucket(record.key, removed.bucket);
+                            }
+                            break;
+                        case TOUCH:
+                            Entry touched = index.get(record.key);
+                            if (touched != null) {
+                                moveToBucket(record.key, touched, record.timestamp);
+                            }
+                            break;
+                        default:
+                            break;
+                    }
+                    segment.position += record.length;
+                }
+                if (segment.position < segment.buffer.capacity()
+                    && segment.buffer.getInt(segment.position) != 0) {
+                    logger.log(Level.WARNING, debugStr + "Ignoring the damaged end of " + file + " at " + segment.position);
+                }
+            }
+        }
+    }
+
+
+    private void maintain() {
+        try {
+            flush();
+            compact();
+        } catch (RuntimeException ex) {
+            logger.log(Level.WARNING, debugStr + "Segment maintenance failed", ex);
+        }
+    }
+
+    /**
+     * Forces the written segments to the disk.
+     */
+    private void flush() {
+        for (Segment segment : segments.values()) {
+            if (segment.dirty) {
+                segment.dirty = false;
+                try {
+                    segment.buffer.force();
+                } catch (RuntimeException ex) {
+                    segment.dirty = true;
+                    logger.log(Level.WARNING, debugStr + "Failed to force " + segment.file + " to the disk", ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Compacts the oldest full segment whose live records take less than the threshold. The live
+     * records are copied to the active segment, the tombstones only while an older segment
+     * might still hold a record of the removed key.
+     *
+     * @return true if a segment was compacted
+     */
+    /*package*/ boolean compact() {
+        Segment candidate = null;
+        synchronized (writeLock) {
+            for (Segment segment : segments.values()) {
+                if (segment.full && segment.liveBytes * 100L < (long) segment.position * compactionThresholdPercent) {
+                    candidate = segment;
+                    break;
+                }
+            }
+        }
+        if (candidate == null) {
+            return false;
+        }
+
+        int offset = 0;
+        Record record;
+        while (!shutdown && (record = Record.read(candidate, offset)) != null) {
+            synchronized (writeLock) {
+                try {
+                    if (record.type == PUT) {
+                        Entry entry = index.get(record.key);
+                        if (entry != null && entry.segment == candidate && entry.offset == record.offset) {
+                            Entry copy = append(PUT, record.key, entry.lastAccessed, entry.readValue());
+                            replace(record.key, entry, copy);
+                        }
+                    } else if (record.type == REMOVE) {
+                        if (!index.containsKey(record.key) && segments.firstKey() < candidate.id) {
+                            append(REMOVE, record.key, record.timestamp, new byte[0]);
+                        }
+                    }
+                } catch (IOException ex) {
+                    logger.log(Level.WARNING, debugStr + "Failed to compact " + candidate.file, ex);
+                    return false;
+                }
+            }
+            offset += record.length;
+        }
+        if (shutdown) {
+            return false;
+        }
+
+        // The copies must be on the disk before the originals are deleted
+        flush();
+        synchronized (writeLock) {
+            segments.remove(candidate.id);
+        }
+        candidate.close();
+        // The readers still holding an entry of the segment read from its mapped buffer
+        if (!candidate.file.delete() && candidate.file.exists()) {
+            logger.log(Level.WARNING, debugStr + "Couldn't remove the compacted segment " + candidate.file);
+        }
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, debugStr + "Compacted " + candidate.file);
+        }
+        return true;
+    }
+
+
+    /**
+     * Segment file mapped to the memory.
+     */
+    private static final class Segment {
+
+        final long id;
+        final File file;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+
+        // Guarded by the write lock
+        int position;
+        long liveBytes;
+        boolean full;
+
+        volatile boolean dirty;
+
+        Segment(long id, File file, FileChannel channel, MappedByteBuffer buffer) {
+            this.id = id;
+            this.file = file;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException ex) {
+                // The mapping stays valid
+            }
+        }
+    }
+
+
+    /**
+     * Location of the latest record of a key.
+     */
+    private static final class Entry {
+
+        final Segment segment;
+        final int offset;
+        final int length;
+
+        // Guarded by the write lock
+        long lastAccessed;
+        long bucket;
+
+        Entry(Segment segment, int offset, int length, long lastAccessed) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+            this.lastAccessed = lastAccessed;
+        }
+
+        byte[] readValue() {
+            ByteBuffer record = segment.buffer.duplicate();
+            record.position(offset + HEADER_SIZE + 1 + 8);
+            int keyLength = record.getInt();
+            byte[] value = new byte[length - FIXED_SIZE - keyLength];
+            record.position(record.position() + keyLength);
+            record.get(value);
+            return value;
+        }
+    }
+
+
+    /**
+     * Record read from a segment.
+     */
+    private static final class Record {
+
+        int offset;
+        int length;
+        byte type;
+        long timestamp;
+        String key;
+
+        /**
+         * @return null at the end of the segment or at a damaged record
+         */
+        static Record read(Segment segment, int offset) {
+            ByteBuffer buffer = segment.buffer.duplicate();
+            if (offset + FIXED_SIZE > buffer.capacity()) {
+                return null;
+            }
+            int length = buffer.getInt(offset) + HEADER_SIZE;
+            if (length < FIXED_SIZE || offset + length > buffer.capacity()) {
+                return null;
+            }
+            buffer.position(offset + HEADER_SIZE).limit(offset + length);
+            CRC32 crc = new CRC32();
+            crc.update(buffer);
+            if ((int) crc.getValue() != buffer.getInt(offset + 4)) {
+                return null;
+            }
+
+            buffer.position(offset + HEADER_SIZE);
+            Record record = new Record();
+            record.offset = offset;
+            record.length = length;
+            record.type = buffer.get();
+            record.timestamp = buffer.getLong();
+            int keyLength = buffer.getInt();
+            if (keyLength < 0 || keyLength > length - FIXED_SIZE) {
+                return null;
+            }
+            byte[] key = new byte[keyLength];
+            buffer.get(key);
+            record.key = new String(key, StandardCharsets.UTF_8);
+            return record;
+        }
+    }
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.ha.store.adapter.file;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.glassfish.ha.store.api.BackingStoreConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Stores the entries in small segments, so that a few records fill a segment. The background
+ * maintenance is effectively disabled and the tests compact the segments themselves.
+ */
+public class SegmentFileBackingStoreTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    // A serialized value takes a bit over 1000 bytes, three records fit in a segment
+    private static final int VALUE_LENGTH = 1000;
+
+    // Length, CRC, type, timestamp and key length before the key
+    private static final int KEY_OFFSET = 4 + 4 + 1 + 8 + 4;
+
+    @TempDir
+    Path tempDir;
+
+    private SegmentFileBackingStore<String, String> store;
+
+    @AfterEach
+    public void destroyStore() {
+        if (store != null) {
+            store.destroy();
+        }
+    }
+
+
+    @Test
+    public void recoversEntriesAfterRestart() throws Exception {
+        store = open();
+        store.save("key-a", value("a", 1), true);
+        store.save("key-b", value("b", 1), true);
+        store.save("key-c", value("c", 1), true);
+        store.save("key-d", value("d", 1), true);
+        store.save("key-b", value("b", 2), false);
+        store.remove("key-c");
+        store.shutdown();
+
+        store = open();
+        assertEquals(3, store.size());
+        assertEquals(value("a", 1), store.load("key-a", null));
+        assertEquals(value("b", 2), store.load("key-b", null));
+        assertNull(store.load("key-c", null));
+        assertEquals(value("d", 1), store.load("key-d", null));
+
+        // The appends continue in a new segment
+        store.save("key-e", value("e", 1), true);
+        store.shutdown();
+        store = open();
+        assertEquals(4, store.size());
+        assertEquals(value("e", 1), store.load("key-e", null));
+    }
+
+
+    @Test
+    public void rejectsRecordWithBadCrc() throws Exception {
+        store = open();
+        store.save("key-a", value("a", 1), true);
+        store.save("key-b", value("b", 1), true);
+        store.save("key-c", value("c", 1), true);
+        store.shutdown();
+
+        File segment = segmentFiles()[0];
+        long offset = recordOffset(segment, "key-b");
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            file.seek(offset + 4);
+            int crc = file.readInt();
+            file.seek(offset + 4);
+            file.writeInt(~crc);
+        }
+
+        // The records after a damaged one are not trusted either
+        store = open();
+        assertEquals(1, store.size());
+        assertEquals(value("a", 1), store.load("key-a", null));
+        assertNull(store.load("key-b", null));
+        assertNull(store.load("key-c", null));
+    }
+
+
+    @Test
+    public void rejectsTornRecord() throws Exception {
+        store = open();
+        store.save("key-a", value("a", 1), true);
+        store.save("key-b", value("b", 1), true);
+        store.shutdown();
+
+        File segment = segmentFiles()[0];
+        long offset = recordOffset(segment, "key-b");
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            // Only the beginning of the record reached the disk
+            file.seek(offset + KEY_OFFSET + 5);
+            file.write(new byte[VALUE_LENGTH / 2]);
+        }
+
+        store = open();
+        assertEquals(1, store.size());
+        assertEquals(value("a", 1), store.load("key-a", null));
+        assertNull(store.load("key-b", null));
+
+        store.save("key-b", value("b", 2), true);
+        store.shutdown();
+        store = open();
+        assertEquals(2, store.size());
+        assertEquals(value("b", 2), store.load("key-b", null));
+    }
+
+
+    @Test
+    public void rejectsRecordLongerThanSegment() throws Exception {
+        store = open();
+        store.save("key-a", value("a", 1), true);
+        store.save("key-b", value("b", 1), true);
+        store.shutdown();
+
+        File segment = segmentFiles()[0];
+        long offset = recordOffset(segment, "key-b");
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            file.seek(offset);
+            file.writeInt(SEGMENT_SIZE * 2);
+        }
+
+        store = open();
+        assertEquals(1, store.size());
+        assertNull(store.load("key-b", null));
+    }
+
+
+    @Test
+    public void compactsSegmentWithFewLiveRecords() throws Exception {
+        store = open();
+        // segment 0: a, b, c
+        store.save("key-a", value("a", 1), true);
+        store.save("key-b", value("b", 1), true);
+        store.save("key-c", value("c", 1), true);
+        // segment 1: d, e, f
+        store.save("key-d", value("d", 1), true);
+        store.save("key-e", value("e", 1), true);
+        store.save("key-f", value("f", 1), true);
+        // segment 2: a, b, only c stays live in segment 0
+        store.save("key-a", value("a", 2), false);
+        store.save("key-b", value("b", 2), false);
+        assertEquals(3, segmentFiles().length);
+
+        assertTrue(store.compact());
+        assertFalse(store.compact());
+        assertEquals(2, segmentFiles().length);
+        assertFalse(new File(storeDir(), "segment-0.log").exists());
+        assertEquals(value("c", 1), store.load("key-c", null));
+
+        store.shutdown();
+        store = open();
+        assertEquals(6, store.size());
+        assertEquals(value("a", 2), store.load("key-a", null));
+        assertEquals(value("b", 2), store.load("key-b", null));
+        assertEquals(value("c", 1), store.load("key-c", null));
+        assertEquals(value("f", 1), store.load("key-f", null));
+    }
+
+
+    @Test
+    public void keepsTombstoneWhileOlderSegmentHoldsTheKey() throws Exception {
+        store = open();
+        // segment 0: a, b, c; stays above the compaction threshold
+        store.save("key-a", value("a", 1), true);
+        store.save("key-b", value("b", 1), true);
+        store.save("key-c", value("c", 1), true);
+        // segment 1: d, tombstone of a, d, d; nothing stays live
+        store.save("key-d", value("d", 1), true);
+        store.remove("key-a");
+        store.save("key-d", value("d", 2), false);
+        store.save("key-d", value("d", 3), false);
+        // segment 2: d
+        store.save("key-d", value("d", 4), false);
+        assertEquals(3, segmentFiles().length);
+
+        assertTrue(store.compact());
+        assertFalse(new File(storeDir(), "segment-1.log").exists());
+        assertTrue(new File(storeDir(), "segment-0.log").exists());
+
+        // Without the copied tombstone the record of segment 0 would come back
+        store.shutdown();
+        store = open();
+        assertEquals(3, store.size());
+        assertNull(store.load("key-a", null));
+        assertEquals(value("b", 1), store.load("key-b", null));
+        assertEquals(value("d", 4), store.load("key-d", null));
+    }
+
+
+    @Test
+    public void removesExpiredEntries() throws Exception {
+        store = open();
+        long now = System.currentTimeMillis();
+        store.save("key-a", value("a", 1), true);
+        store.save("key-b", value("b", 1), true);
+        store.save("key-c", value("c", 1), true);
+        store.updateTimestamp("key-a", now - 60_000L);
+        store.updateTimestamp("key-b", now - 30_000L);
+
+        assertEquals(1, store.removeExpired(45_000L));
+        assertNull(store.load("key-a", null));
+        assertEquals(1, store.removeExpired(15_000L));
+        assertNull(store.load("key-b", null));
+        assertEquals(0, store.removeExpired(15_000L));
+        assertEquals(1, store.size());
+        assertEquals(value("c", 1), store.load("key-c", null));
+    }
+
+
+    @Test
+    public void removesExpiredEntriesAfterRestart() throws Exception {
+        store = open();
+        long now = System.currentTimeMillis();
+        store.save("key-a", value("a", 1), true);
+        store.save("key-b", value("b", 1), true);
+        store.updateTimestamp("key-a", now - 60_000L);
+        store.shutdown();
+
+        // The timestamp updates are restored from their records
+        store = open();
+        assertEquals(1, store.removeExpired(45_000L));
+        store.shutdown();
+
+        store = open();
+        assertEquals(1, store.size());
+        assertNull(store.load("key-a", null));
+        assertEquals(value("b", 1), store.load("key-b", null));
+    }
+
+
+    private SegmentFileBackingStore<String, String> open() throws Exception {
+        BackingStoreConfiguration<String, String> conf = new BackingStoreConfiguration<>();
+        conf.setStoreName("segment-test").setStoreType("file-segment")
+            .setBaseDirectory(storeDir())
+            .setKeyClazz(String.class)
+            .setValueClazz(String.class)
+            .setClassLoader(SegmentFileBackingStoreTest.class.getClassLoader());
+        conf.getVendorSpecificSettings().put("segment.size.in.bytes", String.valueOf(SEGMENT_SIZE));
+        conf.getVendorSpecificSettings().put("fsync.interval.in.millis", "3600000");
+        conf.getVendorSpecificSettings().put("compaction.threshold.percent", "50");
+        return (SegmentFileBackingStore<String, String>) new SegmentFileBackingStoreFactory().createBackingStore(conf);
+    }
+
+    private File storeDir() {
+        // The store deletes its directory when destroyed
+        return tempDir.resolve("store").toFile();
+    }
+
+    private File[] segmentFiles() {
+        return storeDir().listFiles((dir, name) -> name.startsWith("segment-") && name.endsWith(".log"));
+    }
+
+    private static long recordOffset(File segment, String key) throws Exception {
+        byte[] content = Files.readAllBytes(segment.toPath());
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        for (int i = KEY_OFFSET; i <= content.length - keyBytes.length; i++) {
+            int j = 0;
+            while (j < keyBytes.length && content[i + j] == keyBytes[j]) {
+                j++;
+            }
+            if (j == keyBytes.length) {
+                return i - KEY_OFFSET;
+            }
+        }
+        throw new IllegalStateException("No record of " + key + " in " + segment);
+    }
+
+    private static String value(String key, int version) {
+        StringBuilder value = new StringBuilder(VALUE_LENGTH).append(key).append('#').append(version);
+        while (value.length() < VALUE_LENGTH) {
+            value.append('.');
+        }
+        return value.toString();
+    }
+}
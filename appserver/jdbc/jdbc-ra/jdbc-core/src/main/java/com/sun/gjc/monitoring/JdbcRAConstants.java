@@ -42,6 +42,11 @@ public interface JdbcRAConstants {
      */
     public static final String TRACE_SQL = "traceSQLEvent";
 
+    /**
+     * Represents finished execution of sql query event.
+     */
+    public static final String EXECUTE_SQL = "executeSQLEvent";
+
     public static final String POTENTIAL_STATEMENT_LEAK = "potentialStatementLeakEvent";
 
     /**
@@ -17,7 +17,6 @@
 
 package com.sun.gjc.monitoring;
 
-import com.sun.gjc.util.SQLTrace;
 import com.sun.gjc.util.SQLTraceCache;
 
 import org.glassfish.api.naming.SimpleJndiName;
@@ -46,7 +45,11 @@ public class JdbcStatsProvider {
 
     private final StringStatisticImpl freqUsedSqlQueries = new StringStatisticImpl(
             "FreqUsedSqlQueries", "List",
-            "Most frequently used sql queries");
+            "Most frequently used sql queries, with literals replaced by ?");
+
+    private final StringStatisticImpl slowestSqlQueries = new StringStatisticImpl(
+            "SlowestSqlQueries", "List",
+            "Sql queries with the highest total execution time");
 
     private final CountStatisticImpl numStatementCacheHit = new CountStatisticImpl(
             "NumStatementCacheHit", StatisticImpl.UNIT_COUNT,
@@ -105,8 +108,8 @@ public class JdbcStatsProvider {
 
     /**
      * Whenever a sql statement that is traced is to be cache for monitoring
-     * purpose, the SQLTrace object is created for the specified sql and
-     * updated in the SQLTraceCache. This is used to update the
+     * purpose, the usage of the specified sql is counted in the
+     * SQLTraceCache. This is used to update the
      * frequently used sql queries.
      *
      * @param poolName
@@ -122,11 +125,32 @@ public class JdbcStatsProvider {
         PoolInfo poolInfo = new PoolInfo(SimpleJndiName.of(poolName), appName, moduleName);
         if(this.poolInfo.equals(poolInfo)){
             if(sqlTraceCache != null) {
-                if (sql != null) {
-                    SQLTrace cacheObj = new SQLTrace(sql, 1,
-                            System.currentTimeMillis());
-                    sqlTraceCache.checkAndUpdateCache(cacheObj);
-                }
+                sqlTraceCache.checkAndUpdateCache(sql);
+            }
+        }
+    }
+
+    /**
+     * Whenever an execution of a traced sql statement finishes, the execution
+     * time is recorded in the SQLTraceCache. This is used to update the
+     * slowest sql queries.
+     *
+     * @param poolName
+     * @param sql
+     * @param executionTime execution time in nanoseconds
+     */
+    @ProbeListener(JdbcRAConstants.SQL_TRACING_DOTTED_NAME + JdbcRAConstants.EXECUTE_SQL)
+    public void executeSQLEvent(
+                                   @ProbeParam("poolName") String poolName,
+                                   @ProbeParam("appName") String appName,
+                                   @ProbeParam("moduleName") String moduleName,
+                                   @ProbeParam("sql") String sql,
+                                   @ProbeParam("executionTime") long executionTime) {
+
+        PoolInfo poolInfo = new PoolInfo(SimpleJndiName.of(poolName), appName, moduleName);
+        if(this.poolInfo.equals(poolInfo)){
+            if(sqlTraceCache != null) {
+                sqlTraceCache.recordExecutionTime(sql, executionTime);
             }
         }
     }
@@ -168,6 +192,14 @@ public class JdbcStatsProvider {
         return freqUsedSqlQueries;
     }
 
+    @ManagedAttribute(id="slowestsqlqueries")
+    public StringStatistic getSlowestSqlQueries() {
+        if(sqlTraceCache != null) {
+            slowestSqlQueries.setCurrent(sqlTraceCache.getTopQueriesByTime());
+        }
+        return slowestSqlQueries;
+    }
+
     @ManagedAttribute(id="numpotentialstatementleak")
     public CountStatistic getNumPotentialStatementLeak() {
         return numPotentialStatementLeak;
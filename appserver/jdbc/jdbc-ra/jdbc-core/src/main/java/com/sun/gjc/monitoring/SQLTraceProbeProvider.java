@@ -43,4 +43,21 @@ public class SQLTraceProbeProvider {
             @ProbeParam("sql") String sql) {
 
     }
+
+    /**
+     * Emits probe event/notification that the given connection pool
+     * <code>poolName</code> has finished an execution of a sql query
+     *
+     * @param poolName for which sql query was executed
+     * @param sql sql query that was executed
+     * @param executionTime time spent by the execution in nanoseconds
+     */
+    @Probe(name=JdbcRAConstants.EXECUTE_SQL)
+    public void executeSQLEvent(@ProbeParam("poolName") String poolName,
+                                   @ProbeParam("appName") String appName,
+                                   @ProbeParam("moduleName") String moduleName,
+            @ProbeParam("sql") String sql,
+            @ProbeParam("executionTime") long executionTime) {
+
+    }
 }
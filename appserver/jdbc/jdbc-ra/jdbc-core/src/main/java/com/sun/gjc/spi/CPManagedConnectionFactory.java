@@ -136,6 +136,7 @@ public class CPManagedConnectionFactory extends ManagedConnectionFactoryImpl {
             managedConnectionImpl.initializeConnectionType(ManagedConnectionImpl.ISPOOLEDCONNECTION);
 
             validateAndSetIsolation(managedConnectionImpl);
+            managedConnectionImpl.startStatementCacheWarmup();
         } finally {
             if (managedConnectionImpl == null) {
                 if (pooledConnection != null) {
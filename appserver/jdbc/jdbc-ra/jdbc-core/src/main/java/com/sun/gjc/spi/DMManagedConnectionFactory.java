@@ -155,6 +155,7 @@ public class DMManagedConnectionFactory extends ManagedConnectionFactoryImpl {
         try {
             managedConnectionImpl = constructManagedConnection(null, connection, passwordCredential, this);
             validateAndSetIsolation(managedConnectionImpl);
+            managedConnectionImpl.startStatementCacheWarmup();
         } finally {
             if (managedConnectionImpl == null) {
                 try {
@@ -111,6 +111,7 @@ public class DSManagedConnectionFactory extends ManagedConnectionFactoryImpl {
             managedConnectionImpl = constructManagedConnection(null, connection, passwordCredential, this);
 
             validateAndSetIsolation(managedConnectionImpl);
+            managedConnectionImpl.startStatementCacheWarmup();
         } finally {
             if (managedConnectionImpl == null) {
                 if (connection != null) {
@@ -29,7 +29,6 @@ import java.util.logging.Logger;
 
 import javax.sql.DataSource;
 
-import org.glassfish.api.jdbc.SQLTraceRecord;
 
 import com.sun.gjc.spi.base.ConnectionHolder;
 import com.sun.gjc.util.SQLTraceDelegator;
@@ -102,15 +101,7 @@ public abstract class JdbcObjectsFactory implements Serializable {
 
             @Override
             public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-                SQLTraceRecord record = new SQLTraceRecord();
-                record.setMethodName(method.getName());
-                record.setParams(args);
-                record.setClassName(actualObject.getClass().getName());
-                record.setThreadName(Thread.currentThread().getName());
-                record.setThreadID(Thread.currentThread().getId());
-                record.setTimeStamp(System.currentTimeMillis());
-                sqlTraceDelegator.sqlTrace(record);
-
+                sqlTraceDelegator.sqlTrace(actualObject.getClass().getName(), method.getName(), args);
                 return method.invoke(actualObject, args);
             }
         };
@@ -22,6 +22,7 @@ import com.sun.enterprise.util.i18n.StringManager;
 import com.sun.gjc.common.DataSourceObjectBuilder;
 import com.sun.gjc.common.DataSourceSpec;
 import com.sun.gjc.monitoring.JdbcStatsProvider;
+import com.sun.gjc.spi.base.datastructure.StatementCacheRegistry;
 import com.sun.gjc.util.SQLTraceDelegator;
 import com.sun.logging.LogDomains;
 
@@ -115,6 +116,7 @@ public abstract class ManagedConnectionFactoryImpl
     private String statementCacheType;
     private long statementLeakTimeout;
     private boolean statementLeakReclaim;
+    private transient volatile StatementCacheRegistry statementCacheRegistry;
 
     // Jdbc Stats provider that is created
     private JdbcStatsProvider jdbcStatsProvider;
@@ -1006,6 +1008,56 @@ public abstract class ManagedConnectionFactoryImpl
         return spec.getDetail(DataSourceSpec.STATEMENTCACHESIZE);
     }
 
+    /**
+     * Sets the count of the most used statements of the pool which are prepared in advance
+     * for every new connection. Works only with the ACCESS_ORDERED statement cache type.
+     *
+     * @param value count of statements, 0 or null disables the warm-up.
+     */
+    public void setStatementCacheWarmupSize(String value) {
+        spec.setDetail(DataSourceSpec.STATEMENTCACHEWARMUPSIZE, value);
+    }
+
+    public String getStatementCacheWarmupSize() {
+        return spec.getDetail(DataSourceSpec.STATEMENTCACHEWARMUPSIZE);
+    }
+
+    /**
+     * @return count of statements to prepare in advance, 0 if the warm-up is disabled.
+     */
+    public int getStatementCacheWarmupSizeValue() {
+        String value = getStatementCacheWarmupSize();
+        if (value == null || value.isBlank()) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            _logger.log(Level.WARNING, "Invalid StatementCacheWarmupSize: " + value, e);
+            return 0;
+        }
+    }
+
+    /**
+     * @return pool wide registry of the used statements or null if the warm-up is disabled.
+     */
+    public StatementCacheRegistry getStatementCacheRegistry() {
+        if (getStatementCacheWarmupSizeValue() == 0) {
+            return null;
+        }
+        StatementCacheRegistry registry = statementCacheRegistry;
+        if (registry == null) {
+            synchronized (this) {
+                registry = statementCacheRegistry;
+                if (registry == null) {
+                    registry = new StatementCacheRegistry();
+                    statementCacheRegistry = registry;
+                }
+            }
+        }
+        return registry;
+    }
+
     public void setStatementLeakTimeoutInSeconds(String value) {
         spec.setDetail(DataSourceSpec.STATEMENTLEAKTIMEOUTINSECONDS, value);
         detectStatementLeakSupport();
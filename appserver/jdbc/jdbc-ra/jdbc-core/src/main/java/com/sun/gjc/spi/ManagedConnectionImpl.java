@@ -29,8 +29,10 @@ import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.Hashtable;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.logging.Logger;
 
 import javax.security.auth.Subject;
@@ -48,8 +50,10 @@ import com.sun.gjc.spi.base.CallableStatementWrapper;
 import com.sun.gjc.spi.base.ConnectionHolder;
 import com.sun.gjc.spi.base.ConnectionWrapper;
 import com.sun.gjc.spi.base.PreparedStatementWrapper;
+import com.sun.gjc.spi.base.datastructure.AccessOrderedCacheImpl;
 import com.sun.gjc.spi.base.datastructure.Cache;
 import com.sun.gjc.spi.base.datastructure.CacheFactory;
+import com.sun.gjc.spi.base.datastructure.StatementCacheWarmup;
 import com.sun.gjc.util.SQLTraceDelegator;
 import com.sun.gjc.util.StatementLeakDetector;
 import com.sun.logging.LogDomains;
@@ -116,6 +120,7 @@ public class ManagedConnectionImpl
     private int cacheSize;
     private String cacheType;
     private boolean statementCaching;
+    private volatile StatementCacheWarmup statementCacheWarmup;
     private long stmtLeakTimeout;
     private boolean stmtLeakReclaim;
     private boolean statementLeakTracing;
@@ -217,7 +222,8 @@ public class ManagedConnectionImpl
         cacheType = statementCacheType;
         if (cacheSize > 0) {
             try {
-                statementCache = CacheFactory.getDataStructure(poolInfo, cacheType, cacheSize);
+                statementCache = CacheFactory.getDataStructure(poolInfo, cacheType, cacheSize,
+                    ((ManagedConnectionFactoryImpl) managedConnectionFactory).getStatementCacheRegistry());
                 statementCaching = true;
             } catch (ResourceException ex) {
                 _logger.severe(ex.getMessage());
@@ -225,6 +231,60 @@ public class ManagedConnectionImpl
         }
     }
 
+    /**
+     * Prepares the most used statements of the pool in the background. Called once by the
+     * factory, right after the physical connection was created. The warm-up runs until the
+     * connection is used for the first time, see {@link #cancelStatementCacheWarmup()}.
+     */
+    void startStatementCacheWarmup() {
+        if (!statementCaching || !(statementCache instanceof AccessOrderedCacheImpl)) {
+            return;
+        }
+        ManagedConnectionFactoryImpl mcf = (ManagedConnectionFactoryImpl) managedConnectionFactory;
+        int warmupSize = Math.min(mcf.getStatementCacheWarmupSizeValue(), cacheSize);
+        if (warmupSize == 0 || mcf.getStatementCacheRegistry() == null) {
+            return;
+        }
+        List<CacheObjectKey> hotStatements = mcf.getStatementCacheRegistry().getHotStatements(warmupSize);
+        if (hotStatements.isEmpty()) {
+            return;
+        }
+        ConnectionHolder connection;
+        try {
+            // Own logical connection, the handles of the application come and go meanwhile
+            connection = mcf.getJdbcObjectsFactory().getConnection(getActualConnection(), this, null,
+                mcf.isStatementWrappingEnabled(), sqlTraceDelegator);
+        } catch (ResourceException e) {
+            _logger.log(FINE, "Could not start the statement cache warm-up", e);
+            return;
+        }
+        if (!(connection instanceof ConnectionWrapper)) {
+            return;
+        }
+        StatementCacheWarmup warmup = new StatementCacheWarmup((ConnectionWrapper) connection,
+            (AccessOrderedCacheImpl) statementCache, hotStatements);
+        statementCacheWarmup = warmup;
+        try {
+            ((ResourceAdapterImpl) mcf.getResourceAdapter()).getStatementCacheWarmupExecutor().execute(warmup);
+        } catch (RejectedExecutionException e) {
+            _logger.log(FINE, "Could not schedule the statement cache warm-up", e);
+            statementCacheWarmup = null;
+        }
+    }
+
+    /**
+     * Stops the statement cache warm-up if it still runs and waits until it no longer uses the
+     * physical connection. Called by every entry point using the connection, so the warm-up
+     * never runs concurrently with the application, the pool or the transaction manager.
+     */
+    private void cancelStatementCacheWarmup() {
+        StatementCacheWarmup warmup = statementCacheWarmup;
+        if (warmup != null) {
+            warmup.cancel();
+            statementCacheWarmup = null;
+        }
+    }
+
     private void tuneStatementLeakTracing(PoolInfo poolInfo, long statementLeakTimeout, boolean statementLeakReclaim) {
         stmtLeakTimeout = statementLeakTimeout;
         stmtLeakReclaim = statementLeakReclaim;
@@ -306,6 +366,7 @@ public class ManagedConnectionImpl
      */
     public void cleanup() throws ResourceException {
         logFine("In cleanup");
+        cancelStatementCacheWarmup();
 
         /**
          * may need to set the autocommit to true for the non-pooled case.
@@ -338,6 +399,7 @@ public class ManagedConnectionImpl
     }
 
     private void clearStatementCache() {
+        cancelStatementCacheWarmup();
         if (statementCache != null) {
             _logger.fine("Closing statements in statement cache");
             statementCache.flushCache();
@@ -663,6 +725,7 @@ public class ManagedConnectionImpl
      * @return the physical <code>java.sql.Connection</code>
      */
     Connection getActualConnection() throws ResourceException {
+        cancelStatementCacheWarmup();
         if (connectionType == ISXACONNECTION || connectionType == ISPOOLEDCONNECTION) {
             try {
                 if (actualConnection == null) {
@@ -703,6 +766,7 @@ public class ManagedConnectionImpl
      * occurred rendering it unusable
      */
     void checkIfValid() throws ResourceException {
+        cancelStatementCacheWarmup();
         if (isDestroyed || !isUsable) {
             throw new ResourceException(localStrings.getString("jdbc.mc_not_usable"));
         }
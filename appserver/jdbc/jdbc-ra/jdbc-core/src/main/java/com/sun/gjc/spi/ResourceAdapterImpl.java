@@ -20,6 +20,11 @@ import static jakarta.resource.spi.AuthenticationMechanism.CredentialInterface.P
 import static java.util.logging.Level.SEVERE;
 
 import java.util.Timer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 
 import javax.transaction.xa.XAResource;
@@ -57,9 +62,13 @@ public class ResourceAdapterImpl implements ResourceAdapter {
 
     private static Logger logger = LogDomains.getLogger(ResourceAdapterImpl.class, LogDomains.RSR_LOGGER);
 
+    private static final int WARMUP_THREADS = 2;
+    private static final int WARMUP_QUEUE_SIZE = 256;
+
     private static ResourceAdapterImpl resourceAdapterImpl;
     private BootstrapContext bootstrapContext;
     private Timer timer;
+    private ThreadPoolExecutor statementCacheWarmupExecutor;
 
     public ResourceAdapterImpl() {
         if (resourceAdapterImpl == null) {
@@ -129,6 +138,12 @@ public class ResourceAdapterImpl implements ResourceAdapter {
             timer.purge();
             timer.cancel();
         }
+        synchronized (this) {
+            if (statementCacheWarmupExecutor != null) {
+                statementCacheWarmupExecutor.shutdownNow();
+                statementCacheWarmupExecutor = null;
+            }
+        }
     }
 
     public Timer getTimer() {
@@ -145,4 +160,27 @@ public class ResourceAdapterImpl implements ResourceAdapter {
 
         return timer;
     }
+
+    /**
+     * Returns the executor preparing the hot statements of new connections. It has a few
+     * threads, which stop when idle, and a bounded queue, so the warm-ups never block the
+     * timer tasks or the threads creating the connections.
+     *
+     * @return executor of the statement cache warm-ups
+     */
+    public synchronized ExecutorService getStatementCacheWarmupExecutor() {
+        if (statementCacheWarmupExecutor == null) {
+            AtomicInteger threadCount = new AtomicInteger();
+            statementCacheWarmupExecutor = new ThreadPoolExecutor(WARMUP_THREADS, WARMUP_THREADS, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(WARMUP_QUEUE_SIZE), r -> {
+                    Thread thread = new Thread(r, "jdbc-statement-cache-warmup-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setContextClassLoader(ResourceAdapterImpl.class.getClassLoader());
+                    return thread;
+                });
+            statementCacheWarmupExecutor.allowCoreThreadTimeOut(true);
+        }
+
+        return statementCacheWarmupExecutor;
+    }
 }
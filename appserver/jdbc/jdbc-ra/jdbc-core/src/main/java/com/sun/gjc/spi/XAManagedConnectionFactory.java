@@ -115,6 +115,7 @@ public class XAManagedConnectionFactory extends ManagedConnectionFactoryImpl {
             managedConnection.initializeConnectionType(ISXACONNECTION);
             // GJCINT
             validateAndSetIsolation(managedConnection);
+            managedConnection.startStatementCacheWarmup();
         } finally {
             if (managedConnection == null) {
                 if (xaConnection != null) {
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.spi.base.datastructure;
+
+import com.sun.gjc.monitoring.StatementCacheProbeProvider;
+import com.sun.gjc.spi.base.CacheObjectKey;
+import com.sun.gjc.spi.base.PreparedStatementWrapper;
+import com.sun.logging.LogDomains;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.resourcebase.resources.api.PoolInfo;
+
+/**
+ * Statement cache evicting the least recently used statement.
+ * <p>
+ * Lookups do not lock, they just stamp the entry with a logical clock. The eldest entry is
+ * searched only when the cache is full and a new statement has to be added.
+ * <p>
+ * Probe parameters are computed once in the constructor, so a hit or a miss does not allocate.
+ * If the {@link StatementCacheRegistry} is set, every lookup is recorded there to learn which
+ * statements are hot for the whole pool.
+ */
+public class AccessOrderedCacheImpl implements Cache {
+
+    private static final Logger LOG = LogDomains.getLogger(AccessOrderedCacheImpl.class, LogDomains.RSR_LOGGER);
+
+    private final Map<CacheObjectKey, CacheEntry> cache;
+    private final AtomicLong clock = new AtomicLong();
+    private final int maxSize;
+    private final StatementCacheRegistry registry;
+
+    private final String poolName;
+    private final String appName;
+    private final String moduleName;
+    private StatementCacheProbeProvider probeProvider;
+
+
+    public AccessOrderedCacheImpl(PoolInfo poolInfo, int maxSize) {
+        this(poolInfo, maxSize, null);
+    }
+
+
+    /**
+     * @param poolInfo
+     * @param maxSize maximal count of cached statements
+     * @param registry pool wide registry of hot statements, can be null.
+     */
+    public AccessOrderedCacheImpl(PoolInfo poolInfo, int maxSize, StatementCacheRegistry registry) {
+        this.maxSize = maxSize;
+        this.registry = registry;
+        this.cache = new ConcurrentHashMap<>(maxSize);
+        this.poolName = poolInfo.getName().toString();
+        this.appName = poolInfo.getApplicationName();
+        this.moduleName = poolInfo.getModuleName();
+        try {
+            probeProvider = new StatementCacheProbeProvider();
+        } catch (Exception ex) {
+            LOG.log(Level.FINE, "Statement cache probe provider is not available.", ex);
+        }
+    }
+
+
+    @Override
+    public Object checkAndUpdateCache(CacheObjectKey key) {
+        if (registry != null) {
+            registry.record(key);
+        }
+        CacheEntry entry = cache.get(key);
+        if (entry == null) {
+            LOG.finest("Cache Miss");
+            if (probeProvider != null) {
+                probeProvider.statementCacheMissEvent(poolName, appName, moduleName);
+            }
+            return null;
+        }
+        entry.lastAccess = clock.incrementAndGet();
+        LOG.finest("Cache Hit");
+        if (probeProvider != null) {
+            probeProvider.statementCacheHitEvent(poolName, appName, moduleName);
+        }
+        return entry.entryObj;
+    }
+
+
+    @Override
+    public void addToCache(CacheObjectKey key, Object entry, boolean force) {
+        if (force || !cache.containsKey(key)) {
+            makeRoomFor(key);
+            cache.put(key, new CacheEntry(entry, clock.incrementAndGet()));
+        }
+    }
+
+
+    /**
+     * Checks the key without counting it as a lookup.
+     *
+     * @param key
+     * @return true if a statement is cached for the key.
+     */
+    public boolean contains(CacheObjectKey key) {
+        return cache.containsKey(key);
+    }
+
+
+    /**
+     * Adds the entry only if there is no entry for the key yet.
+     *
+     * @param key
+     * @param entry
+     * @return true if the entry was added.
+     */
+    public boolean addIfAbsent(CacheObjectKey key, Object entry) {
+        if (cache.containsKey(key)) {
+            return false;
+        }
+        makeRoomFor(key);
+        return cache.putIfAbsent(key, new CacheEntry(entry, clock.incrementAndGet())) == null;
+    }
+
+
+    @Override
+    public void clearCache() {
+        LOG.fine("clearing objects in cache");
+        cache.clear();
+    }
+
+
+    @Override
+    public void flushCache() {
+        for (Map.Entry<CacheObjectKey, CacheEntry> entry : cache.entrySet()) {
+            if (cache.remove(entry.getKey(), entry.getValue())) {
+                close(entry.getValue());
+            }
+        }
+    }
+
+
+    /**
+     * Removes and closes the least recently used statement.
+     */
+    @Override
+    public void purge() {
+        while (!cache.isEmpty()) {
+            Map.Entry<CacheObjectKey, CacheEntry> eldest = null;
+            for (Map.Entry<CacheObjectKey, CacheEntry> entry : cache.entrySet()) {
+                if (eldest == null || entry.getValue().lastAccess < eldest.getValue().lastAccess) {
+                    eldest = entry;
+                }
+            }
+            if (eldest != null && cache.remove(eldest.getKey(), eldest.getValue())) {
+                close(eldest.getValue());
+                return;
+            }
+        }
+    }
+
+
+    @Override
+    public void purge(Object obj) {
+        for (Map.Entry<CacheObjectKey, CacheEntry> entry : cache.entrySet()) {
+            if (entry.getValue().entryObj.equals(obj)) {
+                if (cache.remove(entry.getKey(), entry.getValue())) {
+                    LOG.log(Level.FINEST, "Purging an entry from cache");
+                    close(entry.getValue());
+                }
+                return;
+            }
+        }
+    }
+
+
+    @Override
+    public int getSize() {
+        return cache.size();
+    }
+
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+
+    @Override
+    public boolean isSynchronized() {
+        return true;
+    }
+
+
+    private void makeRoomFor(CacheObjectKey key) {
+        while (cache.size() >= maxSize && !cache.isEmpty() && !cache.containsKey(key)) {
+            purge();
+        }
+    }
+
+
+    private static void close(CacheEntry entry) {
+        try {
+            PreparedStatementWrapper ps = (PreparedStatementWrapper) entry.entryObj;
+            ps.setCached(false);
+            ps.close();
+        } catch (SQLException e) {
+            LOG.log(Level.FINEST, "Failed to close the purged statement.", e);
+        }
+    }
+
+
+    private static final class CacheEntry {
+        final Object entryObj;
+        volatile long lastAccess;
+
+        CacheEntry(Object entryObj, long lastAccess) {
+            this.entryObj = entryObj;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
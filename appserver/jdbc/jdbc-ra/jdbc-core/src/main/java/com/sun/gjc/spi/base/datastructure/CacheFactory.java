@@ -43,6 +43,20 @@ public class CacheFactory {
     protected final static StringManager localStrings = StringManager.getManager(DataSourceObjectBuilder.class);
 
     public static Cache getDataStructure(PoolInfo poolInfo, String cacheType, int maxSize) throws ResourceException {
+        return getDataStructure(poolInfo, cacheType, maxSize, null);
+    }
+
+    /**
+     * @param poolInfo
+     * @param cacheType null, "FIXED", "ACCESS_ORDERED" or a class name
+     * @param maxSize maximal count of cached statements
+     * @param registry pool wide registry of hot statements, used only by the ACCESS_ORDERED cache.
+     *            Can be null.
+     * @return new statement cache
+     * @throws ResourceException if the custom cache class could not be instantiated
+     */
+    public static Cache getDataStructure(PoolInfo poolInfo, String cacheType, int maxSize,
+        StatementCacheRegistry registry) throws ResourceException {
         Cache stmtCacheStructure;
 
         if (cacheType == null || cacheType.trim().equals("")) {
@@ -51,6 +65,9 @@ public class CacheFactory {
         } else if (cacheType.equals("FIXED")) {
             debug("Initializing FIXED Cache Implementation");
             stmtCacheStructure = new FIXEDCacheImpl(poolInfo, maxSize);
+        } else if (cacheType.equals("ACCESS_ORDERED")) {
+            debug("Initializing ACCESS_ORDERED Cache Implementation");
+            stmtCacheStructure = new AccessOrderedCacheImpl(poolInfo, maxSize, registry);
         } else { // consider the value of cacheType as a className
             stmtCacheStructure = initCustomCacheStructurePrivileged(cacheType, maxSize);
         }
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.spi.base.datastructure;
+
+import com.sun.gjc.spi.base.CacheObjectKey;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool wide registry of statements prepared through the statement caches of all connections.
+ * <p>
+ * Counts lookups of each statement key. The registry tracks a bounded number of keys and
+ * periodically halves all counters, so statements which are not used any more disappear and
+ * make room for new ones. Newly created connections use {@link #getHotStatements(int)} to
+ * prepare the statements in advance.
+ */
+public class StatementCacheRegistry {
+
+    private static final int MAX_TRACKED_STATEMENTS = 1024;
+    private static final long LOOKUPS_BETWEEN_DECAYS = 16L * MAX_TRACKED_STATEMENTS;
+
+    private final Map<CacheObjectKey, LongAdder> counters = new ConcurrentHashMap<>();
+    private final AtomicLong lookupsSinceDecay = new AtomicLong();
+    private final AtomicBoolean decaying = new AtomicBoolean();
+
+    /**
+     * Records one lookup of the statement.
+     *
+     * @param key
+     */
+    public void record(CacheObjectKey key) {
+        LongAdder counter = counters.get(key);
+        if (counter == null) {
+            if (counters.size() >= MAX_TRACKED_STATEMENTS) {
+                // will get a chance after the next decay.
+                return;
+            }
+            counter = counters.computeIfAbsent(key, k -> new LongAdder());
+        }
+        counter.increment();
+        if (lookupsSinceDecay.incrementAndGet() >= LOOKUPS_BETWEEN_DECAYS) {
+            decay();
+        }
+    }
+
+
+    /**
+     * @param count maximal count of returned keys
+     * @return keys of the most used statements, the most used first.
+     */
+    public List<CacheObjectKey> getHotStatements(int count) {
+        List<Map.Entry<CacheObjectKey, Long>> snapshot = new ArrayList<>(counters.size());
+        for (Map.Entry<CacheObjectKey, LongAdder> entry : counters.entrySet()) {
+            snapshot.add(Map.entry(entry.getKey(), entry.getValue().sum()));
+        }
+        snapshot.sort(Map.Entry.<CacheObjectKey, Long>comparingByValue(Comparator.reverseOrder()));
+        List<CacheObjectKey> result = new ArrayList<>(Math.min(count, snapshot.size()));
+        for (int i = 0; i < count && i < snapshot.size(); i++) {
+            result.add(snapshot.get(i).getKey());
+        }
+        return result;
+    }
+
+
+    private void decay() {
+        if (!decaying.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            lookupsSinceDecay.set(0);
+            for (Map.Entry<CacheObjectKey, LongAdder> entry : counters.entrySet()) {
+                long halved = entry.getValue().sumThenReset() / 2;
+                if (halved == 0) {
+                    counters.remove(entry.getKey(), entry.getValue());
+                } else {
+                    entry.getValue().add(halved);
+                }
+            }
+        } finally {
+            decaying.set(false);
+        }
+    }
+}
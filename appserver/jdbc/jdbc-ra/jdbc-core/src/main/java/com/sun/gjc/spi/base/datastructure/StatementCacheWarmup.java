@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.spi.base.datastructure;
+
+import com.sun.gjc.spi.base.CacheObjectKey;
+import com.sun.gjc.spi.base.ConnectionWrapper;
+import com.sun.gjc.spi.base.PreparedStatementWrapper;
+import com.sun.logging.LogDomains;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Background task preparing the hot statements of the pool in the statement cache of a new
+ * connection.
+ * <p>
+ * Only prepared statements created by {@code prepareStatement(sql)} and
+ * {@code prepareStatement(sql, resultSetType, resultSetConcurrency)} are prepared, other variants
+ * are skipped, as are the statements already in the cache. The managed connection cancels the
+ * task before it is used for anything else, {@link #cancel()} waits until the statement being
+ * prepared right now is done, so the task never uses the physical connection concurrently.
+ */
+public class StatementCacheWarmup implements Runnable {
+
+    private static final Logger LOG = LogDomains.getLogger(StatementCacheWarmup.class, LogDomains.RSR_LOGGER);
+
+    private final ConnectionWrapper connection;
+    private final AccessOrderedCacheImpl cache;
+    private final List<CacheObjectKey> statements;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile boolean cancelled;
+
+    /**
+     * @param connection logical connection used to prepare statements
+     * @param cache target statement cache
+     * @param statements keys of statements to prepare
+     */
+    public StatementCacheWarmup(ConnectionWrapper connection, AccessOrderedCacheImpl cache, List<CacheObjectKey> statements) {
+        this.connection = connection;
+        this.cache = cache;
+        this.statements = statements;
+    }
+
+
+    @Override
+    public void run() {
+        int prepared = 0;
+        for (CacheObjectKey key : statements) {
+            if (cancelled) {
+                break;
+            }
+            if (!isSimplePreparedStatement(key)) {
+                continue;
+            }
+            lock.lock();
+            try {
+                if (cancelled) {
+                    break;
+                }
+                if (cache.contains(key)) {
+                    continue;
+                }
+                PreparedStatementWrapper statement = connection.prepareCachedStatement(key.getSql(),
+                    key.getResultSetType(), key.getResultSetConcurrency(), true);
+                if (cache.addIfAbsent(key, statement)) {
+                    prepared++;
+                } else {
+                    statement.setCached(false);
+                    statement.close();
+                }
+            } catch (SQLException e) {
+                LOG.log(Level.FINE, "Could not prepare statement " + key.getSql() + " in advance.", e);
+            } finally {
+                lock.unlock();
+            }
+        }
+        LOG.log(Level.FINE, "Prepared {0} statements in advance.", prepared);
+    }
+
+
+    /**
+     * Stops the task and waits until the statement being prepared right now is done.
+     */
+    public void cancel() {
+        cancelled = true;
+        lock.lock();
+        lock.unlock();
+    }
+
+
+    private static boolean isSimplePreparedStatement(CacheObjectKey key) {
+        return CacheObjectKey.PREPARED_STATEMENT.equals(key.getStatementType()) && key.getColumnIndexes() == null
+            && key.getColumnNames() == null && key.getAutoGeneratedKeys() == 0 && key.getResultSetHoldability() == 0;
+    }
+}
@@ -17,13 +17,20 @@
 
 package com.sun.gjc.util;
 
+import com.sun.enterprise.util.LatencyHistogram;
 import com.sun.logging.LogDomains;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Iterator;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Timer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -33,14 +40,31 @@ import org.glassfish.api.naming.SimpleJndiName;
  * Maintains the Sql Tracing Cache used to store SQL statements used by the
  * applications. This is used by the JDBCRA monitoring to display the most
  * frequently used queries by applications.
+ * <p>
+ * Queries are normalized (literals replaced by '?') and counted in a count-min sketch. Only
+ * a bounded number of heavy hitters is tracked in detail, together with a histogram of their
+ * execution times. A query replaces the least used tracked query only if its estimated count is
+ * higher, so recording a query is a constant time operation without a global lock.
+ * <p>
+ * The usage and the execution of a traced statement are reported with the same sql string on
+ * the same thread, the query is normalized only for the first of them.
  *
  * @author Shalini M
  */
 public class SQLTraceCache {
 
-    // List of sql trace objects
-    private final List<SQLTrace> list;
-    // Maximum size of the cache.
+    private static final int SKETCH_DEPTH = 4;
+    private static final long[] SKETCH_SEEDS = {0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L,
+        0xD6E8FEB86659FD93L};
+
+    // Queries tracked in detail
+    private final Map<String, TrackedQuery> trackedQueries = new ConcurrentHashMap<>();
+    private final int maxTrackedQueries;
+    private final AtomicLongArray sketch;
+    private final int sketchMask;
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private volatile long minTrackedCount;
+    // Maximum size of the reported list.
     private int numTopQueriesToReport = 10;
     private long timeToKeepQueries = 60 * 1000;
     private SQLTraceTimerTask sqlTraceTimerTask;
@@ -49,18 +73,32 @@ public class SQLTraceCache {
     private final String moduleName;
     private final static Logger _logger = LogDomains.getLogger(SQLTraceCache.class, LogDomains.RSR_LOGGER);
     private static final String LINE_BREAK = "%%%EOL%%%";
+    // The last sql string normalized by the thread and its normalized query
+    private static final ThreadLocal<String[]> LAST_NORMALIZED = new ThreadLocal<>();
 
     public SQLTraceCache(SimpleJndiName poolName, String appName, String moduleName, int maxSize, long timeToKeepQueries) {
         this.poolName = poolName;
         this.appName = appName;
         this.moduleName = moduleName;
         this.numTopQueriesToReport = maxSize;
-        list = new ArrayList<>();
         this.timeToKeepQueries = timeToKeepQueries * 60 * 1000;
+        this.maxTrackedQueries = Math.max(32, maxSize * 4);
+        int width = Integer.highestOneBit(maxTrackedQueries * 16 - 1) << 1;
+        this.sketch = new AtomicLongArray(SKETCH_DEPTH * width);
+        this.sketchMask = width - 1;
     }
 
+    /**
+     * @return snapshot of tracked sql queries, the most frequently used first.
+     */
     public List<SQLTrace> getSqlTraceList() {
-        return list;
+        List<SQLTrace> result = new ArrayList<>(trackedQueries.size());
+        for (TrackedQuery query : trackedQueries.values()) {
+            result.add(new SQLTrace(query.sql, (int) Math.min(Integer.MAX_VALUE, query.count.sum()),
+                query.lastUsageTime));
+        }
+        result.sort(null);
+        return result;
     }
 
     public SimpleJndiName getPoolName() {
@@ -116,58 +154,86 @@ public class SQLTraceCache {
     }
 
     /**
-     * Request for adding a sql query in the form of SQLTrace to this cache. If the
-     * query is already found in the list, the number of times it is executed is
-     * incremented by one along with the timestamp. If the query is a new one, it is
-     * added to the list.
+     * Request for adding a sql query in the form of SQLTrace to this cache.
      *
      * @param cacheObj
-     * @return
      */
     public void checkAndUpdateCache(SQLTrace cacheObj) {
-        synchronized (list) {
-            if (cacheObj != null) {
-                int index = list.indexOf(cacheObj);
-                if (index != -1) {
-                    // If already found in the cache
-                    // equals is invoked here and hence comparison based on query name is done
-                    // Get the object at the index to update the numExecutions
-                    SQLTrace cache = list.get(index);
-                    cache.setNumExecutions(cache.getNumExecutions() + 1);
-                    cache.setLastUsageTime(System.currentTimeMillis());
-                } else {
-                    // First occurrence of the query. query to be added.
-                    cacheObj.setNumExecutions(1);
-                    cacheObj.setLastUsageTime(System.currentTimeMillis());
-                    list.add(cacheObj);
-                }
+        if (cacheObj != null) {
+            checkAndUpdateCache(cacheObj.getQueryName());
+        }
+    }
+
+    /**
+     * Counts one usage of the sql query. If the query is already tracked, the number of times
+     * it is executed is incremented by one along with the timestamp. If the query is a new one,
+     * it is tracked only if it is used more than the least used tracked query.
+     *
+     * @param sql
+     */
+    public void checkAndUpdateCache(String sql) {
+        if (sql == null) {
+            return;
+        }
+        String query = normalizeOnce(sql);
+        long estimate = incrementSketch(query);
+        TrackedQuery tracked = trackedQueries.get(query);
+        if (tracked == null) {
+            tracked = track(query, estimate - 1);
+            if (tracked == null) {
+                return;
             }
         }
+        tracked.count.increment();
+        tracked.lastUsageTime = System.currentTimeMillis();
     }
 
     /**
-     * Entries are removed from the list after sorting them in the least frequently
-     * used order. Only numTopQueriesToReport number of entries are maintained in
-     * the list after the purgeEntries.
+     * Records the execution time of the sql query. Executions of queries which are not used
+     * often enough to be tracked are ignored.
+     *
+     * @param sql
+     * @param executionTimeNanos
+     */
+    public void recordExecutionTime(String sql, long executionTimeNanos) {
+        if (sql == null) {
+            return;
+        }
+        String query = normalizeOnce(sql);
+        TrackedQuery tracked = trackedQueries.get(query);
+        if (tracked == null) {
+            tracked = track(query, estimate(query));
+            if (tracked == null) {
+                return;
+            }
+        }
+        tracked.executionTimes.record(TimeUnit.NANOSECONDS.toMicros(executionTimeNanos));
+        tracked.lastUsageTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Removes queries which were not used during the last timeToKeepQueries and halves all
+     * counts, so queries which are not used any more give place to new ones.
      */
     public void purgeEntries() {
-        synchronized (list) {
-            Collections.sort(list, Collections.reverseOrder());
-            Iterator<SQLTrace> i = list.iterator();
-            while (i.hasNext()) {
-                SQLTrace cacheObj = i.next();
-                if (list.size() > numTopQueriesToReport) {
-                    if (_logger.isLoggable(Level.FINEST)) {
-                        _logger.finest("removing sql=" + cacheObj.getQueryName());
-                    }
-                    i.remove();
-                } else {
-                    break;
+        long oldest = System.currentTimeMillis() - timeToKeepQueries;
+        for (TrackedQuery query : trackedQueries.values()) {
+            if (query.lastUsageTime < oldest) {
+                if (_logger.isLoggable(Level.FINEST)) {
+                    _logger.finest("removing sql=" + query.sql);
                 }
+                trackedQueries.remove(query.sql, query);
+            } else {
+                query.count.add(-(query.count.sum() / 2));
+            }
+        }
+        for (int i = 0; i < sketch.length(); i++) {
+            long value = sketch.get(i);
+            if (value != 0) {
+                sketch.getAndAdd(i, -(value / 2));
             }
-            // sort by most frequently used queries first
-            Collections.sort(list);
         }
+        minTrackedCount = 0;
     }
 
     /**
@@ -179,12 +245,192 @@ public class SQLTraceCache {
      * @return string representation of the list of sql queries sorted
      */
     public String getTopQueries() {
-        purgeEntries();
-        StringBuffer sb = new StringBuffer();
-        for (SQLTrace cache : list) {
+        StringBuilder sb = new StringBuilder();
+        List<SQLTrace> list = getSqlTraceList();
+        for (int i = 0; i < numTopQueriesToReport && i < list.size(); i++) {
             sb.append(LINE_BREAK);
-            sb.append(cache.getQueryName());
+            sb.append(list.get(i).getQueryName());
         }
         return sb.toString();
     }
+
+    /**
+     * Returns the String representation of the list of traced sql queries ordered by the total
+     * time spent by their execution. Every line contains the query and its execution count,
+     * total time, median, 95th and 99th percentile and maximal execution time in milliseconds.
+     *
+     * @return string representation of the list of sql queries sorted
+     */
+    public String getTopQueriesByTime() {
+        List<TrackedQuery> list = new ArrayList<>(trackedQueries.values());
+        list.removeIf(query -> query.executionTimes.getCount() == 0);
+        list.sort(Comparator.comparingLong((TrackedQuery query) -> query.executionTimes.getTotal()).reversed());
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < numTopQueriesToReport && i < list.size(); i++) {
+            LatencyHistogram times = list.get(i).executionTimes;
+            sb.append(LINE_BREAK).append(list.get(i).sql);
+            sb.append(" [count=").append(times.getCount());
+            sb.append(", total=").append(toMillis(times.getTotal()));
+            sb.append(", p50=").append(toMillis(times.getPercentile(50)));
+            sb.append(", p95=").append(toMillis(times.getPercentile(95)));
+            sb.append(", p99=").append(toMillis(times.getPercentile(99)));
+            sb.append(", max=").append(toMillis(times.getMax())).append(" ms]");
+        }
+        return sb.toString();
+    }
+
+    private TrackedQuery track(String query, long estimatedCount) {
+        if (trackedQueries.size() < maxTrackedQueries) {
+            TrackedQuery tracked = new TrackedQuery(query, estimatedCount);
+            TrackedQuery previous = trackedQueries.putIfAbsent(query, tracked);
+            return previous == null ? tracked : previous;
+        }
+        if (estimatedCount <= minTrackedCount || !evicting.compareAndSet(false, true)) {
+            return null;
+        }
+        try {
+            TrackedQuery victim = null;
+            long secondMin = Long.MAX_VALUE;
+            for (TrackedQuery candidate : trackedQueries.values()) {
+                long count = candidate.count.sum();
+                if (victim == null || count < victim.count.sum()) {
+                    if (victim != null) {
+                        secondMin = Math.min(secondMin, victim.count.sum());
+                    }
+                    victim = candidate;
+                } else {
+                    secondMin = Math.min(secondMin, count);
+                }
+            }
+            if (victim == null || victim.count.sum() >= estimatedCount) {
+                minTrackedCount = victim == null ? 0 : victim.count.sum();
+                return null;
+            }
+            trackedQueries.remove(victim.sql, victim);
+            minTrackedCount = Math.min(secondMin, estimatedCount);
+            TrackedQuery tracked = new TrackedQuery(query, estimatedCount);
+            TrackedQuery previous = trackedQueries.putIfAbsent(query, tracked);
+            return previous == null ? tracked : previous;
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private long incrementSketch(String query) {
+        long hash = query.hashCode();
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < SKETCH_DEPTH; row++) {
+            estimate = Math.min(estimate, sketch.incrementAndGet(sketchIndex(hash, row)));
+        }
+        return estimate;
+    }
+
+    private long estimate(String query) {
+        long hash = query.hashCode();
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < SKETCH_DEPTH; row++) {
+            estimate = Math.min(estimate, sketch.get(sketchIndex(hash, row)));
+        }
+        return estimate;
+    }
+
+    private int sketchIndex(long hash, int row) {
+        long mixed = (hash + SKETCH_SEEDS[row]) * SKETCH_SEEDS[row];
+        return row * (sketchMask + 1) + ((int) (mixed >>> 32) & sketchMask);
+    }
+
+    private static String toMillis(long micros) {
+        return String.format(Locale.ROOT, "%.3f", micros / 1000d);
+    }
+
+    /**
+     * @param sql
+     * @return normalized sql query, reused if the thread normalized the same string last time.
+     */
+    private static String normalizeOnce(String sql) {
+        String[] last = LAST_NORMALIZED.get();
+        if (last == null) {
+            last = new String[2];
+            LAST_NORMALIZED.set(last);
+        } else if (last[0] == sql) {
+            return last[1];
+        }
+        String query = normalize(sql);
+        last[0] = sql;
+        last[1] = query;
+        return query;
+    }
+
+    /**
+     * Replaces string and numeric literals by '?' and collapses whitespaces, so executions of
+     * the same query with different literals are counted together.
+     *
+     * @param sql
+     * @return normalized sql query
+     */
+    static String normalize(String sql) {
+        StringBuilder result = new StringBuilder(sql.length());
+        boolean whitespace = false;
+        int length = sql.length();
+        for (int i = 0; i < length; i++) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c)) {
+                whitespace = result.length() > 0;
+                continue;
+            }
+            if (whitespace) {
+                result.append(' ');
+                whitespace = false;
+            }
+            if (c == '\'') {
+                // skip the literal including escaped quotes
+                i++;
+                while (i < length) {
+                    if (sql.charAt(i) == '\'') {
+                        if (i + 1 < length && sql.charAt(i + 1) == '\'') {
+                            i += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    i++;
+                }
+                result.append('?');
+            } else if (c == '"') {
+                // quoted identifier is kept as is
+                int end = sql.indexOf('"', i + 1);
+                end = end < 0 ? length - 1 : end;
+                result.append(sql, i, end + 1);
+                i = end;
+            } else if (Character.isDigit(c) && !isIdentifierPart(result)) {
+                while (i + 1 < length && (Character.isLetterOrDigit(sql.charAt(i + 1)) || sql.charAt(i + 1) == '.')) {
+                    i++;
+                }
+                result.append('?');
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    private static boolean isIdentifierPart(StringBuilder sql) {
+        if (sql.length() == 0) {
+            return false;
+        }
+        char previous = sql.charAt(sql.length() - 1);
+        return Character.isLetterOrDigit(previous) || previous == '_' || previous == '$';
+    }
+
+    private static final class TrackedQuery {
+        final String sql;
+        final LongAdder count = new LongAdder();
+        final LatencyHistogram executionTimes = new LatencyHistogram();
+        volatile long lastUsageTime = System.currentTimeMillis();
+
+        TrackedQuery(String sql, long estimatedCount) {
+            this.sql = sql;
+            this.count.add(Math.max(0, estimatedCount));
+        }
+    }
 }
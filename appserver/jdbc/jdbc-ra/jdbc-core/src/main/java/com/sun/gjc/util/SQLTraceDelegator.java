@@ -73,6 +73,27 @@ public class SQLTraceDelegator implements SQLTraceListener {
         sqlTraceListenersList.add(listener);
     }
 
+    /**
+     * Creates the trace record of the invocation of the method on the current thread and
+     * passes it to {@link #sqlTrace(SQLTraceRecord)}.
+     *
+     * @param className class of the object the method is invoked on
+     * @param methodName
+     * @param params method arguments, can be null.
+     * @return the record, to be passed to {@link #sqlExecuted(SQLTraceRecord, String, long)}
+     */
+    public SQLTraceRecord sqlTrace(String className, String methodName, Object[] params) {
+        SQLTraceRecord record = new SQLTraceRecord();
+        record.setMethodName(methodName);
+        record.setParams(params);
+        record.setClassName(className);
+        record.setThreadName(Thread.currentThread().getName());
+        record.setThreadID(Thread.currentThread().getId());
+        record.setTimeStamp(System.currentTimeMillis());
+        sqlTrace(record);
+        return record;
+    }
+
     @Override
     public void sqlTrace(SQLTraceRecord record) {
         if (sqlTraceListenersList != null) {
@@ -114,6 +135,29 @@ public class SQLTraceDelegator implements SQLTraceListener {
         }
     }
 
+    /**
+     * Called when the traced method finished. Executions of sql queries are reported with the
+     * time spent by them.
+     *
+     * @param record record passed to {@link #sqlTrace(SQLTraceRecord)} before the invocation
+     * @param preparedSql sql of the prepared statement the method was invoked on, can be null.
+     * @param executionTimeNanos time spent by the invocation
+     */
+    public void sqlExecuted(SQLTraceRecord record, String preparedSql, long executionTimeNanos) {
+        String methodName = record.getMethodName();
+        if (methodName == null || !methodName.startsWith("execute")) {
+            return;
+        }
+        String sqlQuery = preparedSql;
+        Object[] params = record.getParams();
+        if (params != null && params.length > 0 && params[0] instanceof String) {
+            sqlQuery = (String) params[0];
+        }
+        if (sqlQuery != null) {
+            probeProvider.executeSQLEvent(poolName.toString(), appName, moduleName, sqlQuery, executionTimeNanos);
+        }
+    }
+
     /**
      * Check if the method name from the sql trace record can be used to retrieve a
      * sql string for caching purpose. Most of the method names do not contain a sql
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Build time generator of sql tracing wrappers.
+ * <p>
+ * For every supported JDBC interface it writes a class delegating all methods directly to the
+ * wrapped object. Every call is reported to the {@link SQLTraceDelegator} and executions are
+ * timed, exactly as the {@link java.lang.reflect.Proxy} based tracing does, but without
+ * reflective invocation.
+ * <p>
+ * Usage: {@code SQLTraceWrapperGenerator <output directory> <package> <class name suffix>}
+ */
+public final class SQLTraceWrapperGenerator {
+
+    private static final Class<?>[] WRAPPED_INTERFACES = {Connection.class, Statement.class,
+        PreparedStatement.class, CallableStatement.class};
+
+    private final Path outputDirectory;
+    private final String packageName;
+    private final String suffix;
+
+    SQLTraceWrapperGenerator(Path outputDirectory, String packageName, String suffix) {
+        this.outputDirectory = outputDirectory;
+        this.packageName = packageName;
+        this.suffix = suffix;
+    }
+
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            throw new IllegalArgumentException(
+                "Usage: SQLTraceWrapperGenerator <output directory> <package> <class name suffix>");
+        }
+        new SQLTraceWrapperGenerator(Paths.get(args[0]), args[1], args[2]).generate();
+    }
+
+
+    void generate() throws IOException {
+        Path packageDirectory = outputDirectory.resolve(packageName.replace('.', '/'));
+        Files.createDirectories(packageDirectory);
+        for (Class<?> iface : WRAPPED_INTERFACES) {
+            String className = getClassName(iface);
+            try (Writer writer = Files.newBufferedWriter(packageDirectory.resolve(className + ".java"),
+                StandardCharsets.UTF_8)) {
+                writer.write(generate(iface, className));
+            }
+        }
+    }
+
+
+    private String getClassName(Class<?> iface) {
+        return "Tracing" + iface.getSimpleName() + suffix;
+    }
+
+
+    private String generate(Class<?> iface, String className) {
+        boolean prepared = PreparedStatement.class.isAssignableFrom(iface);
+        String ifaceName = iface.getName();
+        StringBuilder source = new StringBuilder(64 * 1024);
+        source.append("// Generated by ").append(getClass().getName()).append(", do not edit.\n");
+        source.append("package ").append(packageName).append(";\n\n");
+        source.append("/**\n * Traces all calls of the {@link ").append(ifaceName).append("}.\n */\n");
+        source.append("public class ").append(className).append(" implements ").append(ifaceName).append(" {\n\n");
+        source.append("    private final ").append(ifaceName).append(" delegate;\n");
+        source.append("    private final com.sun.gjc.util.SQLTraceDelegator tracer;\n");
+        source.append("    private final String className;\n");
+        source.append("    private final String preparedSql;\n\n");
+        source.append("    public ").append(className).append('(').append(ifaceName)
+            .append(" delegate, com.sun.gjc.util.SQLTraceDelegator tracer");
+        if (prepared) {
+            source.append(", String preparedSql");
+        }
+        source.append(") {\n");
+        source.append("        this.delegate = delegate;\n");
+        source.append("        this.tracer = tracer;\n");
+        source.append("        this.className = delegate.getClass().getName();\n");
+        source.append("        this.preparedSql = ").append(prepared ? "preparedSql" : "null").append(";\n");
+        source.append("    }\n\n");
+        source.append("    public ").append(ifaceName).append(" getDelegate() {\n");
+        source.append("        return delegate;\n");
+        source.append("    }\n\n");
+        source.append("    @Override\n");
+        source.append("    public String toString() {\n");
+        source.append("        return delegate.toString();\n");
+        source.append("    }\n");
+        for (Method method : getMethods(iface)) {
+            source.append('\n');
+            appendMethod(source, method);
+        }
+        source.append("}\n");
+        return source.toString();
+    }
+
+
+    private static void appendMethod(StringBuilder source, Method method) {
+        if (method.isAnnotationPresent(Deprecated.class)) {
+            source.append("    @Deprecated\n");
+        }
+        source.append("    @Override\n    public ");
+        TypeVariable<Method>[] typeParameters = method.getTypeParameters();
+        if (typeParameters.length > 0) {
+            source.append(Arrays.stream(typeParameters).map(SQLTraceWrapperGenerator::toTypeParameter)
+                .collect(Collectors.joining(", ", "<", "> ")));
+        }
+        source.append(method.getGenericReturnType().getTypeName()).append(' ').append(method.getName()).append('(');
+        Type[] parameterTypes = method.getGenericParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (i > 0) {
+                source.append(", ");
+            }
+            source.append(parameterTypes[i].getTypeName()).append(" arg").append(i);
+        }
+        source.append(')');
+        Class<?>[] exceptionTypes = method.getExceptionTypes();
+        if (exceptionTypes.length > 0) {
+            source.append(Arrays.stream(exceptionTypes).map(Class::getName)
+                .collect(Collectors.joining(", ", " throws ", "")));
+        }
+        source.append(" {\n");
+
+        String args = IntStream.range(0, parameterTypes.length).mapToObj(i -> "arg" + i)
+            .collect(Collectors.joining(", "));
+        String params = parameterTypes.length == 0 ? "null" : "new Object[] {" + args + "}";
+        String invocation = "delegate." + method.getName() + '(' + args + ");\n";
+        String returnPrefix = method.getReturnType() == void.class ? "" : "return ";
+        boolean execution = method.getName().startsWith("execute");
+
+        source.append("        ");
+        if (execution) {
+            source.append("final org.glassfish.api.jdbc.SQLTraceRecord record = ");
+        }
+        source.append("tracer.sqlTrace(className, \"").append(method.getName()).append("\", ").append(params)
+            .append(");\n");
+        if (execution) {
+            source.append("        final long start = System.nanoTime();\n");
+            source.append("        try {\n");
+            source.append("            ").append(returnPrefix).append(invocation);
+            source.append("        } finally {\n");
+            source.append("            tracer.sqlExecuted(record, preparedSql, System.nanoTime() - start);\n");
+            source.append("        }\n");
+        } else {
+            source.append("        ").append(returnPrefix).append(invocation);
+        }
+        source.append("    }\n");
+    }
+
+
+    private static String toTypeParameter(TypeVariable<?> variable) {
+        Type[] bounds = variable.getBounds();
+        if (bounds.length == 0 || (bounds.length == 1 && bounds[0] == Object.class)) {
+            return variable.getName();
+        }
+        return variable.getName() + " extends "
+            + Arrays.stream(bounds).map(Type::getTypeName).collect(Collectors.joining(" & "));
+    }
+
+
+    /**
+     * @return all abstract and default methods of the interface, one per signature, sorted.
+     */
+    private static Iterable<Method> getMethods(Class<?> iface) {
+        Map<String, Method> methods = new TreeMap<>();
+        for (Method method : iface.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            String signature = method.getName() + Arrays.stream(method.getParameterTypes()).map(Class::getName)
+                .collect(Collectors.joining(",", "(", ")"));
+            methods.merge(signature, method, SQLTraceWrapperGenerator::mostSpecific);
+        }
+        return methods.values();
+    }
+
+
+    private static Method mostSpecific(Method first, Method second) {
+        return first.getReturnType().isAssignableFrom(second.getReturnType()) ? second : first;
+    }
+}
@@ -65,9 +65,14 @@ public class Jdbc40ObjectsFactory extends JdbcObjectsFactory {
 
         if (statementWrapping) {
             if (sqlTraceDelegator != null) {
-                Class<?>[] connIntf = new Class[] { Connection.class };
-                Connection proxiedConn = getProxiedConnection(conObject, connIntf, sqlTraceDelegator);
-                connection = new ProfiledConnectionWrapper40(proxiedConn, mcObject, criObject, jdbc30Connection, sqlTraceDelegator);
+                Connection tracedConn;
+                if (ProfiledConnectionWrapper40.TRACE_WITH_PROXY) {
+                    Class<?>[] connIntf = new Class[] { Connection.class };
+                    tracedConn = getProxiedConnection(conObject, connIntf, sqlTraceDelegator);
+                } else {
+                    tracedConn = new TracingConnection40(conObject, sqlTraceDelegator);
+                }
+                connection = new ProfiledConnectionWrapper40(tracedConn, mcObject, criObject, jdbc30Connection, sqlTraceDelegator);
             } else {
                 connection = new ConnectionWrapper40(conObject, mcObject, criObject, jdbc30Connection);
             }
@@ -46,6 +46,12 @@ import jakarta.resource.spi.ConnectionRequestInfo;
  */
 public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements ConnectionWrapper {
 
+    /**
+     * Traces through {@link Proxy} instead of the generated wrappers if the JVM option
+     * com.sun.appserv.jdbc.sqlTraceWithProxy is set to true.
+     */
+    static final boolean TRACE_WITH_PROXY = Boolean.getBoolean("com.sun.appserv.jdbc.sqlTraceWithProxy");
+
     private SQLTraceDelegator sqlTraceDelegator;
 
     /**
@@ -70,7 +76,7 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
     public Statement createStatement() throws SQLException {
         Statement output = null;
         try {
-            output = (Statement) getProxyObject(new StatementWrapper40(this, super.createStatement()), new Class<?>[] { Statement.class });
+            output = (Statement) getTracingObject(new StatementWrapper40(this, super.createStatement()), new Class<?>[] { Statement.class });
         } catch (Exception e) {
             // TODO SQLexception or any other type?
             throw new SQLException(e);
@@ -91,7 +97,7 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
         Statement output = null;
         try {
             output = (Statement)
-                getProxyObject(
+                getTracingObject(
                     new StatementWrapper40(this, super.createStatement(resultSetType, resultSetConcurrency)), new Class<?>[] { Statement.class });
         } catch (Exception e) {
             throw new SQLException(e);
@@ -115,7 +121,7 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
         Class<?>[] intf = new Class[] { Statement.class };
         try {
             output = (Statement)
-                getProxyObject(
+                getTracingObject(
                     new StatementWrapper40(this, super.createStatement(resultSetType, resultSetConcurrency, resultSetHoldability)), intf);
         } catch (Exception e) {
             throw new SQLException(e);
@@ -149,8 +155,8 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
         Class<?>[] intf = new Class[] { java.sql.CallableStatement.class };
         try {
             output = (CallableStatement)
-                getProxyObject(
-                    managedConnectionImpl.prepareCachedCallableStatement(this, sql, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY), intf);
+                getTracingObject(
+                    managedConnectionImpl.prepareCachedCallableStatement(this, sql, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY), intf, sql);
         } catch (Exception e) {
             throw new SQLException(e);
         }
@@ -173,8 +179,8 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
         Class<?>[] intf = new Class[] { java.sql.CallableStatement.class };
         try {
             output = (CallableStatement)
-                getProxyObject(
-                    managedConnectionImpl.prepareCachedCallableStatement(this, sql, resultSetType, resultSetConcurrency), intf);
+                getTracingObject(
+                    managedConnectionImpl.prepareCachedCallableStatement(this, sql, resultSetType, resultSetConcurrency), intf, sql);
         } catch (Exception e) {
             throw new SQLException(e);
         }
@@ -198,8 +204,8 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
         Class<?>[] intf = new Class[] { CallableStatement.class };
         try {
             output = (CallableStatement)
-                getProxyObject(
-                    managedConnectionImpl.prepareCachedCallableStatement(this, sql, resultSetType, resultSetConcurrency, resultSetHoldability), intf);
+                getTracingObject(
+                    managedConnectionImpl.prepareCachedCallableStatement(this, sql, resultSetType, resultSetConcurrency, resultSetHoldability), intf, sql);
         } catch (Exception e) {
             throw new SQLException(e);
         }
@@ -221,8 +227,8 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
 
         try {
             output = (PreparedStatement)
-                getProxyObject(
-                    managedConnectionImpl.prepareCachedStatement(this, sql, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY), intf);
+                getTracingObject(
+                    managedConnectionImpl.prepareCachedStatement(this, sql, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY), intf, sql);
         } catch (Exception e) {
             throw new SQLException(e);
         }
@@ -245,7 +251,7 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
         Class<?>[] intf = new Class[] { PreparedStatement.class };
         try {
             output = (PreparedStatement)
-                getProxyObject(managedConnectionImpl.prepareCachedStatement(this, sql, autoGeneratedKeys), intf);
+                getTracingObject(managedConnectionImpl.prepareCachedStatement(this, sql, autoGeneratedKeys), intf, sql);
         } catch (Exception e) {
             throw new SQLException(e);
         }
@@ -268,7 +274,7 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
         Class<?>[] intf = new Class[] { PreparedStatement.class };
         try {
             output = (PreparedStatement)
-                getProxyObject(managedConnectionImpl.prepareCachedStatement(this, sql, columnIndexes), intf);
+                getTracingObject(managedConnectionImpl.prepareCachedStatement(this, sql, columnIndexes), intf, sql);
         } catch (Exception e) {
             throw new SQLException(e);
         }
@@ -291,7 +297,7 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
         Class<?>[] intf = new Class[] { PreparedStatement.class };
         try {
             output = (PreparedStatement)
-                getProxyObject(managedConnectionImpl.prepareCachedStatement(this, sql, resultSetType, resultSetConcurrency), intf);
+                getTracingObject(managedConnectionImpl.prepareCachedStatement(this, sql, resultSetType, resultSetConcurrency), intf, sql);
         } catch (Exception e) {
             throw new SQLException(e);
         }
@@ -316,8 +322,8 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
         Class<?>[] intf = new Class[] { PreparedStatement.class };
         try {
             output = (PreparedStatement)
-                getProxyObject(
-                    managedConnectionImpl.prepareCachedStatement(this, sql, resultSetType, resultSetConcurrency, resultSetHoldability), intf);
+                getTracingObject(
+                    managedConnectionImpl.prepareCachedStatement(this, sql, resultSetType, resultSetConcurrency, resultSetHoldability), intf, sql);
         } catch (Exception e) {
             throw new SQLException(e);
         }
@@ -341,7 +347,7 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
         Class<?>[] intf = new Class[] { PreparedStatement.class };
         try {
             output = (PreparedStatement)
-                getProxyObject(managedConnectionImpl.prepareCachedStatement(this, sql, columnNames), intf);
+                getTracingObject(managedConnectionImpl.prepareCachedStatement(this, sql, columnNames), intf, sql);
         } catch (Exception e) {
             throw new SQLException(e);
         }
@@ -387,22 +393,63 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
                 enableCaching);
     }
 
-    // TODO refactor this method and move to a higher level
+    private <T> T getTracingObject(final Object actualObject, Class<?>[] ifaces) throws Exception {
+        return getTracingObject(actualObject, ifaces, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T getTracingObject(final Object actualObject, Class<?>[] ifaces, final String preparedSql) throws Exception {
+        if (TRACE_WITH_PROXY) {
+            return createTracingProxy(actualObject, ifaces, sqlTraceDelegator, preparedSql);
+        }
+        return (T) createTracingWrapper(actualObject, ifaces[0], sqlTraceDelegator, preparedSql);
+    }
+
+    /**
+     * Wraps the object into the generated tracing wrapper of the interface.
+     *
+     * @param actualObject object to trace
+     * @param iface Connection, Statement, PreparedStatement or CallableStatement
+     * @param delegator
+     * @param preparedSql sql of the prepared statement, can be null.
+     * @return tracing wrapper implementing the interface.
+     */
+    static Object createTracingWrapper(Object actualObject, Class<?> iface, SQLTraceDelegator delegator, String preparedSql) {
+        if (iface == CallableStatement.class) {
+            return new TracingCallableStatement40((CallableStatement) actualObject, delegator, preparedSql);
+        } else if (iface == PreparedStatement.class) {
+            return new TracingPreparedStatement40((PreparedStatement) actualObject, delegator, preparedSql);
+        } else if (iface == Statement.class) {
+            return new TracingStatement40((Statement) actualObject, delegator);
+        } else if (iface == Connection.class) {
+            return new TracingConnection40((Connection) actualObject, delegator);
+        }
+        throw new IllegalArgumentException("No tracing wrapper for " + iface);
+    }
+
+    /**
+     * Creates the {@link Proxy} tracing all calls of the object.
+     *
+     * @param actualObject object to trace
+     * @param ifaces interfaces implemented by the proxy
+     * @param delegator
+     * @param preparedSql sql of the prepared statement, can be null.
+     * @return proxy implementing the interfaces.
+     */
     @SuppressWarnings("unchecked")
-    private <T> T getProxyObject(final Object actualObject, Class<?>[] ifaces) throws Exception {
+    static <T> T createTracingProxy(final Object actualObject, Class<?>[] ifaces, final SQLTraceDelegator delegator,
+        final String preparedSql) {
         InvocationHandler ih = new InvocationHandler() {
 
             @Override
             public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-                SQLTraceRecord record = new SQLTraceRecord();
-                record.setMethodName(method.getName());
-                record.setParams(args);
-                record.setClassName(actualObject.getClass().getName());
-                record.setThreadName(Thread.currentThread().getName());
-                record.setThreadID(Thread.currentThread().getId());
-                record.setTimeStamp(System.currentTimeMillis());
-                sqlTraceDelegator.sqlTrace(record);
-                return method.invoke(actualObject, args);
+                SQLTraceRecord record = delegator.sqlTrace(actualObject.getClass().getName(), method.getName(), args);
+                long start = System.nanoTime();
+                try {
+                    return method.invoke(actualObject, args);
+                } finally {
+                    delegator.sqlExecuted(record, preparedSql, System.nanoTime() - start);
+                }
             }
         };
 
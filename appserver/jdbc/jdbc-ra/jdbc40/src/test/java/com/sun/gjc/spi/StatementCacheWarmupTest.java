@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.spi;
+
+import com.sun.gjc.spi.base.CacheObjectKey;
+import com.sun.gjc.spi.base.datastructure.StatementCacheRegistry;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.glassfish.api.naming.SimpleJndiName;
+import org.glassfish.resourcebase.resources.api.PoolInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prepares the hot statements of the pool in the cache of a new managed connection. The driver
+ * connection is a stub counting the prepared and executed statements.
+ */
+public class StatementCacheWarmupTest {
+
+    private static final String HOT_SQL = "SELECT * FROM HOT";
+    private static final String WARM_SQL = "SELECT * FROM WARM";
+    private static final String OTHER_SQL = "SELECT * FROM OTHER";
+    private static final int CACHE_SIZE = 10;
+
+    private final Map<String, AtomicInteger> prepareCounts = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> executeCounts = new ConcurrentHashMap<>();
+    private final AtomicInteger callsInDriver = new AtomicInteger();
+    private final AtomicInteger maxCallsInDriver = new AtomicInteger();
+    private volatile CountDownLatch preparingHot;
+    private volatile CountDownLatch releaseHot;
+
+    private ResourceAdapterImpl resourceAdapter;
+    private DSManagedConnectionFactory mcf;
+
+    @BeforeEach
+    public void createFactory() {
+        resourceAdapter = new ResourceAdapterImpl();
+        mcf = new DSManagedConnectionFactory();
+        mcf.setResourceAdapter(resourceAdapter);
+        mcf.setStatementWrapping("true");
+        mcf.setStatementCacheSize(String.valueOf(CACHE_SIZE));
+        mcf.setStatementCacheType("ACCESS_ORDERED");
+        mcf.setStatementCacheWarmupSize("4");
+
+        StatementCacheRegistry registry = mcf.getStatementCacheRegistry();
+        for (int i = 0; i < 3; i++) {
+            registry.record(key(HOT_SQL));
+        }
+        for (int i = 0; i < 2; i++) {
+            registry.record(key(WARM_SQL));
+        }
+        // Callable statements are not prepared in advance
+        registry.record(new CacheObjectKey("{call HOT()}", CacheObjectKey.CALLABLE_STATEMENT,
+            ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY));
+    }
+
+    @AfterEach
+    public void stopResourceAdapter() {
+        resourceAdapter.stop();
+    }
+
+
+    @Test
+    public void preparesHotStatementsOfNewConnection() throws Exception {
+        ManagedConnectionImpl mc = createManagedConnection();
+        mc.startStatementCacheWarmup();
+        awaitWarmups();
+
+        assertEquals(1, prepareCount(HOT_SQL));
+        assertEquals(1, prepareCount(WARM_SQL));
+        assertNull(prepareCounts.get("{call HOT()}"));
+
+        Connection handle = (Connection) mc.getConnection(null, null);
+        handle.prepareStatement(HOT_SQL).close();
+        handle.prepareStatement(WARM_SQL).close();
+        assertEquals(1, prepareCount(HOT_SQL), "Prepared statement taken from the cache");
+        assertEquals(1, prepareCount(WARM_SQL), "Prepared statement taken from the cache");
+    }
+
+
+    @Test
+    public void skipsStatementsAlreadyCached() throws Exception {
+        ManagedConnectionImpl mc = createManagedConnection();
+        Connection handle = (Connection) mc.getConnection(null, null);
+        handle.prepareStatement(WARM_SQL).close();
+
+        mc.startStatementCacheWarmup();
+        awaitWarmups();
+
+        assertEquals(1, prepareCount(HOT_SQL));
+        assertEquals(1, prepareCount(WARM_SQL));
+    }
+
+
+    @Test
+    public void applicationWaitsForStatementBeingPrepared() throws Exception {
+        preparingHot = new CountDownLatch(1);
+        releaseHot = new CountDownLatch(1);
+        ManagedConnectionImpl mc = createManagedConnection();
+        mc.startStatementCacheWarmup();
+        assertTrue(preparingHot.await(10L, TimeUnit.SECONDS));
+
+        Thread application = new Thread(() -> {
+            try {
+                Connection handle = (Connection) mc.getConnection(null, null);
+                try (Statement statement = handle.createStatement()) {
+                    statement.execute(OTHER_SQL);
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        application.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10L);
+        while (application.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(10L);
+        }
+        assertEquals(Thread.State.WAITING, application.getState(), "Waits for the warm-up");
+        assertEquals(0, executeCount(OTHER_SQL));
+
+        releaseHot.countDown();
+        application.join(10_000L);
+        awaitWarmups();
+
+        assertEquals(1, prepareCount(HOT_SQL));
+        assertEquals(0, prepareCount(WARM_SQL), "The warm-up was cancelled by the application");
+        assertEquals(1, executeCount(OTHER_SQL));
+        assertEquals(1, maxCallsInDriver.get(), "The driver connection is used by one thread at a time");
+    }
+
+
+    private ManagedConnectionImpl createManagedConnection() throws Exception {
+        return new ManagedConnectionImpl(null, createDriverConnection(), null, mcf,
+            new PoolInfo(SimpleJndiName.of("warmupPool")), CACHE_SIZE, "ACCESS_ORDERED", null, 0L, false);
+    }
+
+    private void awaitWarmups() throws InterruptedException {
+        ExecutorService executor = resourceAdapter.getStatementCacheWarmupExecutor();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10L, TimeUnit.SECONDS));
+    }
+
+    private int prepareCount(String sql) {
+        AtomicInteger count = prepareCounts.get(sql);
+        return count == null ? 0 : count.get();
+    }
+
+    private int executeCount(String sql) {
+        AtomicInteger count = executeCounts.get(sql);
+        return count == null ? 0 : count.get();
+    }
+
+    private static CacheObjectKey key(String sql) {
+        return new CacheObjectKey(sql, CacheObjectKey.PREPARED_STATEMENT, ResultSet.TYPE_FORWARD_ONLY,
+            ResultSet.CONCUR_READ_ONLY);
+    }
+
+    private Connection createDriverConnection() {
+        return driverObject(Connection.class, (method, args) -> {
+            switch (method) {
+                case "prepareStatement":
+                    return prepare((String) args[0]);
+                case "createStatement":
+                    return driverObject(Statement.class, (statementMethod, statementArgs) -> {
+                        if ("execute".equals(statementMethod)) {
+                            executeCounts.computeIfAbsent((String) statementArgs[0], s -> new AtomicInteger())
+                                .incrementAndGet();
+                            return false;
+                        }
+                        return null;
+                    });
+                default:
+                    return null;
+            }
+        });
+    }
+
+    private PreparedStatement prepare(String sql) throws InterruptedException {
+        if (HOT_SQL.equals(sql) && preparingHot != null) {
+            preparingHot.countDown();
+            releaseHot.await(10L, TimeUnit.SECONDS);
+        }
+        prepareCounts.computeIfAbsent(sql, s -> new AtomicInteger()).incrementAndGet();
+        return driverObject(PreparedStatement.class, (method, args) -> null);
+    }
+
+    /**
+     * Proxy of a driver object counting the threads calling the driver at the same time. The
+     * handler returns null for the default value of the return type.
+     */
+    private <T> T driverObject(Class<T> type, DriverCall call) {
+        return type.cast(Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {type},
+            (proxy, method, args) -> {
+                maxCallsInDriver.accumulateAndGet(callsInDriver.incrementAndGet(), Math::max);
+                try {
+                    Object result = call.invoke(method.getName(), args);
+                    return result == null ? defaultValue(method.getReturnType()) : result;
+                } finally {
+                    callsInDriver.decrementAndGet();
+                }
+            }));
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == int.class) {
+            return 0;
+        } else if (type == boolean.class) {
+            return false;
+        } else if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+
+
+    @FunctionalInterface
+    private interface DriverCall {
+
+        Object invoke(String method, Object[] args) throws Exception;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.spi.jdbc40;
+
+import com.sun.gjc.util.SQLTraceDelegator;
+
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.api.naming.SimpleJndiName;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the per-call overhead of sql tracing through {@link Proxy} and through the
+ * generated wrappers against the statement of the driver.
+ * <p>
+ * The driver statement is a no-op stub, its cost is the same for all variants.
+ */
+public class SQLTraceWrapperBenchmarkTest {
+
+    @Test
+    public void setParameterAndExecute() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".*")
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(200L))
+            .measurementIterations(1).measurementTime(TimeValue.milliseconds(500L))
+            .forks(1).threads(1).timeout(TimeValue.seconds(10L))
+            .timeUnit(TimeUnit.NANOSECONDS)
+            .mode(Mode.AverageTime).shouldFailOnError(true)
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        assertEquals(3, results.size(), "One result per statement variant");
+    }
+
+
+    @Benchmark
+    public int setParameterAndExecute(StatementState state) throws SQLException {
+        state.statement.setInt(1, 42);
+        return state.statement.executeUpdate();
+    }
+
+
+    @State(Scope.Thread)
+    public static class StatementState {
+
+        @Param({"driver", "proxy", "generated"})
+        public String variant;
+
+        PreparedStatement statement;
+
+        @Setup
+        public void createStatement() {
+            PreparedStatement driverStatement = createDriverStatement();
+            SQLTraceDelegator delegator = new SQLTraceDelegator(SimpleJndiName.of("benchmarkPool"), null, null);
+            String sql = "UPDATE BENCHMARK SET VALUE = ?";
+            if ("proxy".equals(variant)) {
+                statement = ProfiledConnectionWrapper40.createTracingProxy(driverStatement,
+                    new Class<?>[] {PreparedStatement.class}, delegator, sql);
+            } else if ("generated".equals(variant)) {
+                statement = (PreparedStatement) ProfiledConnectionWrapper40.createTracingWrapper(driverStatement,
+                    PreparedStatement.class, delegator, sql);
+            } else {
+                statement = driverStatement;
+            }
+        }
+
+
+        private static PreparedStatement createDriverStatement() {
+            return (PreparedStatement) Proxy.newProxyInstance(SQLTraceWrapperBenchmarkTest.class.getClassLoader(),
+                new Class<?>[] {PreparedStatement.class}, (proxy, method, args) -> {
+                    Class<?> returnType = method.getReturnType();
+                    if (returnType == int.class) {
+                        return 1;
+                    } else if (returnType == boolean.class) {
+                        return false;
+                    } else if (returnType == long.class) {
+                        return 1L;
+                    }
+                    return null;
+                });
+        }
+    }
+}
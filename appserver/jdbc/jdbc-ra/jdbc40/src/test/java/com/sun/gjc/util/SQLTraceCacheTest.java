@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.util;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.glassfish.api.naming.SimpleJndiName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Normalization of the traced sql queries and admission of the heavy hitters.
+ */
+public class SQLTraceCacheTest {
+
+    /** With the size 1, the cache tracks at most 32 queries. */
+    private static final int TRACKED_QUERIES = 32;
+
+    @Test
+    public void normalizeReplacesLiterals() {
+        assertAll(
+            () -> assertEquals("select * from t where a = ? and b = ?",
+                SQLTraceCache.normalize("select * from t where a = 42 and b = 'x'")),
+            () -> assertEquals("select * from t where a = ? and b > ?",
+                SQLTraceCache.normalize("select * from t where a = 'it''s' and b > 1.5e3")),
+            () -> assertEquals("insert into t values (?, ?, -?)",
+                SQLTraceCache.normalize("insert into t values ('', 0x1F, -7)"))
+        );
+    }
+
+
+    @Test
+    public void normalizeKeepsIdentifiers() {
+        assertAll(
+            () -> assertEquals("select col1, t2.x_3 from table2 t2",
+                SQLTraceCache.normalize("select col1, t2.x_3 from table2 t2")),
+            () -> assertEquals("select \"Col 1\" from \"T 2\" where \"Col 1\" = ?",
+                SQLTraceCache.normalize("select \"Col 1\" from \"T 2\" where \"Col 1\" = 5")),
+            () -> assertEquals("select * from t where a = ?",
+                SQLTraceCache.normalize("select * from t where a = ?"))
+        );
+    }
+
+
+    @Test
+    public void normalizeCollapsesWhitespace() {
+        assertEquals("select * from t where a = ?",
+            SQLTraceCache.normalize("  select *\n\tfrom   t\r\n where a =  1  "));
+    }
+
+
+    @Test
+    public void queriesDifferingInLiteralsAreCountedTogether() {
+        SQLTraceCache cache = createCache();
+        for (int i = 0; i < 5; i++) {
+            cache.checkAndUpdateCache("select * from t where id = " + i);
+        }
+        List<SQLTrace> traces = cache.getSqlTraceList();
+        assertEquals(1, traces.size());
+        assertEquals("select * from t where id = ?", traces.get(0).getQueryName());
+        assertEquals(5, traces.get(0).getNumExecutions());
+    }
+
+
+    @Test
+    public void rareQueryDoesNotReplaceTrackedQueries() {
+        SQLTraceCache cache = createCache();
+        for (int query = 0; query < TRACKED_QUERIES; query++) {
+            for (int i = 0; i < 5; i++) {
+                cache.checkAndUpdateCache("select * from t" + query);
+            }
+        }
+        cache.checkAndUpdateCache("select * from rare");
+
+        List<String> tracked = queries(cache);
+        assertEquals(TRACKED_QUERIES, tracked.size());
+        assertFalse(tracked.contains("select * from rare"));
+    }
+
+
+    @Test
+    public void heavyHitterReplacesLeastUsedQuery() {
+        SQLTraceCache cache = createCache();
+        for (int query = 0; query < TRACKED_QUERIES; query++) {
+            for (int i = 0; i <= query; i++) {
+                cache.checkAndUpdateCache("select * from t" + query);
+            }
+        }
+        for (int i = 0; i < 100; i++) {
+            cache.checkAndUpdateCache("select * from hot");
+        }
+
+        List<String> tracked = queries(cache);
+        assertAll(
+            () -> assertEquals(TRACKED_QUERIES, tracked.size()),
+            () -> assertEquals("select * from hot", tracked.get(0)),
+            () -> assertFalse(tracked.contains("select * from t0"), "The least used query is replaced"),
+            () -> assertTrue(tracked.contains("select * from t" + (TRACKED_QUERIES - 1)))
+        );
+    }
+
+
+    @Test
+    public void purgeHalvesCounts() {
+        SQLTraceCache cache = createCache();
+        for (int i = 0; i < 10; i++) {
+            cache.checkAndUpdateCache("select * from t");
+        }
+        cache.purgeEntries();
+        assertEquals(5, cache.getSqlTraceList().get(0).getNumExecutions());
+    }
+
+
+    @Test
+    public void executionTimesOfTrackedQuery() {
+        SQLTraceCache cache = createCache();
+        for (int i = 1; i <= 3; i++) {
+            String sql = "select * from t where id = " + i;
+            cache.checkAndUpdateCache(sql);
+            cache.recordExecutionTime(sql, TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        // The percentile is the upper bound of its histogram bucket, the maximum is exact
+        assertEquals("%%%EOL%%%select * from t where id = ? [count=3, total=6.000, p50=2.047, p95=3.000,"
+            + " p99=3.000, max=3.000 ms]", cache.getTopQueriesByTime());
+    }
+
+
+    private static SQLTraceCache createCache() {
+        return new SQLTraceCache(SimpleJndiName.of("test-pool"), null, null, 1, 5);
+    }
+
+
+    private static List<String> queries(SQLTraceCache cache) {
+        return cache.getSqlTraceList().stream().map(SQLTrace::getQueryName).collect(Collectors.toList());
+    }
+}
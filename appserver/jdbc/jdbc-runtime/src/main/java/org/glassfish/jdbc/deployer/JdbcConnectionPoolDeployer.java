@@ -500,6 +500,10 @@ public class JdbcConnectionPoolDeployer implements ResourceDeployer<JdbcConnecti
                     configProperties.add(new ConnectorConfigProperty("NumberOfTopQueriesToReport", adminPoolProperty.getValue(), "NumberOfTopQueriesToReport",
                             String.class.getName()));
 
+                } else if ("STATEMENT-CACHE-WARMUP-SIZE".equals(name.toUpperCase(Locale.getDefault()))) {
+                    configProperties.add(new ConnectorConfigProperty("StatementCacheWarmupSize", adminPoolProperty.getValue(), "StatementCacheWarmupSize",
+                            String.class.getName()));
+
                 } else if ("TIME-TO-KEEP-QUERIES-IN-MINUTES".equals(name.toUpperCase(Locale.getDefault()))) {
                     configProperties.add(new ConnectorConfigProperty("TimeToKeepQueriesInMinutes", adminPoolProperty.getValue(), "TimeToKeepQueriesInMinutes",
                             String.class.getName()));
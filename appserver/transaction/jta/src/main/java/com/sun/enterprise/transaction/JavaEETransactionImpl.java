@@ -24,6 +24,7 @@ import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
 import java.util.Vector;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -69,7 +70,7 @@ public final class JavaEETransactionImpl extends TimerTask implements JavaEETran
 
     // Local Tx ids are just numbers: they dont need to be unique across
     // processes or across multiple activations of this server process.
-    private static long txIdCounter = 1;
+    private static final AtomicLong txIdCounter = new AtomicLong(1);
 
     // Fall back to the old (wrong) behavior for the case when setRollbackOnly
     // was called before XA transaction started
@@ -194,9 +195,8 @@ public final class JavaEETransactionImpl extends TimerTask implements JavaEETran
     }
     // END: local transaction timeout
 
-    private static synchronized long getNewTxId() {
-        long newTxId = txIdCounter++;
-        return newTxId;
+    private static long getNewTxId() {
+        return txIdCounter.getAndIncrement();
     }
 
     public boolean equals(Object other) {
@@ -19,13 +19,14 @@ package com.sun.enterprise.transaction;
 
 import java.rmi.RemoteException;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Hashtable;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -122,12 +123,16 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
     private int purgeCancelledTtransactions = 0;
 
     // admin and monitoring related parameters
-    private static final Hashtable statusMap = new Hashtable();
-    private final List activeTransactions = Collections.synchronizedList(new ArrayList());
-    private boolean monitoringEnabled = false;
+    // statusMap is filled once in the static initializer, only read afterwards
+    private static final Map<Integer, String> statusMap = new HashMap<>();
+    // Transactions are equal if their ids are equal, the concurrent set does
+    // not lock the whole registry on begin and completion.
+    private final Set<Transaction> activeTransactions = ConcurrentHashMap.newKeySet();
+    private volatile boolean monitoringEnabled = false;
 
     private TransactionServiceProbeProvider monitor;
-    private Hashtable txnTable = null;
+    // Snapshot of the transactions listed by the last getActiveTransactions call
+    private volatile Map<String, Transaction> txnTable = null;
 
     private Cache resourceTable;
 
@@ -1116,7 +1121,8 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
 
     /*
      * This method returns the details of the Currently Active Transactions Called by Admin Framework when transaction
-     * monitoring is enabled
+     * monitoring is enabled. Transactions begin and complete while the registry is read, the result contains the
+     * transactions active during the whole call and possibly some of those beginning or completing meanwhile.
      *
      * @return ArrayList of TransactionAdminBean
      *
@@ -1125,11 +1131,9 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
     @Override
     public ArrayList getActiveTransactions() {
         ArrayList tranBeans = new ArrayList();
-        txnTable = new Hashtable();
-        Object[] activeCopy = activeTransactions.toArray(); // get the clone of the active transactions
-        for (Object element : activeCopy) {
+        Map<String, Transaction> snapshot = new HashMap<>();
+        for (Transaction tran : activeTransactions) {
             try {
-                Transaction tran = (Transaction) element;
                 TransactionAdminBean tBean = getDelegate().getTransactionAdminBean(tran);
                 if (tBean == null) {
                     // Shouldn't happen
@@ -1139,13 +1143,14 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
                         LOG.log(Level.FINE, "TM: Adding txnId " + tBean.getId() + " to txnTable");
                     }
 
-                    txnTable.put(tBean.getId(), tran);
+                    snapshot.put(tBean.getId(), tran);
                     tranBeans.add(tBean);
                 }
             } catch (Exception ex) {
                 LOG.log(Level.SEVERE, "transaction.monitor.error_while_getting_monitor_attr", ex);
             }
         }
+        txnTable = snapshot;
         return tranBeans;
     }
 
@@ -1172,14 +1177,17 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
      */
     @Override
     public void forceRollback(String txnId) throws IllegalStateException, SystemException {
+        Map<String, Transaction> snapshot = txnTable;
         // XXX - WORK AROUND MONITORING BUG
-        if (txnTable == null || txnTable.size() == 0)
+        if (snapshot == null || snapshot.isEmpty())
          {
             getActiveTransactions();
+            snapshot = txnTable;
         // XXX - WORK AROUND MONITORING BUG
         }
 
-        if (txnTable == null || txnTable.get(txnId) == null) {
+        Transaction tran = snapshot == null ? null : snapshot.get(txnId);
+        if (tran == null) {
             String result = sm.getString("transaction.monitor.rollback_invalid_id");
             throw new IllegalStateException(result);
         } else {
@@ -1187,7 +1195,7 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
                 LOG.log(Level.FINE, "TM: Marking txnId " + txnId + " for rollback");
             }
 
-            ((Transaction) txnTable.get(txnId)).setRollbackOnly();
+            tran.setRollbackOnly();
         }
 
     }
@@ -1257,7 +1265,7 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
     /************************* Helper Methods ***********************************/
     /****************************************************************************/
     public static String getStatusAsString(int status) {
-        return (String) statusMap.get(status);
+        return statusMap.get(status);
     }
 
     private void delistComponentResources(ComponentInvocation inv, boolean suspend) throws InvocationException {
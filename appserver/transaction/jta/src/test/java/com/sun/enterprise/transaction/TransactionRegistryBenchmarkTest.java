@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.transaction;
+
+import com.sun.enterprise.transaction.api.TransactionAdminBean;
+import com.sun.enterprise.transaction.spi.JavaEETransactionManagerDelegate;
+
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.api.invocation.InvocationManager;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import jakarta.transaction.Status;
+import jakarta.transaction.Transaction;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures begin and commit pairs of local transactions per second with and without the
+ * transaction monitoring, which registers every active transaction.
+ */
+public class TransactionRegistryBenchmarkTest {
+
+    private static final int[] THREADS = {1, 4, 16, 64, 256};
+
+    @Test
+    public void beginAndCommit() throws Exception {
+        for (int threads : THREADS) {
+            Options options = new OptionsBuilder()
+                .include(getClass().getName() + ".*")
+                .warmupIterations(1).warmupTime(TimeValue.milliseconds(200L))
+                .measurementIterations(1).measurementTime(TimeValue.milliseconds(500L))
+                .forks(1).threads(threads).timeout(TimeValue.seconds(10L))
+                .timeUnit(TimeUnit.SECONDS)
+                .mode(Mode.Throughput).shouldFailOnError(true)
+                .build();
+
+            Collection<RunResult> results = new Runner(options).run();
+            assertEquals(2, results.size(), "One result per monitoring setting with " + threads + " threads");
+        }
+    }
+
+
+    @Test
+    public void monitoringListsActiveTransactions() throws Exception {
+        JavaEETransactionManagerSimplified txManager = createTransactionManager(true);
+        txManager.begin();
+        Transaction tx = txManager.getTransaction();
+
+        List<TransactionAdminBean> active = txManager.getActiveTransactions();
+        assertEquals(1, active.size());
+        txManager.forceRollback(active.get(0).getId());
+        assertEquals(Status.STATUS_MARKED_ROLLBACK, tx.getStatus());
+
+        txManager.rollback();
+        assertAll(
+            () -> assertTrue(txManager.getActiveTransactions().isEmpty()),
+            () -> assertThrows(IllegalStateException.class, () -> txManager.forceRollback("unknown"))
+        );
+    }
+
+
+    @Benchmark
+    public void beginAndCommit(TransactionManagerState state) throws Exception {
+        state.txManager.begin();
+        state.txManager.commit();
+    }
+
+
+    static JavaEETransactionManagerSimplified createTransactionManager(boolean monitoring) {
+        JavaEETransactionManagerSimplified txManager = new JavaEETransactionManagerSimplified();
+        JavaEETransactionManagerDelegate delegate = new JavaEETransactionManagerSimplifiedDelegate();
+        txManager.setDelegate(delegate);
+        delegate.setTransactionManager(txManager);
+        txManager.postConstruct();
+        // No component invocations outside of the container
+        txManager.invMgr = (InvocationManager) Proxy.newProxyInstance(InvocationManager.class.getClassLoader(),
+            new Class<?>[] {InvocationManager.class}, (proxy, method, args) -> null);
+        txManager.setMonitoringEnabled(monitoring);
+        return txManager;
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class TransactionManagerState {
+
+        @Param({"false", "true"})
+        public boolean monitoring;
+
+        JavaEETransactionManagerSimplified txManager;
+
+        @Setup
+        public void createTransactionManager() {
+            txManager = TransactionRegistryBenchmarkTest.createTransactionManager(monitoring);
+        }
+    }
+}
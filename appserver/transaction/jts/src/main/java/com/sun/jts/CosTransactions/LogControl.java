@@ -554,9 +554,10 @@ public class LogControl {
                 logEDP.cursorPosition += bytesRead;
 
                 // IF the LSN in the record header matches the LSN of the
-                // current position in the extent file
+                // current position in the extent file and the header was
+                // written completely
 
-                if( extentRec.currentLSN.offset == offset ) {
+                if( extentRec.currentLSN.offset == offset && isComplete(extentRec) ) {
                     // IF its a link record
 
                     if( extentRec.recordType == LogHandle.LINK ) {
@@ -770,6 +771,28 @@ public class LogControl {
         // global data is not NULL, dump out the its contents.
     }
 
+    /**Determines whether a record header read at restart was written completely.
+     * <p>
+     * A write interrupted by a crash leaves a header whose fields are partially
+     * missing, the LSN of the next record then does not follow from the length
+     * of the record.
+     *
+     * @param header  The record header.
+     *
+     * @return  Indicates whether the header is complete.
+     *
+     * @see
+     */
+    private static boolean isComplete( LogRecordHeader header ) {
+        if( header.recordType == LogHandle.LINK )
+            return header.nextLSN.extent == header.currentLSN.extent + 1 &&
+                header.nextLSN.offset == 0;
+
+        return header.nextLSN.extent == header.currentLSN.extent &&
+            header.nextLSN.offset == header.currentLSN.offset + LogRecordHeader.SIZEOF +
+                header.recordLength + LogRecordEnding.SIZEOF;
+    }
+
     /**Clears out all log files from the given directory.
      *
      * @param logDir
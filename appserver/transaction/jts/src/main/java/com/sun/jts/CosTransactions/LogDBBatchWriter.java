@@ -0,0 +1,324 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.jts.CosTransactions;
+
+import com.sun.logging.LogDomains;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Writes the records of the database transaction log in batches.
+ * <p>
+ * The transactions enqueue their inserts and deletes and wait for the acknowledgement. A single
+ * writer thread takes all waiting requests, executes them as JDBC batches on its own connection,
+ * commits them at once and then acknowledges them. Consecutive requests of the same kind form one
+ * batch, so the requests are executed in the order they were enqueued. The prepared statements
+ * are reused across batches, the connection is closed when the writer is idle.
+ * <p>
+ * If a batch fails, its requests are executed again one by one, so that only the failing request
+ * is not acknowledged. An unexpected exception fails the whole batch, the writer continues with
+ * the next one.
+ */
+final class LogDBBatchWriter {
+
+    private static final Logger _logger = LogDomains.getLogger(LogDBBatchWriter.class, LogDomains.TRANSACTION_LOGGER);
+
+    private static final long IDLE_TIMEOUT_SECONDS = 60L;
+
+    /**
+     * Source of the connection of the writer, the connection must not be enlisted in transactions.
+     */
+    interface ConnectionFactory {
+        Connection getConnection() throws SQLException;
+    }
+
+    private final ConnectionFactory connectionFactory;
+    private final String insertStatement;
+    private final String deleteStatement;
+    private final int maxBatchSize;
+    private final BlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+
+    private Thread writer;
+    private volatile boolean closed;
+
+    // Used only by the writer thread.
+    private Connection connection;
+    private PreparedStatement insert;
+    private PreparedStatement delete;
+
+    /**
+     * @param connectionFactory
+     * @param insertStatement insert with the local tid, server name, instance name and the global tid
+     * @param deleteStatement delete with the local tid and server name
+     * @param maxBatchSize maximal count of requests committed at once
+     */
+    LogDBBatchWriter(ConnectionFactory connectionFactory, String insertStatement, String deleteStatement, int maxBatchSize) {
+        this.connectionFactory = connectionFactory;
+        this.insertStatement = insertStatement;
+        this.deleteStatement = deleteStatement;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+    }
+
+
+    /**
+     * Inserts the record and waits until it is committed.
+     *
+     * @return false if the insert failed
+     */
+    boolean insert(String localTID, String serverName, String instanceName, byte[] data) {
+        return write(new Request(true, localTID, serverName, instanceName, data));
+    }
+
+
+    /**
+     * Deletes the record and waits until the delete is committed.
+     *
+     * @return false if the delete failed
+     */
+    boolean delete(String localTID, String serverName) {
+        return write(new Request(false, localTID, serverName, null, null));
+    }
+
+
+    /**
+     * Stops the writer thread, requests not written yet fail.
+     */
+    synchronized void close() {
+        closed = true;
+        if (writer != null) {
+            writer.interrupt();
+        }
+        failPending();
+    }
+
+
+    private boolean write(Request request) {
+        if (closed) {
+            return false;
+        }
+        queue.add(request);
+        startWriter();
+        if (closed) {
+            failPending();
+        }
+        return request.done.join();
+    }
+
+
+    private synchronized void startWriter() {
+        if (writer == null && !closed) {
+            writer = new Thread(this::run, "JTS DB Log Writer");
+            writer.setDaemon(true);
+            writer.start();
+        }
+    }
+
+
+    private void run() {
+        List<Request> batch = new ArrayList<>();
+        try {
+            while (!closed) {
+                Request first = queue.poll(IDLE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                if (first == null) {
+                    closeConnection();
+                    first = queue.take();
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+                try {
+                    writeBatch(batch);
+                } catch (RuntimeException ex) {
+                    _logger.log(Level.SEVERE, "jts.exception_in_db_log_resource", ex);
+                    rollbackAndClose();
+                    for (Request request : batch) {
+                        request.done.complete(false);
+                    }
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            // closed
+        } finally {
+            for (Request request : batch) {
+                request.done.complete(false);
+            }
+            closeConnection();
+            writerStopped();
+        }
+    }
+
+
+    /**
+     * Forgets the stopped writer thread. If the writer was not closed, the requests enqueued
+     * meanwhile get a new one, as a write starts the writer only after it enqueued its request.
+     */
+    private synchronized void writerStopped() {
+        writer = null;
+        if (closed) {
+            failPending();
+        } else if (!queue.isEmpty()) {
+            startWriter();
+        }
+    }
+
+
+    private void writeBatch(List<Request> batch) {
+        try {
+            openConnection();
+            int start = 0;
+            while (start < batch.size()) {
+                boolean inserts = batch.get(start).insert;
+                PreparedStatement statement = inserts ? insert : delete;
+                int end = start;
+                for (; end < batch.size() && batch.get(end).insert == inserts; end++) {
+                    batch.get(end).bind(statement);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                start = end;
+            }
+            connection.commit();
+        } catch (SQLException ex) {
+            if (_logger.isLoggable(Level.FINE)) {
+                _logger.log(Level.FINE, "LogDBBatchWriter batch of " + batch.size() + " records failed, writing them one by one", ex);
+            }
+            rollbackAndClose();
+            for (Request request : batch) {
+                request.done.complete(writeSingle(request));
+            }
+            return;
+        }
+
+        for (Request request : batch) {
+            request.done.complete(true);
+        }
+    }
+
+
+    private boolean writeSingle(Request request) {
+        try {
+            openConnection();
+            PreparedStatement statement = request.insert ? insert : delete;
+            request.bind(statement);
+            statement.executeUpdate();
+            connection.commit();
+            return true;
+        } catch (SQLException ex) {
+            _logger.log(Level.SEVERE, "jts.exception_in_db_log_resource", ex);
+            rollbackAndClose();
+            return false;
+        }
+    }
+
+
+    private void openConnection() throws SQLException {
+        if (connection != null) {
+            return;
+        }
+        Connection newConnection = connectionFactory.getConnection();
+        try {
+            newConnection.setAutoCommit(false);
+            insert = newConnection.prepareStatement(insertStatement);
+            delete = newConnection.prepareStatement(deleteStatement);
+            connection = newConnection;
+        } catch (SQLException ex) {
+            insert = null;
+            delete = null;
+            newConnection.close();
+            throw ex;
+        }
+    }
+
+
+    private void rollbackAndClose() {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.rollback();
+        } catch (SQLException ex) {
+            _logger.log(Level.FINE, "LogDBBatchWriter rollback failed", ex);
+        }
+        closeConnection();
+    }
+
+
+    private void closeConnection() {
+        if (connection == null) {
+            return;
+        }
+        try {
+            insert.close();
+            delete.close();
+            // The connection returns to the pool
+            connection.setAutoCommit(true);
+            connection.close();
+        } catch (SQLException ex) {
+            _logger.log(Level.FINE, "LogDBBatchWriter close failed", ex);
+        } finally {
+            connection = null;
+            insert = null;
+            delete = null;
+        }
+    }
+
+
+    private void failPending() {
+        Request request;
+        while ((request = queue.poll()) != null) {
+            request.done.complete(false);
+        }
+    }
+
+
+    private static final class Request {
+
+        final boolean insert;
+        final String localTID;
+        final String serverName;
+        final String instanceName;
+        final byte[] data;
+        final CompletableFuture<Boolean> done = new CompletableFuture<>();
+
+        Request(boolean insert, String localTID, String serverName, String instanceName, byte[] data) {
+            this.insert = insert;
+            this.localTID = localTID;
+            this.serverName = serverName;
+            this.instanceName = instanceName;
+            this.data = data;
+        }
+
+        void bind(PreparedStatement statement) throws SQLException {
+            statement.setString(1, localTID);
+            statement.setString(2, serverName);
+            if (insert) {
+                statement.setString(3, instanceName);
+                statement.setBytes(4, data);
+            }
+        }
+    }
+}
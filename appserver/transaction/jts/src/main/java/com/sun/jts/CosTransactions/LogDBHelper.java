@@ -18,10 +18,13 @@ package com.sun.jts.CosTransactions;
 
 import com.sun.logging.LogDomains;
 
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.HashMap;
 import java.util.Map;
@@ -33,6 +36,13 @@ import javax.sql.DataSource;
 
 /** The LogDBHelper class takes care of writing the transaction logs
   *  into database.
+  *  <p>
+  *  With the com.sun.jts.dblogging.batch system property the records
+  *  written through non transactional connections are written by the
+  *  {@link LogDBBatchWriter}: all deletes, and the inserts if the
+  *  com.sun.jts.dblogging.use.nontx.connection.for.add property is set.
+  *  Inserts through the transactional connection must commit with the
+  *  transaction, they are never batched.
   * @author Sun Micro Systems, Inc
 */
 
@@ -47,7 +57,9 @@ class LogDBHelper {
     final private String instanceName;
 
     private DataSource ds = null;
-    private Method getNonTxConnectionMethod = null;
+    // To avoid compile time dependency to get NonTxConnection
+    private MethodHandle nonTxConnectionHandle = null;
+    private volatile LogDBBatchWriter batchWriter = null;
     private static final String insertStatement =
              System.getProperty("com.sun.jts.dblogging.insertquery",
                  "insert into  txn_log_table values ( ? , ? , ? , ? )");
@@ -63,6 +75,8 @@ class LogDBHelper {
     private static final String createTableStatement =
                  "create table txn_log_table (localtid varchar(20), servername varchar(150), instancename varchar(150), gtrid blob)";
     private static final boolean useNonTxConnectionForAddRecord = Boolean.getBoolean("com.sun.jts.dblogging.use.nontx.connection.for.add");
+    private static final boolean batchWrites = Boolean.getBoolean("com.sun.jts.dblogging.batch");
+    private static final int maxBatchSize = Integer.getInteger("com.sun.jts.dblogging.batch.size", 100);
     private static Logger _logger = LogDomains.getLogger(LogDBHelper.class, LogDomains.TRANSACTION_LOGGER);
     private static LogDBHelper _instance = new LogDBHelper();
 
@@ -78,11 +92,16 @@ class LogDBHelper {
         try {
             InitialContext ctx = new InitialContext();
             ds = (DataSource)ctx.lookup(resName);
-        Class cls = ds.getClass();
-        getNonTxConnectionMethod = cls.getMethod("getNonTxConnection", null);
+            nonTxConnectionHandle = MethodHandles.publicLookup()
+                .unreflect(ds.getClass().getMethod("getNonTxConnection"))
+                .asType(MethodType.methodType(Connection.class, DataSource.class));
 
             createTable();
 
+            if (batchWrites) {
+                batchWriter = createBatchWriter();
+            }
+
         } catch (Throwable t) {
             _logger.log(Level.SEVERE,"jts.unconfigured_db_log_resource",resName);
             _logger.log(Level.SEVERE,"",t);
@@ -90,7 +109,24 @@ class LogDBHelper {
         if (_logger.isLoggable(Level.FINE)) {
             _logger.fine("LogDBHelper.resName: " + resName);
             _logger.fine("LogDBHelper.ds: " + ds);
-            _logger.fine("LogDBHelper.getNonTxConnectionMethod: " + getNonTxConnectionMethod);
+            _logger.fine("LogDBHelper.nonTxConnectionHandle: " + nonTxConnectionHandle);
+            _logger.fine("LogDBHelper.batchWriter: " + batchWriter);
+        }
+    }
+
+    private LogDBBatchWriter createBatchWriter() {
+        return new LogDBBatchWriter(this::getNonTxConnection, insertStatement, deleteStatement, maxBatchSize);
+    }
+
+    /**
+     * Stops the writer of the batched records. A writer is created again for the transaction
+     * service started later in the same process, it starts its thread with the first record.
+     */
+    synchronized void shutdown() {
+        LogDBBatchWriter writer = batchWriter;
+        if (writer != null) {
+            batchWriter = createBatchWriter();
+            writer.close();
         }
     }
 
@@ -131,11 +167,14 @@ class LogDBHelper {
                 _logger.fine("LogDBHelper.addRecord for serverName: " + serverName);
                 _logger.fine("LogDBHelper.addRecord for instanceName: " + instanceName);
             }
+            if (batchWriter != null && useNonTxConnectionForAddRecord) {
+                return batchWriter.insert(Long.toString(localTID), serverName, instanceName, data);
+            }
             Connection conn = null;
             PreparedStatement prepStmt1 = null;
             try {
                 if (useNonTxConnectionForAddRecord)
-            conn = (Connection)(getNonTxConnectionMethod.invoke(ds, null));
+                    conn = getNonTxConnection();
                 else
                     conn = ds.getConnection();
                 prepStmt1 = conn.prepareStatement(insertStatement);
@@ -175,11 +214,13 @@ class LogDBHelper {
             if (_logger.isLoggable(Level.FINE)) {
                 _logger.fine("LogDBHelper.deleteRecord for localTID: " + localTID + " and serverName: " + serverName0);
             }
+            if (batchWriter != null) {
+                return batchWriter.delete(Long.toString(localTID), serverName0);
+            }
             Connection conn = null;
             PreparedStatement prepStmt1 = null;
             try {
-                // To avoid compile time dependency to get NonTxConnection
-                conn = (Connection)(getNonTxConnectionMethod.invoke(ds, null));
+                conn = getNonTxConnection();
                 prepStmt1 = conn.prepareStatement(deleteStatement);
                 prepStmt1.setString(1,Long.toString(localTID));
                 prepStmt1.setString(2,serverName0); //Configuration.getServerName());
@@ -219,7 +260,7 @@ class LogDBHelper {
             ResultSet rs = null;
             try {
                 //conn = ds.getConnection();
-                conn = (Connection)(getNonTxConnectionMethod.invoke(ds, null));
+                conn = getNonTxConnection();
                 prepStmt1 = conn.prepareStatement(selectStatement);
                 prepStmt1.setString(1,serverName0); //Configuration.getServerName());
                 rs = prepStmt1.executeQuery();
@@ -273,7 +314,7 @@ class LogDBHelper {
             ResultSet rs = null;
             try {
                 //conn = ds.getConnection();
-                conn = (Connection)(getNonTxConnectionMethod.invoke(ds, null));
+                conn = getNonTxConnection();
                 prepStmt1 = conn.prepareStatement(selectServerNameStatement);
                 prepStmt1.setString(1,instanceName0);
                 rs = prepStmt1.executeQuery();
@@ -309,6 +350,16 @@ class LogDBHelper {
         return serverName0;
     }
 
+    private Connection getNonTxConnection() throws SQLException {
+        try {
+            return (Connection) nonTxConnectionHandle.invokeExact(ds);
+        } catch (SQLException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new SQLException(t);
+        }
+    }
+
     private void createTable() {
         if (ds != null) {
             if (_logger.isLoggable(Level.FINE)) {
@@ -317,7 +368,7 @@ class LogDBHelper {
             Connection conn = null;
             Statement stmt1 = null;
             try {
-                conn = (Connection)(getNonTxConnectionMethod.invoke(ds, null));
+                conn = getNonTxConnection();
                 stmt1 = conn.createStatement();
                 stmt1.execute(createTableStatement);
                 _logger.fine("=== table created ===");
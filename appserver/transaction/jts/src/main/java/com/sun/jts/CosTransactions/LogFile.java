@@ -107,6 +107,9 @@ class LogFile {
      * <p>
      * Returns true if the write completed successfully and false if the write
      * did not complete.
+     * <p>
+     * Not synchronized, the log handle serializes the writes itself and concurrent
+     * forced writes are committed together if the group commit is enabled.
      *
      * @param writeType   Forced/non-forced write indicator.
      * @param record      Log record data.
@@ -117,10 +120,10 @@ class LogFile {
      *
      * @see
      */
-    synchronized boolean write( int    writeType,
-                                byte[] record,
-                                int    recordType,
-                                LogLSN recordLSN ) {
+    boolean write( int    writeType,
+                   byte[] record,
+                   int    recordType,
+                   LogLSN recordLSN ) {
 
         boolean result = true;
 
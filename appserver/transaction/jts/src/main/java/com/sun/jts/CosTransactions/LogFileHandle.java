@@ -34,6 +34,10 @@ package com.sun.jts.CosTransactions;
 
 import com.sun.enterprise.util.i18n.StringManager;
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**This class encapsulates file I/O operations and the file handle.
  *
@@ -112,6 +116,11 @@ class LogFileHandle {
     int bufferUpdateEnd   = -1;
     int buffPos = 0;
 
+    /**Held while the file is written or closed, the group commit writes the file
+     * without the lock of the log.
+     */
+    private final ReentrantLock ioLock = new ReentrantLock();
+
     static {
         dsyncProp = System.getProperty(DSYNC_PROPERTY);
         if (dsyncProp != null) {
@@ -365,6 +374,7 @@ class LogFileHandle {
     void fileClose()
         throws LogException {
 
+        ioLock.lock();
         try {
 
             // If buffered, then ensure that the buffer is stored and synced with the
@@ -379,6 +389,8 @@ class LogFileHandle {
         } catch( Throwable e ) {
             throw new LogException(LogException.LOG_CLOSE_FAILURE,1,
                     sm.getString("jts.log_close_failed"), e);
+        } finally {
+            ioLock.unlock();
         }
 
         // Reset the file handle and descriptor values.
@@ -447,7 +459,8 @@ class LogFileHandle {
         // Synchronization is only done for buffered files which have been updated.
         // Non-buffered files have every write synchronized with the file system.
 
-        if( bufferUpdateStart != -1 )
+        if( bufferUpdateStart != -1 ) {
+            ioLock.lock();
             try {
                 fhandle.seek(bufferUpdateStart);
                 fhandle.write(bufferData,bufferUpdateStart,bufferUpdateEnd-bufferUpdateStart);
@@ -459,8 +472,106 @@ class LogFileHandle {
             } catch (Throwable e) {
                 throw new LogException(LogException.LOG_READ_FAILURE,1,
                         sm.getString("jts.log_file_sync_failed"), e);
+            } finally {
+                ioLock.unlock();
+            }
+        }
+
+    }
+
+    /**Takes the updated part of the buffer, so that it can be written and synchronised
+     * with the file system without holding the lock of the log.
+     * <p>
+     * The caller must hold the lock of the log. The file cannot be written or closed by
+     * other threads until the update is released.
+     *
+     * @param
+     *
+     * @return  The update, null if the buffer was not updated since the last sync.
+     *
+     * @see
+     */
+    Update takeUpdate() {
+        if( bufferUpdateStart == -1 )
+            return null;
+
+        ioLock.lock();
+        Update update = new Update(bufferUpdateStart,
+                Arrays.copyOfRange(bufferData,bufferUpdateStart,bufferUpdateEnd));
+        bufferUpdateStart = -1;
+        bufferUpdateEnd   = -1;
+        return update;
+    }
+
+    /**A part of the buffer taken by {@link LogFileHandle#takeUpdate()}.
+     */
+    final class Update {
+
+        private final int start;
+        private final byte[] data;
+
+        private Update( int start, byte[] data ) {
+            this.start = start;
+            this.data = data;
+        }
+
+        /**Writes the update to the file and forces it to the storage device.
+         *
+         * @param
+         *
+         * @return
+         *
+         * @exception LogException The write or force failed.
+         *
+         * @see
+         */
+        void writeAndForce() throws LogException {
+            try {
+                FileChannel channel = fhandle.getChannel();
+                boolean extendsFile = start + data.length > channel.size();
+                ByteBuffer buffer = ByteBuffer.wrap(data);
+                long position = start;
+                while( buffer.hasRemaining() )
+                    position += channel.write(buffer,position);
+
+                // The file length is metadata, it only changes when storage is allocated.
+
+                if (dsyncProp == null)
+                    channel.force(extendsFile);
+            } catch( Throwable e ) {
+                throw new LogException(LogException.LOG_ERROR_FORCING_LOG,1,
+                        sm.getString("jts.log_file_sync_failed"), e);
             }
+        }
 
+        /**Marks the part of the buffer as updated again after a failed write,
+         * so that the next sync retries it. The caller must hold the lock of the log.
+         *
+         * @param
+         *
+         * @return
+         *
+         * @see
+         */
+        void restore() {
+            int end = start + data.length;
+            if( bufferUpdateStart == -1 || start < bufferUpdateStart )
+                bufferUpdateStart = start;
+            if( end > bufferUpdateEnd )
+                bufferUpdateEnd = end;
+        }
+
+        /**Allows other threads to write or close the file again.
+         *
+         * @param
+         *
+         * @return
+         *
+         * @see
+         */
+        void release() {
+            ioLock.unlock();
+        }
     }
 
     /**Reads a vector of records from the file.
@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.jts.CosTransactions;
+
+import com.sun.enterprise.util.i18n.StringManager;
+import com.sun.logging.LogDomains;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Group commit of the forced writes to a log.
+ * <p>
+ * A thread writing a forced record appends it to the log like an unforced one and waits in
+ * {@link #awaitForced(LogLSN, int)} until a force covers its record. A single flusher thread
+ * writes all records appended since the previous force and forces them to the storage device
+ * at once, then it releases all threads whose records were covered. The log is not locked
+ * while the flusher waits for the device, so the records of the next batch are appended
+ * meanwhile.
+ * <p>
+ * The group commit is enabled by the {@value #GROUP_COMMIT_PROPERTY} system property.
+ * The {@value #MAX_BATCH_DELAY_PROPERTY} property is the time in microseconds the flusher
+ * waits for more records before it starts a force; by default it does not wait and a batch
+ * consists of the records appended during the previous force. The flusher stops waiting once
+ * {@value #MAX_BATCH_BYTES_PROPERTY} bytes wait for the force.
+ * <p>
+ * A failed force fails the threads waiting for the records it covered. The flusher forces the
+ * log again for the records appended later, not sooner than {@value #FORCE_RETRY_DELAY_MILLIS}
+ * milliseconds after the failure.
+ */
+final class LogGroupCommit {
+
+    private static final StringManager sm = StringManager.getManager(LogGroupCommit.class);
+    private static final Logger _logger = LogDomains.getLogger(LogGroupCommit.class, LogDomains.TRANSACTION_LOGGER);
+
+    static final String GROUP_COMMIT_PROPERTY = "com.sun.appserv.transaction.groupCommit";
+    static final String MAX_BATCH_DELAY_PROPERTY = "com.sun.appserv.transaction.groupCommitMaxBatchDelay";
+    static final String MAX_BATCH_BYTES_PROPERTY = "com.sun.appserv.transaction.groupCommitMaxBatchBytes";
+
+    private static final long DEFAULT_MAX_BATCH_DELAY = 0L;
+    private static final int DEFAULT_MAX_BATCH_BYTES = 256 * 1024;
+    static final long FORCE_RETRY_DELAY_MILLIS = 100L;
+
+    private final LogHandle handle;
+    private final long maxBatchDelayNanos;
+    private final int maxBatchBytes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition requested = lock.newCondition();
+    private final Condition forced = lock.newCondition();
+
+    // All fields below are guarded by the lock.
+
+    /** The highest LSN a thread waits for. */
+    private final LogLSN requestedLSN = new LogLSN();
+    /** All records up to this LSN are on the storage device. */
+    private final LogLSN forcedLSN = new LogLSN();
+    /** The highest LSN covered by a failed force, cleared by a successful force. */
+    private final LogLSN failedLSN = new LogLSN();
+    private LogException failure;
+    private long retryAt;
+    private long batchStart;
+    private int batchBytes;
+    private boolean closed;
+    private Thread flusher;
+
+    /**
+     * @param handle
+     * @return the group commit of the log, null if it is not enabled.
+     */
+    static LogGroupCommit create(LogHandle handle) {
+        if (!Boolean.getBoolean(GROUP_COMMIT_PROPERTY)) {
+            return null;
+        }
+        return new LogGroupCommit(handle,
+            Long.getLong(MAX_BATCH_DELAY_PROPERTY, DEFAULT_MAX_BATCH_DELAY),
+            Integer.getInteger(MAX_BATCH_BYTES_PROPERTY, DEFAULT_MAX_BATCH_BYTES));
+    }
+
+
+    LogGroupCommit(LogHandle handle, long maxBatchDelayMicros, int maxBatchBytes) {
+        this.handle = handle;
+        this.maxBatchDelayNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(0L, maxBatchDelayMicros));
+        this.maxBatchBytes = maxBatchBytes;
+    }
+
+
+    /**
+     * Waits until the record is forced to the storage device.
+     *
+     * @param lsn LSN of the appended record
+     * @param bytes size of the record including its header and ending
+     * @throws LogException if the force of the record failed
+     */
+    void awaitForced(LogLSN lsn, int bytes) throws LogException {
+        lock.lock();
+        try {
+            if (!forcedLSN.lessThan(lsn)) {
+                return;
+            }
+            if (requestedLSN.lessThan(lsn)) {
+                requestedLSN.copy(lsn);
+            }
+            if (batchBytes == 0) {
+                batchStart = System.nanoTime();
+            }
+            batchBytes += bytes;
+            if (flusher == null) {
+                startFlusher();
+            }
+            requested.signal();
+
+            while (forcedLSN.lessThan(lsn)) {
+                if (failure != null && !failedLSN.lessThan(lsn)) {
+                    throw new LogException(LogException.LOG_ERROR_FORCING_LOG, 1,
+                        sm.getString("jts.log_file_sync_failed"), failure);
+                }
+                // The record is in the log already, the caller must learn whether it is durable.
+                forced.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    /**
+     * Stops the flusher after its last force. The caller closing the log must force all records
+     * itself, the last force of the flusher just releases the waiting threads.
+     */
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            requested.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    private void startFlusher() {
+        flusher = new Thread(this::flush, "JTS Log Group Commit " + handle.logFileName());
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+
+    private void flush() {
+        boolean last = false;
+        while (!last) {
+            lock.lock();
+            try {
+                while (!closed && !isForceRequested()) {
+                    requested.awaitUninterruptibly();
+                }
+                if (failure != null) {
+                    awaitUntil(retryAt);
+                }
+                long remaining = batchStart + maxBatchDelayNanos - System.nanoTime();
+                while (!closed && batchBytes < maxBatchBytes && remaining > 0L) {
+                    try {
+                        remaining = requested.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        remaining = 0L;
+                    }
+                }
+                batchBytes = 0;
+                last = closed;
+            } finally {
+                lock.unlock();
+            }
+
+            LogLSN covered = new LogLSN();
+            LogException error = null;
+            try {
+                handle.forceBuffered(covered);
+            } catch (LogException e) {
+                error = e;
+            }
+
+            lock.lock();
+            try {
+                if (error == null) {
+                    if (forcedLSN.lessThan(covered)) {
+                        forcedLSN.copy(covered);
+                    }
+                    failure = null;
+                    failedLSN.copy(LogLSN.NULL_LSN);
+                } else {
+                    failure = error;
+                    if (failedLSN.lessThan(covered)) {
+                        failedLSN.copy(covered);
+                    }
+                    retryAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(FORCE_RETRY_DELAY_MILLIS);
+                }
+                forced.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            if (error != null) {
+                _logger.log(Level.SEVERE, "jts.log_group_commit_force_failed", error);
+            }
+        }
+    }
+
+
+    /**
+     * @return true if a thread waits for a record not forced yet and not covered by the last
+     *         failed force.
+     */
+    private boolean isForceRequested() {
+        if (!forcedLSN.lessThan(requestedLSN)) {
+            return false;
+        }
+        return failure == null || failedLSN.lessThan(requestedLSN);
+    }
+
+
+    private void awaitUntil(long deadline) {
+        long remaining = deadline - System.nanoTime();
+        while (!closed && remaining > 0L) {
+            try {
+                remaining = requested.awaitNanos(remaining);
+            } catch (InterruptedException e) {
+                remaining = 0L;
+            }
+        }
+    }
+}
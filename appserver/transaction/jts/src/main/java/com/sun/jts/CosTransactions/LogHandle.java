@@ -203,6 +203,7 @@ class LogHandle {
     LogFileHandle        logFileHandle = null;
     LogControlDescriptor logControlDescriptor = null;
     LogControl           logControl = null;
+    LogGroupCommit       groupCommit = null;
 
 
     /**Creates a LogHandle object for the given log instance.
@@ -234,6 +235,7 @@ class LogHandle {
         logControlDescriptor = new LogControlDescriptor();
         cursors = new ArrayList();
         extentTable = new Hashtable(EXTENT_TABLE_SIZE);
+        groupCommit = LogGroupCommit.create(this);
 
     }
 
@@ -249,9 +251,38 @@ class LogHandle {
      *
      * @see
      */
-    synchronized LogLSN writeRecord( byte[] record,
-                                     int    recordType,
-                                     int    writeMode )
+    LogLSN writeRecord( byte[] record,
+                        int    recordType,
+                        int    writeMode )
+        throws LogException {
+
+        // With the group commit, a forced record is buffered and this thread waits
+        // without the lock of the log until the flusher forces the record together
+        // with the records of other threads.
+
+        if( writeMode != FORCE || groupCommit == null )
+            return appendRecord(record,recordType,writeMode);
+
+        LogLSN result = appendRecord(record,recordType,BUFFER);
+        groupCommit.awaitForced(result,record.length + LogRecordHeader.SIZEOF + LogRecordEnding.SIZEOF);
+        return result;
+    }
+
+    /**Appends a record to the log, forcing the log if requested.
+     *
+     * @param record      The log record.
+     * @param recordType  The log record type.
+     * @param writeMode   The write mode.
+     *
+     * @return  The LSN of the written record
+     *
+     * @exception LogException The write failed.
+     *
+     * @see
+     */
+    private synchronized LogLSN appendRecord( byte[] record,
+                                              int    recordType,
+                                              int    writeMode )
         throws LogException {
 
         // Check BlockValid field in Log_FileDescriptor block pointed to
@@ -579,6 +610,61 @@ class LogHandle {
         return result;
     }
 
+    /**Forces all records appended so far for the group commit.
+     * <p>
+     * The updated parts of the extents are taken under the lock of the log, but written
+     * and forced without it, so that other threads can append records meanwhile.
+     *
+     * @param covered  Set to the LSN of the last record which is forced.
+     *
+     * @return
+     *
+     * @exception LogException The force failed, the records are forced by the next attempt.
+     *
+     * @see
+     */
+    void forceBuffered( LogLSN covered ) throws LogException {
+        List<LogExtent> forcedExtents = new ArrayList<>();
+        List<LogFileHandle.Update> updates = new ArrayList<>();
+        synchronized( this ) {
+            covered.copy(logControlDescriptor.headLSN);
+            Enumeration extents = extentTable.elements();
+            while( extents.hasMoreElements() ) {
+                LogExtent nextEDP = (LogExtent)extents.nextElement();
+                if( nextEDP.writtenSinceLastForce ) {
+                    LogFileHandle.Update update = nextEDP.fileHandle.takeUpdate();
+                    if( update != null ) {
+                        forcedExtents.add(nextEDP);
+                        updates.add(update);
+                    }
+                    nextEDP.writtenSinceLastForce = false;
+                }
+            }
+        }
+
+        LogException failure = null;
+        try {
+            for( LogFileHandle.Update update : updates )
+                update.writeAndForce();
+        } catch( LogException le ) {
+            failure = le;
+        } finally {
+            for( LogFileHandle.Update update : updates )
+                update.release();
+        }
+
+        if( failure != null ) {
+            synchronized( this ) {
+                for( int i = 0; i < updates.size(); i++ ) {
+                    updates.get(i).restore();
+                    forcedExtents.get(i).writtenSinceLastForce = true;
+                }
+            }
+            throw new LogException(LogException.LOG_ERROR_FORCING_LOG, 1,
+                    sm.getString("jts.log_file_sync_failed"), failure);
+        }
+    }
+
     /**Reads a record from the log.
      *
      * @param readLSN  The LSN of the record to be read.
@@ -914,6 +1000,11 @@ class LogHandle {
 
         blockValid = null;
 
+        // The records are forced below, the flusher only releases the waiting threads.
+
+        if( groupCommit != null )
+            groupCommit.close();
+
         // LOOP for each of the 16 elements in the log file's extent hash table
 
         boolean forced = false;
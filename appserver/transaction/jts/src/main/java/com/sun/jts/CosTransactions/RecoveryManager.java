@@ -745,6 +745,10 @@ public class RecoveryManager {
             CoordinatorLog.finalizeAll();
         }
 
+        if (Configuration.isDBLoggingEnabled()) {
+            LogDBHelper.getInstance().shutdown();
+        }
+
         //$Continue with shutdown/quiesce.
     }
 
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.jts.CosTransactions;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Writes the database transaction log to an embedded Derby database.
+ */
+public class LogDBBatchWriterTest {
+
+    private static final String SERVER_NAME = "server";
+    private static final String INSERT = "insert into  txn_log_table values ( ? , ? , ? , ? )";
+    private static final String DELETE = "delete from txn_log_table where localtid = ? and servername = ? ";
+    private static final int THREADS = 8;
+    private static final int RECORDS_PER_THREAD = 50;
+
+    @TempDir
+    Path tempDir;
+
+    private String url;
+    private CountDownLatch connectionAllowed;
+    private LogDBBatchWriter writer;
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void createTable() throws Exception {
+        url = "jdbc:derby:" + tempDir.resolve("txlog");
+        try (Connection connection = DriverManager.getConnection(url + ";create=true");
+            Statement statement = connection.createStatement()) {
+            statement.execute("create table txn_log_table (localtid varchar(20), servername varchar(150), "
+                + "instancename varchar(150), gtrid blob)");
+        }
+        connectionAllowed = new CountDownLatch(0);
+        writer = new LogDBBatchWriter(() -> {
+            try {
+                connectionAllowed.await();
+            } catch (InterruptedException e) {
+                throw new SQLException(e);
+            }
+            return DriverManager.getConnection(url);
+        }, INSERT, DELETE, 100);
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdownNow();
+        writer.close();
+        shutdownDatabase();
+    }
+
+    @Test
+    public void recordsAreCommittedBeforeAcknowledgement() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            int firstTID = thread * 1000;
+            futures.add(executor.submit(() -> {
+                start.await();
+                try (Connection reader = DriverManager.getConnection(url)) {
+                    for (int i = 0; i < RECORDS_PER_THREAD; i++) {
+                        String localTID = Integer.toString(firstTID + i);
+                        assertTrue(writer.insert(localTID, SERVER_NAME, "instance", data(localTID)));
+                        // Another connection sees only committed records
+                        assertEquals(localTID, read(reader).get(localTID));
+                        if (i % 2 == 1) {
+                            assertTrue(writer.delete(localTID, SERVER_NAME));
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+
+        writer.close();
+        shutdownDatabase();
+        Map<String, String> expected = new TreeMap<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            for (int i = 0; i < RECORDS_PER_THREAD; i += 2) {
+                String localTID = Integer.toString(thread * 1000 + i);
+                expected.put(localTID, localTID);
+            }
+        }
+        try (Connection connection = DriverManager.getConnection(url)) {
+            assertEquals(expected, read(connection));
+        }
+    }
+
+    @Test
+    public void batchKeepsOrderOfRequests() throws Exception {
+        // The writer waits for the connection with the first request, the others form one batch
+        connectionAllowed = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        results.add(enqueue(() -> writer.insert("1", SERVER_NAME, "instance", data("first"))));
+        results.add(enqueue(() -> writer.insert("2", SERVER_NAME, "instance", data("replaced"))));
+        results.add(enqueue(() -> writer.delete("2", SERVER_NAME)));
+        results.add(enqueue(() -> writer.insert("2", SERVER_NAME, "instance", data("second"))));
+        results.add(enqueue(() -> writer.delete("1", SERVER_NAME)));
+        results.add(enqueue(() -> writer.insert("3", SERVER_NAME, "instance", data("third"))));
+        connectionAllowed.countDown();
+        for (Future<Boolean> result : results) {
+            assertTrue(result.get());
+        }
+
+        try (Connection connection = DriverManager.getConnection(url)) {
+            assertEquals(Map.of("2", "second", "3", "third"), read(connection));
+        }
+    }
+
+    @Test
+    public void failedRecordDoesNotFailOthers() throws Exception {
+        connectionAllowed = new CountDownLatch(1);
+        Future<Boolean> first = enqueue(() -> writer.insert("1", SERVER_NAME, "instance", data("first")));
+        Future<Boolean> invalid = enqueue(() -> writer.insert("localtid-longer-than-the-column", SERVER_NAME, "instance", data("invalid")));
+        Future<Boolean> last = enqueue(() -> writer.insert("2", SERVER_NAME, "instance", data("last")));
+        connectionAllowed.countDown();
+        assertTrue(first.get());
+        assertFalse(invalid.get());
+        assertTrue(last.get());
+        assertTrue(writer.insert("3", SERVER_NAME, "instance", data("after")));
+
+        try (Connection connection = DriverManager.getConnection(url)) {
+            assertEquals(Map.of("1", "first", "2", "last", "3", "after"), read(connection));
+        }
+    }
+
+    @Test
+    public void unexpectedExceptionDoesNotStopWriter() throws Exception {
+        writer.close();
+        // The first connection is null, the batch fails with a NullPointerException
+        AtomicBoolean failed = new AtomicBoolean();
+        writer = new LogDBBatchWriter(() -> failed.getAndSet(true) ? DriverManager.getConnection(url) : null,
+            INSERT, DELETE, 100);
+        Future<Boolean> first = executor.submit(() -> writer.insert("1", SERVER_NAME, "instance", data("first")));
+        assertFalse(first.get(10, TimeUnit.SECONDS));
+        Future<Boolean> second = executor.submit(() -> writer.insert("2", SERVER_NAME, "instance", data("second")));
+        assertTrue(second.get(10, TimeUnit.SECONDS));
+
+        try (Connection connection = DriverManager.getConnection(url)) {
+            assertEquals(Map.of("2", "second"), read(connection));
+        }
+    }
+
+    @Test
+    public void closedWriterFailsWrites() throws Exception {
+        assertTrue(writer.insert("1", SERVER_NAME, "instance", data("first")));
+        writer.close();
+        Future<Boolean> after = executor.submit(() -> writer.insert("2", SERVER_NAME, "instance", data("after")));
+        assertFalse(after.get(10, TimeUnit.SECONDS));
+    }
+
+
+    /**
+     * Submits the write and returns after the request is enqueued.
+     */
+    private Future<Boolean> enqueue(Callable<Boolean> write) throws InterruptedException {
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        Future<Boolean> result = executor.submit(() -> {
+            thread.set(Thread.currentThread());
+            return write.call();
+        });
+        while (thread.get() == null || thread.get().getState() != Thread.State.WAITING) {
+            Thread.sleep(10L);
+        }
+        return result;
+    }
+
+
+    private static byte[] data(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+
+    private static Map<String, String> read(Connection connection) throws SQLException {
+        Map<String, String> records = new TreeMap<>();
+        try (PreparedStatement statement = connection.prepareStatement("select * from txn_log_table where servername = ?")) {
+            statement.setString(1, SERVER_NAME);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    records.put(rs.getString(1), new String(rs.getBytes(4), StandardCharsets.UTF_8));
+                }
+            }
+        }
+        return records;
+    }
+
+
+    private void shutdownDatabase() {
+        try {
+            DriverManager.getConnection(url + ";shutdown=true").close();
+        } catch (SQLException e) {
+            // Derby reports the shutdown by an exception
+        }
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.jts.CosTransactions;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Crashes a log written with the group commit and restarts it the same way the recovery does.
+ * <p>
+ * The crash keeps the records forced before the last batch and cuts the records of the last
+ * batch at a random offset, as a partially completed write would. The extent file keeps its
+ * length, the storage is allocated and forced before the records are written to it.
+ */
+public class LogGroupCommitRecoveryTest {
+
+    private static final String SERVER_NAME = "server";
+    private static final String EXTENT_FILE = "extent.001";
+    private static final int THREADS = 8;
+    private static final int RECORDS_PER_THREAD = 10;
+    private static final int RANDOM_CUTS = 25;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    public void enableGroupCommit() {
+        System.setProperty(LogGroupCommit.GROUP_COMMIT_PROPERTY, "true");
+    }
+
+    @AfterEach
+    public void disableGroupCommit() {
+        System.clearProperty(LogGroupCommit.GROUP_COMMIT_PROPERTY);
+        System.clearProperty(LogGroupCommit.MAX_BATCH_DELAY_PROPERTY);
+    }
+
+    @Test
+    public void restartAfterCrash() throws Exception {
+        crashAndRestart();
+    }
+
+    @Test
+    public void restartAfterCrashWithBatchDelay() throws Exception {
+        System.setProperty(LogGroupCommit.MAX_BATCH_DELAY_PROPERTY, "500");
+        crashAndRestart();
+    }
+
+    @Test
+    public void closeReleasesWaitingThreads() throws Exception {
+        System.setProperty(LogGroupCommit.MAX_BATCH_DELAY_PROPERTY, "60000000");
+        Path logDir = tempDir.resolve("log");
+        LogFile logFile = open(logDir);
+        AtomicReference<Thread> writer = new AtomicReference<>();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<LogLSN> write = executor.submit(() -> {
+                writer.set(Thread.currentThread());
+                return write(logFile, "waiting");
+            });
+            // The flusher waits a minute for more records, the close must not wait for it
+            while (writer.get() == null || writer.get().getState() != Thread.State.WAITING) {
+                Thread.sleep(10L);
+            }
+            assertTrue(logFile.close(false));
+            assertNotNull(write.get(10L, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(Set.of("waiting"), restart(logDir));
+    }
+
+
+    private void crashAndRestart() throws Exception {
+        Path logDir = tempDir.resolve("log");
+        LogFile logFile = open(logDir);
+        List<Written> records = new ArrayList<>(writeConcurrently(logFile, "durable"));
+        int durableEnd = records.stream().mapToInt(r -> r.end).max().getAsInt();
+        records.addAll(writeConcurrently(logFile, "last"));
+        Path image = tempDir.resolve("image");
+        copyDirectory(logDir, image);
+        logFile.close(false);
+
+        records.sort(Comparator.comparingInt(r -> r.lsn.offset));
+        assertTrue(records.stream().allMatch(r -> r.lsn.extent == LogLSN.FIRST_LSN.extent), "Records fit in the first extent");
+        // Control data is forced with the extents, it never points behind the forced records
+        LogLSN controlHead = readControlHead(image);
+        byte[] extent = Files.readAllBytes(image.resolve(EXTENT_FILE));
+        int from = Math.max(durableEnd, records.stream().filter(r -> r.lsn.equals(controlHead)).findFirst().get().end);
+        int to = records.get(records.size() - 1).end;
+
+        List<Integer> cuts = new ArrayList<>(List.of(to, from));
+        Random random = new Random(42L);
+        for (int i = 0; i < RANDOM_CUTS; i++) {
+            cuts.add(from + random.nextInt(to - from + 1));
+        }
+        for (int cut : cuts) {
+            Path crashed = tempDir.resolve("crash-" + cut);
+            if (Files.exists(crashed)) {
+                continue;
+            }
+            copyDirectory(image, crashed);
+            cutExtent(crashed, cut);
+
+            Set<String> expected = new TreeSet<>();
+            records.stream().filter(r -> survives(r, cut, extent)).forEach(r -> expected.add(r.payload));
+            assertEquals(expected, restart(crashed), "Records after the cut at " + cut);
+
+            // The restarted log continues behind the last complete record
+            LogFile restarted = open(crashed);
+            write(restarted, "after-restart");
+            assertTrue(restarted.close(false));
+            expected.add("after-restart");
+            assertEquals(expected, restart(crashed), "Records written after the restart at " + cut);
+        }
+    }
+
+
+    private static Collection<Written> writeConcurrently(LogFile logFile, String prefix) throws Exception {
+        Collection<Written> written = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                String threadPrefix = prefix + "-" + thread + "-";
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < RECORDS_PER_THREAD; i++) {
+                        String payload = threadPrefix + i;
+                        written.add(new Written(payload, write(logFile, payload)));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return written;
+    }
+
+
+    private static LogLSN write(LogFile logFile, String payload) {
+        LogLSN lsn = new LogLSN();
+        assertTrue(logFile.write(LogFile.FORCED, payload.getBytes(StandardCharsets.UTF_8), LogFile.NORMAL, lsn));
+        return lsn;
+    }
+
+
+    private static LogFile open(Path logDir) {
+        Log log = new Log(logDir.toString());
+        log.initialise();
+        return log.open(SERVER_NAME, reason -> {});
+    }
+
+
+    private static Set<String> restart(Path logDir) {
+        LogFile logFile = open(logDir);
+        Set<String> payloads = new TreeSet<>();
+        for (Object record : logFile.getLogRecords()) {
+            payloads.add(new String((byte[]) record, StandardCharsets.UTF_8));
+        }
+        assertTrue(logFile.close(false));
+        return payloads;
+    }
+
+
+    /**
+     * A record survives the cut if it ends before the cut or if only zero bytes of its end were cut.
+     */
+    private static boolean survives(Written record, int cut, byte[] extent) {
+        for (int i = cut; i < record.end; i++) {
+            if (extent[i] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    private static LogLSN readControlHead(Path logDir) throws IOException {
+        byte[] control = Files.readAllBytes(logDir.resolve("control"));
+        return new LogControlDescriptor(control, 0).headLSN;
+    }
+
+
+    private static void cutExtent(Path logDir, int cut) throws IOException {
+        try (RandomAccessFile extent = new RandomAccessFile(logDir.resolve(EXTENT_FILE).toFile(), "rw")) {
+            long length = extent.length();
+            extent.setLength(cut);
+            extent.setLength(length);
+        }
+    }
+
+
+    private static void copyDirectory(Path source, Path target) throws IOException {
+        Files.createDirectories(target);
+        try (Stream<Path> files = Files.list(source)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.copy(file, target.resolve(file.getFileName()));
+            }
+        }
+    }
+
+
+    private static final class Written {
+
+        final String payload;
+        final LogLSN lsn;
+        final int end;
+
+        Written(String payload, LogLSN lsn) {
+            this.payload = payload;
+            this.lsn = lsn;
+            this.end = lsn.offset + LogRecordHeader.SIZEOF + payload.length() + LogRecordEnding.SIZEOF;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.jts.CosTransactions;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Forces of the group commit failing on the storage device.
+ */
+public class LogGroupCommitTest {
+
+    private static final long FORCE_RETRY_WAIT_MILLIS = 3 * LogGroupCommit.FORCE_RETRY_DELAY_MILLIS;
+
+    private FailingLogHandle handle;
+    private LogGroupCommit groupCommit;
+
+    @BeforeEach
+    public void createGroupCommit() throws Exception {
+        handle = new FailingLogHandle();
+        groupCommit = new LogGroupCommit(handle, 0L, 1024);
+    }
+
+    @AfterEach
+    public void closeGroupCommit() {
+        groupCommit.close();
+    }
+
+    @Test
+    public void failedForceFailsWaitingThread() throws Exception {
+        handle.fail(1);
+        assertThrows(LogException.class, () -> write(10));
+        assertEquals(1, handle.forces.get());
+    }
+
+    @Test
+    public void failedForceIsNotRepeatedForFailedRecords() throws Exception {
+        handle.fail(Integer.MAX_VALUE);
+        assertThrows(LogException.class, () -> write(10));
+        Thread.sleep(FORCE_RETRY_WAIT_MILLIS);
+        assertEquals(1, handle.forces.get());
+    }
+
+    @Test
+    public void laterRecordIsForcedAfterRetryDelay() throws Exception {
+        handle.fail(1);
+        long start = System.nanoTime();
+        assertThrows(LogException.class, () -> write(10));
+        write(20);
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertEquals(2, handle.forces.get());
+        assertTrue(elapsed >= LogGroupCommit.FORCE_RETRY_DELAY_MILLIS, "Retried after " + elapsed + " ms");
+    }
+
+    @Test
+    public void successfulForceClearsFailure() throws Exception {
+        handle.fail(1);
+        assertThrows(LogException.class, () -> write(10));
+        write(20);
+        write(30);
+        assertEquals(3, handle.forces.get());
+        handle.fail(1);
+        assertThrows(LogException.class, () -> write(40));
+        write(50);
+        assertEquals(5, handle.forces.get());
+    }
+
+
+    /**
+     * Appends the record at the offset and waits for its force.
+     */
+    private void write(int offset) throws LogException {
+        LogLSN lsn = new LogLSN(1, offset);
+        handle.append(lsn);
+        groupCommit.awaitForced(lsn, 10);
+    }
+
+
+    /**
+     * Handle forcing all appended records, the first forces fail.
+     */
+    private static final class FailingLogHandle extends LogHandle {
+
+        private final LogLSN headLSN = new LogLSN();
+        private final AtomicInteger failures = new AtomicInteger();
+        final AtomicInteger forces = new AtomicInteger();
+
+        FailingLogHandle() throws LogException {
+            super(null, "test", null, null);
+        }
+
+        synchronized void append(LogLSN lsn) {
+            headLSN.copy(lsn);
+        }
+
+        void fail(int count) {
+            failures.set(count);
+        }
+
+        @Override
+        void forceBuffered(LogLSN covered) throws LogException {
+            synchronized (this) {
+                covered.copy(headLSN);
+            }
+            forces.incrementAndGet();
+            if (failures.getAndUpdate(f -> Math.max(0, f - 1)) > 0) {
+                throw new LogException(LogException.LOG_ERROR_FORCING_LOG, 1, "force failed",
+                    new IOException("device failed"));
+            }
+        }
+    }
+}
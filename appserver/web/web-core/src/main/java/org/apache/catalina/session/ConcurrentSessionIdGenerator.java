@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.session;
+
+import com.sun.enterprise.util.uuid.UuidGenerator;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Session id generator which does not serialize concurrent session creation.
+ * <p>
+ * The session id is the hexadecimal form of {@link #getSessionIdLength()} random bytes. The
+ * random bytes come from a JVM wide pool of {@link SecureRandom} stripes. A thread uses the
+ * stripe selected by its id and moves to another one if the stripe is in use. Every stripe
+ * keeps a block of random bytes and a background thread prepares the next block in advance,
+ * so most ids are only copied from memory.
+ * <p>
+ * The generator is not the default, because its ids differ from the ids of
+ * {@link com.sun.enterprise.util.uuid.UuidGeneratorImpl}: {@code 2 * sessionIdLength} upper case
+ * hexadecimal characters, without the time, identity hash and address parts. It is enabled by
+ * setting the {@code sessionIdGeneratorClassname} manager property to the name of this class.
+ */
+public class ConcurrentSessionIdGenerator implements UuidGenerator {
+
+    private static final int BLOCK_SIZE = 4096;
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private static final ThreadPoolExecutor PREFILL_EXECUTOR = createPrefillExecutor();
+    private static final Stripe[] STRIPES = createStripes();
+
+    private volatile int sessionIdLength = 16;
+
+    /**
+     * @return count of random bytes in the session id
+     */
+    public int getSessionIdLength() {
+        return sessionIdLength;
+    }
+
+
+    /**
+     * @param sessionIdLength count of random bytes in the session id
+     */
+    public void setSessionIdLength(int sessionIdLength) {
+        if (sessionIdLength <= 0) {
+            throw new IllegalArgumentException("Session id length must be positive: " + sessionIdLength);
+        }
+        this.sessionIdLength = sessionIdLength;
+    }
+
+
+    @Override
+    public String generateUuid() {
+        return generateUuid(null);
+    }
+
+
+    /**
+     * @param obj ignored, the id is random
+     */
+    @Override
+    public String generateUuid(Object obj) {
+        byte[] bytes = new byte[sessionIdLength];
+        nextBytes(bytes);
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[2 * i] = HEX[(bytes[i] >> 4) & 0xF];
+            chars[2 * i + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+
+
+    /**
+     * Fills the array with random bytes from the stripes.
+     *
+     * @param bytes
+     */
+    static void nextBytes(byte[] bytes) {
+        int mask = STRIPES.length - 1;
+        int home = (int) Thread.currentThread().getId() & mask;
+        for (int i = 0; i < STRIPES.length; i++) {
+            Stripe stripe = STRIPES[(home + i) & mask];
+            if (stripe.lock.tryLock()) {
+                try {
+                    stripe.copyTo(bytes);
+                    return;
+                } finally {
+                    stripe.lock.unlock();
+                }
+            }
+        }
+        Stripe stripe = STRIPES[home];
+        stripe.lock.lock();
+        try {
+            stripe.copyTo(bytes);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+
+    private static ThreadPoolExecutor createPrefillExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "SessionIdEntropyPrefill");
+                thread.setDaemon(true);
+                return thread;
+            });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+
+    private static Stripe[] createStripes() {
+        int count = 2;
+        int wanted = Math.min(64, 2 * Runtime.getRuntime().availableProcessors());
+        while (count < wanted) {
+            count <<= 1;
+        }
+        Stripe[] stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe();
+            stripes[i].schedulePrefill();
+        }
+        return stripes;
+    }
+
+
+    private static final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final SecureRandom random = new SecureRandom();
+        private final AtomicReference<byte[]> prefilled = new AtomicReference<>();
+        private final AtomicBoolean prefilling = new AtomicBoolean();
+        /** Guarded by the lock */
+        private byte[] block = new byte[BLOCK_SIZE];
+        /** Guarded by the lock */
+        private int position = BLOCK_SIZE;
+
+        /**
+         * Must be called with the lock held.
+         */
+        void copyTo(byte[] bytes) {
+            int copied = 0;
+            while (copied < bytes.length) {
+                if (position == block.length) {
+                    nextBlock();
+                }
+                int count = Math.min(bytes.length - copied, block.length - position);
+                System.arraycopy(block, position, bytes, copied, count);
+                // Used bytes must not stay in the memory
+                Arrays.fill(block, position, position + count, (byte) 0);
+                position += count;
+                copied += count;
+            }
+        }
+
+
+        private void nextBlock() {
+            byte[] next = prefilled.getAndSet(null);
+            if (next == null) {
+                random.nextBytes(block);
+            } else {
+                block = next;
+            }
+            position = 0;
+            schedulePrefill();
+        }
+
+
+        void schedulePrefill() {
+            if (prefilled.get() != null || !prefilling.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                PREFILL_EXECUTOR.execute(this::prefill);
+            } catch (RejectedExecutionException e) {
+                prefilling.set(false);
+            }
+        }
+
+
+        private void prefill() {
+            try {
+                byte[] next = new byte[BLOCK_SIZE];
+                random.nextBytes(next);
+                prefilled.set(next);
+            } finally {
+                prefilling.set(false);
+            }
+        }
+    }
+}
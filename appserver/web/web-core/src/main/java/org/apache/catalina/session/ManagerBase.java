@@ -132,7 +132,7 @@ public abstract class ManagerBase implements Manager {
      * when generating universally unique session identifiers.
      * HERCULES: add
      */
-    protected UuidGenerator uuidGenerator = new UuidGeneratorImpl();
+    protected volatile UuidGenerator uuidGenerator = new UuidGeneratorImpl();
 
 
     /**
@@ -234,6 +234,9 @@ public abstract class ManagerBase implements Manager {
      * HERCULES:added
      */
     public void setUuidGenerator(UuidGenerator aUuidGenerator) {
+        if (aUuidGenerator instanceof ConcurrentSessionIdGenerator && sessionIdLength > 0) {
+            ((ConcurrentSessionIdGenerator) aUuidGenerator).setSessionIdLength(sessionIdLength);
+        }
         uuidGenerator = aUuidGenerator;
     }
 
@@ -404,6 +407,10 @@ public abstract class ManagerBase implements Manager {
 
         int oldSessionIdLength = this.sessionIdLength;
         this.sessionIdLength = idLength;
+        UuidGenerator generator = uuidGenerator;
+        if (generator instanceof ConcurrentSessionIdGenerator && idLength > 0) {
+            ((ConcurrentSessionIdGenerator) generator).setSessionIdLength(idLength);
+        }
         support.firePropertyChange("sessionIdLength",
                                    Integer.valueOf(oldSessionIdLength),
                                    Integer.valueOf(this.sessionIdLength));
@@ -908,17 +915,25 @@ public abstract class ManagerBase implements Manager {
 
     /**
      * Generate and return a new session identifier.
+     * The {@link ConcurrentSessionIdGenerator} is used concurrently,
+     * custom generators are not required to be thread safe.
      * Hercules:added
      */
-    protected synchronized String generateSessionId(Object obj) {
-        return uuidGenerator.generateUuid(obj);
+    protected String generateSessionId(Object obj) {
+        UuidGenerator generator = uuidGenerator;
+        if (generator instanceof ConcurrentSessionIdGenerator) {
+            return generator.generateUuid(obj);
+        }
+        synchronized (this) {
+            return generator.generateUuid(obj);
+        }
     }
 
     /**
      * Generate and return a new session identifier.
      * Hercules:modified
      */
-    protected synchronized String generateSessionId() {
+    protected String generateSessionId() {
         return generateSessionId(new Object());
     }
 
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.session;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.catalina.Session;
+import org.apache.catalina.core.StandardContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sessions created per second by up to 256 threads with the default synchronized generator
+ * and with the {@link ConcurrentSessionIdGenerator}.
+ */
+public class SessionCreationBenchmarkTest {
+
+    @Test
+    public void uniqueIds() {
+        ConcurrentSessionIdGenerator generator = new ConcurrentSessionIdGenerator();
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            String id = generator.generateUuid();
+            assertEquals(32, id.length(), id);
+            assertTrue(ids.add(id), id);
+        }
+    }
+
+
+    @Test
+    public void managerPassesSessionIdLength() {
+        StandardManager manager = new StandardManager();
+        manager.setSessionIdLength(24);
+        ConcurrentSessionIdGenerator generator = new ConcurrentSessionIdGenerator();
+        manager.setUuidGenerator(generator);
+        assertEquals(24, generator.getSessionIdLength());
+        manager.setSessionIdLength(8);
+        assertEquals(8, generator.getSessionIdLength());
+    }
+
+
+    @ParameterizedTest(name = "threads: {0}")
+    @ValueSource(ints = {1, 16, 64, 256})
+    public void createSessions(int threads) throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".*")
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(300L))
+            .measurementIterations(1).measurementTime(TimeValue.seconds(1L))
+            .forks(1).threads(threads).timeout(TimeValue.seconds(10L))
+            .timeUnit(TimeUnit.SECONDS)
+            .mode(Mode.Throughput).shouldFailOnError(true)
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        assertEquals(2, results.size(), "One result per generator");
+    }
+
+
+    @Benchmark
+    public Session createSession(ManagerState state) {
+        Session session = state.manager.createSession();
+        state.manager.remove(session);
+        return session;
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class ManagerState {
+
+        @Param({"synchronized", "concurrent"})
+        public String generator;
+
+        StandardManager manager;
+
+        @Setup
+        public void createManager() {
+            StandardContext context = new StandardContext();
+            context.setName("benchmarkContext");
+            manager = new StandardManager();
+            manager.setContainer(context);
+            if ("concurrent".equals(generator)) {
+                manager.setUuidGenerator(new ConcurrentSessionIdGenerator());
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.web;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded lock-free queue of encoded access log entries with many producers (request threads)
+ * and a single consumer (the access log writer thread).
+ * <p>
+ * Producers claim a slot by moving the tail and publish the entry to the slot afterwards, so
+ * the consumer stops at the first claimed but not yet published slot. The consumer is woken up
+ * when the queue becomes half full, otherwise it drains the queue in its own interval.
+ * <p>
+ * A closed queue rejects new entries. The flag is a bit of the tail, so no slot is claimed after
+ * the close and the consumer can drain all the claimed ones.
+ */
+final class AccessLogQueue {
+
+    /**
+     * What a request thread does when the queue is full.
+     */
+    enum FullPolicy {
+        /** Wait until the writer makes room for the entry. */
+        BLOCK,
+        /** Drop the entry, the count of dropped entries is reported to the server log. */
+        DROP,
+        /** Drop the entry, the count of dropped entries is only counted. */
+        COUNT;
+
+        static FullPolicy parse(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ENGLISH));
+        }
+    }
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100L);
+    private static final long CLOSED = 1L << 62;
+
+    private final AtomicReferenceArray<byte[]> slots;
+    private final int mask;
+    private final FullPolicy policy;
+    /** Count of claimed slots, with the {@link #CLOSED} bit once the queue is closed. */
+    private final AtomicLong tail = new AtomicLong();
+    /** Written only by the consumer. */
+    private volatile long head;
+    private final LongAdder dropped = new LongAdder();
+    private volatile Thread consumer;
+
+    /**
+     * @param capacity minimal capacity, rounded up to the power of two
+     * @param policy
+     */
+    AccessLogQueue(int capacity, FullPolicy policy) {
+        int size = 2;
+        while (size < capacity && size < (1 << 30)) {
+            size <<= 1;
+        }
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.policy = policy;
+    }
+
+
+    FullPolicy getPolicy() {
+        return policy;
+    }
+
+
+    /**
+     * @param consumer thread to wake up when the queue fills up, null if there is no consumer.
+     */
+    void setConsumer(Thread consumer) {
+        this.consumer = consumer;
+    }
+
+
+    /**
+     * Adds the entry to the queue, the {@link FullPolicy} decides what happens if it is full.
+     *
+     * @param entry encoded access log entry
+     * @return false if the entry was dropped or the queue is closed
+     */
+    boolean offer(byte[] entry) {
+        final int capacity = mask + 1;
+        while (true) {
+            long currentTail = tail.get();
+            if (currentTail >= CLOSED) {
+                return false;
+            }
+            long free = capacity - (currentTail - head);
+            if (free <= 0) {
+                if (policy != FullPolicy.BLOCK || consumer == null || Thread.currentThread().isInterrupted()) {
+                    dropped.increment();
+                    return false;
+                }
+                wakeUpConsumer();
+                LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+                continue;
+            }
+            if (tail.compareAndSet(currentTail, currentTail + 1)) {
+                slots.lazySet((int) currentTail & mask, entry);
+                if (free == capacity / 2) {
+                    wakeUpConsumer();
+                }
+                return true;
+            }
+        }
+    }
+
+
+    /**
+     * Must be called only by the consumer.
+     *
+     * @return the oldest published entry or null
+     */
+    byte[] peek() {
+        return slots.get((int) head & mask);
+    }
+
+
+    /**
+     * Removes the entry returned by the last {@link #peek()}. Must be called only by the consumer.
+     */
+    void remove() {
+        long currentHead = head;
+        slots.lazySet((int) currentHead & mask, null);
+        head = currentHead + 1;
+    }
+
+
+    /**
+     * Rejects all entries offered from now on, the entries offered before stay in the queue.
+     */
+    void close() {
+        long currentTail = tail.get();
+        while (currentTail < CLOSED && !tail.compareAndSet(currentTail, currentTail | CLOSED)) {
+            currentTail = tail.get();
+        }
+    }
+
+
+    boolean isClosed() {
+        return tail.get() >= CLOSED;
+    }
+
+
+    /**
+     * Must be called only by the consumer.
+     *
+     * @return true if all claimed slots were removed, false also if an entry is not published yet
+     */
+    boolean isEmpty() {
+        return head == (tail.get() & ~CLOSED);
+    }
+
+
+    /**
+     * @return count of entries dropped since the last call.
+     */
+    long getAndResetDropped() {
+        return dropped.sumThenReset();
+    }
+
+
+    private void wakeUpConsumer() {
+        Thread thread = consumer;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+}
@@ -88,6 +88,15 @@ public final class Constants {
     public static final String ACCESS_LOG_WRITE_INTERVAL_PROPERTY =
         "accessLogWriteInterval";
 
+    public static final String ACCESS_LOG_ASYNC_PROPERTY =
+        "accessLogAsync";
+
+    public static final String ACCESS_LOG_QUEUE_SIZE_PROPERTY =
+        "accessLogQueueSize";
+
+    public static final String ACCESS_LOG_QUEUE_FULL_POLICY_PROPERTY =
+        "accessLogQueueFullPolicy";
+
     public static final String ACCESS_LOGGING_ENABLED = "accessLoggingEnabled";
 
     public static final String SSO_ENABLED = "sso-enabled";
@@ -43,7 +43,10 @@ import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Locale;
 import java.util.ResourceBundle;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -68,6 +71,12 @@ import static java.time.Instant.ofEpochMilli;
  * </p>This class uses a direct <code>ByteBuffer</code> to store and write
  * logs.
  *
+ * <p>In the asynchronous mode the request threads only format and encode
+ * their entries and pass them to the lock-free {@link AccessLogQueue}. The
+ * background writer thread drains the queue in batches and does the rotation,
+ * so request threads never wait for the file system. If the queue is full,
+ * the configured {@link AccessLogQueue.FullPolicy} is applied.</p>
+ *
  * @author Jean-Francois Arcand
  * @author Charlie J. Hunt
  */
@@ -105,6 +114,19 @@ public final class PEAccessLogValve
     private final static int MIN_BUFFER_SIZE = 5120;
 
 
+    /**
+     * The default capacity of the asynchronous queue (count of entries).
+     */
+    private static final int DEFAULT_QUEUE_SIZE = 16384;
+
+
+    /**
+     * The interval between queue drains in the asynchronous mode if there
+     * is no write interval.
+     */
+    private static final long ASYNC_FLUSH_INTERVAL_MILLIS = 200L;
+
+
     // ----------------------------------------------------- Instance Variables
 
 
@@ -279,6 +301,48 @@ public final class PEAccessLogValve
     private final Object lock = new Object();
 
 
+    /**
+     * Should request threads pass entries to the background writer thread?
+     */
+    private boolean async;
+
+
+    /**
+     * The capacity of the asynchronous queue.
+     */
+    private int queueSize = DEFAULT_QUEUE_SIZE;
+
+
+    /**
+     * What to do with entries which do not fit to the full asynchronous queue.
+     */
+    private AccessLogQueue.FullPolicy queueFullPolicy = AccessLogQueue.FullPolicy.BLOCK;
+
+
+    /**
+     * The queue of encoded entries, used only in the asynchronous mode.
+     */
+    private volatile AccessLogQueue queue;
+
+
+    /**
+     * The direct buffer collecting queued entries for a single write.
+     */
+    private ByteBuffer writeBuffer;
+
+
+    /**
+     * Per thread buffer for formatting of entries in the asynchronous mode.
+     */
+    private ThreadLocal<CharBuffer> entryBuffer;
+
+
+    /**
+     * Count of entries dropped because the asynchronous queue was full.
+     */
+    private long droppedEntries;
+
+
     /**
      * Return writerThread interval (seconds)
      */
@@ -335,6 +399,74 @@ public final class PEAccessLogValve
         return bufferSize;
     }
 
+
+    /**
+     * Are entries written by the background writer thread?
+     */
+    public boolean isAsync() {
+        return async;
+    }
+
+
+    /**
+     * Set the asynchronous mode.
+     *
+     * @param async true to write entries by the background writer thread
+     */
+    public void setAsync(boolean async) {
+        this.async = async;
+    }
+
+
+    /**
+     * Return the capacity of the asynchronous queue
+     */
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+
+    /**
+     * Set the capacity of the asynchronous queue
+     */
+    public void setQueueSize(int size) {
+        if (size > 0) {
+            queueSize = size;
+        }
+    }
+
+
+    /**
+     * Return the policy applied to entries not fitting to the full
+     * asynchronous queue
+     */
+    public String getQueueFullPolicy() {
+        return queueFullPolicy.name().toLowerCase(Locale.ENGLISH);
+    }
+
+
+    /**
+     * Set the policy applied to entries not fitting to the full asynchronous
+     * queue.
+     *
+     * @param policy block, drop or count
+     * @throws IllegalArgumentException if the policy is not known
+     */
+    public void setQueueFullPolicy(String policy) {
+        queueFullPolicy = AccessLogQueue.FullPolicy.parse(policy);
+    }
+
+
+    /**
+     * Return the count of entries dropped because the asynchronous queue was
+     * full.
+     */
+    public long getDroppedEntries() {
+        synchronized (lock) {
+            return droppedEntries;
+        }
+    }
+
     // ------------------------------------------------------------- Properties
 
 
@@ -548,6 +680,15 @@ public final class PEAccessLogValve
             return;
         }
 
+        AccessLogQueue currentQueue = queue;
+        if (currentQueue != null) {
+            byte[] entry = formatEntry(request, response);
+            if (entry != null) {
+                currentQueue.offer(entry);
+            }
+            return;
+        }
+
         synchronized (lock){
             // Reset properly the buffer in case of an unexpected
             // exception.
@@ -582,6 +723,91 @@ public final class PEAccessLogValve
     }
 
 
+    /**
+     * Formats and encodes the entry for the asynchronous queue.
+     *
+     * @return the entry or null if it could not be formatted
+     */
+    private byte[] formatEntry(Request request, Response response) {
+        if (formatter == null) {
+            return null;
+        }
+        CharBuffer buffer = entryBuffer.get();
+        for (int i = 0; i < 2; i++) {
+            buffer.clear();
+            try {
+                formatter.appendLogEntry(request, response, buffer);
+                buffer.put('\n');
+                buffer.flip();
+                return buffer.toString().getBytes(Charset.defaultCharset());
+            } catch (BufferOverflowException ex) {
+                if (i == 1) {
+                    _logger.log(Level.SEVERE, LogFacade.ACCESS_LOG_UNABLE_TO_WRITE, new Object[] {ex});
+                    return null;
+                }
+                // Exceptionally long entry, don't keep the big buffer
+                buffer = CharBuffer.allocate(Math.max(bufferSize, buffer.capacity() * 4));
+            }
+        }
+        return null;
+    }
+
+
+    /**
+     * Writes all queued entries through the direct write buffer. A closed
+     * queue is drained completely, including the entries being published.
+     * Must be called with the lock held.
+     */
+    private void drainQueue(AccessLogQueue currentQueue) throws IOException {
+        while (true) {
+            byte[] entry = currentQueue.peek();
+            if (entry == null) {
+                if (currentQueue.isClosed() && !currentQueue.isEmpty()) {
+                    // A request thread has claimed the slot and is storing its entry
+                    Thread.onSpinWait();
+                    continue;
+                }
+                break;
+            }
+            if (entry.length > writeBuffer.remaining()) {
+                writeBuffer();
+                if (entry.length > writeBuffer.capacity()) {
+                    ByteBuffer byteBuffer = ByteBuffer.wrap(entry);
+                    while (byteBuffer.hasRemaining()) {
+                        fileChannel.write(byteBuffer);
+                    }
+                    currentQueue.remove();
+                    continue;
+                }
+            }
+            writeBuffer.put(entry);
+            currentQueue.remove();
+        }
+        writeBuffer();
+
+        long dropped = currentQueue.getAndResetDropped();
+        if (dropped > 0) {
+            droppedEntries += dropped;
+            if (currentQueue.getPolicy() == AccessLogQueue.FullPolicy.DROP) {
+                _logger.log(Level.WARNING, LogFacade.ACCESS_LOG_ENTRIES_DROPPED,
+                    new Object[] {logFile.getAbsolutePath(), dropped});
+            }
+        }
+    }
+
+
+    private void writeBuffer() throws IOException {
+        writeBuffer.flip();
+        try {
+            while (writeBuffer.hasRemaining()) {
+                fileChannel.write(writeBuffer);
+            }
+        } finally {
+            writeBuffer.clear();
+        }
+    }
+
+
     /**
      * Log the specified message to the log file, switching files if the date
      * has changed since the previous log call.
@@ -611,6 +837,15 @@ public final class PEAccessLogValve
         }
 
         synchronized (lock) {
+            AccessLogQueue currentQueue = queue;
+            if (currentQueue != null) {
+                try {
+                    drainQueue(currentQueue);
+                } catch (IOException ex) {
+                    _logger.log(Level.SEVERE, LogFacade.ACCESS_LOG_UNABLE_TO_WRITE, new Object[] {ex});
+                }
+                return;
+            }
             try {
                 charBuffer.flip();
                 ByteBuffer byteBuffer = ByteBuffer.wrap(charBuffer.toString().getBytes(Charset.defaultCharset()));
@@ -745,6 +980,35 @@ public final class PEAccessLogValve
             }
         }
 
+        /*
+         * The asynchronous mode is configured only by properties of
+         * <virtual-server>
+         */
+        setAsync(Boolean.parseBoolean(vsBean.getPropertyValue(
+            Constants.ACCESS_LOG_ASYNC_PROPERTY)));
+        String acQueueSize = vsBean.getPropertyValue(
+            Constants.ACCESS_LOG_QUEUE_SIZE_PROPERTY);
+        if (acQueueSize != null) {
+            try {
+                setQueueSize(Integer.parseInt(acQueueSize));
+            } catch (NumberFormatException ex){
+                _logger.log(Level.WARNING,
+                    LogFacade.INVALID_ACCESS_LOG_QUEUE_SIZE,
+                    acQueueSize);
+            }
+        }
+        String acQueueFullPolicy = vsBean.getPropertyValue(
+            Constants.ACCESS_LOG_QUEUE_FULL_POLICY_PROPERTY);
+        if (acQueueFullPolicy != null) {
+            try {
+                setQueueFullPolicy(acQueueFullPolicy);
+            } catch (IllegalArgumentException ex){
+                _logger.log(Level.WARNING,
+                    LogFacade.INVALID_ACCESS_LOG_QUEUE_FULL_POLICY,
+                    acQueueFullPolicy);
+            }
+        }
+
         return true;
     }
 
@@ -994,6 +1258,11 @@ public final class PEAccessLogValve
         }
 
         charBuffer = CharBuffer.allocate(bufferSize);
+        if (async) {
+            writeBuffer = ByteBuffer.allocateDirect(bufferSize);
+            entryBuffer = ThreadLocal.withInitial(() -> CharBuffer.allocate(MIN_BUFFER_SIZE));
+            queue = new AccessLogQueue(queueSize, queueFullPolicy);
+        }
 
         if (fileDateFormat == null) {
             fileDateFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd");
@@ -1008,7 +1277,7 @@ public final class PEAccessLogValve
         }
         lastAccessLogCreationTime = systime;
 
-        if (!flushRealTime){
+        if (!flushRealTime || queue != null){
             // Start the background writer writerThread
             threadStart();
         }
@@ -1036,12 +1305,19 @@ public final class PEAccessLogValve
         lifecycle.fireLifecycleEvent(STOP_EVENT, null);
         started = false;
 
-        if (!flushRealTime){
+        if (!flushRealTime || queue != null){
             // Stop the background writer thread
             threadStop();
         }
 
+        // Requests completing from now on are not logged, as in the
+        // synchronous mode. The close writes the entries queued before.
+        AccessLogQueue currentQueue = queue;
+        if (currentQueue != null) {
+            currentQueue.close();
+        }
         close();
+        queue = null;
     }
 
 
@@ -1070,7 +1346,18 @@ public final class PEAccessLogValve
      */
     private void threadSleep() {
 
-        if (writerThread == null || writeInterval == 0) {
+        if (writerThread == null) {
+            return;
+        }
+
+        if (queue != null) {
+            // Request threads may wake us up earlier if the queue fills up
+            long interval = writeInterval > 0 ? writeInterval * 1000L : ASYNC_FLUSH_INTERVAL_MILLIS;
+            LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(interval));
+            return;
+        }
+
+        if (writeInterval == 0) {
             return;
         }
 
@@ -1088,7 +1375,7 @@ public final class PEAccessLogValve
      */
     private void threadStart() {
 
-        if (writerThread != null || writeInterval == 0) {
+        if (writerThread != null || writeInterval == 0 && queue == null) {
             return;
         }
 
@@ -1096,6 +1383,9 @@ public final class PEAccessLogValve
         String threadName = "AccessLogWriter";
         writerThread = new Thread(this, threadName);
         writerThread.setDaemon(true);
+        if (queue != null) {
+            queue.setConsumer(writerThread);
+        }
         writerThread.start();
 
     }
@@ -1106,10 +1396,14 @@ public final class PEAccessLogValve
      */
     private void threadStop() {
 
-        if (writerThread == null || writeInterval == 0) {
+        if (writerThread == null) {
             return;
         }
 
+        if (queue != null) {
+            // Blocked request threads must not wait for us any more
+            queue.setConsumer(null);
+        }
         threadDone = true;
         writerThread.interrupt();
         try {
@@ -31,6 +31,11 @@ public abstract class AccessLogFormatter {
 
     private final AccessLogPattern pattern;
 
+    /**
+     * The timestamp formatted by the pattern, reused within the same second.
+     */
+    private volatile FormattedTimestamp formattedTimestamp;
+
     public AccessLogFormatter(AccessLogPattern pattern) {
         this.pattern = pattern;
     }
@@ -55,7 +60,36 @@ public abstract class AccessLogFormatter {
     }
 
 
+    /**
+     * The access log timestamps have a precision of seconds, so the formatted
+     * timestamp is cached and formatted again only when the second changes.
+     *
+     * @return current timestamp formatted by the date time formatter of the pattern
+     */
+    protected String getFormattedTimestamp() {
+        long epochSecond = Math.floorDiv(System.currentTimeMillis(), 1000L);
+        FormattedTimestamp timestamp = formattedTimestamp;
+        if (timestamp == null || timestamp.epochSecond != epochSecond) {
+            timestamp = new FormattedTimestamp(epochSecond, pattern.getDateTimeFormatter().format(getTimestamp()));
+            formattedTimestamp = timestamp;
+        }
+        return timestamp.text;
+    }
+
+
     public AccessLogPattern getPattern() {
         return pattern;
     }
+
+
+    private static final class FormattedTimestamp {
+
+        private final long epochSecond;
+        private final String text;
+
+        FormattedTimestamp(long epochSecond, String text) {
+            this.epochSecond = epochSecond;
+            this.text = text;
+        }
+    }
 }
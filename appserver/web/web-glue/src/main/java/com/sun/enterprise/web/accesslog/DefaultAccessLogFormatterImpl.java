@@ -395,7 +395,7 @@ public class DefaultAccessLogFormatterImpl extends AccessLogFormatter {
      */
     private void appendCurrentDate(CharBuffer cb) {
         cb.put(QUOTE);
-        cb.put(getPattern().getDateTimeFormatter().format(getTimestamp()));
+        cb.put(getFormattedTimestamp());
         cb.put(QUOTE);
     }
 
@@ -1548,4 +1548,21 @@ public class LogFacade {
         message = "Exception getting Validator Factory from JNDI: {0}",
         level = "WARNING")
     public static final String EXCEPTION_GETTING_VALIDATOR_FACTORY = prefix + "00285";
+
+    @LogMessageInfo(
+        message = "Access log queue of {0} was full, {1} access log entries were dropped",
+        level = "WARNING",
+        cause = "Requests were logged faster than the access log could be written to the disk",
+        action = "Increase the accessLogQueueSize property or use the block queue full policy")
+    public static final String ACCESS_LOG_ENTRIES_DROPPED = prefix + "00286";
+
+    @LogMessageInfo(
+        message = "Invalid accessLogQueueSize value [{0}]",
+        level = "WARNING")
+    public static final String INVALID_ACCESS_LOG_QUEUE_SIZE = prefix + "00287";
+
+    @LogMessageInfo(
+        message = "Invalid accessLogQueueFullPolicy value [{0}], expected one of block, drop, count",
+        level = "WARNING")
+    public static final String INVALID_ACCESS_LOG_QUEUE_FULL_POLICY = prefix + "00288";
 }
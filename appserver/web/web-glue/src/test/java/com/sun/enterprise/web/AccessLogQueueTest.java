@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.web;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AccessLogQueueTest {
+
+    private static final int PRODUCERS = 4;
+    private static final int ENTRIES_PER_PRODUCER = 20_000;
+
+    @Test
+    public void consumerReceivesEntriesOfEachProducerInOrder() throws Exception {
+        AccessLogQueue queue = new AccessLogQueue(64, AccessLogQueue.FullPolicy.BLOCK);
+        queue.setConsumer(Thread.currentThread());
+        ExecutorService producers = Executors.newFixedThreadPool(PRODUCERS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int producer = 0; producer < PRODUCERS; producer++) {
+                int id = producer;
+                futures.add(producers.submit(() -> {
+                    for (int i = 0; i < ENTRIES_PER_PRODUCER; i++) {
+                        assertTrue(queue.offer(entry(id, i)));
+                    }
+                }));
+            }
+
+            int[] next = new int[PRODUCERS];
+            int received = 0;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60L);
+            while (received < PRODUCERS * ENTRIES_PER_PRODUCER && System.nanoTime() < deadline) {
+                byte[] entry = queue.peek();
+                if (entry == null) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1L));
+                    continue;
+                }
+                queue.remove();
+                ByteBuffer buffer = ByteBuffer.wrap(entry);
+                int producer = buffer.getInt();
+                assertEquals(next[producer]++, buffer.getInt(), "Entry of producer " + producer);
+                received++;
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            assertEquals(PRODUCERS * ENTRIES_PER_PRODUCER, received);
+            assertTrue(queue.isEmpty());
+            assertEquals(0, queue.getAndResetDropped());
+        } finally {
+            producers.shutdownNow();
+        }
+    }
+
+
+    @Test
+    public void dropPolicyCountsDroppedEntries() {
+        AccessLogQueue queue = new AccessLogQueue(4, AccessLogQueue.FullPolicy.DROP);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(entry(0, i)));
+        }
+        assertAll(
+            () -> assertFalse(queue.offer(entry(0, 4))),
+            () -> assertFalse(queue.offer(entry(0, 5))),
+            () -> assertEquals(2, queue.getAndResetDropped()),
+            () -> assertEquals(0, queue.getAndResetDropped()),
+            () -> assertArrayEquals(entry(0, 0), queue.peek())
+        );
+    }
+
+
+    @Test
+    public void blockPolicyDropsWithoutConsumer() {
+        AccessLogQueue queue = new AccessLogQueue(2, AccessLogQueue.FullPolicy.BLOCK);
+        assertTrue(queue.offer(entry(0, 0)));
+        assertTrue(queue.offer(entry(0, 1)));
+        assertFalse(queue.offer(entry(0, 2)));
+        assertEquals(1, queue.getAndResetDropped());
+    }
+
+
+    @Test
+    public void blockedProducerContinuesWhenConsumerMakesRoom() throws Exception {
+        AccessLogQueue queue = new AccessLogQueue(2, AccessLogQueue.FullPolicy.BLOCK);
+        queue.setConsumer(Thread.currentThread());
+        assertTrue(queue.offer(entry(0, 0)));
+        assertTrue(queue.offer(entry(0, 1)));
+        ExecutorService producer = Executors.newSingleThreadExecutor();
+        try {
+            Future<Boolean> blocked = producer.submit(() -> queue.offer(entry(0, 2)));
+            Thread.sleep(100L);
+            assertFalse(blocked.isDone(), "Producer waits for room");
+            queue.remove();
+            assertTrue(blocked.get(10L, TimeUnit.SECONDS));
+            assertArrayEquals(entry(0, 1), queue.peek());
+            queue.remove();
+            assertArrayEquals(entry(0, 2), queue.peek());
+        } finally {
+            producer.shutdownNow();
+        }
+    }
+
+
+    @Test
+    public void closedQueueRejectsNewEntriesAndKeepsQueuedOnes() {
+        AccessLogQueue queue = new AccessLogQueue(4, AccessLogQueue.FullPolicy.BLOCK);
+        assertTrue(queue.offer(entry(0, 0)));
+        assertTrue(queue.offer(entry(0, 1)));
+        queue.close();
+        assertAll(
+            () -> assertTrue(queue.isClosed()),
+            () -> assertFalse(queue.offer(entry(0, 2))),
+            () -> assertFalse(queue.isEmpty())
+        );
+        assertArrayEquals(entry(0, 0), queue.peek());
+        queue.remove();
+        assertArrayEquals(entry(0, 1), queue.peek());
+        queue.remove();
+        assertAll(
+            () -> assertNull(queue.peek()),
+            () -> assertTrue(queue.isEmpty())
+        );
+    }
+
+
+    @Test
+    public void parsePolicy() {
+        assertEquals(AccessLogQueue.FullPolicy.COUNT, AccessLogQueue.FullPolicy.parse(" Count "));
+    }
+
+
+    private static byte[] entry(int producer, int sequence) {
+        return ByteBuffer.allocate(8).putInt(producer).putInt(sequence).array();
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.catalina.HttpResponse;
+import org.apache.catalina.Request;
+import org.apache.catalina.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Writes the access log in the asynchronous mode. The requests and responses are stubs with
+ * the values used by the common pattern.
+ */
+public class PEAccessLogValveTest {
+
+    private static final int THREADS = 8;
+    private static final int REQUESTS_PER_THREAD = 2_000;
+
+    @TempDir
+    Path tempDir;
+
+    private PEAccessLogValve valve;
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void createValve() {
+        valve = new PEAccessLogValve();
+        valve.setDirectory(tempDir.toString());
+        valve.setPrefix("access_log");
+        valve.setSuffix(".txt");
+        valve.setPattern("common");
+        valve.setAsync(true);
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void writerThreadWritesQueuedEntries() throws Exception {
+        valve.start();
+        try {
+            valve.postInvoke(request("/first"), response());
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10L);
+            while (readLog().isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(10L);
+            }
+            List<String> lines = readLog();
+            assertEquals(1, lines.size());
+            assertTrue(lines.get(0).contains("\"GET /first HTTP/1.1\" 200 0"), lines.get(0));
+        } finally {
+            valve.stop();
+        }
+    }
+
+    @Test
+    public void stopWritesAllEntriesOfCompletedRequests() throws Exception {
+        // The queue is smaller than the count of entries, request threads wait for the writer
+        valve.setQueueSize(256);
+        valve.start();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            int id = thread;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                    valve.postInvoke(request("/" + id + "/" + i), response());
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        valve.stop();
+
+        List<String> lines = readLog();
+        Set<String> uris = new HashSet<>();
+        for (String line : lines) {
+            uris.add(line.substring(line.indexOf("\"GET ") + 5, line.indexOf(" HTTP/1.1\"")));
+        }
+        assertEquals(THREADS * REQUESTS_PER_THREAD, lines.size());
+        assertEquals(THREADS * REQUESTS_PER_THREAD, uris.size());
+        assertEquals(0, valve.getDroppedEntries());
+    }
+
+
+    private List<String> readLog() throws Exception {
+        return Files.readAllLines(tempDir.resolve("access_log.txt"), Charset.defaultCharset());
+    }
+
+
+    private static Request request(String uri) {
+        HttpServletRequest httpRequest = (HttpServletRequest) Proxy.newProxyInstance(
+            PEAccessLogValveTest.class.getClassLoader(), new Class<?>[] {HttpServletRequest.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getRemoteHost":
+                        return "127.0.0.1";
+                    case "getMethod":
+                        return "GET";
+                    case "getRequestURI":
+                        return uri;
+                    case "getProtocol":
+                        return "HTTP/1.1";
+                    default:
+                        return null;
+                }
+            });
+        return (Request) Proxy.newProxyInstance(PEAccessLogValveTest.class.getClassLoader(),
+            new Class<?>[] {Request.class},
+            (proxy, method, args) -> "getRequest".equals(method.getName()) ? httpRequest : null);
+    }
+
+
+    private static Response response() {
+        return (Response) Proxy.newProxyInstance(PEAccessLogValveTest.class.getClassLoader(),
+            new Class<?>[] {HttpResponse.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getStatus":
+                        return 200;
+                    case "getContentCount":
+                        return 0;
+                    default:
+                        return null;
+                }
+            });
+    }
+}
@@ -131,6 +131,20 @@ public class StructuredLogViewerResource {
                 anySearch);
             return convertQueryResult(result, type);
         }
+        if (instanceName.contains(",")) {
+            // records of all instances merged by time, startIndex is the last record of the previous page
+            final List<String> instanceNames = new ArrayList<>();
+            for (String name : instanceName.split(",")) {
+                if (!name.isBlank()) {
+                    instanceNames.add(name.trim());
+                }
+            }
+            final AttributeList result = logFilter.getMergedLogRecordsUsingQuery(logFileName, startIndex,
+                searchForward, maximumNumberOfResults, fromTime == -1 ? null : Instant.ofEpochMilli(fromTime),
+                toTime == -1 ? null : Instant.ofEpochMilli(toTime), logLevel, onlyLevel, modules, nameValueMap,
+                anySearch, instanceNames);
+            return convertQueryResult(result, type);
+        }
         final AttributeList result = logFilter.getLogRecordsUsingQuery(logFileName, startIndex, searchForward,
             sortAscending, maximumNumberOfResults, fromTime == -1 ? null : Instant.ofEpochMilli(fromTime),
             toTime == -1 ? null : Instant.ofEpochMilli(toTime), logLevel, onlyLevel, modules, nameValueMap,
@@ -52,4 +52,9 @@ public class Constants {
 
     public final static String STAT_BOUNDEDMULTILRUCACHE_CURRENT_SIZE="cache.BoundedMultiLruCache.stat_currentSize";
     public final static String STAT_BOUNDEDMULTILRUCACHE_MAX_SIZE="cache.BoundedMultiLruCache.stat_maxSize";
+
+    public final static String STAT_TINYLFUCACHE_EVICTION_COUNT="cache.TinyLfuCache.stat_evictionCount";
+    public final static String STAT_TINYLFUCACHE_REJECTION_COUNT="cache.TinyLfuCache.stat_rejectionCount";
+    public final static String STAT_TINYLFUCACHE_CURRENT_SIZE="cache.TinyLfuCache.stat_currentSize";
+    public final static String STAT_TINYLFUCACHE_MAX_SIZE="cache.TinyLfuCache.stat_maxSize";
 }
@@ -0,0 +1,798 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.appserv.util.cache;
+
+import com.sun.enterprise.util.CULoggerInfo;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * TinyLfuCache
+ * in-memory bounded cache with the W-TinyLFU replacement policy.
+ * <p>
+ * New entries enter a small LRU window. Entries leaving the window compete with the
+ * least recently used entry of the main space, the one used more often according to a
+ * count-min sketch of access frequencies stays. The main space is a segmented LRU with
+ * probation and protected segments. This keeps frequently used entries in the cache even
+ * when many entries are used just once.
+ * <p>
+ * Reads do not take any lock, accesses are recorded to lossy striped buffers and applied
+ * to the policy in batches by the thread which finds a buffer full. Writes apply the
+ * policy under a single lock.
+ * <p>
+ * Supported properties:
+ * <ul>
+ * <li>MaxSize - upper bound of the sum of sizes of the entries, in bytes, KB or MB
+ * <li>IdleTimeoutInSeconds - entries not accessed for this time expire
+ * </ul>
+ * This cache does not support multiple values for the same key, {@link #add(Object, Object)}
+ * replaces the value.
+ */
+public class TinyLfuCache extends BaseCache {
+
+    // percentage of the capacity used by the window
+    private static final int WINDOW_PERCENT = 1;
+
+    // percentage of the main space used by the protected segment
+    private static final int PROTECTED_PERCENT = 80;
+
+    private static final int READ_BUFFER_SIZE = 16;
+
+    // queues of a node
+    private static final int NEW = 0;
+    private static final int WINDOW = 1;
+    private static final int PROBATION = 2;
+    private static final int PROTECTED = 3;
+    private static final int DEAD = 4;
+
+    // upper bound on the cache size
+    protected long maxSize = Constants.DEFAULT_MAX_CACHE_SIZE;
+
+    // idle timeout in milliseconds
+    protected long idleTimeout = LruCache.NO_TIMEOUT;
+
+    private Map<Object, Node> data;
+    private ReadBuffer[] readBuffers;
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    // guarded by the evictionLock
+    private FrequencySketch sketch;
+    private final AccessOrderList window = new AccessOrderList();
+    private final AccessOrderList probation = new AccessOrderList();
+    private final AccessOrderList protectedSegment = new AccessOrderList();
+    private int windowMaximum;
+    private int protectedMaximum;
+    private int linkedCount;
+    private int windowCount;
+    private int protectedCount;
+    private volatile long currentSize;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder adds = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder removals = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    /**
+     * initialize the cache
+     * @param maxEntries maximum number of entries the cache may hold
+     * @param loadFactor ignored, the cache never exceeds maxEntries
+     * @param props opaque list of properties for a given cache implementation
+     */
+    @Override
+    public void init(int maxEntries, float loadFactor, Properties props) {
+        super.init(maxEntries, loadFactor, props);
+        threshold = this.maxEntries;
+
+        if (props != null) {
+            String strMaxSize = props.getProperty("MaxSize");
+            if (strMaxSize != null) {
+                maxSize = parseMaxSize(strMaxSize);
+            }
+            String strIdleTimeout = props.getProperty("IdleTimeoutInSeconds");
+            if (strIdleTimeout != null) {
+                long seconds = Long.parseLong(strIdleTimeout.trim());
+                idleTimeout = seconds > 0 ? seconds * 1000L : LruCache.NO_TIMEOUT;
+            }
+        }
+
+        windowMaximum = Math.max(1, (int) ((long) this.maxEntries * WINDOW_PERCENT / 100));
+        protectedMaximum = (int) ((long) (this.maxEntries - windowMaximum) * PROTECTED_PERCENT / 100);
+        data = new ConcurrentHashMap<>(Math.min(this.maxEntries, 1 << 16));
+        sketch = new FrequencySketch(this.maxEntries);
+
+        int stripes = 1;
+        while (stripes < Runtime.getRuntime().availableProcessors() && stripes < 64) {
+            stripes <<= 1;
+        }
+        readBuffers = new ReadBuffer[stripes];
+        for (int i = 0; i < stripes; i++) {
+            readBuffers[i] = new ReadBuffer();
+        }
+    }
+
+    private static long parseMaxSize(String strMaxSize) {
+        String prop = strMaxSize.toUpperCase(Locale.ENGLISH);
+        int multiplier = 1;
+        int index;
+        if ((index = prop.indexOf("KB")) != -1) {
+            multiplier = Constants.KB;
+            prop = prop.substring(0, index);
+        } else if ((index = prop.indexOf("MB")) != -1) {
+            multiplier = Constants.MB;
+            prop = prop.substring(0, index);
+        }
+
+        long size = -1;
+        try {
+            size = Long.parseLong(prop.trim());
+        } catch (NumberFormatException nfe) {}
+
+        if (size <= 0) {
+            String msg = CULoggerInfo.getString(CULoggerInfo.boundedMultiLruCacheIllegalMaxSize);
+            throw new IllegalArgumentException(MessageFormat.format(msg, strMaxSize));
+        }
+        return size * multiplier;
+    }
+
+    /**
+     * get the item stored at the key.
+     * @param key lookup key
+     * @returns the item stored at the key; null if not found.
+     */
+    @Override
+    public Object get(Object key) {
+        Node node = data.get(key);
+        if (node == null) {
+            misses.increment();
+            return null;
+        }
+        if (idleTimeout != LruCache.NO_TIMEOUT) {
+            long now = System.currentTimeMillis();
+            if (node.lastAccessed + idleTimeout <= now) {
+                misses.increment();
+                expire(node);
+                return null;
+            }
+            node.lastAccessed = now;
+        }
+        hits.increment();
+        recordRead(node);
+        return node.value;
+    }
+
+    @Override
+    public Object get(int hashCode, Object key) {
+        return get(key);
+    }
+
+    /**
+     * get all the items stored at the key.
+     * @param key lookup key
+     * @returns an Iterator over the item with the given key.
+     */
+    @Override
+    public Iterator getAll(Object key) {
+        Object value = get(key);
+        return value == null ? Collections.emptyIterator() : Collections.singletonList(value).iterator();
+    }
+
+    @Override
+    public Iterator keys() {
+        return new ArrayList<>(data.keySet()).iterator();
+    }
+
+    @Override
+    public Enumeration elements() {
+        return Collections.enumeration(new ArrayList<>(data.keySet()));
+    }
+
+    @Override
+    public Iterator values() {
+        List<Object> values = new ArrayList<>(data.size());
+        for (Node node : data.values()) {
+            values.add(node.value);
+        }
+        return values.iterator();
+    }
+
+    /**
+     * cache the given value at the specified key and return previous value
+     * @param hashCode previously computed hashCode for the key
+     * @param key lookup key
+     * @param value item value to be stored
+     * @param size in bytes of the value being cached
+     * @param addValue ignored, this cache holds a single value per key
+     * @returns the previous item stored at the key; null if not found.
+     */
+    @Override
+    protected Object _put(int hashCode, Object key, Object value, int size, boolean addValue) {
+        Node node = new Node(key, spread(key.hashCode()), value, Math.max(0, size));
+        if (idleTimeout != LruCache.NO_TIMEOUT) {
+            node.lastAccessed = System.currentTimeMillis();
+        }
+        List<Node> evicted = new ArrayList<>();
+        Object oldValue = null;
+        while (true) {
+            Node prior = data.putIfAbsent(key, node);
+            evictionLock.lock();
+            try {
+                drainReadBuffers();
+                if (prior == null) {
+                    // a concurrent remove may have killed the node already
+                    if (node.queue == NEW) {
+                        link(node);
+                        evict(evicted);
+                    }
+                    adds.increment();
+                    break;
+                }
+                if (prior.queue == DEAD) {
+                    // being removed, try again
+                    continue;
+                }
+                oldValue = prior.value;
+                prior.value = value;
+                if (prior.queue != NEW) {
+                    currentSize += node.weight - prior.weight;
+                    onAccess(prior);
+                }
+                prior.weight = node.weight;
+                prior.lastAccessed = node.lastAccessed;
+                evict(evicted);
+                refreshes.increment();
+                break;
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+        notifyTrimmed(evicted);
+        return oldValue;
+    }
+
+    /**
+     * remove the item stored at the key.
+     * @param key lookup key
+     * @returns the item stored at the key; null if not found.
+     */
+    @Override
+    public Object remove(Object key) {
+        Node node = data.remove(key);
+        if (node == null) {
+            return null;
+        }
+        unlinkRemoved(node);
+        removals.increment();
+        return node.value;
+    }
+
+    @Override
+    public Object remove(int hashCode, Object key) {
+        return remove(key);
+    }
+
+    /**
+     * remove the given value stored at the key; value-specific removals.
+     * @param key lookup key
+     * @param value to match
+     * @returns the item stored at the key; null if not found.
+     */
+    @Override
+    public Object remove(Object key, Object value) {
+        Node node = data.get(key);
+        if (node == null || (value != null && node.value != value) || !data.remove(key, node)) {
+            return null;
+        }
+        unlinkRemoved(node);
+        removals.increment();
+        return node.value;
+    }
+
+    @Override
+    public void removeAll(Object key) {
+        remove(key);
+    }
+
+    @Override
+    public int clear() {
+        int count = 0;
+        evictionLock.lock();
+        try {
+            drainReadBuffers();
+            for (Iterator<Node> iterator = data.values().iterator(); iterator.hasNext();) {
+                Node node = iterator.next();
+                iterator.remove();
+                unlink(node);
+                count++;
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+        return count;
+    }
+
+    /**
+     * trim the expired entries from the cache.
+     * @param maxCount maximum number of invalid entries to trim
+     *        specify Integer.MAX_VALUE to trim all timedout entries
+     *
+     * This call is to be scheduled by a thread managed by the container.
+     */
+    @Override
+    public void trimExpiredEntries(int maxCount) {
+        if (idleTimeout == LruCache.NO_TIMEOUT) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        int count = 0;
+        for (Node node : data.values()) {
+            if (count >= maxCount) {
+                break;
+            }
+            if (node.lastAccessed + idleTimeout <= now && expire(node)) {
+                count++;
+            }
+        }
+    }
+
+    @Override
+    public int getEntryCount() {
+        return data.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return data.isEmpty();
+    }
+
+    /**
+     * @return the sum of sizes of all entries in bytes
+     */
+    public long getCurrentSize() {
+        return currentSize;
+    }
+
+    private boolean expire(Node node) {
+        if (!data.remove(node.key, node)) {
+            return false;
+        }
+        unlinkRemoved(node);
+        evictions.increment();
+        notifyTrimmed(Collections.singletonList(node));
+        return true;
+    }
+
+    private void unlinkRemoved(Node node) {
+        evictionLock.lock();
+        try {
+            unlink(node);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void notifyTrimmed(List<Node> trimmed) {
+        for (Node node : trimmed) {
+            for (int i = 0; i < listeners.size(); i++) {
+                CacheListener listener = (CacheListener) listeners.get(i);
+                listener.trimEvent(node.key, node.value);
+            }
+        }
+    }
+
+    private void recordRead(Node node) {
+        ReadBuffer buffer = readBuffers[(int) Thread.currentThread().getId() & (readBuffers.length - 1)];
+        if (!buffer.offer(node) && evictionLock.tryLock()) {
+            try {
+                drainReadBuffers();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Applies the recorded reads to the policy. Must be called with the evictionLock held.
+     */
+    private void drainReadBuffers() {
+        for (ReadBuffer buffer : readBuffers) {
+            buffer.drain(this);
+        }
+    }
+
+    /**
+     * Must be called with the evictionLock held.
+     */
+    void onAccess(Node node) {
+        switch (node.queue) {
+            case WINDOW:
+                sketch.increment(node.hash);
+                window.moveToFront(node);
+                break;
+            case PROBATION:
+                sketch.increment(node.hash);
+                probation.remove(node);
+                node.queue = PROTECTED;
+                protectedSegment.addFirst(node);
+                protectedCount++;
+                while (protectedCount > protectedMaximum) {
+                    Node demoted = protectedSegment.last();
+                    protectedSegment.remove(demoted);
+                    protectedCount--;
+                    demoted.queue = PROBATION;
+                    probation.addFirst(demoted);
+                }
+                break;
+            case PROTECTED:
+                sketch.increment(node.hash);
+                protectedSegment.moveToFront(node);
+                break;
+            default:
+                // not linked yet or already removed
+                break;
+        }
+    }
+
+    /**
+     * Must be called with the evictionLock held.
+     */
+    private void link(Node node) {
+        sketch.increment(node.hash);
+        node.queue = WINDOW;
+        window.addFirst(node);
+        windowCount++;
+        linkedCount++;
+        currentSize += node.weight;
+    }
+
+    /**
+     * Must be called with the evictionLock held.
+     */
+    private void unlink(Node node) {
+        switch (node.queue) {
+            case WINDOW:
+                window.remove(node);
+                windowCount--;
+                break;
+            case PROBATION:
+                probation.remove(node);
+                break;
+            case PROTECTED:
+                protectedSegment.remove(node);
+                protectedCount--;
+                break;
+            default:
+                // NEW nodes are not linked, the put will not link them any more
+                node.queue = DEAD;
+                return;
+        }
+        node.queue = DEAD;
+        linkedCount--;
+        currentSize -= node.weight;
+    }
+
+    /**
+     * Moves the overflow of the window to the main space and evicts entries until the cache
+     * fits its bounds. Must be called with the evictionLock held.
+     */
+    private void evict(List<Node> evicted) {
+        while (windowCount > windowMaximum) {
+            Node candidate = window.last();
+            window.remove(candidate);
+            windowCount--;
+            candidate.queue = PROBATION;
+            probation.addFirst(candidate);
+            if (linkedCount > maxEntries || currentSize > maxSize) {
+                admit(candidate, evicted);
+            }
+        }
+        while (linkedCount > maxEntries || currentSize > maxSize) {
+            Node victim = probation.last();
+            if (victim == null) {
+                victim = protectedSegment.last();
+            }
+            if (victim == null) {
+                victim = window.last();
+            }
+            if (victim == null) {
+                break;
+            }
+            evictNode(victim, evicted);
+        }
+    }
+
+    /**
+     * The candidate or the least recently used entry of the main space is evicted, the one
+     * used less frequently loses.
+     */
+    private void admit(Node candidate, List<Node> evicted) {
+        Node victim = probation.last();
+        if (victim == candidate) {
+            victim = protectedSegment.last();
+        }
+        if (victim == null) {
+            return;
+        }
+        if (sketch.frequency(candidate.hash) > sketch.frequency(victim.hash)) {
+            evictNode(victim, evicted);
+        } else {
+            evictNode(candidate, evicted);
+            rejections.increment();
+        }
+    }
+
+    private void evictNode(Node node, List<Node> evicted) {
+        data.remove(node.key, node);
+        unlink(node);
+        evictions.increment();
+        evicted.add(node);
+    }
+
+    private static int spread(int hashCode) {
+        int h = hashCode * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static Integer toInteger(LongAdder counter) {
+        return Integer.valueOf((int) Math.min(Integer.MAX_VALUE, counter.sum()));
+    }
+
+    /**
+     * get the desired statistic counter
+     * @param key to corresponding stat
+     * @return an Object corresponding to the stat
+     * See also: Constant.java for the key
+     */
+    @Override
+    public Object getStatByName(String key) {
+        if (key == null) {
+            return null;
+        }
+        switch (key) {
+            case Constants.STAT_BASECACHE_ENTRY_COUNT:
+                return Integer.valueOf(getEntryCount());
+            case Constants.STAT_BASECACHE_HIT_COUNT:
+                return toInteger(hits);
+            case Constants.STAT_BASECACHE_MISS_COUNT:
+                return toInteger(misses);
+            case Constants.STAT_BASECACHE_REMOVAL_COUNT:
+                return toInteger(removals);
+            case Constants.STAT_BASECACHE_REFRESH_COUNT:
+                return toInteger(refreshes);
+            case Constants.STAT_BASECACHE_ADD_COUNT:
+                return toInteger(adds);
+            case Constants.STAT_TINYLFUCACHE_EVICTION_COUNT:
+                return Long.valueOf(evictions.sum());
+            case Constants.STAT_TINYLFUCACHE_REJECTION_COUNT:
+                return Long.valueOf(rejections.sum());
+            case Constants.STAT_TINYLFUCACHE_CURRENT_SIZE:
+                return Long.valueOf(currentSize);
+            case Constants.STAT_TINYLFUCACHE_MAX_SIZE:
+                return maxSize == Constants.DEFAULT_MAX_CACHE_SIZE ? Constants.STAT_DEFAULT : Long.valueOf(maxSize);
+            default:
+                return super.getStatByName(key);
+        }
+    }
+
+    @Override
+    public Map getStats() {
+        Map stats = super.getStats();
+        String[] keys = {Constants.STAT_BASECACHE_ENTRY_COUNT, Constants.STAT_BASECACHE_HIT_COUNT,
+            Constants.STAT_BASECACHE_MISS_COUNT, Constants.STAT_BASECACHE_REMOVAL_COUNT,
+            Constants.STAT_BASECACHE_REFRESH_COUNT, Constants.STAT_BASECACHE_ADD_COUNT,
+            Constants.STAT_TINYLFUCACHE_EVICTION_COUNT, Constants.STAT_TINYLFUCACHE_REJECTION_COUNT,
+            Constants.STAT_TINYLFUCACHE_CURRENT_SIZE, Constants.STAT_TINYLFUCACHE_MAX_SIZE};
+        for (String key : keys) {
+            stats.put(key, getStatByName(key));
+        }
+        return stats;
+    }
+
+    @Override
+    public void clearStats() {
+        super.clearStats();
+        hits.reset();
+        misses.reset();
+        adds.reset();
+        refreshes.reset();
+        removals.reset();
+        evictions.reset();
+        rejections.reset();
+    }
+
+    /** cache entry, also a node of one of the access order lists */
+    private static final class Node {
+        final Object key;
+        final int hash;
+        volatile Object value;
+        volatile int weight;
+        volatile long lastAccessed;
+
+        // guarded by the evictionLock
+        int queue = NEW;
+        Node prev;
+        Node next;
+
+        Node(Object key, int hash, Object value, int weight) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    /** doubly linked list, the most recently used node first */
+    private static final class AccessOrderList {
+        private Node head;
+        private Node tail;
+
+        void addFirst(Node node) {
+            node.prev = null;
+            node.next = head;
+            if (head == null) {
+                tail = node;
+            } else {
+                head.prev = node;
+            }
+            head = node;
+        }
+
+        void remove(Node node) {
+            if (node.prev == null) {
+                head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+        }
+
+        void moveToFront(Node node) {
+            if (node != head) {
+                remove(node);
+                addFirst(node);
+            }
+        }
+
+        Node last() {
+            return tail;
+        }
+    }
+
+    /** lossy buffer of reads, one consumer holding the evictionLock */
+    private static final class ReadBuffer {
+        private final AtomicReferenceArray<Node> slots = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+        private final AtomicLong writeCount = new AtomicLong();
+        private volatile long readCount;
+
+        /**
+         * @return false if the buffer is full and should be drained
+         */
+        boolean offer(Node node) {
+            long tail = writeCount.get();
+            if (tail - readCount >= READ_BUFFER_SIZE) {
+                return false;
+            }
+            // on contention the read is not recorded
+            if (writeCount.compareAndSet(tail, tail + 1)) {
+                slots.lazySet((int) tail & (READ_BUFFER_SIZE - 1), node);
+            }
+            return true;
+        }
+
+        void drain(TinyLfuCache cache) {
+            long head = readCount;
+            long tail = writeCount.get();
+            for (; head < tail; head++) {
+                int index = (int) head & (READ_BUFFER_SIZE - 1);
+                Node node = slots.get(index);
+                if (node == null) {
+                    // claimed but not published yet
+                    break;
+                }
+                slots.lazySet(index, null);
+                cache.onAccess(node);
+            }
+            readCount = head;
+        }
+    }
+
+    /** count-min sketch with 4 bit counters, all counters are halved periodically */
+    private static final class FrequencySketch {
+        private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL,
+            0xcbf29ce484222325L};
+        private static final long RESET_MASK = 0x7777777777777777L;
+
+        private final long[] table;
+        private final int sampleSize;
+        private int size;
+
+        FrequencySketch(int maxEntries) {
+            int length = 16;
+            while (length < maxEntries && length < (1 << 24)) {
+                length <<= 1;
+            }
+            table = new long[length];
+            sampleSize = 10 * Math.max(maxEntries, 16);
+        }
+
+        int frequency(int hash) {
+            int start = (hash & 3) << 2;
+            int frequency = Integer.MAX_VALUE;
+            for (int i = 0; i < 4; i++) {
+                int index = indexOf(hash, i);
+                int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xF);
+                frequency = Math.min(frequency, count);
+            }
+            return frequency;
+        }
+
+        void increment(int hash) {
+            int start = (hash & 3) << 2;
+            boolean added = false;
+            for (int i = 0; i < 4; i++) {
+                added |= incrementAt(indexOf(hash, i), start + i);
+            }
+            if (added && ++size >= sampleSize) {
+                reset();
+            }
+        }
+
+        private boolean incrementAt(int index, int counter) {
+            int offset = counter << 2;
+            long mask = 0xFL << offset;
+            if ((table[index] & mask) != mask) {
+                table[index] += 1L << offset;
+                return true;
+            }
+            return false;
+        }
+
+        private int indexOf(int hash, int i) {
+            long h = (hash + SEEDS[i]) * SEEDS[i];
+            h += h >>> 32;
+            return (int) h & (table.length - 1);
+        }
+
+        private void reset() {
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (table[i] >>> 1) & RESET_MASK;
+            }
+            size /= 2;
+        }
+    }
+}
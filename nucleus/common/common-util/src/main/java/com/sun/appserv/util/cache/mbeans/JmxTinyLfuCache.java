@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.appserv.util.cache.mbeans;
+
+import com.sun.appserv.util.cache.Constants;
+import com.sun.appserv.util.cache.TinyLfuCache;
+
+/**
+ * This class provides implementation for JmxTinyLfuCache MBean
+ */
+public class JmxTinyLfuCache extends JmxBaseCache implements JmxTinyLfuCacheMBean {
+
+    private TinyLfuCache tinyLfuCache;
+
+    public JmxTinyLfuCache(TinyLfuCache tinyLfuCache, String name) {
+        super(tinyLfuCache, name);
+        this.tinyLfuCache = tinyLfuCache;
+    }
+
+    /**
+     * Returns the number of entries evicted by the size bounds or expired
+     */
+    public Long getEvictionCount() {
+        return (Long) tinyLfuCache.getStatByName(
+                                        Constants.STAT_TINYLFUCACHE_EVICTION_COUNT);
+    }
+
+    /**
+     * Returns the number of new entries not admitted to the cache
+     */
+    public Long getRejectionCount() {
+        return (Long) tinyLfuCache.getStatByName(
+                                        Constants.STAT_TINYLFUCACHE_REJECTION_COUNT);
+    }
+
+    /**
+     * Returns the current size of the cache in bytes
+     */
+    public Long getCurrentSize() {
+        return (Long) tinyLfuCache.getStatByName(
+                                        Constants.STAT_TINYLFUCACHE_CURRENT_SIZE);
+    }
+
+    /**
+     * Returns the upper bound on the cache size
+     */
+    public Long getMaxSize() {
+        Object object = tinyLfuCache.getStatByName(
+                                        Constants.STAT_TINYLFUCACHE_MAX_SIZE);
+        // "default" if the maxSize == Constants.DEFAULT_MAX_CACHE_SIZE
+        if (Constants.STAT_DEFAULT.equals(object)) {
+            return Long.valueOf(Constants.DEFAULT_MAX_CACHE_SIZE);
+        }
+        return (Long) object;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Access to the virtual threads of the JVM without compiling against them.
+ * <p>
+ * The server is built for a JVM without virtual threads, so they are looked up reflectively.
+ * The callers fall back to platform threads if {@link #isSupported()} returns false.
+ */
+public final class VirtualThreads {
+
+    private static final Logger LOG = CULoggerInfo.getLogger();
+
+    private static final Method OF_VIRTUAL;
+    private static final Method NAME;
+    private static final Method FACTORY;
+    private static final boolean SUPPORTED;
+
+    static {
+        Method ofVirtual = null;
+        Method name = null;
+        Method factory = null;
+        try {
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            name = builder.getMethod("name", String.class, long.class);
+            factory = builder.getMethod("factory");
+        } catch (ReflectiveOperationException e) {
+            LOG.log(Level.FINEST, "Virtual threads are not available.", e);
+        }
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        FACTORY = factory;
+        SUPPORTED = ofVirtual != null && newFactory("") != null;
+    }
+
+    private VirtualThreads() {
+        // utility class
+    }
+
+
+    /**
+     * @return true if the JVM supports virtual threads
+     */
+    public static boolean isSupported() {
+        return SUPPORTED;
+    }
+
+
+    /**
+     * @param namePrefix prefix of the thread names, followed by a counter
+     * @return factory of unstarted virtual threads
+     * @throws UnsupportedOperationException if the JVM does not support virtual threads
+     */
+    public static ThreadFactory newThreadFactory(String namePrefix) {
+        ThreadFactory factory = SUPPORTED ? newFactory(namePrefix) : null;
+        if (factory == null) {
+            throw new UnsupportedOperationException("Virtual threads are not supported by this JVM.");
+        }
+        return factory;
+    }
+
+
+    private static ThreadFactory newFactory(String namePrefix) {
+        try {
+            Object builder = NAME.invoke(OF_VIRTUAL.invoke(null), namePrefix, 0L);
+            return (ThreadFactory) FACTORY.invoke(builder);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            // Virtual threads of JDK 19 and 20 are a preview feature
+            LOG.log(Level.FINEST, "Virtual threads are not enabled.", e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.appserv.util.cache;
+
+import com.sun.appserv.util.cache.mbeans.JmxTinyLfuCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TinyLfuCacheTest {
+
+    @Test
+    public void frequentEntriesSurviveScan() throws Exception {
+        TinyLfuCache cache = createCache(100, new Properties());
+        for (int i = 0; i < 50; i++) {
+            cache.put("hot" + i, i);
+        }
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < 50; i++) {
+                cache.get("hot" + i);
+            }
+        }
+        for (int i = 0; i < 10_000; i++) {
+            cache.put("scan" + i, i);
+        }
+
+        int hot = 0;
+        for (int i = 0; i < 50; i++) {
+            if (cache.get("hot" + i) != null) {
+                hot++;
+            }
+        }
+        assertTrue(hot >= 45, "Hot entries in the cache: " + hot);
+        assertTrue(cache.getEntryCount() <= 100, "Entry count: " + cache.getEntryCount());
+    }
+
+
+    @Test
+    public void sizeBound() throws Exception {
+        Properties props = new Properties();
+        props.setProperty("MaxSize", "1KB");
+        TinyLfuCache cache = createCache(1000, props);
+        for (int i = 0; i < 100; i++) {
+            cache.put(i, "value" + i, 100);
+        }
+        assertAll(
+            () -> assertTrue(cache.getCurrentSize() <= 1024, "Current size: " + cache.getCurrentSize()),
+            () -> assertTrue(cache.getEntryCount() <= 10, "Entry count: " + cache.getEntryCount()),
+            () -> assertEquals(Long.valueOf(1024), new JmxTinyLfuCache(cache, "test").getMaxSize())
+        );
+    }
+
+
+    @Test
+    public void invalidMaxSize() {
+        Properties props = new Properties();
+        props.setProperty("MaxSize", "-1MB");
+        assertThrows(IllegalArgumentException.class, () -> createCache(10, props));
+    }
+
+
+    @Test
+    public void idleExpiry() throws Exception {
+        Properties props = new Properties();
+        props.setProperty("IdleTimeoutInSeconds", "1");
+        TinyLfuCache cache = createCache(10, props);
+        cache.put("expiring", "value");
+        cache.put("trimmed", "value");
+        assertEquals("value", cache.get("expiring"));
+        Thread.sleep(1100L);
+        assertNull(cache.get("expiring"));
+        cache.trimExpiredEntries(Integer.MAX_VALUE);
+        assertEquals(0, cache.getEntryCount());
+    }
+
+
+    @Test
+    public void statsAndListener() throws Exception {
+        TinyLfuCache cache = createCache(10, new Properties());
+        AtomicInteger trimmed = new AtomicInteger();
+        cache.addCacheListener((key, value) -> trimmed.incrementAndGet());
+        for (int i = 0; i < 20; i++) {
+            cache.put(i, i);
+        }
+        cache.put(19, "refreshed");
+        cache.get(19);
+        cache.get("missing");
+        cache.remove(19);
+
+        JmxTinyLfuCache mbean = new JmxTinyLfuCache(cache, "test");
+        assertAll(
+            () -> assertEquals(Integer.valueOf(1), mbean.getHitCount()),
+            () -> assertEquals(Integer.valueOf(1), mbean.getMissCount()),
+            () -> assertEquals(Integer.valueOf(20), mbean.getAddCount()),
+            () -> assertEquals(Integer.valueOf(1), mbean.getRefreshCount()),
+            () -> assertEquals(Integer.valueOf(1), mbean.getRemovalCount()),
+            () -> assertEquals(Long.valueOf(10), mbean.getEvictionCount()),
+            () -> assertEquals(10, trimmed.get()),
+            () -> assertEquals(Integer.valueOf(9), mbean.getEntryCount())
+        );
+
+        cache.clearStats();
+        assertEquals(Long.valueOf(0), mbean.getEvictionCount());
+    }
+
+
+    @Test
+    public void concurrentAccess() throws Exception {
+        TinyLfuCache cache = createCache(1000, new Properties());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 100_000; i++) {
+                        Integer key = random.nextInt(5000);
+                        if (cache.get(key) == null) {
+                            cache.put(key, key);
+                        } else if (i % 100 == 0) {
+                            cache.remove(key);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue(cache.getEntryCount() <= 1000, "Entry count: " + cache.getEntryCount());
+        cache.clear();
+        assertAll(
+            () -> assertEquals(0, cache.getEntryCount()),
+            () -> assertEquals(0L, cache.getCurrentSize())
+        );
+    }
+
+
+    private static TinyLfuCache createCache(int maxEntries, Properties props) throws Exception {
+        TinyLfuCache cache = new TinyLfuCache();
+        cache.init(maxEntries, props);
+        return cache;
+    }
+}
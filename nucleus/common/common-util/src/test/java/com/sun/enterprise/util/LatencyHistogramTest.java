@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void emptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertAll(
+            () -> assertEquals(0, histogram.getCount()),
+            () -> assertEquals(0, histogram.getPercentile(50)),
+            () -> assertEquals(0, histogram.getMax())
+        );
+    }
+
+
+    @Test
+    public void smallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 10; i++) {
+            histogram.record(i);
+        }
+        histogram.record(-5);
+        assertAll(
+            () -> assertEquals(11, histogram.getCount()),
+            () -> assertEquals(55, histogram.getTotal()),
+            () -> assertEquals(10, histogram.getMax()),
+            () -> assertEquals(5, histogram.getPercentile(50)),
+            () -> assertEquals(10, histogram.getPercentile(99)),
+            () -> assertEquals(0, histogram.getPercentile(0))
+        );
+    }
+
+
+    @Test
+    public void percentileErrorIsBounded() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 1_000_000; value++) {
+            histogram.record(value);
+        }
+        for (double percentile : new double[] {50, 90, 99, 99.9}) {
+            long exact = (long) Math.ceil(1_000_000 * percentile / 100);
+            long estimate = histogram.getPercentile(percentile);
+            assertTrue(estimate >= exact && estimate <= exact * 1.125,
+                "p" + percentile + " estimated as " + estimate + ", exact " + exact);
+        }
+        assertEquals(1_000_000, histogram.getPercentile(100));
+    }
+
+
+    @Test
+    public void reset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1_000);
+        histogram.reset();
+        histogram.record(3);
+        assertAll(
+            () -> assertEquals(1, histogram.getCount()),
+            () -> assertEquals(3, histogram.getTotal()),
+            () -> assertEquals(3, histogram.getMax()),
+            () -> assertEquals(3, histogram.getPercentile(99))
+        );
+    }
+}
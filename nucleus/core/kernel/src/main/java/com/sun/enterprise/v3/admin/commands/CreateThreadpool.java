@@ -75,6 +75,12 @@ public class CreateThreadpool implements AdminCommand, AdminCommandSecurity.Prea
     @Param(name="maxqueuesize", optional=true, alias="maxQueueSize", defaultValue = "4096")
     String maxQueueSize;
 
+    @Param(name="virtualthreads", optional=true, alias="virtualThreadsEnabled", defaultValue = "false")
+    Boolean virtualThreads;
+
+    @Param(name="maxvirtualthreads", optional=true, alias="maxVirtualThreads", defaultValue = "10000")
+    String maxVirtualThreads;
+
     @Param(name = "target", optional = true, defaultValue = SystemPropertyConstants.DEFAULT_SERVER_INSTANCE_NAME)
     String target;
 
@@ -133,6 +139,8 @@ public class CreateThreadpool implements AdminCommand, AdminCommandSecurity.Prea
                     newPool.setMinThreadPoolSize(minthreadpoolsize);
                     newPool.setMaxQueueSize(maxQueueSize);
                     newPool.setIdleThreadTimeoutSeconds(idletimeout);
+                    newPool.setVirtualThreadsEnabled(virtualThreads.toString());
+                    newPool.setMaxVirtualThreads(maxVirtualThreads);
                     param.getThreadPool().add(newPool);
                     return newPool;
                 }
@@ -31,8 +31,10 @@ import com.sun.enterprise.v3.services.impl.monitor.FileCacheMonitor;
 import com.sun.enterprise.v3.services.impl.monitor.GrizzlyMonitoring;
 import com.sun.enterprise.v3.services.impl.monitor.KeepAliveMonitor;
 import com.sun.enterprise.v3.services.impl.monitor.ThreadPoolMonitor;
+import com.sun.enterprise.v3.services.impl.monitor.VirtualThreadPoolMonitor;
 import org.glassfish.grizzly.Buffer;
 import org.glassfish.grizzly.config.GenericGrizzlyListener;
+import org.glassfish.grizzly.config.VirtualThreadExecutorService;
 import org.glassfish.grizzly.config.dom.Http;
 import org.glassfish.grizzly.config.dom.NetworkListener;
 import org.glassfish.grizzly.config.dom.Protocol;
@@ -233,6 +235,17 @@ public class GlassfishNetworkListener extends GenericGrizzlyListener {
         return config;
     }
 
+    @Override
+    protected VirtualThreadExecutorService configureVirtualThreadExecutor(final NetworkListener networkListener,
+                                                                          final ThreadPool threadPool) {
+
+        final VirtualThreadExecutorService executor = super.configureVirtualThreadExecutor(
+                networkListener, threadPool);
+        executor.setProbe(new VirtualThreadPoolMonitor(
+                grizzlyService.getMonitoring(), name, executor));
+        return executor;
+    }
+
     @Override
     protected org.glassfish.grizzly.http.HttpServerFilter createHttpServerCodecFilter(
             final Http http,
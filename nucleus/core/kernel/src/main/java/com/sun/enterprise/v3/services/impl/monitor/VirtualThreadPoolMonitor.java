@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.v3.services.impl.monitor;
+
+import com.sun.enterprise.v3.services.impl.monitor.stats.ThreadPoolStatsProvider;
+import org.glassfish.grizzly.config.VirtualThreadExecutorService;
+
+/**
+ * Forwards the events of a {@link VirtualThreadExecutorService} to the thread pool probes.
+ * The started and ended virtual threads are reported by their own probes, the tasks
+ * are reported like the tasks of a platform thread pool.
+ */
+public class VirtualThreadPoolMonitor implements VirtualThreadExecutorService.Probe {
+    private final GrizzlyMonitoring grizzlyMonitoring;
+    private final String monitoringId;
+
+    public VirtualThreadPoolMonitor(GrizzlyMonitoring grizzlyMonitoring,
+            String monitoringId, VirtualThreadExecutorService executor) {
+        this.grizzlyMonitoring = grizzlyMonitoring;
+        this.monitoringId = monitoringId;
+
+        if (grizzlyMonitoring != null) {
+            final ThreadPoolStatsProvider threadPoolStatsProvider =
+                    grizzlyMonitoring.getThreadPoolStatsProvider(monitoringId);
+            if (threadPoolStatsProvider != null) {
+                threadPoolStatsProvider.setStatsObject(executor);
+                threadPoolStatsProvider.reset();
+            }
+        }
+    }
+
+    @Override
+    public void onThreadAllocateEvent(VirtualThreadExecutorService executor, Thread thread) {
+        grizzlyMonitoring.getThreadPoolProbeProvider().virtualThreadStartedEvent(
+                monitoringId, executor.getName(), thread.getId());
+    }
+
+    @Override
+    public void onThreadReleaseEvent(VirtualThreadExecutorService executor, Thread thread) {
+        grizzlyMonitoring.getThreadPoolProbeProvider().virtualThreadEndedEvent(
+                monitoringId, executor.getName(), thread.getId());
+    }
+
+    @Override
+    public void onTaskStartEvent(VirtualThreadExecutorService executor, Runnable task) {
+        grizzlyMonitoring.getThreadPoolProbeProvider().threadDispatchedFromPoolEvent(
+                monitoringId, executor.getName(), Thread.currentThread().getId());
+    }
+
+    @Override
+    public void onTaskCompleteEvent(VirtualThreadExecutorService executor, Runnable task) {
+        grizzlyMonitoring.getThreadPoolProbeProvider().threadReturnedToPoolEvent(
+                monitoringId, executor.getName(), Thread.currentThread().getId());
+    }
+}
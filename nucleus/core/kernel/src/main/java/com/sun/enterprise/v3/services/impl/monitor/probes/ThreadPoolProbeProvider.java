@@ -76,4 +76,22 @@ public class ThreadPoolProbeProvider {
         @ProbeParam("monitoringId") String monitoringId,
         @ProbeParam("threadPoolName") String threadPoolName,
         @ProbeParam("threadId") long threadId) {}
+
+
+    /**
+     * Emits notification that a virtual thread was started to run the tasks
+     * of the thread pool.
+     */
+    @Probe(name="virtualThreadStartedEvent")
+    public void virtualThreadStartedEvent(
+        @ProbeParam("monitoringId") String monitoringId,
+        @ProbeParam("threadPoolName") String threadPoolName,
+        @ProbeParam("threadId") long threadId) {}
+
+
+    @Probe(name="virtualThreadEndedEvent")
+    public void virtualThreadEndedEvent(
+        @ProbeParam("monitoringId") String monitoringId,
+        @ProbeParam("threadPoolName") String threadPoolName,
+        @ProbeParam("threadId") long threadId) {}
 }
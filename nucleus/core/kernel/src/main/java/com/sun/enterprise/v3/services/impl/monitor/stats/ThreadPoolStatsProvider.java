@@ -25,6 +25,7 @@ import org.glassfish.gmbal.AMXMetadata;
 import org.glassfish.gmbal.Description;
 import org.glassfish.gmbal.ManagedAttribute;
 import org.glassfish.gmbal.ManagedObject;
+import org.glassfish.grizzly.config.VirtualThreadExecutorService;
 import org.glassfish.grizzly.threadpool.ThreadPoolConfig;
 
 /**
@@ -45,7 +46,11 @@ public class ThreadPoolStatsProvider implements StatsProvider {
     protected final CountStatisticImpl currentThreadCount = new CountStatisticImpl("CurrentThreadCount", "count", "Provides the number of request processing threads currently in the listener thread pool");
     protected final CountStatisticImpl currentThreadsBusy = new CountStatisticImpl("CurrentThreadsBusy", "count", "Provides the number of request processing threads currently in use in the listener thread pool serving requests");
 
+    protected final CountStatisticImpl currentVirtualThreadCount = new CountStatisticImpl("CurrentVirtualThreadCount", "count", "Provides the number of virtual threads currently processing requests of the listener");
+    protected final CountStatisticImpl totalVirtualThreadCount = new CountStatisticImpl("TotalVirtualThreadCount", "count", "Provides the total number of virtual threads, which were started to process requests of the listener");
+
     protected volatile ThreadPoolConfig threadPoolConfig;
+    protected volatile VirtualThreadExecutorService virtualThreadExecutor;
 
     public ThreadPoolStatsProvider(String name) {
         this.name = name;
@@ -53,7 +58,7 @@ public class ThreadPoolStatsProvider implements StatsProvider {
 
     @Override
     public Object getStatsObject() {
-        return threadPoolConfig;
+        return virtualThreadExecutor == null ? threadPoolConfig : virtualThreadExecutor;
     }
 
     @Override
@@ -63,6 +68,11 @@ public class ThreadPoolStatsProvider implements StatsProvider {
         } else {
             threadPoolConfig = null;
         }
+        if (object instanceof VirtualThreadExecutorService) {
+            virtualThreadExecutor = (VirtualThreadExecutorService) object;
+        } else {
+            virtualThreadExecutor = null;
+        }
     }
 
     @ManagedAttribute(id = "maxthreads")
@@ -95,6 +105,18 @@ public class ThreadPoolStatsProvider implements StatsProvider {
         return currentThreadsBusy;
     }
 
+    @ManagedAttribute(id = "currentvirtualthreadcount")
+    @Description("Provides the number of virtual threads currently processing requests of the listener")
+    public CountStatistic getCurrentVirtualThreadCount() {
+        return currentVirtualThreadCount;
+    }
+
+    @ManagedAttribute(id = "totalvirtualthreadcount")
+    @Description("Provides the total number of virtual threads, which were started to process requests of the listener")
+    public CountStatistic getTotalVirtualThreadCount() {
+        return totalVirtualThreadCount;
+    }
+
     @ProbeListener("glassfish:kernel:thread-pool:setMaxThreadsEvent")
     public void setMaxThreadsEvent(
             @ProbeParam("monitoringId") String monitoringId,
@@ -162,8 +184,39 @@ public class ThreadPoolStatsProvider implements StatsProvider {
         }
     }
 
+    @ProbeListener("glassfish:kernel:thread-pool:virtualThreadStartedEvent")
+    public void virtualThreadStartedEvent(
+            @ProbeParam("monitoringId") String monitoringId,
+            @ProbeParam("threadPoolName") String threadPoolName,
+            @ProbeParam("threadId") long threadId) {
+
+        if (name.equals(monitoringId)) {
+            currentVirtualThreadCount.increment();
+            totalVirtualThreadCount.increment();
+        }
+    }
+
+    @ProbeListener("glassfish:kernel:thread-pool:virtualThreadEndedEvent")
+    public void virtualThreadEndedEvent(
+            @ProbeParam("monitoringId") String monitoringId,
+            @ProbeParam("threadPoolName") String threadPoolName,
+            @ProbeParam("threadId") long threadId) {
+
+        if (name.equals(monitoringId)) {
+            currentVirtualThreadCount.decrement();
+        }
+    }
+
     @Reset
     public void reset() {
+        if (virtualThreadExecutor != null) {
+            // Virtual threads are not pooled, the limit applies to the running threads
+            maxThreadsCount.setCount(virtualThreadExecutor.getMaxConcurrency());
+            coreThreadsCount.setCount(0);
+            currentThreadCount.setCount(0);
+            currentThreadsBusy.setCount(virtualThreadExecutor.getActiveCount());
+            currentVirtualThreadCount.setCount(virtualThreadExecutor.getActiveCount());
+        }
         if (threadPoolConfig != null) {
             maxThreadsCount.setCount(threadPoolConfig.getMaxPoolSize());
             coreThreadsCount.setCount(threadPoolConfig.getCorePoolSize());
@@ -172,5 +225,6 @@ public class ThreadPoolStatsProvider implements StatsProvider {
         }
 
         totalExecutedTasksCount.setCount(0);
+        totalVirtualThreadCount.setCount(0);
     }
 }
@@ -91,4 +91,23 @@ public class ThreadPoolStatsProviderGlobal extends ThreadPoolStatsProvider {
         currentThreadsBusy.decrement();
     }
 
+    @ProbeListener("glassfish:kernel:thread-pool:virtualThreadStartedEvent")
+    public void virtualThreadStartedEvent(
+            @ProbeParam("monitoringId") String monitoringId,
+            @ProbeParam("threadPoolName") String threadPoolName,
+            @ProbeParam("threadId") long threadId) {
+
+        currentVirtualThreadCount.increment();
+        totalVirtualThreadCount.increment();
+    }
+
+    @ProbeListener("glassfish:kernel:thread-pool:virtualThreadEndedEvent")
+    public void virtualThreadEndedEvent(
+            @ProbeParam("monitoringId") String monitoringId,
+            @ProbeParam("threadPoolName") String threadPoolName,
+            @ProbeParam("threadId") long threadId) {
+
+        currentVirtualThreadCount.decrement();
+    }
+
 }
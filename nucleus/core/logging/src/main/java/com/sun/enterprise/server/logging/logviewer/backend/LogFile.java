@@ -25,11 +25,17 @@ import com.sun.enterprise.server.logging.parser.ParsedLogRecord;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Serializable;
+import java.io.StringReader;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import java.util.function.Predicate;
 import java.util.logging.Level;
 
 import static com.sun.enterprise.server.logging.LogFacade.LOGGING_LOGGER;
@@ -47,6 +53,10 @@ import static com.sun.enterprise.server.logging.LogFacade.LOGGING_LOGGER;
  * This class also contains an inner class for storing LogEntry
  * objects.
  * </P>
+ * <P>
+ * When possible, records are located using the persistent {@link LogFileIndex},
+ * otherwise the file is parsed from the nearest in-memory index.
+ * </P>
  *
  * @author Hemanth Puttaswamy
  * @author Ken Paulsen
@@ -58,6 +68,8 @@ public class LogFile implements java.io.Serializable {
     private final long _indexSize = 10;
     private final String _logFileName;
     private final List<Long> _recordIdx = new ArrayList<>();
+    private transient LogFileIndex _index;
+    private transient boolean _indexUnavailable;
 
     /**
      * Constructor
@@ -88,6 +100,25 @@ public class LogFile implements java.io.Serializable {
         if (startingRecord < 0) {
             return null;
         }
+        final LogFileIndex index = getIndex();
+        if (index != null) {
+            synchronized (index) {
+                final long end = Math.min(index.getRecordCount(), startingRecord + maxRecords);
+                final List<LogEntry> results = new ArrayList<>();
+                try (FileChannel channel = FileChannel.open(new File(getLogFileName()).toPath(),
+                    StandardOpenOption.READ)) {
+                    for (long record = startingRecord; record < end; record++) {
+                        final LogEntry entry = readLogEntry(index, channel, record);
+                        if (entry != null) {
+                            results.add(entry);
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+                return results;
+            }
+        }
 
         // Open the file at the desired starting Record
         final long recordsToIgnore = (startingRecord % getIndexSize());
@@ -111,15 +142,7 @@ public class LogFile implements java.io.Serializable {
                         return;
                     }
                     if (results.size() < maxRecords) {
-                        LogEntry entry = new LogEntry(startingRecord + results.size());
-                        entry.setLoggedDateTime(logRecord.getTimestamp());
-                        entry.setLoggedLevel(logRecord.getLevel());
-                        entry.setLoggedLoggerName(logRecord.getLogger());
-                        entry.setLoggedMessage(logRecord.getMessage());
-                        entry.setLoggedNameValuePairs(logRecord.getSupplementalAttributes().toString());
-                        entry.setLoggedProduct(logRecord.getProductId());
-                        entry.setMessageId(logRecord.getMessageKey());
-                        results.add(entry);
+                        results.add(toLogEntry(startingRecord + results.size(), logRecord));
                     }
                 }
             });
@@ -130,6 +153,109 @@ public class LogFile implements java.io.Serializable {
     }
 
 
+    /**
+     * Searches records using the persistent index, so only records which may match
+     * the filter are read and parsed.
+     *
+     * @param fromRecord the first record number to check. If it is out of the range,
+     *            the search starts with the first or last record.
+     * @param forward true to search to higher record numbers
+     * @param maxCount maximal count of returned records
+     * @param filter conditions checked on the index entry, must not refuse a record accepted
+     *            by the check
+     * @param check final check of the parsed record
+     * @return found records in the order of the search or null if the index is not available.
+     */
+    List<LogEntry> findLogEntries(final long fromRecord, final boolean forward, final long maxCount,
+        final LogFileIndex.EntryFilter filter, final Predicate<LogEntry> check) {
+        final LogFileIndex index = getIndex();
+        if (index == null) {
+            return null;
+        }
+        synchronized (index) {
+            final List<LogEntry> results = new ArrayList<>();
+            final long count = index.getRecordCount();
+            final BitSet loggerIds = index.getLoggerIds(filter);
+            long record = forward ? Math.max(0, fromRecord) : Math.min(count - 1, fromRecord);
+            try (FileChannel channel = FileChannel.open(new File(getLogFileName()).toPath(),
+                StandardOpenOption.READ)) {
+                while (record >= 0 && record < count && results.size() < maxCount) {
+                    if (index.accept(record, filter, loggerIds)) {
+                        final LogEntry entry = readLogEntry(index, channel, record);
+                        if (entry != null && check.test(entry)) {
+                            results.add(entry);
+                        }
+                    }
+                    record += forward ? 1 : -1;
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            return results;
+        }
+    }
+
+
+    /**
+     * @return the up to date index or null if it is not available.
+     */
+    private synchronized LogFileIndex getIndex() {
+        if (_indexUnavailable) {
+            return null;
+        }
+        try {
+            if (_index == null) {
+                _index = new LogFileIndex(new File(getLogFileName()));
+            }
+            synchronized (_index) {
+                _index.update();
+            }
+            return _index;
+        } catch (IOException | RuntimeException e) {
+            LOGGING_LOGGER.log(Level.FINE, "Index of the log file " + getLogFileName()
+                + " is not available, the file will be parsed without it.", e);
+            _indexUnavailable = true;
+            if (_index != null) {
+                try {
+                    _index.close();
+                } catch (IOException e2) {
+                    LOGGING_LOGGER.log(Level.FINEST, "Could not close the index.", e2);
+                }
+                _index = null;
+            }
+            return null;
+        }
+    }
+
+
+    private static LogEntry readLogEntry(final LogFileIndex index, final FileChannel channel, final long record)
+        throws IOException {
+        final String text = index.readRecord(channel, record);
+        final List<LogEntry> entries = new ArrayList<>(1);
+        try (BufferedReader reader = new BufferedReader(new StringReader(text))) {
+            index.getParser().parseLog(reader, (position, logRecord) -> {
+                if (entries.isEmpty()) {
+                    entries.add(toLogEntry(record, logRecord));
+                }
+            });
+        }
+        return entries.isEmpty() ? null : entries.get(0);
+    }
+
+
+    static LogEntry toLogEntry(final long recordNumber, final ParsedLogRecord logRecord) {
+        final LogEntry entry = new LogEntry(recordNumber);
+        entry.setLoggedDateTime(logRecord.getTimestamp());
+        entry.setLoggedLevel(logRecord.getLevel());
+        entry.setLoggedLoggerName(logRecord.getLogger());
+        entry.setLoggedMessage(logRecord.getMessage());
+        entry.setLoggedNameValuePairs(logRecord.getSupplementalAttributes().toString());
+        entry.setLoggedProduct(logRecord.getProductId());
+        entry.setMessageId(logRecord.getMessageKey());
+        return entry;
+    }
+
+
     /**
      * This method builds the file index in the beginning.  The index is for
      * the beginning of every record after the size specified by '_indexSize'
@@ -222,6 +348,13 @@ public class LogFile implements java.io.Serializable {
      * will ensure that the indexes are up-to-date.
      */
     public long getLastIndexNumber() {
+        final LogFileIndex index = getIndex();
+        if (index != null) {
+            synchronized (index) {
+                // Same as the in-memory index, which starts with the position of the first record
+                return Math.max(0L, (index.getRecordCount() + getIndexSize() - 1) / getIndexSize() - 1);
+            }
+        }
         buildLogFileIndex();
         return _recordIdx.size() - 1;
     }
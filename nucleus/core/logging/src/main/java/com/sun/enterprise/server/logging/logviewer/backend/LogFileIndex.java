@@ -0,0 +1,761 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.server.logging.logviewer.backend;
+
+import com.sun.enterprise.server.logging.parser.LogParser;
+import com.sun.enterprise.server.logging.parser.LogParserFactory;
+import com.sun.enterprise.server.logging.parser.ParsedLogRecord;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.zip.CRC32;
+
+import org.glassfish.main.jul.formatter.LogFormatDetector;
+
+import static com.sun.enterprise.server.logging.LogFacade.LOGGING_LOGGER;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Persistent index of records of a log file, stored in the {@value #INDEX_DIRECTORY}
+ * subdirectory of the log file's directory.
+ * <p>
+ * Every record has an entry of fixed size with the byte offset and length of the record
+ * in the log file, the timestamp, the level value and the id of the logger name.
+ * Logger names are stored in a separate text file, one per line, the line number is the id.
+ * Queries read entries from the memory mapped index file, so they parse only records
+ * which may match the query.
+ * <p>
+ * The index is extended incrementally, only records added since the last update are parsed.
+ * The last record of the log file is not persisted, because it may still grow.
+ * When the log file was rotated, the index is moved to the archived file with the same
+ * content and a new index is started for the new log file.
+ * <p>
+ * The instance is not thread safe, callers have to synchronize on it.
+ */
+final class LogFileIndex implements Closeable {
+
+    /** Subdirectory of the logs directory, the log file manager deletes files with the log's prefix */
+    static final String INDEX_DIRECTORY = ".logviewer";
+
+    /** Timestamp of records without a date */
+    static final long UNKNOWN_TIMESTAMP = Long.MIN_VALUE;
+    /** Level of records with a level name not known to this JVM */
+    static final int UNKNOWN_LEVEL = Integer.MIN_VALUE;
+
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final String LOGGERS_SUFFIX = ".loggers";
+
+    private static final int MAGIC = 0x474C4958;
+    private static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 64;
+    private static final int H_MAGIC = 0;
+    private static final int H_VERSION = 4;
+    private static final int H_FINGERPRINT_LENGTH = 8;
+    private static final int H_LOGGER_COUNT = 12;
+    private static final int H_FINGERPRINT = 16;
+    private static final int H_INDEXED_LENGTH = 24;
+    private static final int H_RECORD_COUNT = 32;
+
+    private static final int ENTRY_SIZE = 28;
+    private static final int E_OFFSET = 0;
+    private static final int E_TIMESTAMP = 8;
+    private static final int E_LEVEL = 16;
+    private static final int E_LOGGER = 20;
+    private static final int E_LENGTH = 24;
+
+    private static final int FINGERPRINT_MAX_LENGTH = 4096;
+    private static final int READ_BUFFER_SIZE = 1024 * 1024;
+    private static final int WRITE_BUFFER_SIZE = ENTRY_SIZE * 4096;
+
+    private final File logFile;
+    private final File indexFile;
+    private final File loggersFile;
+    private final Charset charset = Charset.defaultCharset();
+
+    private FileChannel indexChannel;
+    private MappedByteBuffer entries;
+    private LogParser parser;
+
+    private int fingerprintLength;
+    private long fingerprint;
+    private long indexedLength;
+    private long recordCount;
+    private final List<String> loggers = new ArrayList<>();
+    private final Map<String, Integer> loggerIds = new HashMap<>();
+
+    /** Length of the log file when it was scanned last time */
+    private long scannedLength;
+    /** The last record of the file, still may grow */
+    private ByteBuffer tail;
+    private long tailTimestamp;
+    private int tailLevel;
+    private int tailLogger;
+
+
+    /**
+     * Opens the existing index or creates a new one.
+     *
+     * @param logFile
+     * @throws IOException if the index directory or file could not be created.
+     */
+    LogFileIndex(final File logFile) throws IOException {
+        this.logFile = logFile;
+        this.indexFile = getIndexFile(logFile, INDEX_SUFFIX);
+        this.loggersFile = getIndexFile(logFile, LOGGERS_SUFFIX);
+        if (new LogFormatDetector().isCompressedFile(logFile.getName())) {
+            throw new IOException("Compressed log files are not indexed: " + logFile);
+        }
+        open();
+    }
+
+
+    /**
+     * @return count of records, including the last record which is not persisted yet.
+     */
+    long getRecordCount() {
+        return recordCount + (tail == null ? 0 : 1);
+    }
+
+
+    /**
+     * @return parser of the log file format, null if the log file is empty.
+     */
+    LogParser getParser() {
+        return parser;
+    }
+
+
+    /**
+     * Parses records added to the log file since the last update.
+     * If the log file was rotated, the index is moved to the archived file and rebuilt.
+     *
+     * @throws IOException
+     */
+    void update() throws IOException {
+        final long length = logFile.length();
+        if (!isIndexOf(logFile, length)) {
+            moveToArchive();
+        }
+        if (length == 0) {
+            tail = null;
+            scannedLength = 0;
+            return;
+        }
+        if (parser == null) {
+            parser = LogParserFactory.getInstance().createLogParser(logFile);
+        }
+        if (length != scannedLength) {
+            scan(length);
+            scannedLength = length;
+        }
+    }
+
+
+    /**
+     * @param filter
+     * @return all logger ids accepted by the filter or null if the filter does not filter loggers.
+     */
+    BitSet getLoggerIds(final EntryFilter filter) {
+        if (filter.loggerNames == null) {
+            return null;
+        }
+        final BitSet ids = new BitSet(loggers.size());
+        for (String name : filter.loggerNames) {
+            final Integer id = loggerIds.get(name);
+            if (id != null) {
+                ids.set(id);
+            }
+        }
+        return ids;
+    }
+
+
+    /**
+     * @param record record number
+     * @param filter
+     * @param acceptedLoggers result of the {@link #getLoggerIds(EntryFilter)}
+     * @return false if the record certainly does not match the filter
+     */
+    boolean accept(final long record, final EntryFilter filter, final BitSet acceptedLoggers) {
+        final long timestamp = getLong(record, E_TIMESTAMP);
+        if (timestamp != UNKNOWN_TIMESTAMP
+            && (timestamp < filter.fromTimestamp || timestamp > filter.toTimestamp)) {
+            return false;
+        }
+        final int level = getInt(record, E_LEVEL);
+        if (level != UNKNOWN_LEVEL && filter.level != UNKNOWN_LEVEL
+            && (filter.onlyLevel ? level != filter.level : level < filter.level)) {
+            return false;
+        }
+        return acceptedLoggers == null || acceptedLoggers.get(getInt(record, E_LOGGER));
+    }
+
+
+    /**
+     * Reads the record's bytes using positional reads, so no mapping of the log file prevents
+     * its rotation.
+     *
+     * @param log channel of the log file
+     * @param record record number
+     * @return text of the log record
+     * @throws IOException
+     */
+    String readRecord(final FileChannel log, final long record) throws IOException {
+        if (record == recordCount && tail != null) {
+            return new String(tail.array(), 0, tail.limit(), charset);
+        }
+        final long offset = getLong(record, E_OFFSET);
+        final ByteBuffer bytes = ByteBuffer.allocate(getInt(record, E_LENGTH));
+        while (bytes.hasRemaining()) {
+            if (log.read(bytes, offset + bytes.position()) < 0) {
+                break;
+            }
+        }
+        return new String(bytes.array(), 0, bytes.position(), charset);
+    }
+
+
+    @Override
+    public void close() throws IOException {
+        entries = null;
+        if (indexChannel != null) {
+            indexChannel.close();
+            indexChannel = null;
+        }
+    }
+
+
+    private long getLong(final long record, final int field) {
+        if (record == recordCount && tail != null) {
+            return field == E_TIMESTAMP ? tailTimestamp : UNKNOWN_TIMESTAMP;
+        }
+        return entries.getLong(toPosition(record) + field);
+    }
+
+
+    private int getInt(final long record, final int field) {
+        if (record == recordCount && tail != null) {
+            return field == E_LEVEL ? tailLevel : tailLogger;
+        }
+        return entries.getInt(toPosition(record) + field);
+    }
+
+
+    private int toPosition(final long record) {
+        if (record < 0 || record >= recordCount) {
+            throw new IndexOutOfBoundsException("Record " + record + " of " + getRecordCount());
+        }
+        return (int) (record * ENTRY_SIZE);
+    }
+
+
+    private boolean isIndexOf(final File file, final long length) throws IOException {
+        if (indexedLength == 0 && recordCount == 0) {
+            return true;
+        }
+        return length >= indexedLength && computeFingerprint(file, fingerprintLength) == fingerprint;
+    }
+
+
+    private void open() throws IOException {
+        final File directory = indexFile.getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Could not create the directory " + directory);
+        }
+        indexChannel = FileChannel.open(indexFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        try {
+            if (!load()) {
+                reset();
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGING_LOGGER.log(Level.FINE, "Could not load the index " + indexFile + ", it will be rebuilt.", e);
+            reset();
+        }
+    }
+
+
+    private boolean load() throws IOException {
+        if (indexChannel.size() < HEADER_SIZE) {
+            return false;
+        }
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        indexChannel.read(header, 0);
+        if (header.getInt(H_MAGIC) != MAGIC || header.getInt(H_VERSION) != VERSION) {
+            return false;
+        }
+        final long count = header.getLong(H_RECORD_COUNT);
+        final int loggerCount = header.getInt(H_LOGGER_COUNT);
+        if (count < 0 || indexChannel.size() < HEADER_SIZE + count * ENTRY_SIZE || !loggersFile.exists()) {
+            return false;
+        }
+        final List<String> names = Files.readAllLines(loggersFile.toPath(), UTF_8);
+        if (names.size() < loggerCount) {
+            return false;
+        }
+        fingerprintLength = header.getInt(H_FINGERPRINT_LENGTH);
+        fingerprint = header.getLong(H_FINGERPRINT);
+        indexedLength = header.getLong(H_INDEXED_LENGTH);
+        recordCount = count;
+        loggers.clear();
+        loggerIds.clear();
+        for (int i = 0; i < loggerCount; i++) {
+            registerLogger(names.get(i));
+        }
+        if (names.size() > loggerCount) {
+            // names written by an update which did not finish
+            Files.write(loggersFile.toPath(), loggers, UTF_8);
+        }
+        // entries written by an update which did not finish
+        indexChannel.truncate(HEADER_SIZE + count * ENTRY_SIZE);
+        mapEntries();
+        return true;
+    }
+
+
+    private void reset() throws IOException {
+        entries = null;
+        parser = null;
+        tail = null;
+        scannedLength = 0;
+        fingerprintLength = 0;
+        fingerprint = 0;
+        indexedLength = 0;
+        recordCount = 0;
+        loggers.clear();
+        loggerIds.clear();
+        indexChannel.truncate(0);
+        Files.write(loggersFile.toPath(), new byte[0]);
+        writeHeader();
+    }
+
+
+    /**
+     * The log file was rotated or replaced. If there is an archived file with the indexed
+     * content, moves the index to it. Then starts a new index.
+     */
+    private void moveToArchive() throws IOException {
+        final File archive = findArchive();
+        close();
+        if (archive != null) {
+            final File archiveIndex = getIndexFile(archive, INDEX_SUFFIX);
+            final File archiveLoggers = getIndexFile(archive, LOGGERS_SUFFIX);
+            if (!archiveIndex.exists() && indexFile.renameTo(archiveIndex)) {
+                if (loggersFile.renameTo(archiveLoggers)) {
+                    LOGGING_LOGGER.log(Level.FINE, "Index of the log file {0} moved to the archive {1}",
+                        new Object[] {logFile, archive});
+                } else {
+                    Files.deleteIfExists(archiveIndex.toPath());
+                }
+            }
+        }
+        deleteOrphanedIndexes();
+        indexChannel = FileChannel.open(indexFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        reset();
+    }
+
+
+    private File findArchive() throws IOException {
+        final File[] candidates = logFile.getParentFile().listFiles(f -> f.isFile()
+            && f.getName().startsWith(logFile.getName() + "_") && !f.getName().endsWith(".gz"));
+        if (candidates == null) {
+            return null;
+        }
+        for (File candidate : candidates) {
+            if (candidate.length() >= indexedLength && isIndexOf(candidate, candidate.length())) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+
+    private void deleteOrphanedIndexes() {
+        final File[] indexes = indexFile.getParentFile().listFiles(f -> f.getName().endsWith(INDEX_SUFFIX));
+        if (indexes == null) {
+            return;
+        }
+        for (File index : indexes) {
+            final String logName = index.getName().substring(0, index.getName().length() - INDEX_SUFFIX.length());
+            if (!new File(logFile.getParentFile(), logName).exists()) {
+                final File loggerNames = new File(index.getParentFile(), logName + LOGGERS_SUFFIX);
+                if (!index.delete() || loggerNames.exists() && !loggerNames.delete()) {
+                    LOGGING_LOGGER.log(Level.FINE, "Could not delete the orphaned index {0}", index);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Reads the log file from the indexed length, finds record starts and parses complete records.
+     */
+    private void scan(final long length) throws IOException {
+        final RecordCollector collector = new RecordCollector();
+        try (FileChannel log = FileChannel.open(logFile.toPath(), StandardOpenOption.READ);
+            Writer loggerWriter = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(loggersFile, true), UTF_8))) {
+            collector.loggerWriter = loggerWriter;
+            final ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+            long position = indexedLength;
+            while (position < length) {
+                buffer.clear();
+                if (length - position < buffer.capacity()) {
+                    buffer.limit((int) (length - position));
+                }
+                final int read = log.read(buffer, position);
+                if (read <= 0) {
+                    break;
+                }
+                collector.addBytes(buffer.array(), read, position);
+                position += read;
+            }
+            collector.finish();
+        }
+        if (fingerprintLength < FINGERPRINT_MAX_LENGTH) {
+            fingerprintLength = (int) Math.min(FINGERPRINT_MAX_LENGTH, length);
+            fingerprint = computeFingerprint(logFile, fingerprintLength);
+        }
+        writeHeader();
+        mapEntries();
+    }
+
+
+    private void writeHeader() throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(H_MAGIC, MAGIC);
+        header.putInt(H_VERSION, VERSION);
+        header.putInt(H_FINGERPRINT_LENGTH, fingerprintLength);
+        header.putInt(H_LOGGER_COUNT, loggers.size());
+        header.putLong(H_FINGERPRINT, fingerprint);
+        header.putLong(H_INDEXED_LENGTH, indexedLength);
+        header.putLong(H_RECORD_COUNT, recordCount);
+        indexChannel.write(header, 0);
+    }
+
+
+    private void mapEntries() throws IOException {
+        final long size = recordCount * ENTRY_SIZE;
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("The index is too large to be mapped: " + indexFile);
+        }
+        entries = size == 0 ? null : indexChannel.map(MapMode.READ_ONLY, HEADER_SIZE, size);
+    }
+
+
+    private int registerLogger(final String name) {
+        final Integer id = loggerIds.get(name);
+        if (id != null) {
+            return id;
+        }
+        loggers.add(name);
+        loggerIds.put(name, loggers.size() - 1);
+        return loggers.size() - 1;
+    }
+
+
+    private ParsedLogRecord parse(final String text) {
+        final List<ParsedLogRecord> records = new ArrayList<>(1);
+        try (BufferedReader reader = new BufferedReader(new StringReader(text))) {
+            parser.parseLog(reader, (position, record) -> {
+                if (records.isEmpty()) {
+                    records.add(record);
+                }
+            });
+        } catch (Exception e) {
+            LOGGING_LOGGER.log(Level.FINEST, "Could not parse the log record: " + text, e);
+            return null;
+        }
+        return records.isEmpty() ? null : records.get(0);
+    }
+
+
+    private static long toTimestamp(final ParsedLogRecord record) {
+        return record.getTimestamp() == null ? UNKNOWN_TIMESTAMP : record.getTimestamp().toInstant().toEpochMilli();
+    }
+
+
+    /**
+     * Same conversion as the {@link LogFilter#levelCheck(String, String, boolean)} does,
+     * so the index never refuses a record accepted by the check.
+     */
+    private static int toLevelValue(final String levelName) {
+        if (levelName == null) {
+            return UNKNOWN_LEVEL;
+        }
+        try {
+            return Level.parse(levelName).intValue();
+        } catch (IllegalArgumentException e) {
+            return UNKNOWN_LEVEL;
+        }
+    }
+
+
+    private static int toLevelValue(final ParsedLogRecord record) {
+        return toLevelValue(record.getLevel());
+    }
+
+
+    private static String toLoggerName(final ParsedLogRecord record) {
+        return record.getLogger() == null ? "" : record.getLogger().trim();
+    }
+
+
+    private static long computeFingerprint(final File file, final int length) throws IOException {
+        final CRC32 crc = new CRC32();
+        if (length == 0) {
+            return crc.getValue();
+        }
+        final ByteBuffer bytes = ByteBuffer.allocate(length);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            while (bytes.hasRemaining() && channel.read(bytes, bytes.position()) > 0) {
+                // reading
+            }
+        }
+        crc.update(bytes.array(), 0, bytes.position());
+        return crc.getValue();
+    }
+
+
+    private static File getIndexFile(final File logFile, final String suffix) {
+        return new File(new File(logFile.getAbsoluteFile().getParentFile(), INDEX_DIRECTORY),
+            logFile.getName() + suffix);
+    }
+
+
+    /**
+     * Splits bytes to lines, lines to records and appends entries of complete records to the index.
+     */
+    private final class RecordCollector {
+
+        private final ByteBuffer entryBuffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+        private Writer loggerWriter;
+        private byte[] line = new byte[256];
+        private int lineLength;
+        private long lineStart = indexedLength;
+        private byte[] record = new byte[1024];
+        private int recordLength;
+        private long recordStart = -1;
+
+
+        void addBytes(final byte[] bytes, final int length, final long position) throws IOException {
+            int from = 0;
+            for (int i = 0; i < length; i++) {
+                if (bytes[i] == '\n') {
+                    appendToLine(bytes, from, i + 1 - from);
+                    onLine();
+                    from = i + 1;
+                    lineStart = position + from;
+                }
+            }
+            appendToLine(bytes, from, length - from);
+        }
+
+
+        void finish() throws IOException {
+            // unterminated line can be a start of a new record too
+            if (lineLength > 0) {
+                onLine();
+            }
+            flushEntries();
+            tail = null;
+            if (recordStart < 0) {
+                indexedLength = lineStart;
+                return;
+            }
+            indexedLength = recordStart;
+            final ParsedLogRecord parsed = parse(new String(record, 0, recordLength, charset));
+            if (parsed != null) {
+                tail = ByteBuffer.wrap(record, 0, recordLength);
+                tailTimestamp = toTimestamp(parsed);
+                tailLevel = toLevelValue(parsed);
+                tailLogger = registerLogger(toLoggerName(parsed), loggerWriter);
+            }
+            loggerWriter.flush();
+        }
+
+
+        private void onLine() throws IOException {
+            final String text = toLineText();
+            if (parser.isRecordStart(text)) {
+                if (recordStart >= 0) {
+                    completeRecord();
+                }
+                recordStart = lineStart;
+                recordLength = 0;
+            } else if (recordStart < 0) {
+                // content before the first record, ie. a header
+                lineLength = 0;
+                return;
+            }
+            appendToRecord();
+            lineLength = 0;
+        }
+
+
+        private String toLineText() {
+            int end = lineLength;
+            while (end > 0 && (line[end - 1] == '\n' || line[end - 1] == '\r')) {
+                end--;
+            }
+            return new String(line, 0, end, charset);
+        }
+
+
+        private void completeRecord() throws IOException {
+            final ParsedLogRecord parsed = parse(new String(record, 0, recordLength, charset));
+            if (parsed == null) {
+                return;
+            }
+            if (!entryBuffer.hasRemaining()) {
+                flushEntries();
+            }
+            entryBuffer.putLong(recordStart);
+            entryBuffer.putLong(toTimestamp(parsed));
+            entryBuffer.putInt(toLevelValue(parsed));
+            entryBuffer.putInt(registerLogger(toLoggerName(parsed), loggerWriter));
+            entryBuffer.putInt(recordLength);
+        }
+
+
+        private void flushEntries() throws IOException {
+            entryBuffer.flip();
+            final int count = entryBuffer.remaining() / ENTRY_SIZE;
+            long position = HEADER_SIZE + recordCount * ENTRY_SIZE;
+            while (entryBuffer.hasRemaining()) {
+                position += indexChannel.write(entryBuffer, position);
+            }
+            entryBuffer.clear();
+            recordCount += count;
+        }
+
+
+        private int registerLogger(final String name, final Writer writer) throws IOException {
+            final int count = loggers.size();
+            final int id = LogFileIndex.this.registerLogger(name);
+            if (loggers.size() > count) {
+                writer.write(name);
+                writer.write('\n');
+            }
+            return id;
+        }
+
+
+        private void appendToLine(final byte[] bytes, final int from, final int length) {
+            if (lineLength + length > line.length) {
+                line = Arrays.copyOf(line, Math.max(line.length * 2, lineLength + length));
+            }
+            System.arraycopy(bytes, from, line, lineLength, length);
+            lineLength += length;
+        }
+
+
+        private void appendToRecord() {
+            if (recordLength + lineLength > record.length) {
+                record = Arrays.copyOf(record, Math.max(record.length * 2, recordLength + lineLength));
+            }
+            System.arraycopy(line, 0, record, recordLength, lineLength);
+            recordLength += lineLength;
+        }
+    }
+
+
+    /**
+     * Conditions which can be evaluated just with the index entry.
+     * The filter never refuses a record matching the query, final checks are done with the parsed
+     * record.
+     */
+    static final class EntryFilter {
+
+        private long fromTimestamp = Long.MIN_VALUE;
+        private long toTimestamp = Long.MAX_VALUE;
+        private int level = UNKNOWN_LEVEL;
+        private boolean onlyLevel;
+        private Set<String> loggerNames;
+
+
+        /**
+         * @param from inclusive, if null, the time is not filtered.
+         * @param to inclusive, if null, the time is not filtered.
+         * @return this
+         */
+        EntryFilter timeRange(final Instant from, final Instant to) {
+            if (from != null && to != null) {
+                // entries have millisecond precision
+                this.fromTimestamp = from.toEpochMilli();
+                this.toTimestamp = to.toEpochMilli();
+            }
+            return this;
+        }
+
+
+        /**
+         * @param levelName minimal level or null
+         * @param only true to accept just the given level
+         * @return this
+         */
+        EntryFilter level(final String levelName, final boolean only) {
+            this.level = toLevelValue(only && levelName != null ? levelName.trim() : levelName);
+            this.onlyLevel = only;
+            return this;
+        }
+
+
+        /**
+         * @param names accepted logger names, null or empty to accept all.
+         * @return this
+         */
+        EntryFilter loggers(final Collection<?> names) {
+            if (names == null || names.isEmpty()) {
+                this.loggerNames = null;
+                return this;
+            }
+            this.loggerNames = new HashSet<>();
+            for (Object name : names) {
+                this.loggerNames.add(name.toString().trim());
+            }
+            return this;
+        }
+    }
+}
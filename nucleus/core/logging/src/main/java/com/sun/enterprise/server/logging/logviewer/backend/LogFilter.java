@@ -23,22 +23,29 @@ import com.sun.enterprise.config.serverbeans.Domain;
 import com.sun.enterprise.config.serverbeans.Node;
 import com.sun.enterprise.config.serverbeans.Server;
 import com.sun.enterprise.server.logging.LogFacade;
+import com.sun.enterprise.server.logging.parser.ParallelLogParser;
 import com.sun.enterprise.util.StringUtils;
 import com.sun.enterprise.util.SystemPropertyConstants;
 
+import jakarta.annotation.PreDestroy;
 import jakarta.inject.Inject;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Hashtable;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.StringTokenizer;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -91,6 +98,29 @@ public class LogFilter {
     private static final Logger LOGGER = LogFacade.LOGGING_LOGGER;
     private static final boolean DEBUG = false;
 
+    // Every open merged query holds chunks parsed ahead
+    private static final int MAX_OPEN_MERGED_QUERIES = 2;
+    // Merged queries not continued for this time are considered abandoned
+    private static final long MERGED_QUERY_IDLE_TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(5L);
+    // Log files of merged queries are parsed by own threads, not by the common pool
+    private static final int LOG_PARSER_PARALLELISM = Math.min(4, Runtime.getRuntime().availableProcessors());
+    private final ForkJoinPool logParserPool = new ForkJoinPool(LOG_PARSER_PARALLELISM);
+    private final ParallelLogParser parallelLogParser = new ParallelLogParser(logParserPool,
+        ParallelLogParser.DEFAULT_CHUNK_SIZE);
+    private final Map<String, MergedLogQuery> openMergedQueries = new LinkedHashMap<>() {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, MergedLogQuery> eldest) {
+            if (size() > MAX_OPEN_MERGED_QUERIES) {
+                eldest.getValue().close();
+                return true;
+            }
+            return false;
+        }
+    };
+
     @Inject
     Domain domain;
 
@@ -107,6 +137,16 @@ public class LogFilter {
     LoggingConfigImpl loggingConfig;
 
 
+    @PreDestroy
+    public void preDestroy() {
+        synchronized (openMergedQueries) {
+            openMergedQueries.values().forEach(MergedLogQuery::close);
+            openMergedQueries.clear();
+        }
+        logParserPool.shutdownNow();
+    }
+
+
     /**
      * The public method that Log Viewer Front End will be calling on.
      * The query will be run on records starting from the fromRecord.
@@ -147,32 +187,11 @@ public class LogFilter {
         //return getLogRecordsUsingQuery(logFileName, fromRecord, next, forward, requestedCount,
         //        fromDate, toDate, logLevel, onlyLevel, listOfModules, nameValueMap, anySearch, "in2", false);
 
-        LogFile logFile = null;
-        String logFileDetailsForServer = "";
-
-        try {
-            logFileDetailsForServer = loggingConfig.getLoggingFileDetails();
-            logFileDetailsForServer = TranslatedConfigView.getTranslatedValue(logFileDetailsForServer).toString();
-            logFileDetailsForServer = new File(logFileDetailsForServer).getAbsolutePath();
-        } catch (Exception ex) {
-            LOGGER.log(Level.SEVERE, LogFacade.ERROR_EXECUTING_LOG_QUERY, ex);
+        final String serverLogFileName = getServerLogFileName(logFileName);
+        if (serverLogFileName == null) {
             return new AttributeList();
         }
-
-
-        if (logFileName != null && logFileName.length() != 0) {
-            logFileName = logFileDetailsForServer.substring(0, logFileDetailsForServer.lastIndexOf(File.separator))
-                + File.separator + logFileName.trim();
-            if (new File(logFileName).exists()) {
-                logFile = getLogFile(logFileName);
-            } else {
-                logFileName = logFileDetailsForServer;
-                logFile = getLogFile(logFileName);
-            }
-        } else {
-            logFileName = logFileDetailsForServer;
-            logFile = getLogFile(logFileName);
-        }
+        LogFile logFile = getLogFile(serverLogFileName);
         boolean forwd = forward == null ? true : forward.booleanValue();
         boolean nxt = next == null ? true : next.booleanValue();
         long reqCount = requestedCount == null ? logFile.getIndexSize() : requestedCount.intValue();
@@ -328,85 +347,16 @@ public class LogFilter {
 
         Server targetServer = domain.getServerNamed(instanceName);
 
-        File instanceLogFile = null;
-
         if (targetServer.isDas()) {
             return getLogRecordsUsingQuery(
                 logFileName, fromRecord, next, forward,
                 requestedCount, fromDate, toDate,
                 logLevel, onlyLevel, listOfModules,
                 nameValueMap, anySearch);
-        } else {
-            // for Instance it's going through this loop. This will use ssh utility to get file from instance machine(remote machine) and
-            // store under glassfish/domains/domain1/logs/<instance name>/ directory which is used to get LogFile object.
-            // Right now user needs to go through this URL to setup and configure ssh http://wikis.sun.com/display/GlassFish/3.1SSHSetup
-
-            String serverNode = targetServer.getNodeRef();
-            Node node = domain.getNodes().getNode(serverNode);
-            String loggingDir = "";
-            String instanceLogFileName = "";
-            try {
-                // getting lof file details for given target.
-                instanceLogFileName = getInstanceLogFileDetails(targetServer);
-            } catch (Exception e) {
-                LOGGER.log(Level.SEVERE, LogFacade.ERROR_EXECUTING_LOG_QUERY, e);
-                return new AttributeList();
-            }
-
-
-            if (node.isLocal()) {
-
-                loggingDir = new LogFilterForInstance().getLoggingDirectoryForNode(instanceLogFileName, node, serverNode, instanceName);
-
-                File logsDir = new File(loggingDir);
-                File allLogFileNames[] = logsDir.listFiles();
-
-
-                boolean noFileFound = true;
-
-                if (allLogFileNames != null) { // This check for,  if directory doesn't present or missing on machine. It happens due to bug 16451
-                    for (File file : allLogFileNames) {
-                        String fileName = file.getName();
-                        // code to remove . and .. file which is return
-                        if (file.isFile() && !fileName.equals(".") && !fileName.equals("..") && fileName.contains(".log")
-                            && !fileName.contains(".log.")) {
-                            noFileFound = false;
-                            break;
-                        }
-                    }
-                }
-
-                if (noFileFound) {
-                    // this loop is used when user has changed value for server.log but not restarted the server.
-                    loggingDir = new LogFilterForInstance().getLoggingDirectoryForNodeWhenNoFilesFound(instanceLogFileName, node, serverNode, instanceName);
-
-                }
-
-                instanceLogFile = new File(loggingDir + File.separator + logFileName);
-
-                // verifying loggingFile presents or not if not then changing logFileName value to server.log. It means wrong name is coming
-                // from GUI to back end code.
-                if (!instanceLogFile.exists()) {
-                    instanceLogFile = new File(loggingDir + File.separator + "server.log");
-                } else if (!instanceLogFile.exists()) {
-                    loggingDir = instanceLogFileName.substring(0, instanceLogFileName.lastIndexOf(File.separator));
-                    instanceLogFile = new File(loggingDir + File.separator + logFileName);
-                    if (!instanceLogFile.exists()) {
-                        instanceLogFile = new File(instanceLogFileName);
-                    }
-                }
-
-            } else {
-                try {
-                    // this code is used when the node is not local.
-                    instanceLogFile = new LogFilterForInstance().downloadGivenInstanceLogFile(habitat, targetServer,
-                        domain, LOGGER, instanceName, env.getDomainRoot().getAbsolutePath(), logFileName, instanceLogFileName);
-                } catch (Exception e) {
-                    LOGGER.log(Level.SEVERE, LogFacade.ERROR_EXECUTING_LOG_QUERY, e);
-                    return new AttributeList();
-                }
-
-            }
+        }
+        final File instanceLogFile = getInstanceLogFile(targetServer, logFileName);
+        if (instanceLogFile == null) {
+            return new AttributeList();
         }
 
         LogFile logFile = null;
@@ -455,6 +405,239 @@ public class LogFilter {
     }
 
 
+    /**
+     * Runs the query over log files of several instances and merges results ordered by time.
+     * Log files are parsed in parallel, see {@link ParallelLogParser}.
+     * <p>
+     * Records are numbered by their position in the merged sequence. The query continues
+     * after the fromRecord, so the next page is requested with the record number of the last
+     * record of the previous page. The state of the query is kept for the next page, so
+     * following pages do not parse log files from the beginning. The kept state does not hold
+     * log files open; if a log file was rotated meanwhile, the query is started again.
+     *
+     * @param logFileName    The name of the log file in log directories of instances
+     * @param fromRecord     The last record of the previous page or -1
+     * @param forward        True to start with the oldest records, false to start with
+     *                       the newest records
+     * @param requestedCount The # of desired return values
+     * @param fromDate       The lower bound date
+     * @param toDate         The upper bound date
+     * @param logLevel       The minimum log level to display
+     * @param onlyLevel      True to only display messsage for "logLevel"
+     * @param listOfModules  List of modules to match
+     * @param nameValueMap   NVP's to match
+     * @param anySearch      Text to search in the message and NVP's
+     * @param instanceNames  Names of instances, may contain also the DAS
+     * @return records in the same structure as other queries
+     */
+    public AttributeList getMergedLogRecordsUsingQuery(
+        String logFileName, long fromRecord, boolean forward, int requestedCount,
+        Instant fromDate, Instant toDate, String logLevel, boolean onlyLevel,
+        List listOfModules, Properties nameValueMap, String anySearch, List<String> instanceNames) {
+        if (fromRecord < -1) {
+            throw new IllegalArgumentException("fromRecord must be greater than 0!");
+        }
+        final String queryKey = instanceNames + "|" + logFileName + "|" + forward + "|" + fromDate + "|" + toDate
+            + "|" + logLevel + "|" + onlyLevel + "|" + listOfModules + "|" + nameValueMap + "|" + anySearch + "@";
+        MergedLogQuery query;
+        synchronized (openMergedQueries) {
+            closeIdleMergedQueries();
+            query = openMergedQueries.remove(queryKey + (fromRecord + 1));
+        }
+        try {
+            List<LogFile.LogEntry> results = null;
+            if (query != null) {
+                try {
+                    results = query.nextPage(requestedCount);
+                } catch (UncheckedIOException e) {
+                    LOGGER.log(Level.FINE, "Log files changed since the previous page, the query starts again", e);
+                    query.close();
+                    query = null;
+                }
+            }
+            if (query == null) {
+                final Map<String, File> logFiles = new LinkedHashMap<>();
+                for (String instanceName : instanceNames) {
+                    final File instanceLogFile = getMergedLogFile(logFileName, instanceName);
+                    if (instanceLogFile != null) {
+                        logFiles.put(instanceName, instanceLogFile);
+                    }
+                }
+                query = new MergedLogQuery(parallelLogParser, logFiles,
+                    record -> allChecks(LogFile.toLogEntry(0, record), fromDate, toDate, logLevel, onlyLevel,
+                        listOfModules, nameValueMap, anySearch),
+                    !forward);
+                query.skip(fromRecord + 1);
+                results = query.nextPage(requestedCount);
+            }
+            if (query.hasNext()) {
+                synchronized (openMergedQueries) {
+                    final MergedLogQuery replaced = openMergedQueries.put(queryKey + query.getPosition(), query);
+                    if (replaced != null) {
+                        replaced.close();
+                    }
+                }
+            } else {
+                query.close();
+            }
+            return convertResultsToTheStructure(results);
+        } catch (Exception ex) {
+            LOGGER.log(Level.SEVERE, LogFacade.ERROR_EXECUTING_LOG_QUERY, ex);
+            if (query != null) {
+                query.close();
+            }
+            return new AttributeList();
+        }
+    }
+
+
+    /**
+     * Must be called with the lock of openMergedQueries.
+     */
+    private void closeIdleMergedQueries() {
+        final long now = System.nanoTime();
+        final Iterator<MergedLogQuery> queries = openMergedQueries.values().iterator();
+        while (queries.hasNext()) {
+            final MergedLogQuery query = queries.next();
+            if (now - query.getLastAccess() > MERGED_QUERY_IDLE_TIMEOUT_NANOS) {
+                query.close();
+                queries.remove();
+            }
+        }
+    }
+
+
+    private File getMergedLogFile(String logFileName, String instanceName) {
+        final Server targetServer = domain.getServerNamed(instanceName);
+        if (targetServer == null) {
+            LOGGER.log(Level.WARNING, LogFacade.INSTANCE_LOG_FILE_NOT_FOUND, instanceName);
+            return null;
+        }
+        final File instanceLogFile;
+        if (targetServer.isDas()) {
+            final String serverLogFileName = getServerLogFileName(logFileName);
+            instanceLogFile = serverLogFileName == null ? null : new File(serverLogFileName);
+        } else {
+            instanceLogFile = getInstanceLogFile(targetServer, logFileName);
+        }
+        if (instanceLogFile == null || !instanceLogFile.exists()) {
+            LOGGER.log(Level.WARNING, LogFacade.INSTANCE_LOG_FILE_NOT_FOUND,
+                instanceLogFile == null ? instanceName : instanceLogFile.getAbsolutePath());
+            return null;
+        }
+        return instanceLogFile;
+    }
+
+
+    /**
+     * @param logFileName name of the log file in the log directory of this server or null.
+     * @return absolute path of the log file, the server log file if the file does not exist,
+     *         or null if the logging configuration could not be read.
+     */
+    private String getServerLogFileName(String logFileName) {
+        String logFileDetailsForServer = "";
+        try {
+            logFileDetailsForServer = loggingConfig.getLoggingFileDetails();
+            logFileDetailsForServer = TranslatedConfigView.getTranslatedValue(logFileDetailsForServer).toString();
+            logFileDetailsForServer = new File(logFileDetailsForServer).getAbsolutePath();
+        } catch (Exception ex) {
+            LOGGER.log(Level.SEVERE, LogFacade.ERROR_EXECUTING_LOG_QUERY, ex);
+            return null;
+        }
+
+        if (logFileName != null && logFileName.length() != 0) {
+            logFileName = logFileDetailsForServer.substring(0, logFileDetailsForServer.lastIndexOf(File.separator))
+                + File.separator + logFileName.trim();
+            if (new File(logFileName).exists()) {
+                return logFileName;
+            }
+        }
+        return logFileDetailsForServer;
+    }
+
+
+    /**
+     * Locates the log file of the instance, for remote instances the file is downloaded.
+     *
+     * @return the local log file of the instance or null if it is not available.
+     */
+    private File getInstanceLogFile(Server targetServer, String logFileName) {
+        final String instanceName = targetServer.getName();
+        File instanceLogFile = null;
+        // for Instance it's going through this loop. This will use ssh utility to get file from instance machine(remote machine) and
+        // store under glassfish/domains/domain1/logs/<instance name>/ directory which is used to get LogFile object.
+        // Right now user needs to go through this URL to setup and configure ssh http://wikis.sun.com/display/GlassFish/3.1SSHSetup
+
+        String serverNode = targetServer.getNodeRef();
+        Node node = domain.getNodes().getNode(serverNode);
+        String loggingDir = "";
+        String instanceLogFileName = "";
+        try {
+            // getting lof file details for given target.
+            instanceLogFileName = getInstanceLogFileDetails(targetServer);
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, LogFacade.ERROR_EXECUTING_LOG_QUERY, e);
+            return null;
+        }
+
+
+        if (node.isLocal()) {
+
+            loggingDir = new LogFilterForInstance().getLoggingDirectoryForNode(instanceLogFileName, node, serverNode, instanceName);
+
+            File logsDir = new File(loggingDir);
+            File allLogFileNames[] = logsDir.listFiles();
+
+
+            boolean noFileFound = true;
+
+            if (allLogFileNames != null) { // This check for,  if directory doesn't present or missing on machine. It happens due to bug 16451
+                for (File file : allLogFileNames) {
+                    String fileName = file.getName();
+                    // code to remove . and .. file which is return
+                    if (file.isFile() && !fileName.equals(".") && !fileName.equals("..") && fileName.contains(".log")
+                        && !fileName.contains(".log.")) {
+                        noFileFound = false;
+                        break;
+                    }
+                }
+            }
+
+            if (noFileFound) {
+                // this loop is used when user has changed value for server.log but not restarted the server.
+                loggingDir = new LogFilterForInstance().getLoggingDirectoryForNodeWhenNoFilesFound(instanceLogFileName, node, serverNode, instanceName);
+
+            }
+
+            instanceLogFile = new File(loggingDir + File.separator + logFileName);
+
+            // verifying loggingFile presents or not if not then changing logFileName value to server.log. It means wrong name is coming
+            // from GUI to back end code.
+            if (!instanceLogFile.exists()) {
+                instanceLogFile = new File(loggingDir + File.separator + "server.log");
+            } else if (!instanceLogFile.exists()) {
+                loggingDir = instanceLogFileName.substring(0, instanceLogFileName.lastIndexOf(File.separator));
+                instanceLogFile = new File(loggingDir + File.separator + logFileName);
+                if (!instanceLogFile.exists()) {
+                    instanceLogFile = new File(instanceLogFileName);
+                }
+            }
+
+        } else {
+            try {
+                // this code is used when the node is not local.
+                instanceLogFile = new LogFilterForInstance().downloadGivenInstanceLogFile(habitat, targetServer,
+                    domain, LOGGER, instanceName, env.getDomainRoot().getAbsolutePath(), logFileName, instanceLogFileName);
+            } catch (Exception e) {
+                LOGGER.log(Level.SEVERE, LogFacade.ERROR_EXECUTING_LOG_QUERY, e);
+                return null;
+            }
+
+        }
+        return instanceLogFile;
+    }
+
+
     /**
      * Internal method that will be called from getLogRecordsUsingQuery()
      */
@@ -462,6 +645,19 @@ public class LogFilter {
         LogFile logFile, long startingRecord, boolean next, boolean forward,
         long requestedCount, Instant fromDate, Instant toDate, String logLevel,
         boolean onlyLevel, List listOfModules, Properties nameValueMap, String anySearch) {
+        // The index allows to skip records which cannot match without parsing them
+        final LogFileIndex.EntryFilter indexFilter = new LogFileIndex.EntryFilter()
+            .timeRange(fromDate, toDate).level(logLevel, onlyLevel).loggers(listOfModules);
+        final List<LogFile.LogEntry> indexedResults = logFile.findLogEntries(
+            next ? startingRecord + 1 : startingRecord - 1, next, requestedCount, indexFilter,
+            e -> allChecks(e, fromDate, toDate, logLevel, onlyLevel, listOfModules, nameValueMap, anySearch));
+        if (indexedResults != null) {
+            if (next ^ forward) {
+                Collections.reverse(indexedResults);
+            }
+            return convertResultsToTheStructure(indexedResults);
+        }
+
         // If !next, then set to search in reverse
         boolean origForward = forward;
         if (next) {
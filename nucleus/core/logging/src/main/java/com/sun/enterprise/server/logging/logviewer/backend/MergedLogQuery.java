@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.server.logging.logviewer.backend;
+
+import com.sun.enterprise.server.logging.logviewer.backend.LogFile.LogEntry;
+import com.sun.enterprise.server.logging.parser.ParallelLogParser;
+import com.sun.enterprise.server.logging.parser.ParallelLogParser.LogRecordIterator;
+import com.sun.enterprise.server.logging.parser.ParsedLogRecord;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+
+import static com.sun.enterprise.server.logging.LogFacade.LOGGING_LOGGER;
+
+/**
+ * Streaming k-way merge of log records of several server instances ordered by time.
+ * <p>
+ * Every log file is parsed by the {@link ParallelLogParser}, the merge holds just one record
+ * per instance, so pages can be read one after another without loading whole files.
+ * Records of one instance keep the order of the log file, records without a timestamp
+ * use the timestamp of the previous record of the same instance.
+ * Records with the same timestamp are ordered by the order of instances.
+ * <p>
+ * Record numbers of returned entries are positions in the merged sequence.
+ * Log files are open only while their chunks are read, if a log file was replaced by the log
+ * rotation meanwhile, reading of records throws an {@link java.io.UncheckedIOException}.
+ */
+public final class MergedLogQuery implements Closeable {
+
+    /** Name of the supplemental attribute with the name of the instance */
+    public static final String INSTANCE_NAME_ATTRIBUTE = "_InstanceName";
+
+    private final boolean reverse;
+    private final List<Source> sources = new ArrayList<>();
+    private final PriorityQueue<Source> queue;
+    private long position;
+    private long lastAccess = System.nanoTime();
+
+    /**
+     * Starts parsing of all log files.
+     *
+     * @param parser
+     * @param logFiles instance name to log file, the iteration order is used for records
+     *            with the same timestamp.
+     * @param filter records refused by the filter are not returned.
+     * @param reverse true to return the newest records first
+     * @throws IOException if any log file could not be opened.
+     */
+    public MergedLogQuery(final ParallelLogParser parser, final Map<String, File> logFiles,
+        final Predicate<ParsedLogRecord> filter, final boolean reverse) throws IOException {
+        this.reverse = reverse;
+        final Comparator<Source> byTime = Comparator.comparing((Source s) -> s.timestamp);
+        this.queue = new PriorityQueue<>(Math.max(1, logFiles.size()),
+            (reverse ? byTime.reversed() : byTime).thenComparingInt(s -> s.order));
+        try {
+            for (Map.Entry<String, File> logFile : logFiles.entrySet()) {
+                final Source source = new Source(logFile.getKey(), sources.size(),
+                    parser.parse(logFile.getValue(), filter, reverse));
+                sources.add(source);
+                if (source.advance()) {
+                    queue.add(source);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+
+    /**
+     * @return count of records already returned.
+     */
+    public long getPosition() {
+        return position;
+    }
+
+
+    /**
+     * @return {@link System#nanoTime()} of the last read of records.
+     */
+    long getLastAccess() {
+        return lastAccess;
+    }
+
+
+    /**
+     * @return true if there are more records.
+     */
+    public boolean hasNext() {
+        return !queue.isEmpty();
+    }
+
+
+    /**
+     * Skips records.
+     *
+     * @param count count of records to skip
+     * @return count of skipped records, smaller if there are no more records.
+     */
+    public long skip(final long count) {
+        lastAccess = System.nanoTime();
+        long skipped = 0;
+        while (skipped < count && poll() != null) {
+            skipped++;
+        }
+        return skipped;
+    }
+
+
+    /**
+     * @param maxCount
+     * @return up to maxCount next records.
+     */
+    public List<LogEntry> nextPage(final int maxCount) {
+        lastAccess = System.nanoTime();
+        final List<LogEntry> page = new ArrayList<>(Math.min(maxCount, 1024));
+        while (page.size() < maxCount) {
+            final long recordNumber = position;
+            final ParsedLogRecord record = poll();
+            if (record == null) {
+                break;
+            }
+            page.add(LogFile.toLogEntry(recordNumber, record));
+        }
+        return page;
+    }
+
+
+    @Override
+    public void close() {
+        queue.clear();
+        for (Source source : sources) {
+            try {
+                source.records.close();
+            } catch (IOException e) {
+                LOGGING_LOGGER.log(Level.FINEST, "Could not close the log file of " + source.instanceName, e);
+            }
+        }
+    }
+
+
+    private ParsedLogRecord poll() {
+        final Source source = queue.poll();
+        if (source == null) {
+            return null;
+        }
+        final ParsedLogRecord record = source.head;
+        record.setSupplementalValue(INSTANCE_NAME_ATTRIBUTE, source.instanceName);
+        if (source.advance()) {
+            queue.add(source);
+        }
+        position++;
+        return record;
+    }
+
+
+    private final class Source {
+
+        private final String instanceName;
+        private final int order;
+        private final LogRecordIterator records;
+        private ParsedLogRecord head;
+        private Instant timestamp = reverse ? Instant.MAX : Instant.MIN;
+
+        Source(final String instanceName, final int order, final LogRecordIterator records) {
+            this.instanceName = instanceName;
+            this.order = order;
+            this.records = records;
+        }
+
+
+        boolean advance() {
+            if (!records.hasNext()) {
+                head = null;
+                return false;
+            }
+            head = records.next();
+            if (head.getTimestamp() != null) {
+                timestamp = head.getTimestamp().toInstant();
+            }
+            return true;
+        }
+    }
+}
@@ -88,4 +88,11 @@ public interface LogParser {
 
     void parseLog(BufferedReader reader, LogParserListener listener) throws LogParserException;
 
+
+    /**
+     * @param line a line of the log file without the line separator
+     * @return true if the line is the first line of a log record in the format of this parser.
+     */
+    boolean isRecordStart(String line);
+
 }
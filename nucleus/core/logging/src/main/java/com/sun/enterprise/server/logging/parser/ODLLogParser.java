@@ -63,6 +63,12 @@ final class ODLLogParser implements LogParser {
     }
 
 
+    @Override
+    public boolean isRecordStart(String line) {
+        return RECORD_START.matcher(line).matches();
+    }
+
+
     private void process(long position, String logRecord, LogParserListener listener) {
         ParsedLogRecord parsedLogRecord = parse(logRecord);
         if (parsedLogRecord != null) {
@@ -65,4 +65,10 @@ public class OneLineLogParser implements LogParser {
         }
     }
 
+
+    @Override
+    public boolean isRecordStart(String line) {
+        return PATTERN.matcher(line).matches();
+    }
+
 }
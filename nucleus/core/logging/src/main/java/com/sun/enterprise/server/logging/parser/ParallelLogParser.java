@@ -0,0 +1,326 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.server.logging.parser;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Predicate;
+
+/**
+ * Parses a log file in parallel.
+ * <p>
+ * The file is split to chunks of a similar size. Every chunk is parsed by a separate
+ * {@link ForkJoinTask}, which moves both chunk boundaries to the nearest start of a record
+ * detected by {@link LogParser#isRecordStart(String)}, so every record is parsed by
+ * exactly one task.
+ * <p>
+ * Records are returned by the {@link LogRecordIterator} in the order of the file or in
+ * the reversed order. The iterator keeps just a limited count of chunks parsed ahead,
+ * so memory usage does not depend on the size of the file.
+ * <p>
+ * The file is open only while a chunk is read, so an iterator kept between pages of a query
+ * does not prevent the rotation of the log file. If the file was replaced meanwhile, the
+ * iterator throws an {@link UncheckedIOException}.
+ * <p>
+ * Lines are split on the '\n' byte, which is safe for UTF-8 and for single byte charsets.
+ */
+public final class ParallelLogParser {
+
+    /** Default size of the chunk parsed by one task */
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+    private static final int ALIGN_BUFFER_SIZE = 8 * 1024;
+
+    /** Count of bytes from the start of the file identifying it when it is opened again */
+    private static final int HEAD_SIZE = 1024;
+
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private final int window;
+    private final Charset charset = Charset.defaultCharset();
+
+    /**
+     * Uses the {@link ForkJoinPool#commonPool()} and the {@link #DEFAULT_CHUNK_SIZE}.
+     */
+    public ParallelLogParser() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+
+    /**
+     * @param pool pool executing parsing tasks
+     * @param chunkSize size of the chunk parsed by one task
+     */
+    public ParallelLogParser(final ForkJoinPool pool, final int chunkSize) {
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+        // limits the memory used by chunks parsed ahead
+        this.window = Math.max(2, pool.getParallelism());
+    }
+
+
+    /**
+     * Starts parsing of the log file.
+     *
+     * @param logFile uncompressed log file
+     * @param filter records refused by the filter are dropped by parsing tasks.
+     * @param reverse true to iterate from the end of the file
+     * @return {@link LogRecordIterator}, must be closed.
+     * @throws IOException if the file could not be read.
+     */
+    public LogRecordIterator parse(final File logFile, final Predicate<ParsedLogRecord> filter,
+        final boolean reverse) throws IOException {
+        final LogParser parser = LogParserFactory.getInstance().createLogParser(logFile);
+        return new LogRecordIterator(logFile, parser, filter, reverse);
+    }
+
+
+    /**
+     * Iterates over parsed records while next chunks are being parsed.
+     */
+    public final class LogRecordIterator implements Iterator<ParsedLogRecord>, Closeable {
+
+        private final File logFile;
+        private final LogParser parser;
+        private final Predicate<ParsedLogRecord> filter;
+        private final boolean reverse;
+        /** Size of the file when the iteration started, records written later are ignored */
+        private final long size;
+        private final long chunkCount;
+        /** Start of the file, differs if the file was replaced by the log rotation */
+        private final byte[] head;
+        private final Deque<ForkJoinTask<List<ParsedLogRecord>>> pending = new ArrayDeque<>();
+        private long nextChunk;
+        private Iterator<ParsedLogRecord> current = Collections.emptyIterator();
+
+        private LogRecordIterator(final File logFile, final LogParser parser,
+            final Predicate<ParsedLogRecord> filter, final boolean reverse) throws IOException {
+            this.logFile = logFile;
+            this.parser = parser;
+            this.filter = filter;
+            this.reverse = reverse;
+            try (FileChannel channel = FileChannel.open(logFile.toPath(), StandardOpenOption.READ)) {
+                this.size = channel.size();
+                this.head = readBytes(channel, 0, (int) Math.min(size, HEAD_SIZE));
+            }
+            this.chunkCount = (size + chunkSize - 1) / chunkSize;
+        }
+
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                fillWindow();
+                final ForkJoinTask<List<ParsedLogRecord>> task = pending.poll();
+                if (task == null) {
+                    return false;
+                }
+                current = task.join().iterator();
+            }
+            return true;
+        }
+
+
+        @Override
+        public ParsedLogRecord next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+
+
+        @Override
+        public void close() throws IOException {
+            pending.forEach(task -> task.cancel(true));
+            pending.clear();
+        }
+
+
+        private void fillWindow() {
+            while (nextChunk < chunkCount && pending.size() < window) {
+                final long chunk = reverse ? chunkCount - 1 - nextChunk : nextChunk;
+                pending.add(pool.submit(() -> parseChunk(chunk)));
+                nextChunk++;
+            }
+        }
+
+
+        private List<ParsedLogRecord> parseChunk(final long chunk) {
+            try (FileChannel channel = open()) {
+                final long start = align(channel, chunk * chunkSize);
+                final long end = align(channel, Math.min((chunk + 1) * chunkSize, size));
+                if (start >= end) {
+                    return Collections.emptyList();
+                }
+                final List<ParsedLogRecord> records = new ArrayList<>();
+                final String text = new String(readBytes(channel, start, (int) (end - start)), charset);
+                try (BufferedReader reader = new BufferedReader(new StringReader(text))) {
+                    parser.parseLog(reader, (position, record) -> {
+                        if (filter.test(record)) {
+                            records.add(record);
+                        }
+                    });
+                }
+                if (reverse) {
+                    Collections.reverse(records);
+                }
+                return records;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+
+        /**
+         * @return channel of the file, which was not replaced since the iteration started.
+         * @throws IOException if the file could not be opened or was replaced.
+         */
+        private FileChannel open() throws IOException {
+            final FileChannel channel = FileChannel.open(logFile.toPath(), StandardOpenOption.READ);
+            try {
+                if (channel.size() < size || !Arrays.equals(head, readBytes(channel, 0, head.length))) {
+                    throw new IOException("The log file " + logFile + " was replaced during the iteration");
+                }
+                return channel;
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+
+        /**
+         * @return position of the first record starting at the position or later,
+         *         or the file size if there is no such record.
+         */
+        private long align(final FileChannel channel, final long position) throws IOException {
+            if (position == 0 || position >= size) {
+                return Math.min(position, size);
+            }
+            // the line starting exactly at the position must not be skipped
+            long lineStart = -1;
+            long offset = position - 1;
+            final ByteBuffer buffer = ByteBuffer.allocate(ALIGN_BUFFER_SIZE);
+            final LineBytes line = new LineBytes();
+            while (offset < size) {
+                buffer.clear();
+                if (size - offset < buffer.capacity()) {
+                    buffer.limit((int) (size - offset));
+                }
+                final int read = channel.read(buffer, offset);
+                if (read <= 0) {
+                    break;
+                }
+                final byte[] bytes = buffer.array();
+                int from = 0;
+                for (int i = 0; i < read; i++) {
+                    if (bytes[i] != '\n') {
+                        continue;
+                    }
+                    if (lineStart >= 0) {
+                        line.append(bytes, from, i - from);
+                        if (parser.isRecordStart(line.toString(charset))) {
+                            return lineStart;
+                        }
+                    }
+                    line.reset();
+                    from = i + 1;
+                    lineStart = offset + from;
+                }
+                if (lineStart >= 0) {
+                    line.append(bytes, from, read - from);
+                }
+                offset += read;
+            }
+            // the last line without the line separator
+            return lineStart >= 0 && line.length() > 0 && parser.isRecordStart(line.toString(charset))
+                ? lineStart : size;
+        }
+
+
+    }
+
+
+    private static byte[] readBytes(final FileChannel channel, final long start, final int count)
+        throws IOException {
+        final ByteBuffer bytes = ByteBuffer.allocate(count);
+        while (bytes.hasRemaining()) {
+            if (channel.read(bytes, start + bytes.position()) < 0) {
+                break;
+            }
+        }
+        return bytes.position() == count ? bytes.array() : Arrays.copyOf(bytes.array(), bytes.position());
+    }
+
+
+    /**
+     * Growing byte array for a line split by buffer boundaries.
+     */
+    private static final class LineBytes {
+
+        private byte[] bytes = new byte[256];
+        private int length;
+
+        void append(final byte[] source, final int from, final int count) {
+            if (length + count > bytes.length) {
+                final byte[] bigger = new byte[Math.max(bytes.length * 2, length + count)];
+                System.arraycopy(bytes, 0, bigger, 0, length);
+                bytes = bigger;
+            }
+            System.arraycopy(source, from, bytes, length, count);
+            length += count;
+        }
+
+
+        int length() {
+            return length;
+        }
+
+
+        void reset() {
+            length = 0;
+        }
+
+
+        String toString(final Charset charset) {
+            int end = length;
+            if (end > 0 && bytes[end - 1] == '\r') {
+                end--;
+            }
+            return new String(bytes, 0, end, charset);
+        }
+    }
+}
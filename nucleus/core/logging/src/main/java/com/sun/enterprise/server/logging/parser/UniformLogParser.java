@@ -60,6 +60,12 @@ final class UniformLogParser implements LogParser {
     }
 
 
+    @Override
+    public boolean isRecordStart(String line) {
+        return line.startsWith(LOG_RECORD_BEGIN_MARKER);
+    }
+
+
     private void parseLogRecord(long position, String logRecord, LogParserListener listener) {
         ParsedLogRecord parsedLogRecord = parse(logRecord);
         if (parsedLogRecord != null) {
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.server.logging.logviewer.backend;
+
+import com.sun.enterprise.server.logging.logviewer.backend.LogFile.LogEntry;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LogFileIndexTest {
+
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+    private static final String LOGGER_A = "jakarta.enterprise.system.core";
+    private static final String LOGGER_B = "jakarta.enterprise.web";
+
+    private File dir;
+    private File logFile;
+
+    @BeforeEach
+    public void createLogDirectory() throws Exception {
+        dir = Files.createTempDirectory(LogFileIndexTest.class.getSimpleName()).toFile();
+        logFile = new File(dir, "server.log");
+    }
+
+
+    @AfterEach
+    public void deleteLogDirectory() throws Exception {
+        delete(dir);
+    }
+
+
+    @Test
+    public void lastSevereRecordsOfLogger() throws Exception {
+        appendRecords(0, 1000);
+        final LogFile file = new LogFile(logFile.getPath());
+        final LogFileIndex.EntryFilter filter = new LogFileIndex.EntryFilter().level("SEVERE", true)
+            .loggers(List.of(LOGGER_B));
+
+        final List<LogEntry> entries = file.findLogEntries(Long.MAX_VALUE, false, 5, filter, e -> true);
+
+        assertNotNull(entries, "entries");
+        assertEquals(5, entries.size(), "entries.size");
+        long expected = 999;
+        for (LogEntry entry : entries) {
+            while (!isSevere((int) expected) || !LOGGER_B.equals(getLogger((int) expected))) {
+                expected--;
+            }
+            final long recordNumber = expected;
+            assertAll(
+                () -> assertEquals(recordNumber, entry.getRecordNumber(), "recordNumber"),
+                () -> assertEquals("SEVERE", entry.getLoggedLevel(), "level"),
+                () -> assertEquals(LOGGER_B, entry.getLoggedLoggerName(), "logger"),
+                () -> assertEquals("Record number " + recordNumber + "\nsecond line", entry.getLoggedMessage())
+            );
+            expected--;
+        }
+    }
+
+
+    @Test
+    public void timeRange() throws Exception {
+        appendRecords(0, 100);
+        final LogFile file = new LogFile(logFile.getPath());
+        final LogFileIndex.EntryFilter filter = new LogFileIndex.EntryFilter()
+            .timeRange(START.plusSeconds(10), START.plusSeconds(19));
+
+        final List<LogEntry> entries = file.findLogEntries(0, true, 100, filter, e -> true);
+
+        assertEquals(10, entries.size(), "entries.size");
+        assertEquals(10, entries.get(0).getRecordNumber(), "first record");
+        assertEquals(19, entries.get(9).getRecordNumber(), "last record");
+    }
+
+
+    @Test
+    public void incrementalUpdate() throws Exception {
+        appendRecords(0, 100);
+        final LogFile file = new LogFile(logFile.getPath());
+        assertEquals(100, file.getLogEntries(0, Long.MAX_VALUE).size(), "records");
+        final long indexedLength = getIndexFile(logFile).length();
+
+        appendRecords(100, 50);
+        final List<LogEntry> entries = file.getLogEntries(0, Long.MAX_VALUE);
+        assertAll(
+            () -> assertEquals(150, entries.size(), "records"),
+            () -> assertEquals(14, file.getLastIndexNumber(), "lastIndexNumber"),
+            () -> assertEquals("Record number 149\nsecond line", entries.get(149).getLoggedMessage()),
+            () -> assertTrue(getIndexFile(logFile).length() > indexedLength, "index grows")
+        );
+
+        final LogFile reopened = new LogFile(logFile.getPath());
+        assertEquals(150, reopened.getLogEntries(0, Long.MAX_VALUE).size(), "records of the reopened index");
+    }
+
+
+    @Test
+    public void rotation() throws Exception {
+        appendRecords(0, 100);
+        final LogFile file = new LogFile(logFile.getPath());
+        assertEquals(100, file.getLogEntries(0, Long.MAX_VALUE).size(), "records");
+
+        final File archive = new File(dir, logFile.getName() + "_2026-01-01T00-01-40");
+        assertTrue(logFile.renameTo(archive), "renamed");
+        appendRecords(100, 10);
+
+        final List<LogEntry> entries = file.getLogEntries(0, Long.MAX_VALUE);
+        assertAll(
+            () -> assertEquals(10, entries.size(), "records of the new file"),
+            () -> assertEquals("Record number 100\nsecond line", entries.get(0).getLoggedMessage()),
+            () -> assertTrue(getIndexFile(archive).exists(), "index moved to the archive")
+        );
+        final List<LogEntry> archived = new LogFile(archive.getPath()).getLogEntries(0, Long.MAX_VALUE);
+        assertEquals(100, archived.size(), "records of the archive");
+        assertEquals("Record number 99\nsecond line", archived.get(99).getLoggedMessage());
+    }
+
+
+    private void appendRecords(final int first, final int count) throws Exception {
+        final StringBuilder content = new StringBuilder();
+        for (int i = first; i < first + count; i++) {
+            content.append("[#|").append(START.plusSeconds(i)).append('|').append(isSevere(i) ? "SEVERE" : "INFO")
+                .append("|glassfish|").append(getLogger(i)).append("|_ThreadID=1;_ThreadName=main;|")
+                .append("Record number ").append(i).append("\nsecond line|#]\n\n");
+        }
+        Files.write(logFile.toPath(), content.toString().getBytes(UTF_8), StandardOpenOption.CREATE,
+            StandardOpenOption.APPEND);
+    }
+
+
+    private static boolean isSevere(final int record) {
+        return record % 7 == 0;
+    }
+
+
+    private static String getLogger(final int record) {
+        return record % 3 == 0 ? LOGGER_B : LOGGER_A;
+    }
+
+
+    private static File getIndexFile(final File log) {
+        return new File(new File(log.getParentFile(), LogFileIndex.INDEX_DIRECTORY), log.getName() + ".idx");
+    }
+
+
+    private static void delete(final File file) {
+        final File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.server.logging.logviewer.backend;
+
+import com.sun.enterprise.server.logging.logviewer.backend.LogFile.LogEntry;
+import com.sun.enterprise.server.logging.parser.ParallelLogParser;
+import com.sun.enterprise.server.logging.parser.SyntheticLogGenerator;
+import com.sun.enterprise.server.logging.parser.SyntheticLogGenerator.Format;
+
+import java.io.File;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MergedLogQueryTest {
+
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+    private static final int PAGE_SIZE = 100;
+
+    private ForkJoinPool pool;
+    private ParallelLogParser parser;
+    private final Map<String, File> logFiles = new LinkedHashMap<>();
+    private long recordCount;
+
+    @BeforeEach
+    public void generateLogs() throws Exception {
+        pool = new ForkJoinPool(4);
+        parser = new ParallelLogParser(pool, 64 * 1024);
+        // every instance logs every 3 ms, shifted by 1 ms, so the merged sequence alternates them
+        addInstance("instance1", Format.UNIFORM, 0);
+        addInstance("instance2", Format.ODL, 1);
+        addInstance("instance3", Format.UNIFORM, 2);
+    }
+
+
+    @AfterEach
+    public void deleteLogs() {
+        pool.shutdownNow();
+        logFiles.values().forEach(File::delete);
+    }
+
+
+    @Test
+    public void forwardPages() throws Exception {
+        long count = 0;
+        Instant previous = Instant.MIN;
+        try (MergedLogQuery query = new MergedLogQuery(parser, logFiles, r -> true, false)) {
+            while (query.hasNext()) {
+                final List<LogEntry> page = query.nextPage(PAGE_SIZE);
+                assertTrue(page.size() == PAGE_SIZE || !query.hasNext(), "full page or the last page");
+                for (LogEntry entry : page) {
+                    final Instant timestamp = entry.getLoggedDateTime().toInstant();
+                    assertFalse(timestamp.isBefore(previous), "ordered by time: " + entry);
+                    assertEquals(count++, entry.getRecordNumber(), "recordNumber");
+                    previous = timestamp;
+                }
+            }
+            assertEquals(recordCount, query.getPosition(), "position");
+        }
+        assertEquals(recordCount, count, "count of merged records");
+    }
+
+
+    @Test
+    public void reversePageWithFilter() throws Exception {
+        final List<LogEntry> page;
+        try (MergedLogQuery query = new MergedLogQuery(parser, logFiles, r -> "SEVERE".equals(r.getLevel()), true)) {
+            assertEquals(10, query.skip(10), "skipped");
+            page = query.nextPage(PAGE_SIZE);
+        }
+        assertEquals(PAGE_SIZE, page.size(), "page.size");
+        for (int i = 0; i < page.size(); i++) {
+            final LogEntry entry = page.get(i);
+            assertAll(
+                () -> assertEquals("SEVERE", entry.getLoggedLevel(), "level"),
+                () -> assertTrue(entry.getLoggedNameValuePairs().contains(MergedLogQuery.INSTANCE_NAME_ATTRIBUTE),
+                    "instance name in " + entry.getLoggedNameValuePairs()),
+                () -> assertEquals(10 + page.indexOf(entry), entry.getRecordNumber(), "recordNumber")
+            );
+            if (i > 0) {
+                assertFalse(entry.getLoggedDateTime().isAfter(page.get(i - 1).getLoggedDateTime()),
+                    "ordered from the newest: " + entry);
+            }
+        }
+    }
+
+
+    @Test
+    public void recordsWithoutDate() throws Exception {
+        final long countWithDate = recordCount;
+        addInstance("instance4", Format.ONELINE, 0);
+        long previousNumber = -1;
+        long count = 0;
+        try (MergedLogQuery query = new MergedLogQuery(parser, logFiles, r -> true, false)) {
+            while (query.hasNext()) {
+                for (LogEntry entry : query.nextPage(PAGE_SIZE)) {
+                    count++;
+                    if (entry.getLoggedDateTime() == null) {
+                        // order of the file is kept
+                        final long number = Long.parseLong(entry.getLoggedMessage().replace("Record number ", ""));
+                        assertEquals(previousNumber + 1, number, "record number in the message");
+                        previousNumber = number;
+                    }
+                }
+            }
+        }
+        assertEquals(recordCount, count, "count of merged records");
+        assertEquals(recordCount - countWithDate - 1, previousNumber, "last record without date");
+    }
+
+
+    private void addInstance(final String instanceName, final Format format, final int shift) throws Exception {
+        final File file = File.createTempFile(MergedLogQueryTest.class.getSimpleName(), ".log");
+        recordCount += SyntheticLogGenerator.generate(file, format, SyntheticLogGenerator.LOG_SIZE / 4,
+            START.plusMillis(shift), Duration.ofMillis(3));
+        logFiles.put(instanceName, file);
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.server.logging.parser;
+
+import com.sun.enterprise.server.logging.parser.ParallelLogParser.LogRecordIterator;
+import com.sun.enterprise.server.logging.parser.SyntheticLogGenerator.Format;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParallelLogParserTest {
+
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+
+    private ForkJoinPool pool;
+    private File logFile;
+
+    @BeforeEach
+    public void init() throws Exception {
+        pool = new ForkJoinPool(4);
+        logFile = File.createTempFile(ParallelLogParserTest.class.getSimpleName(), ".log");
+    }
+
+
+    @AfterEach
+    public void cleanup() throws Exception {
+        pool.shutdownNow();
+        logFile.delete();
+    }
+
+
+    @Test
+    public void uniform() throws Exception {
+        assertSameAsSequential(Format.UNIFORM);
+    }
+
+
+    @Test
+    public void odl() throws Exception {
+        assertSameAsSequential(Format.ODL);
+    }
+
+
+    @Test
+    public void oneLine() throws Exception {
+        assertSameAsSequential(Format.ONELINE);
+    }
+
+
+    @Test
+    public void filterAndChunkSmallerThanRecord() throws Exception {
+        final long count = SyntheticLogGenerator.generate(logFile, Format.UNIFORM, 64 * 1024, START,
+            Duration.ofMillis(1));
+        final ParallelLogParser parser = new ParallelLogParser(pool, 100);
+        long severe = 0;
+        try (LogRecordIterator records = parser.parse(logFile, r -> "SEVERE".equals(r.getLevel()), false)) {
+            while (records.hasNext()) {
+                assertEquals("SEVERE", records.next().getLevel());
+                severe++;
+            }
+            assertFalse(records.hasNext(), "hasNext after the end");
+        }
+        assertEquals((count + 1) / 5, severe, "count of SEVERE records");
+    }
+
+
+    @Test
+    public void fileGrowingDuringIteration() throws Exception {
+        final long count = SyntheticLogGenerator.generate(logFile, Format.UNIFORM, 64 * 1024, START,
+            Duration.ofMillis(1));
+        final ParallelLogParser parser = new ParallelLogParser(pool, 100);
+        long parsed = 0;
+        try (LogRecordIterator records = parser.parse(logFile, r -> true, false)) {
+            assertTrue(records.hasNext());
+            try (FileWriter writer = new FileWriter(logFile, true)) {
+                writer.write("appended line\n");
+            }
+            while (records.hasNext()) {
+                records.next();
+                parsed++;
+            }
+        }
+        assertEquals(count, parsed);
+    }
+
+
+    @Test
+    public void rotatedFileIsDetected() throws Exception {
+        SyntheticLogGenerator.generate(logFile, Format.UNIFORM, 64 * 1024, START, Duration.ofMillis(1));
+        final File rotated = new File(logFile.getPath() + "_rotated");
+        final ParallelLogParser parser = new ParallelLogParser(pool, 100);
+        try (LogRecordIterator records = parser.parse(logFile, r -> true, false)) {
+            assertTrue(records.hasNext());
+            // The iterator does not hold the file open, it can be renamed even on Windows
+            Files.move(logFile.toPath(), rotated.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            SyntheticLogGenerator.generate(logFile, Format.UNIFORM, 128 * 1024, START.plusSeconds(3600),
+                Duration.ofMillis(1));
+            assertThrows(UncheckedIOException.class, () -> records.forEachRemaining(r -> { }));
+        } finally {
+            rotated.delete();
+        }
+    }
+
+
+    private void assertSameAsSequential(final Format format) throws Exception {
+        final long count = SyntheticLogGenerator.generate(logFile, format, SyntheticLogGenerator.LOG_SIZE, START,
+            Duration.ofMillis(1));
+        final Checksum sequential = new Checksum();
+        try (BufferedReader reader = new BufferedReader(new FileReader(logFile))) {
+            LogParserFactory.getInstance().createLogParser(logFile).parseLog(reader,
+                (position, record) -> sequential.add(record));
+        }
+
+        final ParallelLogParser parser = new ParallelLogParser(pool, 64 * 1024);
+        final Checksum forward = new Checksum();
+        try (LogRecordIterator records = parser.parse(logFile, r -> true, false)) {
+            records.forEachRemaining(forward::add);
+        }
+        final Checksum reverse = new Checksum();
+        try (LogRecordIterator records = parser.parse(logFile, r -> true, true)) {
+            records.forEachRemaining(reverse::add);
+        }
+        assertAll(
+            () -> assertEquals(count, sequential.count, "sequential count"),
+            () -> assertEquals(sequential.count, forward.count, "forward count"),
+            () -> assertEquals(sequential.hash, forward.hash, "forward hash"),
+            () -> assertEquals(sequential.count, reverse.count, "reverse count"),
+            () -> assertEquals(sequential.sum, reverse.sum, "reverse sum"),
+            () -> assertEquals("Record number 0", forward.first.lines().findFirst().get(), "first record"),
+            () -> assertEquals(forward.last, reverse.first, "first record of the reverse iteration")
+        );
+    }
+
+
+    /**
+     * Order dependent hash and order independent sum, so huge files can be compared without
+     * keeping records in memory.
+     */
+    private static final class Checksum {
+
+        private long count;
+        private long hash;
+        private long sum;
+        private String first;
+        private String last;
+
+        void add(final ParsedLogRecord record) {
+            final int recordHash = (record.getMessage() + '|' + record.getTimestamp() + '|' + record.getTime() + '|'
+                + record.getLevel() + '|' + record.getLogger()).hashCode();
+            hash = hash * 31 + recordHash;
+            sum += recordHash;
+            last = record.getMessage();
+            if (first == null) {
+                first = last;
+            }
+            count++;
+        }
+    }
+}
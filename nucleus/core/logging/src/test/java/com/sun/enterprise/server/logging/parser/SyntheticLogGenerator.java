@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.server.logging.parser;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.logging.Formatter;
+import java.util.logging.Level;
+
+import org.glassfish.main.jul.formatter.ODLLogFormatter;
+import org.glassfish.main.jul.formatter.OneLineFormatter;
+import org.glassfish.main.jul.formatter.UniformLogFormatter;
+import org.glassfish.main.jul.record.GlassFishLogRecord;
+
+/**
+ * Writes log files with records formatted by GlassFish formatters.
+ * <p>
+ * The default size is small to keep the build fast, set the <code>logging.test.logSize</code>
+ * system property to the count of bytes to test multi-gigabyte files.
+ */
+public final class SyntheticLogGenerator {
+
+    /** Size of generated files in bytes */
+    public static final long LOG_SIZE = Long.getLong("logging.test.logSize", 2L * 1024 * 1024);
+
+    private static final Level[] LEVELS = {Level.INFO, Level.WARNING, Level.FINE, Level.SEVERE, Level.INFO};
+
+    /** Formats of generated log files */
+    public enum Format {
+        UNIFORM, ODL, ONELINE;
+
+        Formatter createFormatter() {
+            switch (this) {
+                case UNIFORM:
+                    return new UniformLogFormatter();
+                case ODL:
+                    return new ODLLogFormatter();
+                default:
+                    // records contain just the time, without the date
+                    return new OneLineFormatter();
+            }
+        }
+    }
+
+    private SyntheticLogGenerator() {
+        // utility
+    }
+
+
+    /**
+     * Writes records until the file reaches the size.
+     *
+     * @param file
+     * @param format
+     * @param size minimal size of the file
+     * @param start timestamp of the first record
+     * @param step time between records
+     * @return count of written records
+     * @throws Exception
+     */
+    public static long generate(final File file, final Format format, final long size, final Instant start,
+        final Duration step) throws Exception {
+        final Formatter formatter = format.createFormatter();
+        long count = 0;
+        long written = 0;
+        try (Writer writer = new BufferedWriter(
+            new OutputStreamWriter(new FileOutputStream(file), Charset.defaultCharset()), 1024 * 1024)) {
+            while (written < size) {
+                final GlassFishLogRecord record = new GlassFishLogRecord(LEVELS[(int) (count % LEVELS.length)],
+                    createMessage(count, format), false);
+                record.setLoggerName("org.acme.logger" + count % 3);
+                record.setInstant(start.plus(step.multipliedBy(count)));
+                final String formatted = formatter.format(record);
+                writer.write(formatted);
+                written += formatted.length();
+                count++;
+            }
+        }
+        return count;
+    }
+
+
+    private static String createMessage(final long number, final Format format) {
+        if (format != Format.ONELINE && number % 10 == 0) {
+            return "Record number " + number + "\n  multiline continuation";
+        }
+        return "Record number " + number;
+    }
+}
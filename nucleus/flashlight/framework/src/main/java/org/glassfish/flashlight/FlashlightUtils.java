@@ -20,6 +20,9 @@ import com.sun.enterprise.config.serverbeans.MonitoringService;
 import com.sun.enterprise.util.LocalStringManagerImpl;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MutableCallSite;
 import java.lang.reflect.Method;
 import java.util.*;
 import java.util.logging.Logger;
@@ -71,6 +74,8 @@ public class FlashlightUtils {
     public static void setMonitoringEnabled(boolean b) {
         ok();
         monitoringEnabled = b;
+        MONITORING_ENABLED.setTarget(MethodHandles.constant(boolean.class, b));
+        MutableCallSite.syncAll(new MutableCallSite[] {MONITORING_ENABLED});
     }
 
     public static boolean isMonitoringEnabled() {
@@ -78,6 +83,27 @@ public class FlashlightUtils {
         return monitoringEnabled;
     }
 
+    /**
+     * The JIT treats the returned value as a constant and recompiles method handles
+     * using it when monitoring is enabled or disabled, so the check costs nothing.
+     *
+     * @return method handle without parameters returning true if monitoring is enabled.
+     */
+    public static MethodHandle getMonitoringEnabledCheck() {
+        return MONITORING_ENABLED_CHECK;
+    }
+
+    /**
+     * Set the org.glassfish.flashlight.methodHandleDispatch system property to true
+     * to use this mode.
+     *
+     * @return true if generated probe providers pass probe arguments to listeners through
+     *         method handles instead of boxing them to arrays.
+     */
+    public static boolean isMethodHandleDispatch() {
+        return METHOD_HANDLE_DISPATCH;
+    }
+
     public static boolean isDtraceAvailable() {
         ok();
 
@@ -393,6 +419,11 @@ public class FlashlightUtils {
     private static DTraceContract dt;
     private static boolean dtraceEnabled;
     private static boolean monitoringEnabled;
+    private static final MutableCallSite MONITORING_ENABLED =
+            new MutableCallSite(MethodHandles.constant(boolean.class, false));
+    private static final MethodHandle MONITORING_ENABLED_CHECK = MONITORING_ENABLED.dynamicInvoker();
+    private static final boolean METHOD_HANDLE_DISPATCH =
+            Boolean.getBoolean("org.glassfish.flashlight.methodHandleDispatch");
     private final static Object LOCK = new Object();
     private final static Class[] INTEGRAL_CLASSES = new Class[]{
         int.class, long.class, short.class, boolean.class, char.class, byte.class,
@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.flashlight.client;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+
+/**
+ * Invoker which can be called with probe arguments directly, without boxing them to an array.
+ */
+public interface MethodHandleClientInvoker extends ProbeClientInvoker {
+
+    /**
+     * @param probeType parameter types of the probe and the void return type
+     * @return method handle of the probeType doing the same as {@link #invoke(Object[])},
+     *         or null if this invoker can be called just with an array.
+     */
+    MethodHandle getMethodHandle(MethodType probeType);
+}
@@ -36,6 +36,8 @@ import java.util.WeakHashMap;
 
 import org.glassfish.flashlight.FlashlightLoggerInfo;
 import static org.glassfish.flashlight.FlashlightLoggerInfo.*;
+import org.glassfish.flashlight.FlashlightUtils;
+import org.glassfish.flashlight.impl.core.ProviderImplGenerator;
 import org.glassfish.flashlight.provider.FlashlightProbe;
 import org.glassfish.flashlight.provider.ProbeRegistry;
 
@@ -284,6 +286,7 @@ public class ProbeProviderClassFileTransformer implements ClassFileTransformer {
 
     private class ProbeProviderClassVisitor
             extends ClassVisitor {
+        private boolean invokeDynamicSupported;
 
         ProbeProviderClassVisitor(ClassVisitor cv) {
             super(Opcodes.ASM7, cv);
@@ -294,13 +297,22 @@ public class ProbeProviderClassFileTransformer implements ClassFileTransformer {
             }
         }
 
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+            // the major version is in the lower 16 bits
+            invokeDynamicSupported = (version & 0xFFFF) >= Opcodes.V1_7;
+            super.visit(version, access, name, signature, superName, interfaces);
+        }
+
         @Override
         public MethodVisitor visitMethod(int access, String name, String desc, String signature, String[] exceptions) {
             MethodVisitor mv = super.visitMethod(access, name, desc, signature, exceptions);
 
             FlashlightProbe probe = probes.get(makeKey(name, desc));
             if (probe != null) {
-                mv = new ProbeProviderMethodVisitor(mv, access, name, desc, probe);
+                boolean useDispatcher = invokeDynamicSupported && FlashlightUtils.isMethodHandleDispatch()
+                        && ProviderImplGenerator.canUseDispatcher(probe);
+                mv = new ProbeProviderMethodVisitor(mv, access, name, desc, probe, useDispatcher);
             }
 
             return mv;
@@ -311,12 +323,15 @@ public class ProbeProviderClassFileTransformer implements ClassFileTransformer {
             extends AdviceAdapter {
 
         private FlashlightProbe probe;
+        private boolean useDispatcher;
         private int stateLocal;
         private Label startFinally;
 
-        ProbeProviderMethodVisitor(MethodVisitor mv, int access, String name, String desc, FlashlightProbe probe) {
+        ProbeProviderMethodVisitor(MethodVisitor mv, int access, String name, String desc, FlashlightProbe probe,
+                boolean useDispatcher) {
             super(Opcodes.ASM7, mv, access, name, desc);
             this.probe = probe;
+            this.useDispatcher = useDispatcher;
         }
 
         @Override
@@ -435,6 +450,13 @@ public class ProbeProviderClassFileTransformer implements ClassFileTransformer {
 
         // This handles the stateless probe invocations
         private void insertCode() {
+            if (useDispatcher) {
+                // arguments are passed as they are, without listeners the call site does nothing
+                loadArgs();
+                invokeDynamic(probe.getProviderJavaMethodName(), Type.getMethodDescriptor(Type.VOID_TYPE,
+                        Type.getArgumentTypes(methodDesc)), ProviderImplGenerator.PROBE_BOOTSTRAP, probe.getId());
+                return;
+            }
             //Add the body
             push(probe.getId());
             loadArgArray();
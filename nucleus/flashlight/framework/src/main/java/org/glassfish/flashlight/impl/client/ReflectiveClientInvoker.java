@@ -16,18 +16,27 @@
 
 package org.glassfish.flashlight.impl.client;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
 import java.lang.reflect.InvocationTargetException;
-import org.glassfish.flashlight.client.ProbeClientInvoker;
+import java.lang.reflect.Modifier;
+import org.glassfish.flashlight.client.MethodHandleClientInvoker;
 import org.glassfish.flashlight.impl.core.ComputedParamsHandlerManager;
 import org.glassfish.flashlight.provider.FlashlightProbe;
 
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Objects;
 import org.glassfish.flashlight.FlashlightUtils;
 
 public class ReflectiveClientInvoker
-        implements ProbeClientInvoker {
+        implements MethodHandleClientInvoker {
+    private static final MethodHandle COMPUTE_VALUE;
+    private static final MethodHandle TO_STRING;
+    private static final MethodHandle REPORT_EXCEPTION;
     private int id;
     private Object target;
     private Method method;
@@ -132,15 +141,80 @@ public class ReflectiveClientInvoker
                 methodInvoke(args);
         }
         catch (Exception ex) {
-            if (!emittedOneMessage) {
-                // Only do this one time!
-                emittedOneMessage = true;
-                StringBuilder sb = new StringBuilder();
-                sb.append(getClass().getName()).append('\n').append(ex).append('\n');
-                sb.append("CAUSE:  ").append(ex.getCause()).append('\n');
-                sb.append(this);
-                System.out.println(sb.toString());
+            reportException(ex);
+        }
+    }
+
+    /**
+     * The handle takes probe arguments as they are, computed params are evaluated and arguments
+     * are reordered by the handle itself, so nothing is allocated unless the listener method
+     * needs boxed values.
+     */
+    @Override
+    public MethodHandle getMethodHandle(MethodType probeType) {
+        if (method.isVarArgs()) {
+            return null;
+        }
+
+        try {
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            if (!Modifier.isStatic(method.getModifiers())) {
+                handle = handle.bindTo(target);
+            }
+
+            int size = paramNames.length;
+            for (int i = size - 1; i >= 0; i--) {
+                if (probeIndices[i] == -1) {
+                    MethodHandle compute = MethodHandles.insertArguments(COMPUTE_VALUE, 0,
+                            ComputedParamsHandlerManager.getInstance(), paramNames[i]);
+                    handle = MethodHandles.collectArguments(handle, i,
+                            compute.asType(MethodType.methodType(methodParamTypes[i])));
+                }
+            }
+
+            int[] reorder = new int[handle.type().parameterCount()];
+            Class<?>[] argTypes = new Class<?>[reorder.length];
+            int next = 0;
+            for (int i = 0; i < size; i++) {
+                if (probeIndices[i] != -1) {
+                    Class<?> argType = probeType.parameterType(probeIndices[i]);
+                    if (isStringMismatch(argType, methodParamTypes[i])) {
+                        // same as matchupArgs
+                        handle = MethodHandles.filterArguments(handle, next, TO_STRING);
+                    }
+                    reorder[next] = probeIndices[i];
+                    argTypes[next++] = argType;
+                }
             }
+            handle = handle.asType(MethodType.methodType(void.class, argTypes));
+            handle = MethodHandles.permuteArguments(handle, probeType, reorder);
+
+            MethodHandle handler = MethodHandles.dropArguments(REPORT_EXCEPTION.bindTo(this), 1,
+                    probeType.parameterList());
+            handle = MethodHandles.catchException(handle, Throwable.class, handler);
+            return MethodHandles.guardWithTest(FlashlightUtils.getMonitoringEnabledCheck(), handle,
+                    MethodHandles.empty(probeType));
+        }
+        catch (IllegalAccessException | WrongMethodTypeException ex) {
+            // incompatible types are reported by the reflective invocation
+            return null;
+        }
+    }
+
+    private static boolean isStringMismatch(Class<?> argType, Class<?> paramType) {
+        return paramType != Object.class && paramType.isAssignableFrom(String.class)
+                && !paramType.isAssignableFrom(argType);
+    }
+
+    private void reportException(Throwable ex) {
+        if (!emittedOneMessage) {
+            // Only do this one time!
+            emittedOneMessage = true;
+            StringBuilder sb = new StringBuilder();
+            sb.append(getClass().getName()).append('\n').append(ex).append('\n');
+            sb.append("CAUSE:  ").append(ex.getCause()).append('\n');
+            sb.append(this);
+            System.out.println(sb.toString());
         }
     }
 
@@ -201,4 +275,20 @@ public class ReflectiveClientInvoker
             }
         }
     }
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            COMPUTE_VALUE = lookup.findVirtual(ComputedParamsHandlerManager.class, "computeValue",
+                    MethodType.methodType(Object.class, String.class));
+            // null stays null
+            TO_STRING = MethodHandles.insertArguments(lookup.findStatic(Objects.class, "toString",
+                    MethodType.methodType(String.class, Object.class, String.class)), 1, (Object) null);
+            REPORT_EXCEPTION = lookup.findVirtual(ReflectiveClientInvoker.class, "reportException",
+                    MethodType.methodType(void.class, Throwable.class));
+        }
+        catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
 }
@@ -26,14 +26,18 @@ import com.sun.enterprise.util.io.FileUtils;
 
 import java.io.File;
 import java.io.FileOutputStream;
+import java.lang.invoke.CallSite;
 import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.glassfish.flashlight.FlashlightLoggerInfo;
+import org.glassfish.flashlight.FlashlightUtils;
 import org.glassfish.flashlight.provider.FlashlightProbe;
 import org.glassfish.flashlight.provider.ProbeRegistry;
 import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Handle;
 import org.objectweb.asm.Label;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
@@ -43,6 +47,35 @@ import org.objectweb.asm.commons.Method;
 public class ProviderImplGenerator {
     private static final Logger logger = FlashlightLoggerInfo.getLogger();
 
+    /** Bootstrap method linking invokedynamic probe call sites to {@link FlashlightProbe#getDispatcher()} */
+    public static final Handle PROBE_BOOTSTRAP = new Handle(Opcodes.H_INVOKESTATIC,
+            Type.getInternalName(FlashlightProbe.class), "bootstrapProbe",
+            MethodType.methodType(CallSite.class, MethodHandles.Lookup.class, String.class, MethodType.class, int.class)
+                    .toMethodDescriptorString(), false);
+
+    private final boolean methodHandleDispatch;
+
+    public ProviderImplGenerator() {
+        this(FlashlightUtils.isMethodHandleDispatch());
+    }
+
+    /**
+     * @param methodHandleDispatch true to generate invokedynamic call sites bound to
+     *            {@link FlashlightProbe#getDispatcher()} instead of calls of
+     *            {@link FlashlightProbe#fireProbe(Object[])}
+     */
+    public ProviderImplGenerator(boolean methodHandleDispatch) {
+        this.methodHandleDispatch = methodHandleDispatch;
+    }
+
+    /**
+     * @param probe
+     * @return true if the generated code can call the dispatcher of the probe
+     */
+    public static boolean canUseDispatcher(FlashlightProbe probe) {
+        return !probe.hasSelf() && !probe.getStateful();
+    }
+
     public String defineClass(FlashlightProbeProvider provider, Class providerClazz) {
 
         String generatedClassName = provider.getModuleProviderName() + "_Flashlight_" + provider.getModuleName() + "_"
@@ -74,7 +107,8 @@ public class ProviderImplGenerator {
 
         int access = Opcodes.ACC_PUBLIC + Opcodes.ACC_FINAL;
         String[] interfaces = new String[]{providerClazz.getName().replace('.', '/')};
-        cw.visit(Opcodes.V1_5, access, generatedClassName, null, "java/lang/Object", interfaces);
+        // invokedynamic needs at least the Java 7 class file format
+        cw.visit(methodHandleDispatch ? Opcodes.V11 : Opcodes.V1_5, access, generatedClassName, null, "java/lang/Object", interfaces);
 
 
         for (FlashlightProbe probe : provider.getProbes()) {
@@ -99,6 +133,16 @@ public class ProviderImplGenerator {
             Method m = Method.getMethod(methodDesc.toString());
             GeneratorAdapter gen = new GeneratorAdapter(Opcodes.ACC_PUBLIC, m, null, null, cw);
 
+            if (methodHandleDispatch && canUseDispatcher(probe)) {
+                // arguments are passed as they are, without listeners the call site does nothing
+                gen.loadArgs();
+                gen.invokeDynamic(probe.getProviderJavaMethodName(), m.getDescriptor(), PROBE_BOOTSTRAP,
+                        probe.getId());
+                gen.returnValue();
+                gen.endMethod();
+                continue;
+            }
+
             String fieldName = "_flashlight_" + probe.getProbeName();
             gen.loadThis();
             gen.visitFieldInsn(Opcodes.GETFIELD,
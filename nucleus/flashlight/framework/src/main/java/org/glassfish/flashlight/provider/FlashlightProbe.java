@@ -16,10 +16,17 @@
 
 package org.glassfish.flashlight.provider;
 
+import java.lang.invoke.CallSite;
+import java.lang.invoke.ConstantCallSite;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.MutableCallSite;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 
 import java.util.*;
+import org.glassfish.flashlight.client.MethodHandleClientInvoker;
 import org.glassfish.flashlight.client.ProbeClientInvoker;
 import org.glassfish.flashlight.client.ProbeHandle;
 import org.glassfish.flashlight.client.StatefulProbeClientInvoker;
@@ -76,7 +83,41 @@ public class FlashlightProbe
             this.probeParamNames = probeParamNames;
             this.paramTypes = paramTypes;
         }
+        this.dispatcher = new MutableCallSite(MethodHandles.empty(MethodType.methodType(void.class, this.paramTypes)));
+    }
+
+    /**
+     * Bootstrap method of invokedynamic instructions firing the probe, generated when
+     * {@link org.glassfish.flashlight.FlashlightUtils#isMethodHandleDispatch()} is true.
+     *
+     * @param lookup lookup of the probe provider class
+     * @param name name of the probe provider method
+     * @param type parameter types of the probe
+     * @param probeId id of the probe in the {@link ProbeRegistry}
+     * @return call site of the dispatcher of the probe
+     */
+    public static CallSite bootstrapProbe(MethodHandles.Lookup lookup, String name, MethodType type, int probeId) {
+        FlashlightProbe probe = ProbeRegistry.getProbeById(probeId);
+        if (probe == null) {
+            // unregistered probe can't get any listener
+            return new ConstantCallSite(MethodHandles.empty(type));
+        }
+        if (probe.dispatcher.type().equals(type)) {
+            return probe.dispatcher;
+        }
+        return new ConstantCallSite(probe.dispatcher.dynamicInvoker().asType(type));
+    }
 
+    /**
+     * The dispatcher does the same as {@link #fireProbe(Object[])} without the array of
+     * arguments. Its target is replaced whenever listeners change, so the JIT can inline
+     * the listener methods into the probe provider method and a probe without listeners
+     * costs nothing.
+     *
+     * @return call site with parameter types of the probe and the void return type
+     */
+    public MutableCallSite getDispatcher() {
+        return dispatcher;
     }
 
     public Method getProbeMethod() {
@@ -354,6 +395,43 @@ public class FlashlightProbe
         }
 
         invokerList = invList;
+        updateDispatcher();
+    }
+
+    private void updateDispatcher() {
+        MethodType type = dispatcher.type();
+        MethodHandle target = MethodHandles.empty(type);
+        if (listenerEnabled.get()) {
+            // foldArguments calls the added handle first
+            for (int i = invokerList.size() - 1; i >= 0; i--) {
+                target = MethodHandles.foldArguments(target, getInvokerHandle(invokerList.get(i), type));
+            }
+            if (parent != null) {
+                MethodHandle parentHandle;
+                if (parent.dispatcher.type().equals(type)) {
+                    parentHandle = parent.dispatcher.dynamicInvoker();
+                } else {
+                    parentHandle = toArrayHandle(FIRE_PROBE.bindTo(parent), type);
+                }
+                target = MethodHandles.foldArguments(target, parentHandle);
+            }
+        }
+        dispatcher.setTarget(target);
+        MutableCallSite.syncAll(new MutableCallSite[] {dispatcher});
+    }
+
+    private static MethodHandle getInvokerHandle(ProbeClientInvoker invoker, MethodType type) {
+        if (invoker instanceof MethodHandleClientInvoker) {
+            MethodHandle handle = ((MethodHandleClientInvoker) invoker).getMethodHandle(type);
+            if (handle != null) {
+                return handle;
+            }
+        }
+        return toArrayHandle(INVOKE.bindTo(invoker), type);
+    }
+
+    private static MethodHandle toArrayHandle(MethodHandle arrayHandle, MethodType type) {
+        return arrayHandle.asCollector(Object[].class, type.parameterCount()).asType(type);
     }
 
     private int findStateIndex(int invokerId, ArrayList <ProbeInvokeState> states) {
@@ -406,9 +484,23 @@ public class FlashlightProbe
     public final static LocalStringManagerImpl localStrings =
                             new LocalStringManagerImpl(FlashlightProbe.class);
     private FlashlightProbe parent = null;
+    private final MutableCallSite dispatcher;
     private boolean stateful = false;
     private boolean statefulReturn = false;
     private boolean statefulException = false;
     private String [] profileNames = null;
+    private static final MethodHandle FIRE_PROBE;
+    private static final MethodHandle INVOKE;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodType arrayType = MethodType.methodType(void.class, Object[].class);
+            FIRE_PROBE = lookup.findVirtual(FlashlightProbe.class, "fireProbe", arrayType);
+            INVOKE = lookup.findVirtual(ProbeClientInvoker.class, "invoke", arrayType);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
 }
 
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.flashlight.impl.core;
+
+import com.sun.enterprise.config.serverbeans.MonitoringService;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.glassfish.flashlight.FlashlightUtils;
+import org.glassfish.flashlight.client.ProbeClientInvoker;
+import org.glassfish.flashlight.client.ProbeClientInvokerFactory;
+import org.glassfish.flashlight.provider.FlashlightProbe;
+import org.glassfish.hk2.api.ServiceLocator;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Compares the cost of one probe call of a generated probe provider boxing arguments for
+ * {@link FlashlightProbe#fireProbe(Object[])} and of the provider calling listeners
+ * through the {@link FlashlightProbe#getDispatcher()}.
+ */
+public class ProbeDispatchBenchmarkTest {
+
+    private static final AtomicInteger PROVIDER_COUNTER = new AtomicInteger();
+
+    @Test
+    public void probeDispatch() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".*")
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(200L))
+            .measurementIterations(1).measurementTime(TimeValue.milliseconds(500L))
+            .forks(1).threads(1).timeout(TimeValue.seconds(10L))
+            .timeUnit(TimeUnit.NANOSECONDS)
+            .mode(Mode.AverageTime).shouldFailOnError(true)
+            .addProfiler(GCProfiler.class)
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        assertEquals(6, results.size(), "One result per dispatch mode and monitoring state");
+        for (RunResult result : results) {
+            Result<?> allocation = result.getSecondaryResults().get("gc.alloc.rate.norm");
+            assertNotNull(allocation, "gc.alloc.rate.norm of " + result.getParams().getBenchmark());
+        }
+    }
+
+
+    @Test
+    public void dispatcherCallsListeners() throws Exception {
+        initMonitoring(true);
+        final ProbeState state = new ProbeState();
+        state.dispatch = "methodHandle";
+        state.monitoring = "severalListeners";
+        state.createProvider();
+
+        state.provider.requestEvent("app", 200, 10L);
+        state.provider.requestEvent("app", 404, 5L);
+        assertAll(
+            () -> assertEquals(2, state.requestListener.requests, "requests"),
+            () -> assertEquals(2, state.otherRequestListener.requests, "requests of the other listener"),
+            () -> assertEquals(604, state.requestListener.statusSum, "statusSum"),
+            () -> assertEquals(15L, state.bytesListener.bytes, "bytes"),
+            () -> assertEquals("app", state.bytesListener.application, "application")
+        );
+
+        FlashlightUtils.setMonitoringEnabled(false);
+        state.provider.requestEvent("app", 500, 1L);
+        assertEquals(2, state.requestListener.requests, "requests with monitoring disabled");
+
+        FlashlightUtils.setMonitoringEnabled(true);
+        state.probe.removeInvoker(state.invokers[0]);
+        state.provider.requestEvent("other", 500, 1L);
+        assertAll(
+            () -> assertEquals(2, state.requestListener.requests, "requests of the removed listener"),
+            () -> assertEquals(3, state.otherRequestListener.requests, "requests of the other listener"),
+            () -> assertEquals(16L, state.bytesListener.bytes, "bytes"),
+            () -> assertEquals("other", state.bytesListener.application, "application")
+        );
+    }
+
+
+    @Benchmark
+    public void probe(ProbeState state) {
+        state.provider.requestEvent("__asadmin", 200, 1024L);
+    }
+
+
+    private static void initMonitoring(boolean enabled) {
+        ServiceLocator locator = (ServiceLocator) Proxy.newProxyInstance(
+            ProbeDispatchBenchmarkTest.class.getClassLoader(), new Class[] {ServiceLocator.class},
+            (proxy, method, args) -> null);
+        MonitoringService monitoringService = (MonitoringService) Proxy.newProxyInstance(
+            ProbeDispatchBenchmarkTest.class.getClassLoader(), new Class[] {MonitoringService.class},
+            (proxy, method, args) -> null);
+        FlashlightUtils.initialize(locator, monitoringService);
+        FlashlightUtils.setMonitoringEnabled(enabled);
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class ProbeState {
+
+        @Param({"reflective", "methodHandle"})
+        private String dispatch;
+
+        @Param({"off", "oneListener", "severalListeners"})
+        private String monitoring;
+
+        private RequestProbeProvider provider;
+        private FlashlightProbe probe;
+        private ProbeClientInvoker[] invokers;
+        private final RequestListener requestListener = new RequestListener();
+        private final BytesListener bytesListener = new BytesListener();
+        private final RequestListener otherRequestListener = new RequestListener();
+
+        @Setup
+        public void createProvider() throws Exception {
+            initMonitoring(!"off".equals(monitoring));
+            String providerName = dispatch + PROVIDER_COUNTER.incrementAndGet();
+            FlashlightProbeProvider probeProvider = new FlashlightProbeProvider("benchmark", "flashlight",
+                providerName, RequestProbeProvider.class);
+            probe = ProbeFactory.createProbe(RequestProbeProvider.class, "benchmark", "flashlight", providerName,
+                "requestEvent", new String[] {"application", "status", "bytes"},
+                new Class[] {String.class, int.class, long.class}, false, false);
+            probe.setProviderJavaMethodName("requestEvent");
+            probeProvider.addProbe(probe);
+
+            if ("oneListener".equals(monitoring)) {
+                invokers = new ProbeClientInvoker[] {createInvoker(requestListener, "requestEvent")};
+            } else if ("severalListeners".equals(monitoring)) {
+                invokers = new ProbeClientInvoker[] {createInvoker(requestListener, "requestEvent"),
+                    createInvoker(bytesListener, "bytesSent"), createInvoker(otherRequestListener, "requestEvent")};
+            } else {
+                invokers = new ProbeClientInvoker[0];
+            }
+
+            ProviderImplGenerator generator = new ProviderImplGenerator("methodHandle".equals(dispatch));
+            String className = generator.defineClass(probeProvider, RequestProbeProvider.class);
+            provider = (RequestProbeProvider) RequestProbeProvider.class.getClassLoader().loadClass(className)
+                .getConstructor().newInstance();
+        }
+
+        private ProbeClientInvoker createInvoker(Object listener, String methodName) {
+            for (Method method : listener.getClass().getMethods()) {
+                if (method.getName().equals(methodName)) {
+                    ProbeClientInvoker invoker = ProbeClientInvokerFactory.createInvoker(listener, method, probe,
+                        "bytesSent".equals(methodName) ? new String[] {"bytes", "application"}
+                            : new String[] {"application", "status", "bytes"});
+                    probe.addInvoker(invoker);
+                    return invoker;
+                }
+            }
+            throw new IllegalArgumentException(methodName);
+        }
+    }
+
+
+    public interface RequestProbeProvider {
+
+        void requestEvent(String application, int status, long bytes);
+    }
+
+
+    public static class RequestListener {
+
+        private int requests;
+        private long statusSum;
+
+        public void requestEvent(String application, int status, long bytes) {
+            requests++;
+            statusSum += status;
+        }
+    }
+
+
+    /**
+     * Takes just some of probe arguments in a different order.
+     */
+    public static class BytesListener {
+
+        private long bytes;
+        private String application;
+
+        public void bytesSent(long bytes, String application) {
+            this.bytes += bytes;
+            this.application = application;
+        }
+    }
+}
@@ -145,6 +145,21 @@ public abstract class GlassFishLogFormatter extends Formatter {
     protected abstract String formatRecord(LogRecord record);
 
 
+    /**
+     * Formats the record and appends it to the output.
+     * <p>
+     * Unlike {@link #format(LogRecord)} it does not need any intermediary String of the whole
+     * record, so the output can be reused for many records.
+     * The default implementation appends the result of the {@link #formatRecord(LogRecord)}.
+     *
+     * @param record
+     * @param output
+     */
+    public void formatRecord(final LogRecord record, final StringBuilder output) {
+        output.append(formatRecord(record));
+    }
+
+
     /**
      * @param printSequenceNumber true enables printing the log record sequence number
      */
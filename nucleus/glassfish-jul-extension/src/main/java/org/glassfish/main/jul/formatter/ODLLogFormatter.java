@@ -86,7 +86,15 @@ public class ODLLogFormatter extends GlassFishLogFormatter {
 
     @Override
     public String formatRecord(final LogRecord record) {
-        return formatGlassFishLogRecord(MSG_RESOLVER.resolve(record));
+        final StringBuilder output = new StringBuilder(REC_BUFFER_CAPACITY);
+        formatRecord(record, output);
+        return output.toString();
+    }
+
+
+    @Override
+    public void formatRecord(final LogRecord record, final StringBuilder output) {
+        formatGlassFishLogRecord(MSG_RESOLVER.resolve(record), output);
     }
 
 
@@ -106,18 +114,18 @@ public class ODLLogFormatter extends GlassFishLogFormatter {
     }
 
 
-    private String formatGlassFishLogRecord(final GlassFishLogRecord record) {
+    private void formatGlassFishLogRecord(final GlassFishLogRecord record, final StringBuilder output) {
+        final int start = output.length();
         try {
             final String message = getPrintedMessage(record);
             if (message == null) {
-                return "";
+                return;
             }
             final boolean forceMultiline = multiline || message.contains(lineSeparator());
             final Level logLevel = record.getLevel();
             final String msgId = record.getMessageKey();
             final String loggerName = record.getLoggerName();
             final String threadName = record.getThreadName();
-            final StringBuilder output = new StringBuilder(REC_BUFFER_CAPACITY);
             appendTimestamp(output, record.getTime());
             appendProductId(output);
             appendLogLevel(output, logLevel);
@@ -138,16 +146,18 @@ public class ODLLogFormatter extends GlassFishLogFormatter {
                 output.append(FIELD_END_MARKER).append(FIELD_END_MARKER);
             }
             output.append(lineSeparator()).append(lineSeparator());
-            return output.toString();
         } catch (final Exception e) {
             error(getClass(), "Error in formatting Logrecord", e);
-            return record.getMessage();
+            output.setLength(start);
+            if (record.getMessage() != null) {
+                output.append(record.getMessage());
+            }
         }
     }
 
     private void appendTimestamp(final StringBuilder output, final OffsetDateTime timestamp) {
         output.append(FIELD_BEGIN_MARKER);
-        output.append(getTimestampFormatter().format(timestamp));
+        getTimestampFormatter().formatTo(timestamp, output);
         output.append(FIELD_END_MARKER).append(fieldSeparator);
     }
 
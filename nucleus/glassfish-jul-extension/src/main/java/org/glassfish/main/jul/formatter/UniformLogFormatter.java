@@ -90,7 +90,15 @@ public class UniformLogFormatter extends GlassFishLogFormatter {
 
     @Override
     public String formatRecord(final LogRecord record) {
-        return formatGlassFishLogRecord(MSG_RESOLVER.resolve(record));
+        final StringBuilder output = new StringBuilder(REC_BUFFER_CAPACITY);
+        formatRecord(record, output);
+        return output.toString();
+    }
+
+
+    @Override
+    public void formatRecord(final LogRecord record, final StringBuilder output) {
+        formatGlassFishLogRecord(MSG_RESOLVER.resolve(record), output);
     }
 
 
@@ -136,17 +144,17 @@ public class UniformLogFormatter extends GlassFishLogFormatter {
     }
 
 
-    private String formatGlassFishLogRecord(final GlassFishLogRecord record) {
+    private void formatGlassFishLogRecord(final GlassFishLogRecord record, final StringBuilder output) {
+        final int start = output.length();
         try {
             final String message = getPrintedMessage(record);
             if (message == null) {
-                return "";
+                return;
             }
 
-            final String timestamp = getTimestampFormatter().format(record.getTime());
             final Level logLevel = record.getLevel();
-            final StringBuilder output = new StringBuilder(REC_BUFFER_CAPACITY).append(recordBeginMarker);
-            appendTimestamp(output, timestamp);
+            output.append(recordBeginMarker);
+            appendTimestamp(output, record);
             appendLogLevel(output, logLevel);
             appendProductId(output);
             appendLoggerName(output, record.getLoggerName());
@@ -159,16 +167,18 @@ public class UniformLogFormatter extends GlassFishLogFormatter {
             output.append(message);
             output.append(recordEndMarker);
             output.append(lineSeparator()).append(lineSeparator());
-            return output.toString();
         } catch (final Exception e) {
             new ErrorManager().error("Error in formatting Logrecord", e, ErrorManager.FORMAT_FAILURE);
-            return record.getMessage();
+            output.setLength(start);
+            if (record.getMessage() != null) {
+                output.append(record.getMessage());
+            }
         }
     }
 
 
-    private void appendTimestamp(final StringBuilder output, final String timestamp) {
-        output.append(timestamp);
+    private void appendTimestamp(final StringBuilder output, final GlassFishLogRecord record) {
+        getTimestampFormatter().formatTo(record.getTime(), output);
         output.append(recordFieldSeparator);
     }
 
@@ -17,12 +17,17 @@
 
 package org.glassfish.main.jul.handler;
 
+import java.io.IOException;
 import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.time.Duration;
 import java.util.Timer;
+import java.util.logging.ErrorManager;
 import java.util.logging.Formatter;
 import java.util.logging.LogRecord;
 import java.util.logging.Logger;
@@ -51,6 +56,7 @@ import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.DEFAULT
 import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.ENABLED;
 import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.ENCODING;
 import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.FLUSH_FREQUENCY;
+import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.HIGH_THROUGHPUT;
 import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.LEVEL;
 import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.MINIMUM_ROTATION_LIMIT_MB;
 import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.OUTPUT_FILE;
@@ -59,6 +65,8 @@ import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.ROTATIO
 import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.ROTATION_LIMIT_SIZE;
 import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.ROTATION_LIMIT_TIME;
 import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.ROTATION_MAX_HISTORY;
+import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.ROTATION_MAX_HISTORY_AGE;
+import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.ROTATION_MAX_HISTORY_SIZE;
 import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.ROTATION_ON_DATE_CHANGE;
 import static org.glassfish.main.jul.tracing.GlassFishLoggingTracer.error;
 import static org.glassfish.main.jul.tracing.GlassFishLoggingTracer.trace;
@@ -68,6 +76,8 @@ import static org.glassfish.main.jul.tracing.GlassFishLoggingTracer.trace;
  * <ul>
  * <li>can redirect output going through STDOUT and STDERR
  * <li>buffers log records
+ * <li>in the high throughput mode uses lock-free buffer and writes batches of records
+ * directly to the file channel
  * </ul>
  * <b>WARNING</b>: If you configure this handler to redirect standard output, you have to prevent
  * the situation when any other handler would use it.
@@ -83,11 +93,15 @@ public class GlassFishLogHandler extends StreamHandler implements ExternallyMana
     private static final Logger STDOUT_LOGGER = Logger.getLogger(LOGGER_NAME_STDOUT);
     private static final Logger STDERR_LOGGER = Logger.getLogger(LOGGER_NAME_STDERR);
     private static final MessageResolver MSG_RESOLVER = new MessageResolver();
+    private static final int ENCODER_BUFFER_CAPACITY = 64 * 1024;
 
     private LoggingPrintStream stdoutStream;
     private LoggingPrintStream stderrStream;
 
-    private final LogRecordBuffer logRecordBuffer;
+    private final LogRecordQueue logRecordBuffer;
+    private final boolean highThroughput;
+    private LogRecordEncoder encoder;
+    private WritableByteChannel outputChannel;
     private LogRotationTimerTask rotationTimerTask;
 
     private GlassFishLogHandlerConfiguration configuration;
@@ -118,6 +132,7 @@ public class GlassFishLogHandler extends StreamHandler implements ExternallyMana
         configuration.setFlushFrequency(helper.getNonNegativeInteger(FLUSH_FREQUENCY, 1));
         configuration.setBufferCapacity(helper.getInteger(BUFFER_CAPACITY, DEFAULT_BUFFER_CAPACITY));
         configuration.setBufferTimeout(helper.getInteger(BUFFER_TIMEOUT, DEFAULT_BUFFER_TIMEOUT));
+        configuration.setHighThroughput(helper.getBoolean(HIGH_THROUGHPUT, Boolean.FALSE));
 
         final Integer rotationLimitMB = helper.getInteger(ROTATION_LIMIT_SIZE, DEFAULT_ROTATION_LIMIT_MB);
         final long rotationLimitB = GlassFishLoggingConstants.BYTES_PER_MEGABYTES
@@ -127,6 +142,8 @@ public class GlassFishLogHandler extends StreamHandler implements ExternallyMana
         configuration.setRotationOnDateChange(helper.getBoolean(ROTATION_ON_DATE_CHANGE, Boolean.FALSE));
         configuration.setRotationTimeLimitMinutes(helper.getNonNegativeInteger(ROTATION_LIMIT_TIME, 0));
         configuration.setMaxArchiveFiles(helper.getNonNegativeInteger(ROTATION_MAX_HISTORY, 10));
+        configuration.setMaxArchiveSizeMB(helper.getNonNegativeInteger(ROTATION_MAX_HISTORY_SIZE, 0));
+        configuration.setMaxArchiveDays(helper.getNonNegativeInteger(ROTATION_MAX_HISTORY_AGE, 0));
 
         final Formatter formatter = helper.getFormatter(UniformLogFormatter.class);
         configuration.setFormatterConfiguration(formatter);
@@ -145,8 +162,14 @@ public class GlassFishLogHandler extends StreamHandler implements ExternallyMana
         setLevel(configuration.getLevel());
         setEncoding(configuration.getEncoding());
 
-        this.logRecordBuffer = new LogRecordBuffer(
-            configuration.getBufferCapacity(), configuration.getBufferTimeout());
+        this.highThroughput = configuration.isHighThroughput();
+        if (this.highThroughput) {
+            this.logRecordBuffer = new LogRecordRingBuffer(
+                configuration.getBufferCapacity(), configuration.getBufferTimeout());
+        } else {
+            this.logRecordBuffer = new LogRecordBuffer(
+                configuration.getBufferCapacity(), configuration.getBufferTimeout());
+        }
 
         reconfigure(configuration);
     }
@@ -213,8 +236,13 @@ public class GlassFishLogHandler extends StreamHandler implements ExternallyMana
 
     // this is only to be able to provide the handle to the LogFileManager
     @Override
-    public void setOutputStream(final OutputStream out) throws SecurityException {
+    public synchronized void setOutputStream(final OutputStream out) throws SecurityException {
         super.setOutputStream(out);
+        if (out instanceof WritableByteChannel) {
+            this.outputChannel = (WritableByteChannel) out;
+        } else {
+            this.outputChannel = out == null ? null : Channels.newChannel(out);
+        }
     }
 
 
@@ -253,6 +281,7 @@ public class GlassFishLogHandler extends StreamHandler implements ExternallyMana
 
     @Override
     public void flush() {
+        flushEncoder();
         super.flush();
         if (this.logFileManager != null) {
             this.logFileManager.rollIfFileTooBig();
@@ -266,6 +295,7 @@ public class GlassFishLogHandler extends StreamHandler implements ExternallyMana
     public synchronized void roll() {
         trace(GlassFishLogHandler.class, "roll()");
         final PrivilegedAction<Void> action = () -> {
+            flushEncoder();
             this.logFileManager.roll();
             updateRollSchedule();
             return null;
@@ -326,7 +356,8 @@ public class GlassFishLogHandler extends StreamHandler implements ExternallyMana
 
         this.logFileManager = new LogFileManager(this.configuration.getLogFile(),
             this.configuration.getRotationSizeLimitBytes(), this.configuration.isCompressionOnRotation(),
-            this.configuration.getMaxArchiveFiles(), this::setOutputStream, super::close);
+            this.configuration.getMaxArchiveFiles(), this.configuration.getMaxArchiveSizeBytes(),
+            Duration.ofDays(this.configuration.getMaxArchiveDays()), this::setOutputStream, super::close);
 
         final Formatter formatter = configuration.getFormatterConfiguration();
         if (configuration.getLogFile().length() > 0) {
@@ -336,6 +367,9 @@ public class GlassFishLogHandler extends StreamHandler implements ExternallyMana
             }
         }
         setFormatter(formatter);
+        if (this.highThroughput) {
+            this.encoder = new LogRecordEncoder(formatter, configuration.getEncoding(), ENCODER_BUFFER_CAPACITY);
+        }
         this.logFileManager.enableOutput();
         updateRollSchedule();
 
@@ -367,9 +401,10 @@ public class GlassFishLogHandler extends StreamHandler implements ExternallyMana
             long counter = this.logRecordBuffer.getSize();
             while (counter-- >= 0) {
                 if (!publishRecord(this.logRecordBuffer.poll())) {
-                    return;
+                    break;
                 }
             }
+            flushEncoder();
         }
     }
 
@@ -403,6 +438,7 @@ public class GlassFishLogHandler extends StreamHandler implements ExternallyMana
      * If the file is not empty, rolls. Then updates the next roll schedule.
      */
     private void scheduledRoll() {
+        flushEncoder();
         this.logFileManager.rollIfFileNotEmpty();
         updateRollSchedule();
     }
@@ -418,14 +454,47 @@ public class GlassFishLogHandler extends StreamHandler implements ExternallyMana
         if (record == null) {
             return false;
         }
-        super.publish(record);
+        if (this.highThroughput) {
+            encodeRecord(record);
+        } else {
+            super.publish(record);
+        }
         return true;
     }
 
 
+    /**
+     * Formats the record to the encoder's buffer, which is written to the output channel
+     * when it is full or when the pump flushes the output.
+     * The stream handler's writer is not used at all.
+     */
+    private synchronized void encodeRecord(final GlassFishLogRecord record) {
+        if (this.encoder == null || this.outputChannel == null || !isLoggable(record)) {
+            return;
+        }
+        try {
+            this.encoder.encode(record, this.outputChannel);
+        } catch (final Exception e) {
+            reportError(null, e, ErrorManager.WRITE_FAILURE);
+        }
+    }
+
+
+    private synchronized void flushEncoder() {
+        if (this.encoder == null || this.outputChannel == null || this.encoder.getPendingBytes() == 0) {
+            return;
+        }
+        try {
+            this.encoder.flush(this.outputChannel);
+        } catch (final IOException e) {
+            reportError(null, e, ErrorManager.FLUSH_FAILURE);
+        }
+    }
+
+
     private final class LoggingPump extends LoggingPumpThread {
 
-        private LoggingPump(String threadName, LogRecordBuffer buffer) {
+        private LoggingPump(String threadName, LogRecordQueue buffer) {
             super(threadName, buffer);
         }
 
@@ -438,6 +507,10 @@ public class GlassFishLogHandler extends StreamHandler implements ExternallyMana
 
         @Override
         protected int getFlushFrequency() {
+            if (highThroughput) {
+                // drain all pending records, then write them in one batch
+                return Math.max(configuration.getFlushFrequency(), logRecordBuffer.getCapacity());
+            }
             return configuration.getFlushFrequency();
         }
 
@@ -42,9 +42,12 @@ public class GlassFishLogHandlerConfiguration implements Cloneable {
     /** Count of flushed records in one batch, not a frequency at all */
     private int flushFrequency;
     private int maxArchiveFiles;
+    private long maxArchiveSizeBytes;
+    private int maxArchiveDays;
 
     private int bufferCapacity = DEFAULT_BUFFER_CAPACITY;
     private int bufferTimeout = DEFAULT_BUFFER_TIMEOUT;
+    private boolean highThroughput;
 
     private boolean rotationOnDateChange;
     private int rotationTimeLimitMinutes;
@@ -148,6 +151,23 @@ public class GlassFishLogHandlerConfiguration implements Cloneable {
     }
 
 
+    /**
+     * @return true to use the lock-free buffer and to write batches of records to the file channel.
+     */
+    public boolean isHighThroughput() {
+        return highThroughput;
+    }
+
+
+    /**
+     * @param highThroughput true to use the lock-free buffer and to write batches of records
+     *            to the file channel.
+     */
+    public void setHighThroughput(final boolean highThroughput) {
+        this.highThroughput = highThroughput;
+    }
+
+
     public long getRotationSizeLimitBytes() {
         return rotationSizeLimitBytes;
     }
@@ -209,6 +229,40 @@ public class GlassFishLogHandlerConfiguration implements Cloneable {
     }
 
 
+    /**
+     * @return maximal total size of archived files in bytes, 0 means unlimited.
+     */
+    public long getMaxArchiveSizeBytes() {
+        return maxArchiveSizeBytes;
+    }
+
+
+    public void setMaxArchiveSizeMB(final long megabytes) {
+        this.maxArchiveSizeBytes = megabytes * GlassFishLoggingConstants.BYTES_PER_MEGABYTES;
+    }
+
+
+    public void setMaxArchiveSizeBytes(final long bytes) {
+        this.maxArchiveSizeBytes = bytes;
+    }
+
+
+    /**
+     * @return maximal age of archived files in days, 0 means unlimited.
+     */
+    public int getMaxArchiveDays() {
+        return maxArchiveDays;
+    }
+
+
+    /**
+     * @param days maximal age of archived files in days, 0 means unlimited.
+     */
+    public void setMaxArchiveDays(final int days) {
+        this.maxArchiveDays = days;
+    }
+
+
     public Formatter getFormatterConfiguration() {
         return formatterConfiguration;
     }
@@ -53,6 +53,14 @@ public enum GlassFishLogHandlerProperty implements LogProperty {
     BUFFER_TIMEOUT("buffer.timeoutInSeconds"),
     /** Count of records processed until handler flushes the output */
     FLUSH_FREQUENCY("flushFrequency"),
+    /**
+     * Use the lock-free ring buffer for incoming records, format them to a reusable byte buffer
+     * and write it to the file channel after all pending records were processed.
+     * The {@link #FLUSH_FREQUENCY} is then the minimal count of records in one batch.
+     * <p>
+     * The buffer type is chosen when the handler is created.
+     */
+    HIGH_THROUGHPUT("highThroughput"),
     /** Log STDOUT and STDERR to the log file too */
     REDIRECT_STANDARD_STREAMS("redirectStandardStreams"),
     /** Compress rolled file to a zio file */
@@ -65,6 +73,10 @@ public enum GlassFishLogHandlerProperty implements LogProperty {
     ROTATION_LIMIT_TIME("rotation.limit.minutes"),
     /** Maximal count of archived files */
     ROTATION_MAX_HISTORY("rotation.maxArchiveFiles"),
+    /** Maximal total size of archived files in megabytes (1 000 000 B), oldest files are deleted first */
+    ROTATION_MAX_HISTORY_SIZE("rotation.maxArchiveMegabytes"),
+    /** Archived files older than this count of days are deleted */
+    ROTATION_MAX_HISTORY_AGE("rotation.maxArchiveDays"),
     ;
     public static final int MINIMUM_ROTATION_LIMIT_MB = 1;
     public static final int DEFAULT_ROTATION_LIMIT_MB = 100;
@@ -25,7 +25,7 @@ import org.glassfish.main.jul.record.GlassFishLogRecord;
 /**
  * @author David Matejcek
  */
-class LogRecordBuffer {
+class LogRecordBuffer implements LogRecordQueue {
 
     private final int capacity;
     private final int maxWait;
@@ -77,16 +77,19 @@ class LogRecordBuffer {
     /**
      * @return true if there are not pending records to provide.
      */
+    @Override
     public boolean isEmpty() {
         return this.pendingRecords.isEmpty();
     }
 
 
+    @Override
     public int getSize() {
         return this.pendingRecords.size();
     }
 
 
+    @Override
     public int getCapacity() {
         return this.capacity;
     }
@@ -97,6 +100,7 @@ class LogRecordBuffer {
      *
      * @return {@link GlassFishLogRecord} or null if interrupted.
      */
+    @Override
     public GlassFishLogRecord pollOrWait() {
         try {
             return this.pendingRecords.take();
@@ -108,11 +112,13 @@ class LogRecordBuffer {
     /**
      * @return null if there are no pending records, first in the buffer otherwise.
      */
+    @Override
     public GlassFishLogRecord poll() {
         return this.pendingRecords.poll();
     }
 
 
+    @Override
     public void add(final GlassFishLogRecord record) {
         if (maxWait > 0) {
             addWithTimeout(record);
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.main.jul.handler;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.logging.Formatter;
+import java.util.logging.LogRecord;
+
+import org.glassfish.main.jul.formatter.GlassFishLogFormatter;
+
+/**
+ * Formats log records and encodes them to a reusable byte buffer, which is written to the
+ * channel when it is full or when {@link #flush(WritableByteChannel)} is called.
+ * <p>
+ * The {@link GlassFishLogFormatter} appends the record to a reusable {@link StringBuilder},
+ * other formatters create a String. The characters are copied to a reusable char array and
+ * encoded, so the only garbage is created by the formatter and by the record itself.
+ * <p>
+ * The instance is not thread safe.
+ */
+class LogRecordEncoder {
+
+    private static final int INITIAL_CHAR_CAPACITY = 1024;
+
+    private final Formatter formatter;
+    private final CharsetEncoder encoder;
+    private final StringBuilder formatted = new StringBuilder(INITIAL_CHAR_CAPACITY);
+    private final ByteBuffer bytes;
+    private char[] chars = new char[INITIAL_CHAR_CAPACITY];
+    private CharBuffer charBuffer = CharBuffer.wrap(chars);
+
+
+    /**
+     * @param formatter formatter of the records
+     * @param charset output charset
+     * @param byteCapacity capacity of the byte buffer, usually tens of kilobytes.
+     */
+    LogRecordEncoder(final Formatter formatter, final Charset charset, final int byteCapacity) {
+        this.formatter = formatter;
+        this.encoder = charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.bytes = ByteBuffer.allocateDirect(byteCapacity);
+    }
+
+
+    /**
+     * Formats the record and encodes it to the byte buffer. If the buffer is full, it is written to
+     * the channel.
+     *
+     * @param record
+     * @param channel
+     * @throws IOException if the channel failed
+     */
+    void encode(final LogRecord record, final WritableByteChannel channel) throws IOException {
+        formatted.setLength(0);
+        if (formatter instanceof GlassFishLogFormatter) {
+            ((GlassFishLogFormatter) formatter).formatRecord(record, formatted);
+        } else {
+            formatted.append(formatter.format(record));
+        }
+        final int length = formatted.length();
+        if (length == 0) {
+            return;
+        }
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+            charBuffer = CharBuffer.wrap(chars);
+        }
+        formatted.getChars(0, length, chars, 0);
+        charBuffer.clear().limit(length);
+        encoder.reset();
+        while (true) {
+            final CoderResult result = encoder.encode(charBuffer, bytes, true);
+            if (result.isUnderflow()) {
+                break;
+            }
+            if (result.isOverflow()) {
+                writeTo(channel);
+            } else {
+                result.throwException();
+            }
+        }
+        while (encoder.flush(bytes).isOverflow()) {
+            writeTo(channel);
+        }
+        if (formatted.capacity() > bytes.capacity()) {
+            // don't hold huge stacktraces forever
+            formatted.setLength(0);
+            formatted.trimToSize();
+        }
+    }
+
+
+    /**
+     * @return count of encoded bytes not written yet.
+     */
+    int getPendingBytes() {
+        return bytes.position();
+    }
+
+
+    /**
+     * Writes all pending bytes to the channel.
+     *
+     * @param channel
+     * @throws IOException if the channel failed
+     */
+    void flush(final WritableByteChannel channel) throws IOException {
+        if (bytes.position() > 0) {
+            writeTo(channel);
+        }
+    }
+
+
+    /**
+     * Drops all pending bytes.
+     */
+    void clear() {
+        bytes.clear();
+    }
+
+
+    private void writeTo(final WritableByteChannel channel) throws IOException {
+        bytes.flip();
+        try {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        } finally {
+            bytes.clear();
+        }
+    }
+}
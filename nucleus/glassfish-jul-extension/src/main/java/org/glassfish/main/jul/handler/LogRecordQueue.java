@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.main.jul.handler;
+
+import org.glassfish.main.jul.record.GlassFishLogRecord;
+
+/**
+ * Bounded queue of log records waiting for the {@link LoggingPumpThread}.
+ */
+interface LogRecordQueue {
+
+    /**
+     * @return true if there are not pending records to provide.
+     */
+    boolean isEmpty();
+
+
+    /**
+     * @return count of pending records
+     */
+    int getSize();
+
+
+    /**
+     * @return maximal count of pending records
+     */
+    int getCapacity();
+
+
+    /**
+     * Waits for a record or thread interrupt signal
+     *
+     * @return {@link GlassFishLogRecord} or null if interrupted.
+     */
+    GlassFishLogRecord pollOrWait();
+
+
+    /**
+     * @return null if there are no pending records, first in the queue otherwise.
+     */
+    GlassFishLogRecord poll();
+
+
+    /**
+     * Adds the record to the queue, waits if the queue is full.
+     *
+     * @param record
+     */
+    void add(GlassFishLogRecord record);
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.main.jul.handler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+
+import org.glassfish.main.jul.record.GlassFishLogRecord;
+
+/**
+ * Lock-free alternative of the {@link LogRecordBuffer}.
+ * <p>
+ * The records are stored in pre-allocated slots of a ring. Every slot has a sequence number
+ * telling if it is free for the producer or filled for the consumer of the given round, so
+ * producers and consumers only compete on a CAS of the tail or head position.
+ * The capacity is rounded up to the power of two.
+ * <p>
+ * The consumer waiting for records is parked and unparked by the producer which filled a slot.
+ * Producers waiting for a free slot spin with short parks, the timeout handling is same as
+ * in the {@link LogRecordBuffer}.
+ */
+class LogRecordRingBuffer implements LogRecordQueue {
+
+    private static final long FULL_BUFFER_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50L);
+
+    private final int capacity;
+    private final int mask;
+    private final int maxWait;
+    private final AtomicReferenceArray<GlassFishLogRecord> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    private volatile Thread waitingConsumer;
+
+
+    /**
+     * The buffer for log records.
+     * <p>
+     * See {@link LogRecordBuffer#LogRecordBuffer(int, int)} for the meaning of the maxWait.
+     *
+     * @param capacity capacity of the buffer, rounded up to the power of two.
+     * @param maxWait maximal time in seconds to wait for the free capacity. If &lt; 1, can wait
+     *            forever.
+     */
+    LogRecordRingBuffer(final int capacity, final int maxWait) {
+        this.capacity = capacity <= 1 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.maxWait = maxWait;
+        this.slots = new AtomicReferenceArray<>(this.capacity);
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            this.sequences.set(i, i);
+        }
+    }
+
+
+    @Override
+    public boolean isEmpty() {
+        return getSize() == 0;
+    }
+
+
+    @Override
+    public int getSize() {
+        final long size = tail.get() - head.get();
+        return size <= 0 ? 0 : (int) Math.min(size, capacity);
+    }
+
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+
+    @Override
+    public GlassFishLogRecord pollOrWait() {
+        GlassFishLogRecord record = poll();
+        if (record != null) {
+            return record;
+        }
+        waitingConsumer = Thread.currentThread();
+        try {
+            while (true) {
+                record = poll();
+                if (record != null) {
+                    return record;
+                }
+                if (Thread.interrupted()) {
+                    return null;
+                }
+                LockSupport.park(this);
+            }
+        } finally {
+            waitingConsumer = null;
+        }
+    }
+
+
+    @Override
+    public GlassFishLogRecord poll() {
+        long position = head.get();
+        while (true) {
+            final int index = (int) position & mask;
+            final long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    final GlassFishLogRecord record = slots.get(index);
+                    slots.lazySet(index, null);
+                    // the slot is free for the producer of the next round
+                    sequences.set(index, position + capacity);
+                    return record;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                return null;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+
+    @Override
+    public void add(final GlassFishLogRecord record) {
+        if (offer(record)) {
+            return;
+        }
+        if (maxWait > 0) {
+            addWithTimeout(record);
+        } else {
+            addWithUnlimitedWaiting(record);
+        }
+    }
+
+
+    /**
+     * @param record
+     * @return false if the buffer is full.
+     */
+    boolean offer(final GlassFishLogRecord record) {
+        long position = tail.get();
+        while (true) {
+            final int index = (int) position & mask;
+            final long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.lazySet(index, record);
+                    // publishes the record to the consumer
+                    sequences.set(index, position + 1);
+                    final Thread consumer = waitingConsumer;
+                    if (consumer != null) {
+                        LockSupport.unpark(consumer);
+                    }
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+
+    /**
+     * This prevents deadlock - when the waiting is not successful, it forcibly drops all waiting records.
+     * Logs an error after that.
+     */
+    private void addWithTimeout(final GlassFishLogRecord record) {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(maxWait);
+        while (System.nanoTime() - deadline < 0 && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(this, FULL_BUFFER_PARK_NANOS);
+            if (offer(record)) {
+                return;
+            }
+        }
+
+        while (poll() != null) {
+            // drop all pending records
+        }
+        // note: the record is not meaningful for the message. The cause is in another place.
+        offer(new GlassFishLogRecord(Level.SEVERE, //
+            this + ": The buffer was forcibly cleared after " + maxWait + " s timeout for adding another log record." //
+                + " Log records were lost." //
+                + " It might be caused by a recursive deadlock," //
+                + " you can increase the capacity or the timeout to avoid this."));
+    }
+
+
+    /**
+     * This prevents losing any records, but may end up in deadlock if the capacity is reached.
+     */
+    private void addWithUnlimitedWaiting(final GlassFishLogRecord record) {
+        Thread.yield();
+        while (!offer(record)) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            LockSupport.parkNanos(this, FULL_BUFFER_PARK_NANOS);
+        }
+    }
+
+
+    /**
+     * Returns simple name of this class and size/capacity
+     *
+     * @return ie.: LogRecordRingBuffer@2b488078[5/16384]
+     */
+    @Override
+    public String toString() {
+        return super.toString() + "[" + getSize() + "/" + getCapacity() + "]";
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.main.jul.rotation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
+
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.INFO;
+
+/**
+ * Executes the maintenance of rotated log files - compression and removal of old files -
+ * out of the threads producing log records.
+ * <p>
+ * All maintenance tasks are executed one by one by a single thread, so they never overlap
+ * and the rotation does not have to wait for them. The compression itself splits the file
+ * to blocks compressed in parallel by a small pool of compressor threads. Every block is
+ * a complete GZIP member, and the concatenation of members is a valid GZIP file readable
+ * by the <code>gunzip</code> tool and by the {@link java.util.zip.GZIPInputStream}.
+ * <p>
+ * Both pools release their threads when they are idle, so no lifecycle management is needed.
+ * The maintenance thread is not a daemon, so the JVM waits until the pending maintenance is
+ * finished, same as it did when every rotation started its own thread.
+ */
+public final class LogFileMaintenance {
+
+    private static final Logger LOG = Logger.getLogger(LogFileMaintenance.class.getName());
+
+    /** Size of the block compressed by one compressor thread */
+    static final int DEFAULT_BLOCK_SIZE = 4 * 1024 * 1024;
+    private static final int COMPRESSOR_COUNT = Math.min(4,
+        Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    private static final long IDLE_THREAD_TIMEOUT_SECONDS = 1L;
+
+    private static final ThreadPoolExecutor MAINTENANCE = createExecutor(1, "log-file-maintenance", false);
+    private static final ThreadPoolExecutor COMPRESSORS = createExecutor(COMPRESSOR_COUNT, "log-file-compressor",
+        true);
+
+    private static final AtomicLong COMPRESSED_FILES = new AtomicLong();
+    private static final AtomicLong COMPRESSED_BYTES = new AtomicLong();
+    private static final AtomicLong COMPRESSED_OUTPUT_BYTES = new AtomicLong();
+    private static final AtomicLong COMPRESSION_NANOS = new AtomicLong();
+
+    private LogFileMaintenance() {
+        // static utility
+    }
+
+
+    /**
+     * @return count of maintenance tasks waiting or being executed.
+     */
+    public static int getBacklog() {
+        return MAINTENANCE.getQueue().size() + MAINTENANCE.getActiveCount();
+    }
+
+
+    /**
+     * @return count of compressed files since the JVM start.
+     */
+    public static long getCompressedFileCount() {
+        return COMPRESSED_FILES.get();
+    }
+
+
+    /**
+     * @return count of bytes read from compressed files since the JVM start.
+     */
+    public static long getCompressedBytes() {
+        return COMPRESSED_BYTES.get();
+    }
+
+
+    /**
+     * @return count of bytes written to compressed files since the JVM start.
+     */
+    public static long getCompressedOutputBytes() {
+        return COMPRESSED_OUTPUT_BYTES.get();
+    }
+
+
+    /**
+     * @return average compression throughput in bytes per second, 0 if nothing was compressed yet.
+     */
+    public static long getCompressionThroughput() {
+        final long nanos = COMPRESSION_NANOS.get();
+        return bytesPerSecond(COMPRESSED_BYTES.get(), nanos);
+    }
+
+
+    /**
+     * Executes the task after all previously submitted tasks.
+     *
+     * @param logFile the file the task is related to, used just for logging.
+     * @param task
+     * @return {@link Future} of the task
+     */
+    static Future<?> submit(final File logFile, final Runnable task) {
+        final int backlog = getBacklog();
+        if (backlog > 0) {
+            // one task still running is usual with frequent rotations of big files
+            LOG.log(backlog > 1 ? INFO : FINE,
+                "Maintenance of rotated log files is behind, {0} task(s) are queued before the task for {1}",
+                new Object[] {backlog, logFile});
+        }
+        return MAINTENANCE.submit(task);
+    }
+
+
+    /**
+     * Compresses the input file to the output file using parallel threads.
+     *
+     * @param inputFile
+     * @param outputFile
+     * @throws IOException
+     */
+    static void gzip(final File inputFile, final File outputFile) throws IOException {
+        gzip(inputFile, outputFile, DEFAULT_BLOCK_SIZE);
+    }
+
+
+    /**
+     * Compresses the input file to the output file using parallel threads.
+     * Each block of the given size is compressed to a separate GZIP member.
+     *
+     * @param inputFile
+     * @param outputFile
+     * @param blockSize size of the block compressed by one thread.
+     * @throws IOException
+     */
+    static void gzip(final File inputFile, final File outputFile, final int blockSize) throws IOException {
+        final long start = System.nanoTime();
+        final long inputSize;
+        final long outputSize;
+        try (FileChannel input = FileChannel.open(inputFile.toPath(), StandardOpenOption.READ);
+            OutputStream output = new FileOutputStream(outputFile)) {
+            inputSize = input.size();
+            if (inputSize <= blockSize) {
+                final byte[] member = compressBlock(input, 0, (int) inputSize);
+                output.write(member);
+                outputSize = member.length;
+            } else {
+                outputSize = compressBlocks(input, inputSize, output, blockSize);
+            }
+        }
+        final long time = System.nanoTime() - start;
+        COMPRESSED_FILES.incrementAndGet();
+        COMPRESSED_BYTES.addAndGet(inputSize);
+        COMPRESSED_OUTPUT_BYTES.addAndGet(outputSize);
+        COMPRESSION_NANOS.addAndGet(time);
+        LOG.log(FINE, () -> String.format(
+            "Compressed %s (%d B) to %s (%d B) in %d ms, %d kB/s; total throughput %d kB/s; backlog %d task(s).",
+            inputFile, inputSize, outputFile, outputSize, TimeUnit.NANOSECONDS.toMillis(time),
+            bytesPerSecond(inputSize, time) / 1024, getCompressionThroughput() / 1024,
+            getBacklog()));
+    }
+
+
+    private static long compressBlocks(final FileChannel input, final long inputSize, final OutputStream output,
+        final int blockSize) throws IOException {
+        // limits the memory used by compressed blocks waiting for the write
+        final int window = COMPRESSOR_COUNT * 2;
+        final Deque<Future<byte[]>> pending = new ArrayDeque<>(window);
+        long outputSize = 0;
+        long position = 0;
+        try {
+            while (position < inputSize || !pending.isEmpty()) {
+                while (position < inputSize && pending.size() < window) {
+                    final long blockStart = position;
+                    final int length = (int) Math.min(blockSize, inputSize - position);
+                    pending.add(COMPRESSORS.submit(() -> compressBlock(input, blockStart, length)));
+                    position += length;
+                }
+                final byte[] member = pending.poll().get();
+                output.write(member);
+                outputSize += member.length;
+            }
+            return outputSize;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while compressing.", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Compression of a block failed.", e.getCause());
+        } finally {
+            pending.forEach(f -> f.cancel(true));
+        }
+    }
+
+
+    private static byte[] compressBlock(final FileChannel input, final long position, final int length)
+        throws IOException {
+        final ByteBuffer block = ByteBuffer.allocate(length);
+        while (block.hasRemaining()) {
+            if (input.read(block, position + block.position()) < 0) {
+                break;
+            }
+        }
+        final ByteArrayOutputStream member = new ByteArrayOutputStream(Math.max(32, length / 4));
+        try (GZIPOutputStream gzos = new GZIPOutputStream(member, 64 * 1024)) {
+            gzos.write(block.array(), 0, block.position());
+        }
+        return member.toByteArray();
+    }
+
+
+    private static long bytesPerSecond(final long bytes, final long nanos) {
+        // double - the product of multi-gigabyte sizes and nanoseconds would overflow
+        return nanos == 0 ? 0 : (long) ((double) bytes * TimeUnit.SECONDS.toNanos(1) / nanos);
+    }
+
+
+    private static ThreadPoolExecutor createExecutor(final int threads, final String threadName,
+        final boolean daemon) {
+        final AtomicInteger counter = new AtomicInteger();
+        final ThreadFactory factory = r -> {
+            final Thread thread = new Thread(r, threadName + "-" + counter.incrementAndGet());
+            thread.setDaemon(daemon);
+            return thread;
+        };
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, IDLE_THREAD_TIMEOUT_SECONDS,
+            TimeUnit.SECONDS, new LinkedBlockingQueue<>(), factory);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -19,19 +19,24 @@ package org.glassfish.main.jul.rotation;
 import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileFilter;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.logging.Logger;
 import java.util.logging.StreamHandler;
-import java.util.zip.GZIPOutputStream;
+import java.util.stream.Collectors;
 
 import org.glassfish.main.jul.tracing.GlassFishLoggingTracer;
 
@@ -60,10 +65,13 @@ public class LogFileManager {
     private final long maxFileSize;
     private final boolean compressOldLogFiles;
     private final int maxCountOfOldLogFiles;
+    private final long maxSizeOfOldLogFiles;
+    private final Duration maxAgeOfOldLogFiles;
     private final HandlerSetStreamMethod streamSetter;
     private final HandlerCloseStreamMethod streamCloser;
 
     private MeteredStream meter;
+    private Future<?> lastMaintenance;
 
 
     /**
@@ -85,11 +93,44 @@ public class LogFileManager {
     public LogFileManager(final File logFile, //
         final long maxFileSize, final boolean compressOldLogFiles, final int maxCountOfOldLogFiles, //
         final HandlerSetStreamMethod streamSetter, final HandlerCloseStreamMethod streamCloser //
+    ) {
+        this(logFile, maxFileSize, compressOldLogFiles, maxCountOfOldLogFiles, 0L, null, streamSetter,
+            streamCloser);
+    }
+
+
+    /**
+     * Creates the manager and initializes it with given parameters. It only creates the manager but
+     * does not enable the output. Call {@link #enableOutput()} for that.
+     *
+     * @param logFile - output logging file path
+     * @param maxFileSize - if the size of the file crosses this value, the file is renamed to the
+     *            logFile name with added suffix ie. <code>server.log_2020-05-01T16-28-27</code>
+     * @param compressOldLogFiles - if true, rolled file is packed to GZIP (so the file will have a name
+     *            ie. <code>server.log_2020-05-01T21-50-09.gz</code>)
+     * @param maxCountOfOldLogFiles - if the count of rolled files with logFile's file name prefix
+     *            crosses this value, old files will be permanently deleted. 0 means unlimited.
+     * @param maxSizeOfOldLogFiles - if the total size of rolled files in bytes crosses this value,
+     *            old files will be permanently deleted. 0 means unlimited.
+     * @param maxAgeOfOldLogFiles - rolled files not modified for a longer time will be permanently
+     *            deleted. Null or zero means unlimited.
+     * @param streamSetter - this should be a {@link StreamHandler#setOutputStream} method. This
+     *            method will be called when we enable ouput.
+     * @param streamCloser - this should be a {@link StreamHandler#close()} method. This method will
+     *            be called when we disable output.
+     */
+    public LogFileManager(final File logFile, //
+        final long maxFileSize, final boolean compressOldLogFiles, final int maxCountOfOldLogFiles, //
+        final long maxSizeOfOldLogFiles, final Duration maxAgeOfOldLogFiles, //
+        final HandlerSetStreamMethod streamSetter, final HandlerCloseStreamMethod streamCloser //
     ) {
         this.logFile = logFile;
         this.maxFileSize = maxFileSize;
         this.compressOldLogFiles = compressOldLogFiles;
         this.maxCountOfOldLogFiles = maxCountOfOldLogFiles;
+        this.maxSizeOfOldLogFiles = maxSizeOfOldLogFiles;
+        this.maxAgeOfOldLogFiles = maxAgeOfOldLogFiles == null || maxAgeOfOldLogFiles.isNegative()
+            ? Duration.ZERO : maxAgeOfOldLogFiles;
         this.streamSetter = streamSetter;
         this.streamCloser = streamCloser;
     }
@@ -137,14 +178,40 @@ public class LogFileManager {
         disableOutput();
         final File archivedFile = rollToNewFile();
         // There is no need to block processing of new log records with this time consuming action.
-        final Runnable cleanup = () -> cleanUpHistoryLogFiles(archivedFile);
-        new Thread(cleanup, "old-log-files-cleanup-" + this.logFile.getName()).start();
+        this.lastMaintenance = LogFileMaintenance.submit(this.logFile, () -> cleanUpHistoryLogFiles(archivedFile));
         if (wasOutputEnabled) {
             enableOutput();
         }
     }
 
 
+    /**
+     * Waits until the compression and removal of old files triggered by the last {@link #roll()}
+     * is finished.
+     *
+     * @param timeout
+     * @return true if finished, false if the timeout elapsed or the thread was interrupted.
+     */
+    public boolean waitForMaintenance(final Duration timeout) {
+        final Future<?> maintenance;
+        synchronized (this) {
+            maintenance = this.lastMaintenance;
+        }
+        if (maintenance == null) {
+            return true;
+        }
+        try {
+            maintenance.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (final ExecutionException | TimeoutException e) {
+            return false;
+        }
+    }
+
+
     /**
      * @return true if the handler owning this instance can write to the outputstream.
      */
@@ -171,7 +238,7 @@ public class LogFileManager {
         try {
             final FileOutputStream fout = new FileOutputStream(this.logFile, true);
             final BufferedOutputStream bout = new BufferedOutputStream(fout);
-            this.meter = new MeteredStream(bout, this.logFile.length());
+            this.meter = new MeteredStream(bout, fout.getChannel(), this.logFile.length());
             this.streamSetter.setStream(this.meter);
         } catch (Exception e) {
             throw new IllegalStateException("Could not open the log file for writing: " + this.logFile, e);
@@ -271,9 +338,9 @@ public class LogFileManager {
     }
 
 
-    // synchronized - it is executed in separate thread!
-    private synchronized void cleanUpHistoryLogFiles(final File rotatedFile) {
-        if (this.compressOldLogFiles) {
+    // executed by the maintenance thread, never concurrently with other maintenance tasks
+    private void cleanUpHistoryLogFiles(final File rotatedFile) {
+        if (this.compressOldLogFiles && rotatedFile != null) {
             compressFile(rotatedFile);
         }
         deleteOldLogFiles();
@@ -281,6 +348,10 @@ public class LogFileManager {
 
 
     private void compressFile(final File rotatedFile) {
+        if (!rotatedFile.exists()) {
+            // already removed by the retention of a previous maintenance task
+            return;
+        }
         final long start = System.currentTimeMillis();
         final File outFile = getGzArchiveFile(rotatedFile);
         final boolean compressed = gzipFile(rotatedFile, outFile);
@@ -304,7 +375,7 @@ public class LogFileManager {
 
 
     private void deleteOldLogFiles() {
-        if (this.maxCountOfOldLogFiles == 0) {
+        if (this.maxCountOfOldLogFiles == 0 && this.maxSizeOfOldLogFiles <= 0 && this.maxAgeOfOldLogFiles.isZero()) {
             return;
         }
 
@@ -315,8 +386,25 @@ public class LogFileManager {
         }
         final FileFilter filter = f -> f.isFile() && !f.getName().equals(logFileName)
             && f.getName().startsWith(logFileName);
-        Arrays.stream(dir.listFiles(filter)).sorted(Comparator.comparing(File::getName).reversed())
-            .skip(this.maxCountOfOldLogFiles).forEach(this::deleteFile);
+        final File[] archivedFiles = dir.listFiles(filter);
+        if (archivedFiles == null) {
+            return;
+        }
+        // newest first
+        final List<File> files = Arrays.stream(archivedFiles)
+            .sorted(Comparator.comparing(File::getName).reversed()).collect(Collectors.toList());
+        final long oldestAllowed = this.maxAgeOfOldLogFiles.isZero() ? Long.MIN_VALUE
+            : System.currentTimeMillis() - this.maxAgeOfOldLogFiles.toMillis();
+        long totalSize = 0;
+        for (int i = 0; i < files.size(); i++) {
+            final File file = files.get(i);
+            totalSize += file.length();
+            if (this.maxCountOfOldLogFiles > 0 && i >= this.maxCountOfOldLogFiles
+                || this.maxSizeOfOldLogFiles > 0 && totalSize > this.maxSizeOfOldLogFiles
+                || file.lastModified() < oldestAllowed) {
+                deleteFile(file);
+            }
+        }
     }
 
 
@@ -329,20 +417,14 @@ public class LogFileManager {
 
 
     private boolean gzipFile(final File inputFile, final File outputFile) {
-        try (
-            FileInputStream fis = new FileInputStream(inputFile);
-            FileOutputStream fos = new FileOutputStream(outputFile);
-            GZIPOutputStream gzos = new GZIPOutputStream(fos)
-        ) {
-            byte[] buffer = new byte[1024];
-            int len;
-            while ((len = fis.read(buffer)) != -1) {
-                gzos.write(buffer, 0, len);
-            }
-            gzos.finish();
+        try {
+            LogFileMaintenance.gzip(inputFile, outputFile);
             return true;
         } catch (IOException ix) {
             logError("Error gzipping log file " + inputFile, ix);
+            if (outputFile.exists() && !outputFile.delete()) {
+                logError("Could not delete incomplete compressed log file: " + outputFile);
+            }
             return false;
         }
     }
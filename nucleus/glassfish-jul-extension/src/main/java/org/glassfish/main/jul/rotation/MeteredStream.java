@@ -19,6 +19,10 @@ package org.glassfish.main.jul.rotation;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 
 
 /**
@@ -28,13 +32,15 @@ import java.io.OutputStream;
  * <li>keeps track of how many bytes have been written
  * <li>after this stream is closed the behavior remains on the target stream.
  * <li>further {@link #close()} calls don't do anything.
+ * <li>can write whole byte buffers directly to the file channel
  * </ul>
  */
 // Note: The original class is in java.util.logging.FileHandler,
 //       but was copyied into GlassFish by the Sun and was modified.
-final class MeteredStream extends OutputStream {
+final class MeteredStream extends OutputStream implements WritableByteChannel {
 
     private final OutputStream out;
+    private final FileChannel channel;
     private long written;
     private volatile boolean isOpen;
 
@@ -43,7 +49,19 @@ final class MeteredStream extends OutputStream {
      * @param written initial value, usually size of the output file which already exists.
      */
     public MeteredStream(final OutputStream out, final long written) {
+        this(out, null, written);
+    }
+
+
+    /**
+     * @param out wrapped targed output stream
+     * @param channel channel of the file written by the output stream, used by the
+     *            {@link #write(ByteBuffer)}. Can be null.
+     * @param written initial value, usually size of the output file which already exists.
+     */
+    public MeteredStream(final OutputStream out, final FileChannel channel, final long written) {
         this.out = out;
+        this.channel = channel;
         this.written = written;
         this.isOpen = true;
     }
@@ -78,6 +96,43 @@ final class MeteredStream extends OutputStream {
     }
 
 
+    /**
+     * Flushes the output stream and then writes all remaining bytes of the buffer to the file
+     * channel, or to the output stream if the channel was not set.
+     */
+    @Override
+    public int write(final ByteBuffer buffer) throws IOException {
+        if (!isOpen) {
+            throw new ClosedChannelException();
+        }
+        final int length = buffer.remaining();
+        if (channel == null) {
+            if (buffer.hasArray()) {
+                out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), length);
+                buffer.position(buffer.limit());
+            } else {
+                final byte[] bytes = new byte[length];
+                buffer.get(bytes);
+                out.write(bytes);
+            }
+        } else {
+            // bytes written to the stream before must be first in the file
+            out.flush();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        written += length;
+        return length;
+    }
+
+
+    @Override
+    public boolean isOpen() {
+        return isOpen;
+    }
+
+
     @Override
     public void flush() throws IOException {
         out.flush();
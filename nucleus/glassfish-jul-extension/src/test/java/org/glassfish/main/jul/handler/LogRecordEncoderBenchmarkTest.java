@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.main.jul.handler;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Formatter;
+import java.util.logging.Level;
+
+import org.glassfish.main.jul.formatter.ODLLogFormatter;
+import org.glassfish.main.jul.formatter.OneLineFormatter;
+import org.glassfish.main.jul.formatter.UniformLogFormatter;
+import org.glassfish.main.jul.record.GlassFishLogRecord;
+import org.glassfish.main.jul.record.MessageResolver;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares records per second and bytes allocated per record of the formatters producing
+ * a String encoded by the stream handler's writer and of the {@link LogRecordEncoder}
+ * writing to the reusable byte buffer.
+ */
+public class LogRecordEncoderBenchmarkTest {
+
+    @Test
+    public void formatters() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".*")
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(200L))
+            .measurementIterations(1).measurementTime(TimeValue.milliseconds(500L))
+            .forks(1).threads(1).timeout(TimeValue.seconds(10L))
+            .timeUnit(TimeUnit.SECONDS)
+            .mode(Mode.Throughput).shouldFailOnError(true)
+            .addProfiler(GCProfiler.class)
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        assertEquals(6, results.size(), "One result per formatter and output");
+        for (RunResult result : results) {
+            Result<?> allocation = result.getSecondaryResults().get("gc.alloc.rate.norm");
+            assertNotNull(allocation, "gc.alloc.rate.norm of " + result.getParams().getBenchmark());
+        }
+    }
+
+
+    @Test
+    public void highThroughputHandler() throws Exception {
+        final File logFile = File.createTempFile(LogRecordEncoderBenchmarkTest.class.getCanonicalName(), ".log");
+        logFile.deleteOnExit();
+        final GlassFishLogHandlerConfiguration cfg = new GlassFishLogHandlerConfiguration();
+        cfg.setLogFile(logFile);
+        cfg.setFormatterConfiguration(new OneLineFormatter());
+        cfg.setHighThroughput(true);
+        cfg.setFlushFrequency(1);
+        final GlassFishLogHandler handler = new GlassFishLogHandler(cfg);
+        try {
+            assertTrue(handler.isReady(), "handler.ready");
+            for (int i = 0; i < 10_000; i++) {
+                handler.publish(new GlassFishLogRecord(Level.INFO, "Record number " + i, false));
+            }
+            handler.publish(new GlassFishLogRecord(Level.SEVERE, "Příliš žluťoučký kůň úpěl ďábelské ódy", false));
+        } finally {
+            handler.close();
+        }
+        final List<String> lines = Files.readAllLines(logFile.toPath(), UTF_8);
+        assertAll(
+            () -> assertEquals(10_001, lines.size()),
+            () -> assertTrue(lines.get(0).endsWith("Record number 0"), lines.get(0)),
+            () -> assertTrue(lines.get(9_999).endsWith("Record number 9999"), lines.get(9_999)),
+            () -> assertTrue(lines.get(10_000).endsWith("Příliš žluťoučký kůň úpěl ďábelské ódy"), lines.get(10_000))
+        );
+    }
+
+
+    @State(Scope.Thread)
+    public static class FormatterState {
+
+        @Param({"UniformLogFormatter", "ODLLogFormatter", "OneLineFormatter"})
+        private String formatterName;
+
+        private Formatter formatter;
+        private LogRecordEncoder encoder;
+        private final WritableByteChannel channel = new DiscardingChannel();
+        private GlassFishLogRecord record;
+
+        @Setup
+        public void createFormatter() {
+            if ("UniformLogFormatter".equals(formatterName)) {
+                formatter = new UniformLogFormatter();
+            } else if ("ODLLogFormatter".equals(formatterName)) {
+                formatter = new ODLLogFormatter();
+            } else {
+                formatter = new OneLineFormatter();
+            }
+            encoder = new LogRecordEncoder(formatter, UTF_8, 64 * 1024);
+            final GlassFishLogRecord template = new GlassFishLogRecord(Level.INFO,
+                "Server started in {0} ms, listening on port {1}.", true);
+            template.setLoggerName("jakarta.enterprise.system.core");
+            template.setParameters(new Object[] {1234, 8080});
+            record = new MessageResolver().resolve(template);
+        }
+    }
+
+
+    @Benchmark
+    public byte[] formatToString(FormatterState state) {
+        return state.formatter.format(state.record).getBytes(UTF_8);
+    }
+
+
+    @Benchmark
+    public int encodeToByteBuffer(FormatterState state) throws IOException {
+        state.encoder.encode(state.record, state.channel);
+        final int pending = state.encoder.getPendingBytes();
+        state.encoder.clear();
+        return pending;
+    }
+
+
+    private static final class DiscardingChannel implements WritableByteChannel {
+
+        @Override
+        public int write(ByteBuffer src) {
+            final int length = src.remaining();
+            src.position(src.limit());
+            return length;
+        }
+
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+
+        @Override
+        public void close() {
+            // nothing to close
+        }
+    }
+}
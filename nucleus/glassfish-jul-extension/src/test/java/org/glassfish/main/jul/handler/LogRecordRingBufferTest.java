@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.main.jul.handler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+
+import org.glassfish.main.jul.record.GlassFishLogRecord;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LogRecordRingBufferTest {
+
+    private static final int PRODUCERS = 8;
+    private static final int RECORDS_PER_PRODUCER = 50_000;
+
+    @Test
+    public void capacityRoundedToPowerOfTwo() {
+        assertAll(
+            () -> assertEquals(2, new LogRecordRingBuffer(1, 0).getCapacity()),
+            () -> assertEquals(16, new LogRecordRingBuffer(16, 0).getCapacity()),
+            () -> assertEquals(16384, new LogRecordRingBuffer(10_000, 0).getCapacity())
+        );
+    }
+
+
+    @Test
+    public void fullBufferRefusesOffer() {
+        final LogRecordRingBuffer buffer = new LogRecordRingBuffer(4, 0);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(record("record " + i)), "offer " + i);
+        }
+        assertAll(
+            () -> assertFalse(buffer.offer(record("overflow"))),
+            () -> assertEquals(4, buffer.getSize())
+        );
+        assertEquals("record 0", buffer.poll().getMessage());
+        assertTrue(buffer.offer(record("record 4")));
+        for (int i = 1; i < 5; i++) {
+            assertEquals("record " + i, buffer.poll().getMessage());
+        }
+        assertAll(
+            () -> assertNull(buffer.poll()),
+            () -> assertTrue(buffer.isEmpty())
+        );
+    }
+
+
+    @Test
+    public void timeoutClearsBuffer() {
+        final LogRecordRingBuffer buffer = new LogRecordRingBuffer(2, 1);
+        buffer.add(record("record 0"));
+        buffer.add(record("record 1"));
+        buffer.add(record("record 2"));
+        final GlassFishLogRecord record = buffer.poll();
+        assertAll(
+            () -> assertEquals(Level.SEVERE, record.getLevel()),
+            () -> assertTrue(record.getMessage().contains("The buffer was forcibly cleared"), record.getMessage()),
+            () -> assertNull(buffer.poll())
+        );
+    }
+
+
+    @Test
+    public void interruptedConsumerReturnsNull() throws Exception {
+        final LogRecordRingBuffer buffer = new LogRecordRingBuffer(4, 0);
+        final AtomicReference<Object> result = new AtomicReference<>("not finished");
+        final Thread consumer = new Thread(() -> result.set(buffer.pollOrWait()));
+        consumer.start();
+        Thread.sleep(50L);
+        consumer.interrupt();
+        consumer.join(5_000L);
+        assertNull(result.get());
+    }
+
+
+    @Test
+    public void allRecordsFromManyProducersInOrder() throws Exception {
+        final LogRecordRingBuffer buffer = new LogRecordRingBuffer(1024, 0);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            final String prefix = p + ":";
+            final Thread producer = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < RECORDS_PER_PRODUCER; i++) {
+                    buffer.add(record(prefix + i));
+                }
+            });
+            producer.start();
+            producers.add(producer);
+        }
+        final int[] expected = new int[PRODUCERS];
+        start.countDown();
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30L);
+        for (int count = 0; count < PRODUCERS * RECORDS_PER_PRODUCER; count++) {
+            final GlassFishLogRecord record = buffer.pollOrWait();
+            final String[] parts = record.getMessage().split(":");
+            final int producer = Integer.parseInt(parts[0]);
+            assertEquals(expected[producer]++, Integer.parseInt(parts[1]), "order of producer " + producer);
+            assertTrue(System.nanoTime() < deadline, "timeout");
+        }
+        for (Thread producer : producers) {
+            producer.join(5_000L);
+        }
+        assertTrue(buffer.isEmpty(), "buffer.empty");
+    }
+
+
+    private static GlassFishLogRecord record(final String message) {
+        return new GlassFishLogRecord(Level.INFO, message, false);
+    }
+}
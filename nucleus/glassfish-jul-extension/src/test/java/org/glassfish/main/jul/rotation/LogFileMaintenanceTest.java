@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.main.jul.rotation;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LogFileMaintenanceTest {
+
+    private static final int BLOCK_SIZE = 64 * 1024;
+
+    private File dir;
+
+    @BeforeEach
+    public void initTmpDir() throws Exception {
+        dir = Files.createTempDirectory(LogFileMaintenanceTest.class.getSimpleName()).toFile();
+    }
+
+
+    @AfterEach
+    public void removeTmpDir() throws Exception {
+        for (File file : dir.listFiles()) {
+            file.delete();
+        }
+        dir.delete();
+    }
+
+
+    @Test
+    public void multipleBlocks() throws Exception {
+        final byte[] content = createContent(BLOCK_SIZE * 10 + 123);
+        assertGzipRoundTrip(content);
+    }
+
+
+    @Test
+    public void singleBlock() throws Exception {
+        assertGzipRoundTrip(createContent(BLOCK_SIZE - 1));
+    }
+
+
+    @Test
+    public void emptyFile() throws Exception {
+        assertGzipRoundTrip(new byte[0]);
+    }
+
+
+    @Test
+    public void submittedTasksDoNotOverlap() throws Exception {
+        final StringBuffer order = new StringBuffer();
+        for (int i = 0; i < 5; i++) {
+            final int number = i;
+            LogFileMaintenance.submit(dir, () -> {
+                order.append('<').append(number);
+                sleep(10L);
+                order.append('>');
+            });
+        }
+        LogFileMaintenance.submit(dir, () -> { }).get(10, TimeUnit.SECONDS);
+        assertEquals("<0><1><2><3><4>", order.toString());
+    }
+
+
+    private void assertGzipRoundTrip(final byte[] content) throws Exception {
+        final File input = new File(dir, "server.log_2026-01-01T00-00-00");
+        final File output = new File(dir, input.getName() + ".gz");
+        Files.write(input.toPath(), content);
+        final long filesBefore = LogFileMaintenance.getCompressedFileCount();
+        final long bytesBefore = LogFileMaintenance.getCompressedBytes();
+
+        LogFileMaintenance.gzip(input, output, BLOCK_SIZE);
+
+        final byte[] uncompressed;
+        try (InputStream is = new GZIPInputStream(Files.newInputStream(output.toPath()))) {
+            uncompressed = is.readAllBytes();
+        }
+        assertAll(
+            () -> assertArrayEquals(content, uncompressed),
+            () -> assertTrue(output.length() < content.length || content.length == 0, "compressed"),
+            () -> assertTrue(LogFileMaintenance.getCompressedFileCount() > filesBefore, "compressedFileCount"),
+            () -> assertTrue(LogFileMaintenance.getCompressedBytes() >= bytesBefore + content.length,
+                "compressedBytes")
+        );
+    }
+
+
+    private static byte[] createContent(final int length) {
+        final Random random = new Random(length);
+        final StringBuilder content = new StringBuilder(length + 100);
+        while (content.length() < length) {
+            content.append("[2026-01-01T00:00:00.000+0000] [INFO] Record number ").append(random.nextInt(1000))
+                .append('\n');
+        }
+        content.setLength(length);
+        return content.toString().getBytes(UTF_8);
+    }
+
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
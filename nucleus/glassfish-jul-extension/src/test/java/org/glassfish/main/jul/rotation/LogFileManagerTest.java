@@ -19,6 +19,7 @@ package org.glassfish.main.jul.rotation;
 import java.io.File;
 import java.io.OutputStream;
 import java.nio.file.Files;
+import java.time.Duration;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -33,6 +34,7 @@ import org.junit.jupiter.api.Test;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -151,6 +153,41 @@ public class LogFileManagerTest {
     }
 
 
+    @Test
+    public void retentionBySizeAndAge() throws Exception {
+        manager = new LogFileManager(file, 100L, false, 0, 250L, Duration.ofDays(1), s -> stream = s,
+            () -> closeCalled.set(true));
+        final File tooOld = createArchive("2026-01-01T00-00-00", 10);
+        assertTrue(tooOld.setLastModified(System.currentTimeMillis() - Duration.ofDays(2).toMillis()));
+        final File tooBig = createArchive("2026-01-02T00-00-00", 100);
+        final File kept1 = createArchive("2026-01-03T00-00-00", 100);
+        final File kept2 = createArchive("2026-01-04T00-00-00", 100);
+
+        manager.enableOutput();
+        stream.write("Just a few bytes".getBytes(UTF_8));
+        stream.flush();
+        manager.roll();
+        assertTrue(manager.waitForMaintenance(Duration.ofSeconds(10L)), "maintenance finished");
+        manager.disableOutput();
+
+        File[] files = dir.listFiles(f -> f.isFile());
+        assertThat(toString(files), files, Matchers.arrayWithSize(4));
+        assertAll(
+            () -> assertFalse(tooOld.exists(), "tooOld.exists"),
+            () -> assertFalse(tooBig.exists(), "tooBig.exists"),
+            () -> assertTrue(kept1.exists(), "kept1.exists"),
+            () -> assertTrue(kept2.exists(), "kept2.exists")
+        );
+    }
+
+
+    private File createArchive(final String suffix, final int size) throws Exception {
+        final File archive = new File(dir, file.getName() + "_" + suffix);
+        Files.write(archive.toPath(), RandomStringUtils.randomAlphabetic(size).getBytes(UTF_8));
+        return archive;
+    }
+
+
 
     private String toString(File[] files) {
         return "Created files: \n" + Stream.of(files).map(f -> f.getAbsolutePath() + ": " + f.length() + " B")
@@ -564,6 +564,22 @@ public class GenericGrizzlyListener implements GrizzlyListener {
             final NetworkListener networkListener,
             final ThreadPool threadPool) {
 
+        if (Boolean.parseBoolean(threadPool.getVirtualThreadsEnabled())) {
+            if (VirtualThreadExecutorService.isSupported()) {
+                try {
+                    workerExecutorService = configureVirtualThreadExecutor(networkListener, threadPool);
+                    transport.setWorkerThreadPool(workerExecutorService);
+                    return;
+                } catch (NumberFormatException ex) {
+                    LOGGER.log(Level.WARNING, "Invalid thread-pool attribute", ex);
+                }
+            } else {
+                LOGGER.log(Level.WARNING,
+                        "Virtual threads are not supported by this JVM, the thread-pool {0}"
+                        + " uses platform threads", threadPool.getName());
+            }
+        }
+
         final String classname = threadPool.getClassname();
         if (classname != null &&
                 !ThreadPool.DEFAULT_THREAD_POOL_CLASS_NAME.equals(classname)) {
@@ -609,6 +625,18 @@ public class GenericGrizzlyListener implements GrizzlyListener {
         }
     }
 
+    protected VirtualThreadExecutorService configureVirtualThreadExecutor(
+            final NetworkListener networkListener, final ThreadPool threadPool) {
+
+        final int maxQueueSize = threadPool.getMaxQueueSize() == null ? Integer.MAX_VALUE
+            : Integer.parseInt(threadPool.getMaxQueueSize());
+        final int maxVirtualThreads = Integer.parseInt(threadPool.getMaxVirtualThreads());
+
+        // the same initial classloader as the platform thread pool, see GLASSFISH-19639
+        return new VirtualThreadExecutorService(networkListener.getName(),
+                maxVirtualThreads, maxQueueSize, this.getClass().getClassLoader());
+    }
+
     protected ThreadPoolConfig configureThreadPoolConfig(final NetworkListener networkListener,
                                                          final ThreadPool threadPool) {
 
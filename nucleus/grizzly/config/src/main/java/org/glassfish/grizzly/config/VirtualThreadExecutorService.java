@@ -0,0 +1,396 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.grizzly.Grizzly;
+
+/**
+ * {@link java.util.concurrent.ExecutorService} running each task on a virtual thread.
+ * <p>
+ * At most {@link #getMaxConcurrency()} tasks run at the same time. Further tasks wait in a queue
+ * of at most {@link #getMaxQueueSize()} tasks, a negative size means no limit, and run on the
+ * virtual threads finishing their tasks. Tasks beyond the queue limit are rejected. Virtual
+ * threads are not pooled, a thread ends as soon as the queue is empty.
+ * <p>
+ * The virtual threads are looked up reflectively, {@link #isSupported()} tells whether the JVM
+ * provides them.
+ */
+public class VirtualThreadExecutorService extends AbstractExecutorService {
+
+    private static final Logger LOGGER = Grizzly.logger(VirtualThreadExecutorService.class);
+
+    private static final Method OF_VIRTUAL;
+    private static final Method NAME;
+    private static final Method FACTORY;
+
+    static {
+        Method ofVirtual = null;
+        Method name = null;
+        Method factory = null;
+        try {
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            name = builder.getMethod("name", String.class, long.class);
+            factory = builder.getMethod("factory");
+        } catch (ReflectiveOperationException e) {
+            LOGGER.log(Level.FINEST, "Virtual threads are not available", e);
+        }
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        FACTORY = factory;
+    }
+
+    private final String name;
+    private final int maxConcurrency;
+    private final int maxQueueSize;
+    private final ClassLoader initialClassLoader;
+    private final ThreadFactory threadFactory;
+
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueSize = new AtomicInteger();
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final LongAdder startedThreadCount = new LongAdder();
+    private final LongAdder completedTaskCount = new LongAdder();
+    private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    private final CountDownLatch terminated = new CountDownLatch(1);
+
+    private volatile boolean shutdown;
+    private volatile Probe probe;
+
+    /**
+     * @param name name of the executor, the prefix of the thread names
+     * @param maxConcurrency maximum number of tasks running at the same time
+     * @param maxQueueSize maximum number of waiting tasks, negative for no limit
+     * @param initialClassLoader context class loader of the threads
+     * @throws IllegalStateException if the JVM does not support virtual threads
+     */
+    public VirtualThreadExecutorService(String name, int maxConcurrency, int maxQueueSize,
+            ClassLoader initialClassLoader) {
+        this(name, maxConcurrency, maxQueueSize, initialClassLoader, newVirtualThreadFactory(name + "-"));
+    }
+
+    /**
+     * @param name name of the executor
+     * @param maxConcurrency maximum number of tasks running at the same time
+     * @param maxQueueSize maximum number of waiting tasks, negative for no limit
+     * @param initialClassLoader context class loader of the threads
+     * @param threadFactory factory of the unstarted threads
+     */
+    public VirtualThreadExecutorService(String name, int maxConcurrency, int maxQueueSize,
+            ClassLoader initialClassLoader, ThreadFactory threadFactory) {
+        if (threadFactory == null) {
+            throw new IllegalStateException("Virtual threads are not supported by this JVM");
+        }
+        this.name = name;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.maxQueueSize = maxQueueSize;
+        this.initialClassLoader = initialClassLoader;
+        this.threadFactory = threadFactory;
+    }
+
+    /**
+     * @return true if the JVM supports virtual threads
+     */
+    public static boolean isSupported() {
+        return newVirtualThreadFactory("") != null;
+    }
+
+    /**
+     * @param namePrefix prefix of the thread names, followed by a counter
+     * @return factory of unstarted virtual threads, or null if the JVM does not support them
+     */
+    public static ThreadFactory newVirtualThreadFactory(String namePrefix) {
+        if (OF_VIRTUAL == null) {
+            return null;
+        }
+        try {
+            Object builder = NAME.invoke(OF_VIRTUAL.invoke(null), namePrefix, 0L);
+            return (ThreadFactory) FACTORY.invoke(builder);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            // Virtual threads of JDK 19 and 20 are a preview feature
+            LOGGER.log(Level.FINEST, "Virtual threads are not enabled", e);
+            return null;
+        }
+    }
+
+    public void setProbe(Probe probe) {
+        this.probe = probe;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        Objects.requireNonNull(task, "task");
+        if (shutdown) {
+            throw new RejectedExecutionException("The executor " + name + " is shut down");
+        }
+        if (startThread(task)) {
+            return;
+        }
+        if (queueSize.incrementAndGet() > maxQueueSize && maxQueueSize >= 0) {
+            queueSize.decrementAndGet();
+            throw new RejectedExecutionException("The queue of the executor " + name + " is full: " + maxQueueSize);
+        }
+        queue.add(task);
+        Probe localProbe = probe;
+        if (localProbe != null) {
+            localProbe.onTaskQueueEvent(this, task);
+        }
+        // All threads could have ended before the task was queued
+        startThread(null);
+    }
+
+    private boolean startThread(Runnable firstTask) {
+        if (!acquire()) {
+            return false;
+        }
+        try {
+            Thread thread = threadFactory.newThread(new Worker(firstTask));
+            thread.setContextClassLoader(initialClassLoader);
+            thread.start();
+            return true;
+        } catch (RuntimeException | Error e) {
+            activeCount.decrementAndGet();
+            tryTerminate();
+            throw new RejectedExecutionException("Could not start a thread of the executor " + name, e);
+        }
+    }
+
+    private boolean acquire() {
+        while (true) {
+            int active = activeCount.get();
+            if (active >= maxConcurrency) {
+                return false;
+            }
+            if (activeCount.compareAndSet(active, active + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private Runnable poll() {
+        Runnable task = queue.poll();
+        if (task != null) {
+            queueSize.decrementAndGet();
+        }
+        return task;
+    }
+
+    private void tryTerminate() {
+        if (shutdown && activeCount.get() == 0 && queue.isEmpty()) {
+            terminated.countDown();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        tryTerminate();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown = true;
+        List<Runnable> tasks = new ArrayList<>();
+        Runnable task;
+        while ((task = poll()) != null) {
+            tasks.add(task);
+        }
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+        tryTerminate();
+        return tasks;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return terminated.getCount() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    /**
+     * @return number of virtual threads running tasks
+     */
+    public int getActiveCount() {
+        return activeCount.get();
+    }
+
+    /**
+     * @return number of tasks waiting for a thread
+     */
+    public int getQueueSize() {
+        return queueSize.get();
+    }
+
+    /**
+     * @return number of virtual threads started since the executor was created
+     */
+    public long getStartedThreadCount() {
+        return startedThreadCount.sum();
+    }
+
+    public long getCompletedTaskCount() {
+        return completedTaskCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[name=" + name + ", maxConcurrency=" + maxConcurrency
+            + ", maxQueueSize=" + maxQueueSize + ", active=" + getActiveCount() + ", queued=" + getQueueSize()
+            + ", shutdown=" + shutdown + "]";
+    }
+
+    private final class Worker implements Runnable {
+
+        private Runnable firstTask;
+
+        Worker(Runnable firstTask) {
+            this.firstTask = firstTask;
+        }
+
+        @Override
+        public void run() {
+            final Thread thread = Thread.currentThread();
+            threads.add(thread);
+            startedThreadCount.increment();
+            Probe localProbe = probe;
+            if (localProbe != null) {
+                localProbe.onThreadAllocateEvent(VirtualThreadExecutorService.this, thread);
+            }
+            try {
+                Runnable task = firstTask;
+                firstTask = null;
+                while (true) {
+                    if (task == null) {
+                        task = poll();
+                    }
+                    if (task == null) {
+                        activeCount.decrementAndGet();
+                        // A task queued after the poll, but before the decrement, would wait
+                        // for the next execution otherwise
+                        if (queueSize.get() == 0 || !acquire()) {
+                            break;
+                        }
+                        continue;
+                    }
+                    runTask(task);
+                    task = null;
+                }
+            } finally {
+                threads.remove(thread);
+                localProbe = probe;
+                if (localProbe != null) {
+                    localProbe.onThreadReleaseEvent(VirtualThreadExecutorService.this, thread);
+                }
+                tryTerminate();
+            }
+        }
+
+        private void runTask(Runnable task) {
+            Probe localProbe = probe;
+            if (localProbe != null) {
+                localProbe.onTaskStartEvent(VirtualThreadExecutorService.this, task);
+            }
+            try {
+                task.run();
+            } catch (Throwable t) {
+                LOGGER.log(Level.WARNING, "Uncaught exception in the task " + task + " of the executor " + name, t);
+            } finally {
+                completedTaskCount.increment();
+                if (!shutdown) {
+                    // The interruption of one task must not affect the next one
+                    Thread.interrupted();
+                }
+                localProbe = probe;
+                if (localProbe != null) {
+                    localProbe.onTaskCompleteEvent(VirtualThreadExecutorService.this, task);
+                }
+            }
+        }
+    }
+
+    /**
+     * Monitoring probe of the {@link VirtualThreadExecutorService}, the events are fired on
+     * the thread concerned.
+     */
+    public interface Probe {
+
+        /**
+         * A virtual thread started.
+         */
+        default void onThreadAllocateEvent(VirtualThreadExecutorService executor, Thread thread) {
+        }
+
+        /**
+         * A virtual thread found no more tasks and ends.
+         */
+        default void onThreadReleaseEvent(VirtualThreadExecutorService executor, Thread thread) {
+        }
+
+        /**
+         * All virtual threads were busy, the task was queued.
+         */
+        default void onTaskQueueEvent(VirtualThreadExecutorService executor, Runnable task) {
+        }
+
+        default void onTaskStartEvent(VirtualThreadExecutorService executor, Runnable task) {
+        }
+
+        default void onTaskCompleteEvent(VirtualThreadExecutorService executor, Runnable task) {
+        }
+    }
+}
@@ -41,6 +41,8 @@ public interface ThreadPool extends ConfigBeanProxy, PropertyBag {
     // over the sync thread pool.
     int MAX_THREADPOOL_SIZE = 5;
     int MIN_THREADPOOL_SIZE = 5;
+    boolean VIRTUAL_THREADS_ENABLED = false;
+    int MAX_VIRTUAL_THREADS = 10000;
 
     /**
      * The classname of a thread pool implementation
@@ -103,6 +105,24 @@ public interface ThreadPool extends ConfigBeanProxy, PropertyBag {
 
     void setThreadPoolId(String value);
 
+    /**
+     * Runs each task on a new virtual thread instead of a pooled platform thread,
+     * if the JVM supports virtual threads. The min and max thread pool sizes are ignored then.
+     */
+    @Attribute(defaultValue = "" + VIRTUAL_THREADS_ENABLED, dataType = Boolean.class)
+    String getVirtualThreadsEnabled();
+
+    void setVirtualThreadsEnabled(String value);
+
+    /**
+     * Maximum number of virtual threads running tasks at the same time, further tasks
+     * are queued up to the max queue size.
+     */
+    @Attribute(defaultValue = "" + MAX_VIRTUAL_THREADS, dataType = Integer.class)
+    String getMaxVirtualThreads();
+
+    void setMaxVirtualThreads(String value);
+
     @DuckTyped
     List<NetworkListener> findNetworkListeners();
 
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.config;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.glassfish.grizzly.config.test.GrizzlyConfigTestHelper;
+import org.glassfish.grizzly.http.server.HttpHandler;
+import org.glassfish.grizzly.http.server.Request;
+import org.glassfish.grizzly.http.server.Response;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class VirtualThreadExecutorServiceTest {
+
+    private static final GrizzlyConfigTestHelper helper = new GrizzlyConfigTestHelper(VirtualThreadExecutorServiceTest.class);
+
+    private static final int CLIENTS = 200;
+    private static final int REQUESTS = 4_000;
+    static final long BLOCKING_MILLIS = 20L;
+    private static final int PLATFORM_THREADS = 32;
+
+    @Test
+    public void concurrencyIsLimited() throws Exception {
+        // Platform threads, so the limits are tested on any JVM
+        VirtualThreadExecutorService executor = new VirtualThreadExecutorService("test", 4, -1,
+            getClass().getClassLoader(), Executors.defaultThreadFactory());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(1_000);
+        for (int i = 0; i < 1_000; i++) {
+            executor.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(1L);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(30L, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5L, TimeUnit.SECONDS));
+        assertAll(
+            () -> assertEquals(4, maxRunning.get()),
+            () -> assertEquals(1_000L, executor.getCompletedTaskCount()),
+            () -> assertEquals(0, executor.getActiveCount()),
+            () -> assertEquals(0, executor.getQueueSize())
+        );
+    }
+
+
+    @Test
+    public void fullQueueRejects() throws Exception {
+        VirtualThreadExecutorService executor = new VirtualThreadExecutorService("test", 1, 1,
+            getClass().getClassLoader(), Executors.defaultThreadFactory());
+        CountDownLatch blocked = new CountDownLatch(1);
+        try {
+            executor.execute(() -> {
+                try {
+                    blocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            executor.execute(() -> { });
+            assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+        } finally {
+            blocked.countDown();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5L, TimeUnit.SECONDS));
+        assertAll(
+            () -> assertEquals(2L, executor.getCompletedTaskCount()),
+            () -> assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }))
+        );
+    }
+
+
+    @Test
+    public void shutdownNowInterrupts() throws Exception {
+        VirtualThreadExecutorService executor = new VirtualThreadExecutorService("test", 1, -1,
+            getClass().getClassLoader(), Executors.defaultThreadFactory());
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicInteger interrupted = new AtomicInteger();
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(60_000L);
+            } catch (InterruptedException e) {
+                interrupted.incrementAndGet();
+            }
+        });
+        executor.execute(() -> { });
+        assertTrue(started.await(5L, TimeUnit.SECONDS));
+        assertEquals(1, executor.shutdownNow().size());
+        assertTrue(executor.awaitTermination(5L, TimeUnit.SECONDS));
+        assertAll(
+            () -> assertEquals(1, interrupted.get()),
+            () -> assertTrue(executor.isTerminated())
+        );
+    }
+
+
+    /**
+     * Requests blocking the worker thread are limited by the size of the platform thread pool,
+     * a listener with virtual threads serves all of them. The comparison of both is measured by
+     * {@link VirtualThreadListenerBenchmarkTest}.
+     */
+    @Test
+    public void blockingRequestsLoad() throws Exception {
+        assumeTrue(VirtualThreadExecutorService.isSupported(), "Virtual threads are not supported");
+        GrizzlyConfig grizzlyConfig = new GrizzlyConfig("grizzly-config-virtual-threads.xml");
+        try {
+            grizzlyConfig.setupNetwork();
+            for (GrizzlyListener listener : grizzlyConfig.getListeners()) {
+                helper.setHttpHandler((GenericGrizzlyListener) listener, new BlockingHttpHandler());
+            }
+
+            Load platform = load(38092);
+            Load virtual = load(38093);
+            assertAll(
+                // 32 threads of the platform pool, each blocked by every request
+                () -> assertTrue(platform.throughput <= PLATFORM_THREADS * 1_000.0 / BLOCKING_MILLIS,
+                    "platform " + platform.throughput + " requests/s"),
+                () -> assertEquals(REQUESTS, virtual.completed, "Requests served by virtual threads")
+            );
+        } finally {
+            grizzlyConfig.shutdown();
+        }
+    }
+
+
+    private Load load(int port) throws Exception {
+        URL url = new URL("http://localhost:" + port);
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                futures.add(clients.submit(() -> {
+                    while (next.getAndIncrement() < REQUESTS) {
+                        assertEquals("done", helper.getContent(url.openConnection()));
+                        completed.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - start;
+        return new Load(REQUESTS * 1_000_000_000.0 / elapsed, completed.get());
+    }
+
+
+    /**
+     * Blocks the worker thread like blocking I/O, e.g. a JDBC call.
+     */
+    static final class BlockingHttpHandler extends HttpHandler {
+
+        @Override
+        public void service(Request request, Response response) throws Exception {
+            Thread.sleep(BLOCKING_MILLIS);
+            response.getWriter().write("done");
+        }
+    }
+
+
+    private static final class Load {
+
+        final double throughput;
+        final int completed;
+
+        Load(double throughput, int completed) {
+            this.throughput = throughput;
+            this.completed = completed;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.config;
+
+import java.net.URL;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.grizzly.config.VirtualThreadExecutorServiceTest.BlockingHttpHandler;
+import org.glassfish.grizzly.config.test.GrizzlyConfigTestHelper;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compares the throughput and latency of requests blocking the worker thread on a listener
+ * with a platform thread pool of 32 threads and on a listener with virtual threads.
+ */
+public class VirtualThreadListenerBenchmarkTest {
+
+    private static final GrizzlyConfigTestHelper helper = new GrizzlyConfigTestHelper(VirtualThreadListenerBenchmarkTest.class);
+
+    @Test
+    public void blockingRequests() throws Exception {
+        assumeTrue(VirtualThreadExecutorService.isSupported(), "Virtual threads are not supported");
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".*")
+            .warmupIterations(1).warmupTime(TimeValue.seconds(1L))
+            .measurementIterations(1).measurementTime(TimeValue.seconds(2L))
+            // More clients than threads of the platform pool
+            .forks(1).threads(128).timeout(TimeValue.seconds(30L))
+            .timeUnit(TimeUnit.MILLISECONDS)
+            .mode(Mode.Throughput).mode(Mode.SampleTime).shouldFailOnError(true)
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        assertEquals(4, results.size(), "One result per listener and mode");
+    }
+
+
+    @Benchmark
+    public String request(ListenerState state) throws Exception {
+        return helper.getContent(state.url.openConnection());
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class ListenerState {
+
+        @Param({"http-listener-platform", "http-listener-virtual"})
+        private String listener;
+
+        private GrizzlyConfig grizzlyConfig;
+        private URL url;
+
+        @Setup
+        public void startListeners() throws Exception {
+            grizzlyConfig = new GrizzlyConfig("grizzly-config-virtual-threads.xml");
+            grizzlyConfig.setupNetwork();
+            for (GrizzlyListener grizzlyListener : grizzlyConfig.getListeners()) {
+                helper.setHttpHandler((GenericGrizzlyListener) grizzlyListener, new BlockingHttpHandler());
+                if (grizzlyListener.getName().equals(listener)) {
+                    url = new URL("http://localhost:" + grizzlyListener.getPort());
+                }
+            }
+        }
+
+        @TearDown
+        public void stopListeners() {
+            grizzlyConfig.shutdown();
+        }
+    }
+}